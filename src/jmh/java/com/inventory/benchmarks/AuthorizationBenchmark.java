@@ -0,0 +1,119 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.usecases.AuthorizationPolicy;
+import com.inventory.usecases.Authorizer;
+import com.inventory.usecases.ListAllProductsUseCase;
+import com.inventory.usecases.Permission;
+import com.inventory.usecases.Role;
+import com.inventory.usecases.UpdateProductUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de autorizar cada llamada a un caso de uso: la verificación sola, y los mismos casos de uso
+ * con y sin autorizador. El grupo "reload" mide las llamadas autorizadas mientras otro hilo publica
+ * políticas nuevas sin pausa. Con -prof gc se ve que verificar no reserva memoria:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="AuthorizationBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class AuthorizationBenchmark {
+    private static final int CATALOG_SIZE = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        Authorizer authorizer;
+        AuthorizationPolicy[] policies;
+        UpdateProductUseCase plainUpdate;
+        UpdateProductUseCase authorizedUpdate;
+        ListAllProductsUseCase plainList;
+        ListAllProductsUseCase authorizedList;
+        String[] ids;
+
+        @Setup
+        public void setUp() {
+            ProductRepositoryImpl repository = new ProductRepositoryImpl(CATALOG_SIZE);
+            ids = new String[CATALOG_SIZE];
+            for (int i = 0; i < CATALOG_SIZE; i++) {
+                ids[i] = "sku-" + i;
+                repository.save(new Product(ids[i], "Producto " + i, 1.0, 100));
+            }
+            authorizer = new Authorizer(AuthorizationPolicy.defaults(), Role.OPERADOR);
+            // Políticas que siguen permitiendo al operador, para que el grupo "reload" nunca deniegue.
+            Properties wider = new Properties();
+            wider.setProperty(Role.OPERADOR.name(), "*");
+            policies = new AuthorizationPolicy[] {AuthorizationPolicy.defaults(), AuthorizationPolicy.compile(wider)};
+            plainUpdate = new UpdateProductUseCase(repository);
+            authorizedUpdate = new UpdateProductUseCase(repository, authorizer);
+            plainList = new ListAllProductsUseCase(repository);
+            authorizedList = new ListAllProductsUseCase(repository, authorizer);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reloader {
+        int next;
+    }
+
+    @Benchmark
+    public void checkOnly(Catalog catalog) {
+        catalog.authorizer.check(Permission.UPDATE_PRODUCT);
+    }
+
+    @Benchmark
+    public Product updateWithoutAuthorization(Catalog catalog) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return catalog.plainUpdate.execute(catalog.ids[random.nextInt(CATALOG_SIZE)], null, null, random.nextInt(1_000));
+    }
+
+    @Benchmark
+    public Product updateWithAuthorization(Catalog catalog) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return catalog.authorizedUpdate.execute(catalog.ids[random.nextInt(CATALOG_SIZE)], null, null, random.nextInt(1_000));
+    }
+
+    @Benchmark
+    public List<Product> pageWithoutAuthorization(Catalog catalog) {
+        return catalog.plainList.execute(catalog.ids[ThreadLocalRandom.current().nextInt(CATALOG_SIZE)], 1);
+    }
+
+    @Benchmark
+    public List<Product> pageWithAuthorization(Catalog catalog) {
+        return catalog.authorizedList.execute(catalog.ids[ThreadLocalRandom.current().nextInt(CATALOG_SIZE)], 1);
+    }
+
+    @Benchmark
+    @Group("reload")
+    @GroupThreads(3)
+    public Product updateWhileReloading(Catalog catalog) {
+        return updateWithAuthorization(catalog);
+    }
+
+    @Benchmark
+    @Group("reload")
+    @GroupThreads(1)
+    public void reloadPolicy(Catalog catalog, Reloader reloader) {
+        catalog.authorizer.reload(catalog.policies[reloader.next++ & 1]);
+    }
+}
@@ -0,0 +1,132 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.controller.ProductController;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.cli.BatchRunner;
+import com.inventory.usecases.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reproduce un guion de comandos del modo por lotes y compara dos salidas:
+ * - un único BufferedWriter de 64 KB, como hace "--batch";
+ * - el mismo Writer volcado en cada salto de línea, como System.out con println (una escritura al
+ *   sistema operativo por resultado).
+ * El guion mezcla 40 % add, 30 % get, 20 % update y 10 % delete sobre un rango de IDs que se reutiliza,
+ * así que también hay respuestas de error. La salida va a un archivo temporal; cada medición es un
+ * guion completo sobre un repositorio vacío:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="BatchReplayBenchmark"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class BatchReplayBenchmark {
+    @Param({"1000000"})
+    public int commands;
+
+    private Path script;
+    private Path output;
+    private BatchRunner runner;
+
+    @Setup(Level.Trial)
+    public void writeScript() throws IOException {
+        script = Files.createTempFile("batch-", ".tsv");
+        output = Files.createTempFile("batch-", ".out");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int ids = Math.max(1, commands / 4);
+        try (BufferedWriter out = Files.newBufferedWriter(script, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < commands; i++) {
+                String id = "sku-" + random.nextInt(ids);
+                int roll = random.nextInt(10);
+                if (roll < 4) {
+                    out.write("add\t" + id + "\tProducto " + id + "\t" + (1 + random.nextInt(9_999)) / 100.0
+                            + "\t" + random.nextInt(1_000) + "\n");
+                } else if (roll < 7) {
+                    out.write("get\t" + id + "\n");
+                } else if (roll < 9) {
+                    out.write("update\t" + id + "\t\t\t" + random.nextInt(1_000) + "\n");
+                } else {
+                    out.write("delete\t" + id + "\n");
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyRepository() {
+        ProductRepositoryImpl repository = new ProductRepositoryImpl();
+        runner = new BatchRunner(new ProductController(
+                new AddProductUseCase(repository),
+                new UpdateProductUseCase(repository),
+                new DeleteProductUseCase(repository),
+                new GetProductUseCase(repository),
+                new ListAllProductsUseCase(repository),
+                new AdjustStockUseCase(repository)));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(script);
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public BatchRunner.Summary singleBuffer() throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(script, StandardCharsets.UTF_8);
+             Writer out = new BufferedWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8), 64 * 1024)) {
+            return runner.run(in, out);
+        }
+    }
+
+    @Benchmark
+    public BatchRunner.Summary flushEachLine() throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(script, StandardCharsets.UTF_8);
+             Writer out = new LineFlushingWriter(
+                     new BufferedWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8), 64 * 1024))) {
+            return runner.run(in, out);
+        }
+    }
+
+    /**
+     * Vuelca al final de cada línea, como un PrintStream con autoflush.
+     */
+    private static final class LineFlushingWriter extends FilterWriter {
+        LineFlushingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            if (c == '\n') {
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.CachingProductRepository;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.cli.ZipfianKeys;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import com.inventory.usecases.GetProductUseCase;
+import com.inventory.usecases.UpdateProductUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compara un almacenamiento lento (cada operación por ID espera una latencia fija, como una ida y vuelta
+ * a una base de datos) con el mismo almacenamiento detrás de CachingProductRepository. Varios hilos
+ * consultan (90 %) y actualizan el stock (10 %) de productos elegidos con distribución de Zipf; al
+ * terminar se muestra el porcentaje de aciertos de la caché:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="CacheZipfianBenchmark -t 16 -p latencyMicros=200"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@Threads(16)
+@State(Scope.Benchmark)
+public class CacheZipfianBenchmark {
+    @Param({"100000"})
+    public int products;
+
+    @Param({"10000"})
+    public int cacheSize;
+
+    @Param({"200"})
+    public long latencyMicros;
+
+    @Param({"0.99"})
+    public double exponent;
+
+    private ZipfianKeys keys;
+    private GetProductUseCase uncachedGet;
+    private UpdateProductUseCase uncachedUpdate;
+    private CachingProductRepository cache;
+    private GetProductUseCase cachedGet;
+    private UpdateProductUseCase cachedUpdate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new ZipfianKeys(products, exponent);
+        ProductRepository uncached = slowStorage();
+        uncachedGet = new GetProductUseCase(uncached);
+        uncachedUpdate = new UpdateProductUseCase(uncached);
+        cache = new CachingProductRepository(slowStorage(), cacheSize);
+        cachedGet = new GetProductUseCase(cache);
+        cachedUpdate = new UpdateProductUseCase(cache);
+    }
+
+    @TearDown(Level.Trial)
+    public void printCacheStats() {
+        System.out.println("Caché: " + cache.stats());
+    }
+
+    @Benchmark
+    public Product withoutCache() {
+        return readOrUpdate(uncachedGet, uncachedUpdate);
+    }
+
+    @Benchmark
+    public Product withCache() {
+        return readOrUpdate(cachedGet, cachedUpdate);
+    }
+
+    private Product readOrUpdate(GetProductUseCase get, UpdateProductUseCase update) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = "sku-" + keys.next(random);
+        if (random.nextInt(10) == 0) {
+            return update.execute(id, null, null, random.nextInt(1_000));
+        }
+        return get.execute(id);
+    }
+
+    /**
+     * Repositorio en memoria que simula la latencia de un almacenamiento remoto en cada operación por ID.
+     */
+    private ProductRepository slowStorage() {
+        long latencyNanos = latencyMicros * 1_000;
+        ProductRepositoryImpl storage = new ProductRepositoryImpl(products) {
+            @Override
+            public Optional<Product> findById(String id) {
+                LockSupport.parkNanos(latencyNanos);
+                return super.findById(id);
+            }
+
+            @Override
+            public boolean compareAndSave(long expectedVersion, Product product) {
+                LockSupport.parkNanos(latencyNanos);
+                return super.compareAndSave(expectedVersion, product);
+            }
+
+            @Override
+            public OptionalInt adjustStock(String id, int delta) {
+                LockSupport.parkNanos(latencyNanos);
+                return super.adjustStock(id, delta);
+            }
+        };
+        for (int i = 0; i < products; i++) {
+            storage.save(new Product("sku-" + i, "Producto " + i, 1.0 + i % 100, 1_000));
+        }
+        return storage;
+    }
+}
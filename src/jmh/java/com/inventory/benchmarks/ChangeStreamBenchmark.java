@@ -0,0 +1,87 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.events.ChangeEventRing;
+import com.inventory.adapters.events.ChangeSubscription;
+import com.inventory.adapters.persistance.ObservableProductRepository;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flujo de cambios: publicar un evento en el anillo, leerlo con un suscriptor, y lo que agrega la
+ * captura a una escritura (adjustStock con un decorador sin oyentes contra uno que publica).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChangeStreamBenchmark {
+    @Param({"10000"})
+    public int products;
+
+    private final Product before = new Product("sku-1", "Producto 1", 10.0, 5);
+    private final Product after = new Product("sku-1", "Producto 1", 10.0, 6);
+
+    private ChangeEventRing ring;
+    private ChangeSubscription subscription;
+    private ProductRepository uncaptured;
+    private ProductRepository captured;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ring = new ChangeEventRing(64 * 1024);
+        subscription = ring.subscribeToNew();
+        uncaptured = new ObservableProductRepository(populated());
+        captured = new ObservableProductRepository(populated(), new ChangeEventRing(64 * 1024)::publish);
+    }
+
+    private ProductRepository populated() {
+        ProductRepositoryImpl repository = new ProductRepositoryImpl(products);
+        for (int i = 0; i < products; i++) {
+            repository.save(new Product("sku-" + i, "Producto " + i, 1.0 + i % 2_000, 1_000_000));
+        }
+        return repository;
+    }
+
+    @Benchmark
+    public long publish() {
+        return ring.publish(before, after);
+    }
+
+    /**
+     * Publica y consume el mismo evento: el costo de ida y vuelta por evento en un solo hilo.
+     */
+    @Benchmark
+    public int publishAndPoll(Blackhole blackhole) {
+        ring.publish(before, after);
+        return subscription.poll(blackhole::consume, 1);
+    }
+
+    @Benchmark
+    public int adjustStockUncaptured() {
+        return uncaptured.adjustStock("sku-" + ThreadLocalRandom.current().nextInt(products), 1).getAsInt();
+    }
+
+    @Benchmark
+    public int adjustStockCaptured() {
+        return captured.adjustStock("sku-" + ThreadLocalRandom.current().nextInt(products), 1).getAsInt();
+    }
+}
@@ -0,0 +1,119 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ColumnarProductRepository;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compara el repositorio por columnas con ProductRepositoryImpl: recorrido completo del catálogo (valor
+ * del inventario, con objetos o con forEachPriceAndStock) y búsqueda por ID. Al preparar el estado se
+ * muestra además la memoria por producto de cada uno:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="ColumnarStoreBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ColumnarStoreBenchmark {
+    private static final int LOOKUP_IDS = 1 << 16;
+
+    @Param({"1000000"})
+    public int products;
+
+    private ProductRepositoryImpl map;
+    private ColumnarProductRepository columnar;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        map = load(() -> new ProductRepositoryImpl(products));
+        long mapBytes = usedHeap() - before;
+        before = usedHeap();
+        columnar = load(() -> new ColumnarProductRepository(products));
+        long columnarBytes = usedHeap() - before;
+        System.out.printf("Memoria por producto (%,d productos): mapa %,d B | columnas %,d B (x%.1f)%n",
+                products, mapBytes / products, columnarBytes / products, (double) mapBytes / columnarBytes);
+
+        ids = new String[LOOKUP_IDS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "sku-" + random.nextInt(products);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double scanMapFindAll() {
+        return inventoryValue(map);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double scanColumnarFindAll() {
+        return inventoryValue(columnar);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double scanColumnarPrimitives() {
+        double[] value = new double[1];
+        columnar.forEachPriceAndStock((price, stock) -> value[0] += price * stock);
+        return value[0];
+    }
+
+    @Benchmark
+    public Optional<Product> findByIdMap() {
+        return map.findById(ids[ThreadLocalRandom.current().nextInt(LOOKUP_IDS)]);
+    }
+
+    @Benchmark
+    public Optional<Product> findByIdColumnar() {
+        return columnar.findById(ids[ThreadLocalRandom.current().nextInt(LOOKUP_IDS)]);
+    }
+
+    private static double inventoryValue(ProductRepository repository) {
+        double value = 0;
+        for (Product product : repository.findAll()) {
+            value += product.getPrice() * product.getStock();
+        }
+        return value;
+    }
+
+    private <R extends ProductRepository> R load(Supplier<R> factory) {
+        R repository = factory.get();
+        for (int i = 0; i < products; i++) {
+            repository.save(new Product("sku-" + i, "Producto " + (i % 9_973) + " serie " + i, 1.0 + i % 9_999, i % 1_000));
+        }
+        return repository;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,78 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.csv.CsvProductImporter;
+import com.inventory.adapters.csv.ImportProgress;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importación masiva de un CSV generado (una fila inválida de cada mil) sobre un repositorio vacío;
+ * cada medición es una importación completa:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="CsvImportBenchmark -p rows=10000000"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx6g")
+@State(Scope.Benchmark)
+public class CsvImportBenchmark {
+    @Param({"1000000"})
+    public int rows;
+
+    private Path dir;
+    private Path csv;
+    private Path rejects;
+    private ProductRepositoryImpl repository;
+
+    @Setup(Level.Trial)
+    public void writeCsv() throws IOException {
+        dir = Files.createTempDirectory("csv-import-bench");
+        csv = dir.resolve("catalogo.csv");
+        rejects = dir.resolve("catalogo.csv.rechazos");
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("id,name,price,stock\n");
+            for (int i = 0; i < rows; i++) {
+                int stock = i % 1000 == 0 ? -1 : i % 500;
+                writer.write("sku-" + i + ",Producto de prueba " + i + "," + (1.0 + i % 9_999) + "," + stock + "\n");
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyRepository() {
+        repository = new ProductRepositoryImpl(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(rejects);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public ImportProgress importFile() {
+        return new CsvProductImporter(repository).importFile(csv, rejects, progress -> { });
+    }
+}
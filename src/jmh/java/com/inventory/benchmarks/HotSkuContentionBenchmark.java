@@ -0,0 +1,71 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.events.ChangeEventRing;
+import com.inventory.adapters.persistance.InventoryAggregator;
+import com.inventory.adapters.persistance.ObservableProductRepository;
+import com.inventory.adapters.persistance.ProductIndex;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import com.inventory.usecases.AdjustStockUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendimiento del ajuste atómico de stock cuando todos los hilos compiten por el mismo producto. Para
+ * ver cómo escala, repita con distintas cantidades de hilos:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="HotSkuContentionBenchmark -t 1"
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="HotSkuContentionBenchmark -t 16"
+ *
+ * "plain" ajusta con el CAS del repositorio en memoria; "observable" pasa por el decorador con los
+ * oyentes que arma Main (totales, flujo de cambios e índices), que serializa cada ID bajo un candado
+ * por franja y lee el producto antes y después. La diferencia entre ambos es lo que cuesta notificar
+ * los cambios en orden (ver ProductRepositoryDecorator).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@Threads(16)
+@State(Scope.Benchmark)
+public class HotSkuContentionBenchmark {
+    @Param({"plain", "observable"})
+    public String repositoryType;
+
+    private ProductRepository repository;
+    private AdjustStockUseCase useCase;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ProductRepositoryImpl store = new ProductRepositoryImpl();
+        repository = repositoryType.equals("plain") ? store : new ObservableProductRepository(store,
+                new InventoryAggregator(store), new ChangeEventRing(64 * 1024)::publish, new ProductIndex(store));
+        useCase = new AdjustStockUseCase(repository);
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() {
+        // Stock suficiente para que ninguna iteración lo agote.
+        repository.save(new Product("hot-1", "Producto popular", 10.0, Integer.MAX_VALUE));
+    }
+
+    @Benchmark
+    public int decrementHotSku() {
+        return useCase.execute("hot-1", -1);
+    }
+}
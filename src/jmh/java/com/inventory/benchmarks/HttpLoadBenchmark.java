@@ -0,0 +1,202 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.controller.ProductController;
+import com.inventory.adapters.http.ProductHttpServer;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.usecases.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prueba de carga local de la API HTTP: clientes concurrentes, cada uno en un hilo de JMH con su propia
+ * conexión keep-alive, contra el servidor en el mismo proceso. Mezcla: 80 % GET de un producto, 10 % PUT
+ * de stock, 5 % POST de productos nuevos y 5 % páginas de 20. El modo Throughput da las solicitudes por
+ * segundo y SampleTime los percentiles de latencia (p50, p99, p999); las respuestas con error se
+ * informan al terminar cada iteración.
+ *
+ * El cliente es un HTTP/1.1 mínimo sobre sockets para que su costo no opaque al del servidor cuando
+ * ambos comparten la máquina. La cantidad de clientes se cambia con -t:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="HttpLoadBenchmark -t 1000"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g", "-Dsun.net.httpserver.nodelay=true",
+        "-Dsun.net.httpserver.maxIdleConnections=20000"})
+@Threads(64)
+public class HttpLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({"10000"})
+        public int products;
+
+        ProductHttpServer server;
+        final AtomicInteger nextId = new AtomicInteger();
+        final LongAdder errors = new LongAdder();
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            ProductRepositoryImpl repository = new ProductRepositoryImpl(products);
+            for (int i = 0; i < products; i++) {
+                repository.save(new Product("sku-" + i, "Producto " + i, 1.0 + i % 100, 1_000));
+            }
+            ProductController controller = new ProductController(
+                    new AddProductUseCase(repository),
+                    new UpdateProductUseCase(repository),
+                    new DeleteProductUseCase(repository),
+                    new GetProductUseCase(repository),
+                    new ListAllProductsUseCase(repository),
+                    new AdjustStockUseCase(repository));
+            server = new ProductHttpServer(controller, new InetSocketAddress("127.0.0.1", 0));
+            server.start();
+        }
+
+        @TearDown(Level.Iteration)
+        public void reportErrors() {
+            long failed = errors.sumThenReset();
+            if (failed > 0) {
+                System.out.printf("%n%,d respuestas con error%n", failed);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            server.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        Connection connection;
+
+        @Setup(Level.Trial)
+        public void connect(Server server) throws IOException {
+            connection = new Connection(server.server.getPort());
+        }
+
+        @TearDown(Level.Trial)
+        public void disconnect() throws IOException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int mixed(Server server, Client client) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        String sku = "sku-" + random.nextInt(server.products);
+        int status;
+        if (roll < 80) {
+            status = client.connection.send("GET", "/products/" + sku, null);
+        } else if (roll < 90) {
+            status = client.connection.send("PUT", "/products/" + sku, "{\"stock\":" + random.nextInt(1_000) + "}");
+        } else if (roll < 95) {
+            status = client.connection.send("POST", "/products", "{\"id\":\"new-" + server.nextId.incrementAndGet()
+                    + "\",\"name\":\"Producto nuevo\",\"price\":9.5,\"stock\":1}");
+        } else {
+            status = client.connection.send("GET", "/products?after=" + sku + "&limit=20", null);
+        }
+        if (status >= 400) {
+            server.errors.increment();
+        }
+        return status;
+    }
+
+    /**
+     * Conexión HTTP/1.1 keep-alive que envía una solicitud a la vez y lee la respuesta completa.
+     */
+    static final class Connection implements AutoCloseable {
+        private final Socket socket;
+        private final OutputStream out;
+        private final InputStream in;
+        private final StringBuilder line = new StringBuilder();
+        private byte[] body = new byte[8 * 1024];
+
+        Connection(int port) throws IOException {
+            socket = new Socket("127.0.0.1", port);
+            socket.setTcpNoDelay(true);
+            out = new BufferedOutputStream(socket.getOutputStream());
+            in = new BufferedInputStream(socket.getInputStream());
+        }
+
+        int send(String method, String path, String json) throws IOException {
+            byte[] payload = json == null ? new byte[0] : json.getBytes(StandardCharsets.UTF_8);
+            String head = method + " " + path + " HTTP/1.1\r\nHost: localhost\r\n"
+                    + (json == null ? "" : "Content-Type: application/json\r\nContent-Length: " + payload.length + "\r\n")
+                    + "\r\n";
+            out.write(head.getBytes(StandardCharsets.US_ASCII));
+            out.write(payload);
+            out.flush();
+
+            String statusLine = readLine();
+            int status = Integer.parseInt(statusLine.substring(9, 12));
+            int length = 0;
+            for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+                if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    length = Integer.parseInt(header.substring(15).trim());
+                }
+            }
+            if (length > body.length) {
+                body = new byte[length];
+            }
+            for (int read = 0; read < length; ) {
+                int n = in.read(body, read, length - read);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                read += n;
+            }
+            return status;
+        }
+
+        private String readLine() throws IOException {
+            line.setLength(0);
+            while (true) {
+                int c = in.read();
+                if (c < 0) {
+                    throw new EOFException();
+                }
+                if (c == '\n') {
+                    int end = line.length();
+                    return line.substring(0, end > 0 && line.charAt(end - 1) == '\r' ? end - 1 : end);
+                }
+                line.append((char) c);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.InventoryAggregator;
+import com.inventory.adapters.persistance.ObservableProductRepository;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.InventoryStats;
+import com.inventory.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totales del inventario: recalcularlos recorriendo findAll() contra leerlos de los agregados
+ * incrementales, y lo que cuesta mantenerlos en cada escritura (adjustStock con y sin agregados).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryStatsBenchmark {
+    @Param({"100000"})
+    public int products;
+
+    private ProductRepositoryImpl plain;
+    private InventoryAggregator aggregator;
+    private ObservableProductRepository aggregated;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = new ProductRepositoryImpl(products);
+        for (int i = 0; i < products; i++) {
+            plain.save(new Product("sku-" + i, "Producto " + i, 1.0 + i % 2_000, i % 50));
+        }
+        aggregator = new InventoryAggregator(plain);
+        aggregated = new ObservableProductRepository(plain, aggregator);
+    }
+
+    @Benchmark
+    public long fullScan() {
+        long cents = 0;
+        for (Product product : plain.findAll()) {
+            cents += Math.round(product.getPrice() * 100) * product.getStock();
+        }
+        return cents;
+    }
+
+    @Benchmark
+    public InventoryStats incremental() {
+        return aggregator.currentStats();
+    }
+
+    @Benchmark
+    public int adjustStockPlain() {
+        return plain.adjustStock("sku-" + ThreadLocalRandom.current().nextInt(products), 1).getAsInt();
+    }
+
+    @Benchmark
+    public int adjustStockAggregated() {
+        return aggregated.adjustStock("sku-" + ThreadLocalRandom.current().nextInt(products), 1).getAsInt();
+    }
+}
@@ -0,0 +1,144 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.JdbcProductRepository;
+import com.inventory.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Escrituras contra una base H2 en archivo (en un directorio temporal):
+ * - "naive": abrir conexión, preparar el MERGE, ejecutarlo y cerrar, como haría un adaptador ingenuo;
+ * - JdbcProductRepository.save() (pool de conexiones y sentencias reutilizadas);
+ * - JdbcProductRepository.saveAll() en lotes de 500 (executeBatch y un commit por lote; el puntaje es
+ *   por producto);
+ * y la lectura por ID y el recorrido completo con stream(). H2 está en el classpath de pruebas:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="JdbcWriteBenchmark -t 4"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@Threads(4)
+@State(Scope.Benchmark)
+public class JdbcWriteBenchmark {
+    private static final int BATCH_SIZE = 500;
+    private static final String NAIVE_MERGE = "MERGE INTO products (id, name, price, stock, version) KEY (id) VALUES (?, ?, ?, ?, 1)";
+
+    @Param({"100000"})
+    public int products;
+
+    private Path directory;
+    private String naiveUrl;
+    private Connection naiveKeepAlive;
+    private JdbcProductRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("jdbc-bench");
+        naiveUrl = "jdbc:h2:" + directory.resolve("ingenua");
+        // Mantiene la base abierta para no medir también su apertura en cada llamada.
+        naiveKeepAlive = DriverManager.getConnection(naiveUrl);
+        naiveKeepAlive.createStatement().execute("CREATE TABLE products (id VARCHAR(20) PRIMARY KEY, "
+                + "name VARCHAR(50), price DOUBLE PRECISION, stock INTEGER, version BIGINT)");
+        repository = new JdbcProductRepository("jdbc:h2:" + directory.resolve("inventario"), null, null, 4);
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < products; i++) {
+            batch.add(product(i));
+            if (batch.size() == BATCH_SIZE) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            repository.saveAll(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        repository.close();
+        naiveKeepAlive.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public int naiveConnectionPerCall() throws SQLException {
+        Product product = product(ThreadLocalRandom.current().nextInt(products));
+        try (Connection perCall = DriverManager.getConnection(naiveUrl);
+             PreparedStatement merge = perCall.prepareStatement(NAIVE_MERGE)) {
+            merge.setString(1, product.getId());
+            merge.setString(2, product.getName());
+            merge.setDouble(3, product.getPrice());
+            merge.setInt(4, product.getStock());
+            return merge.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public void save() {
+        repository.save(product(ThreadLocalRandom.current().nextInt(products)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void saveAll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(product(random.nextInt(products)));
+        }
+        repository.saveAll(batch);
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return repository.findById("sku-" + ThreadLocalRandom.current().nextInt(products));
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long streamAll() {
+        try (Stream<Product> all = repository.stream()) {
+            return all.count();
+        }
+    }
+
+    private static Product product(int i) {
+        return new Product("sku-" + i, "Producto " + i, 1.0 + i % 100, 100);
+    }
+}
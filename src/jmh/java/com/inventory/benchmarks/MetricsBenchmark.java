@@ -0,0 +1,75 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.metrics.InventoryMetrics;
+import com.inventory.adapters.metrics.OperationMetrics;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.usecases.AdjustStockUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de medir una operación: un caso de uso real con y sin registro de métricas, y el registro
+ * aislado. Las métricas son compartidas por todos los hilos, como en la aplicación; usar "-t 4"
+ * para ver el efecto de las franjas del histograma bajo concurrencia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+    private static final int PRODUCTS = 1_000;
+
+    private AdjustStockUseCase useCase;
+    private OperationMetrics metrics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ProductRepositoryImpl repository = new ProductRepositoryImpl(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            repository.save(new Product("sku-" + i, "Producto " + i, 10.0, 1_000_000));
+        }
+        useCase = new AdjustStockUseCase(repository);
+        metrics = new InventoryMetrics().operation(InventoryMetrics.ADJUST_STOCK);
+    }
+
+    /**
+     * Piso del costo: las dos lecturas del reloj que cualquier medición necesita.
+     */
+    @Benchmark
+    public long clockOnly() {
+        return System.nanoTime() - System.nanoTime();
+    }
+
+    @Benchmark
+    public void recordOnly() {
+        metrics.recordSuccess(metrics.start());
+    }
+
+    @Benchmark
+    public int adjustStock() {
+        return useCase.execute("sku-" + ThreadLocalRandom.current().nextInt(PRODUCTS), 1);
+    }
+
+    @Benchmark
+    public int adjustStockInstrumented() {
+        long start = metrics.start();
+        int stock = useCase.execute("sku-" + ThreadLocalRandom.current().nextInt(PRODUCTS), 1);
+        metrics.recordSuccess(start);
+        return stock;
+    }
+}
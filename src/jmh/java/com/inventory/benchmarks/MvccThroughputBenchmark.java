@@ -0,0 +1,193 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.MvccProductRepository;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductReadView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compara el repositorio multiversión con un único candado global de lectura/escritura sobre
+ * ProductRepositoryImpl, con la misma carga concurrente: transferencias de stock entre dos productos
+ * (una transacción cada una), búsquedas por ID y auditorías que suman el stock de todo el catálogo.
+ * Con el candado global una auditoría frena a todos los escritores mientras dura; con MVCC lee su
+ * instante sin bloquear a nadie. Ambas auditorías deben ver siempre el mismo total; al terminar cada
+ * iteración se informa cuántas vieron otro:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="MvccThroughputBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Group)
+public class MvccThroughputBenchmark {
+    private static final int UNITS_EACH = 100;
+
+    /**
+     * Las tres operaciones de la carga, implementadas sobre cada estrategia de concurrencia.
+     */
+    interface Store {
+        void transfer(String from, String to, int quantity);
+        int stockOf(String id);
+        long totalUnits();
+    }
+
+    @Param({"100000"})
+    public int products;
+
+    @Param({"globalLock", "mvcc"})
+    public String store;
+
+    private Store target;
+    private String[] ids;
+    private final LongAdder inconsistent = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ids = new String[products];
+        for (int i = 0; i < products; i++) {
+            ids[i] = "sku-" + i;
+        }
+        target = "mvcc".equals(store) ? mvcc() : globalLock();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportInconsistentAudits() {
+        if (inconsistent.sum() > 0) {
+            System.out.printf("%n%s: %d auditorías con un total distinto%n", store, inconsistent.sumThenReset());
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public void transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(products);
+        int to = (from + 1 + random.nextInt(products - 1)) % products;
+        target.transfer(ids[from], ids[to], 1 + random.nextInt(5));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public int lookup() {
+        return target.stockOf(ids[ThreadLocalRandom.current().nextInt(products)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public long audit() {
+        long units = target.totalUnits();
+        if (units != (long) products * UNITS_EACH) {
+            inconsistent.increment();
+        }
+        return units;
+    }
+
+    private Store globalLock() {
+        ProductRepositoryImpl repository = new ProductRepositoryImpl(products);
+        for (String id : ids) {
+            repository.save(new Product(id, "Producto " + id, 1.0, UNITS_EACH));
+        }
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        return new Store() {
+            @Override
+            public void transfer(String from, String to, int quantity) {
+                lock.writeLock().lock();
+                try {
+                    Product source = repository.findById(from).get();
+                    if (source.getStock() >= quantity) {
+                        repository.save(source.withStockAdjustedBy(-quantity));
+                        repository.save(repository.findById(to).get().withStockAdjustedBy(quantity));
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            @Override
+            public int stockOf(String id) {
+                lock.readLock().lock();
+                try {
+                    return repository.findById(id).get().getStock();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            @Override
+            public long totalUnits() {
+                lock.readLock().lock();
+                try {
+                    return sum(repository.findAll());
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        };
+    }
+
+    private Store mvcc() {
+        MvccProductRepository repository = new MvccProductRepository();
+        for (String id : ids) {
+            repository.save(new Product(id, "Producto " + id, 1.0, UNITS_EACH));
+        }
+        return new Store() {
+            @Override
+            public void transfer(String from, String to, int quantity) {
+                repository.inTransaction(transaction -> {
+                    if (transaction.findById(from).get().getStock() < quantity) {
+                        return false;
+                    }
+                    transaction.adjustStock(from, -quantity);
+                    transaction.adjustStock(to, quantity);
+                    return true;
+                });
+            }
+
+            @Override
+            public int stockOf(String id) {
+                return repository.findById(id).get().getStock();
+            }
+
+            @Override
+            public long totalUnits() {
+                try (ProductReadView view = repository.openReadView()) {
+                    return sum(view.findAll());
+                }
+            }
+        };
+    }
+
+    private static long sum(List<Product> products) {
+        long units = 0;
+        for (Product product : products) {
+            units += product.getStock();
+        }
+        return units;
+    }
+}
@@ -0,0 +1,98 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compara actualizaciones optimistas (compareAndSave con reintento) contra un candado global
+ * alrededor de la lectura-modificación-escritura, con distintos niveles de contención: cuantos menos
+ * productos, más choques entre hilos. Los reintentos del camino optimista se informan al terminar
+ * cada iteración:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="OptimisticUpdateBenchmark -t 16"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@Threads(8)
+@State(Scope.Benchmark)
+public class OptimisticUpdateBenchmark {
+    @Param({"1", "4", "16"})
+    public int products;
+
+    private ProductRepository repository;
+    private String[] ids;
+    private final ReentrantLock globalLock = new ReentrantLock();
+    private final LongAdder retries = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new ProductRepositoryImpl();
+        ids = new String[products];
+        for (int i = 0; i < products; i++) {
+            ids[i] = "sku-" + i;
+            repository.save(new Product(ids[i], "Producto " + i, 1.0, 100));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRetries() {
+        long count = retries.sumThenReset();
+        if (count > 0) {
+            System.out.printf("%n%,d reintentos%n", count);
+        }
+    }
+
+    @Benchmark
+    public Product optimistic() {
+        String id = ids[ThreadLocalRandom.current().nextInt(products)];
+        while (true) {
+            Product current = repository.findById(id).get();
+            Product updated = current.withPrice(next(current.getPrice()));
+            if (repository.compareAndSave(current.getVersion(), updated)) {
+                return updated;
+            }
+            retries.increment();
+        }
+    }
+
+    @Benchmark
+    public Product globalLock() {
+        String id = ids[ThreadLocalRandom.current().nextInt(products)];
+        globalLock.lock();
+        try {
+            Product current = repository.findById(id).get();
+            Product updated = current.withPrice(next(current.getPrice()));
+            repository.save(updated);
+            return updated;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    private static double next(double price) {
+        return price >= 9_999 ? 1.0 : price + 1;
+    }
+}
@@ -0,0 +1,67 @@
+package com.inventory.benchmarks;
+
+import com.inventory.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de construir y validar un Product, y de derivar nuevas versiones con los métodos with*.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductBenchmark {
+    private static final int SAMPLES = 1_024;
+
+    private final String[] ids = new String[SAMPLES];
+    private final String[] names = new String[SAMPLES];
+    private Product product;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < SAMPLES; i++) {
+            ids[i] = "sku-" + i;
+            names[i] = "Café de especialidad " + i;
+        }
+        product = new Product("sku-1", "Café de especialidad", 12.5, 10);
+    }
+
+    @Benchmark
+    public Product construct() {
+        int i = next++ & (SAMPLES - 1);
+        return new Product(ids[i], names[i], 12.5, i);
+    }
+
+    @Benchmark
+    public Object rejectInvalidName() {
+        try {
+            return new Product(ids[next++ & (SAMPLES - 1)], "<script>", 12.5, 1);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Product withName() {
+        return product.withName(names[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public Product withStockAdjustedBy() {
+        return product.withStockAdjustedBy(1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ColumnarProductRepository;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findById por String contra findById por ProductId, sobre ProductRepositoryImpl y sobre
+ * ColumnarProductRepository (cuyo índice usa los ID empaquetados). Se devuelve el Product
+ * y no el Optional, para que el Optional no escape y la búsqueda pueda quedar sin asignaciones.
+ * Conviene lanzarlo con el perfilador de memoria para ver la asignación por operación (gc.alloc.rate.norm):
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="ProductIdBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ProductIdBenchmark {
+    @Param({"1000000"})
+    public int catalogSize;
+
+    private ProductRepositoryImpl repository;
+    private ColumnarProductRepository columnar;
+    private String[] ids;
+    private char[][] rawIds;
+    private ProductId[] keys;
+
+    @Setup
+    public void setUp() {
+        repository = new ProductRepositoryImpl(catalogSize);
+        columnar = new ColumnarProductRepository(catalogSize);
+        ids = new String[catalogSize];
+        rawIds = new char[catalogSize][];
+        keys = new ProductId[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            ids[i] = "sku-" + i;
+            rawIds[i] = ids[i].toCharArray();
+            keys[i] = ProductId.of(ids[i]);
+            repository.save(new Product(ids[i], "Producto " + i, 1.0 + i % 9_999, i % 1_000));
+            columnar.save(new Product(ids[i], "Producto " + i, 1.0 + i % 9_999, i % 1_000));
+        }
+    }
+
+    /**
+     * El mismo String en cada búsqueda: su hash ya quedó calculado en la primera.
+     */
+    @Benchmark
+    public Product findByString() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(catalogSize)]).orElse(null);
+    }
+
+    /**
+     * Un String nuevo en cada búsqueda, como el que resulta de leer una petición.
+     */
+    @Benchmark
+    public Product findByFreshString() {
+        return repository.findById(new String(rawIds[ThreadLocalRandom.current().nextInt(catalogSize)])).orElse(null);
+    }
+
+    @Benchmark
+    public Product findByProductId() {
+        return repository.findById(keys[ThreadLocalRandom.current().nextInt(catalogSize)]).orElse(null);
+    }
+
+    @Benchmark
+    public Product columnarFindByFreshString() {
+        return columnar.findById(new String(rawIds[ThreadLocalRandom.current().nextInt(catalogSize)])).orElse(null);
+    }
+
+    @Benchmark
+    public Product columnarFindByProductId() {
+        return columnar.findById(keys[ThreadLocalRandom.current().nextInt(catalogSize)]).orElse(null);
+    }
+
+    @Benchmark
+    public int columnarFindStockByProductId() {
+        return columnar.findStock(keys[ThreadLocalRandom.current().nextInt(catalogSize)]).orElse(-1);
+    }
+}
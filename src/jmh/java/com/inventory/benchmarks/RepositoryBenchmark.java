@@ -0,0 +1,72 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de ProductRepositoryImpl con distintos tamaños de catálogo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private ProductRepositoryImpl repository;
+    private String[] ids;
+    private Product[] products;
+
+    @Setup
+    public void setUp() {
+        repository = new ProductRepositoryImpl(catalogSize);
+        ids = new String[catalogSize];
+        products = new Product[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            ids[i] = "sku-" + i;
+            products[i] = new Product(ids[i], "Producto " + i, 1.0 + i % 9_999, i % 1_000);
+            repository.save(products[i]);
+        }
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(catalogSize)]);
+    }
+
+    @Benchmark
+    public void save() {
+        repository.save(products[ThreadLocalRandom.current().nextInt(catalogSize)]);
+    }
+
+    @Benchmark
+    public List<Product> findPage() {
+        return repository.findPage(ids[ThreadLocalRandom.current().nextInt(catalogSize)], 100);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Product> findAll() {
+        return repository.findAll();
+    }
+}
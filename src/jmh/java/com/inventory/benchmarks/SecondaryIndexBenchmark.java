@@ -0,0 +1,91 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ProductIndex;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Compara las consultas indexadas contra un recorrido completo de findAll() sobre un catálogo grande,
+ * para cada consulta (prefijo de nombre, rango de precio, stock bajo). La indexación inicial se mide al
+ * preparar el estado:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="SecondaryIndexBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class SecondaryIndexBenchmark {
+    private static final int LIMIT = 100;
+
+    @Param({"1000000"})
+    public int products;
+
+    private ProductRepositoryImpl storage;
+    private ProductIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        storage = new ProductRepositoryImpl(products);
+        for (int i = 0; i < products; i++) {
+            storage.save(new Product("sku-" + i, "Producto " + (i % 9_973) + " serie " + i, 1.0 + i % 9_999, i % 1_000));
+        }
+        long start = System.nanoTime();
+        index = new ProductIndex(storage);
+        System.out.printf("%nIndexación inicial de %,d productos: %,d ms%n",
+                products, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Benchmark
+    public List<Product> namePrefixIndexed() {
+        return index.findByNamePrefix("producto 42 ", LIMIT);
+    }
+
+    @Benchmark
+    public List<Product> namePrefixScan() {
+        return scan(p -> p.getName().toLowerCase().startsWith("producto 42 "));
+    }
+
+    @Benchmark
+    public List<Product> priceRangeIndexed() {
+        return index.findByPriceRange(500.0, 501.0, LIMIT);
+    }
+
+    @Benchmark
+    public List<Product> priceRangeScan() {
+        return scan(p -> p.getPrice() >= 500.0 && p.getPrice() <= 501.0);
+    }
+
+    @Benchmark
+    public List<Product> lowStockIndexed() {
+        return index.findByStockBelow(1, LIMIT);
+    }
+
+    @Benchmark
+    public List<Product> lowStockScan() {
+        return scan(p -> p.getStock() < 1);
+    }
+
+    private List<Product> scan(Predicate<Product> filter) {
+        return storage.findAll().stream().filter(filter).limit(LIMIT).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,151 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.adapters.sharding.RemoteProductRepository;
+import com.inventory.adapters.sharding.ShardedProductRepository;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escalamiento del repositorio particionado de 1 a N shards, con shards en el mismo proceso y con
+ * shards en procesos aparte (una JVM por shard, lanzada con "Main --shard-server 0" y conectada por
+ * loopback). Por cada cantidad de shards carga el catálogo en lotes (la velocidad de carga se muestra
+ * al preparar el estado) y mide una carga mixta de búsquedas por ID y ajustes de stock con claves
+ * uniformes, y un findAll completo (consulta a todos los shards en paralelo). Las iteraciones de
+ * calentamiento calientan también las JVM de los shards remotos.
+ * La mejora con más shards depende de los núcleos disponibles: cada shard remoto es un proceso más
+ * que compite por la CPU con los clientes.
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="ShardScalingBenchmark -p shards=1,2,4,8"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ShardScalingBenchmark {
+    private static final int WRITE_PERCENT = 20;
+    private static final int LOAD_BATCH = 1_000;
+
+    @Param({"1", "2", "3", "4"})
+    public int shards;
+
+    @Param({"inProcess", "remote"})
+    public String placement;
+
+    @Param({"200000"})
+    public int products;
+
+    private final List<Process> processes = new ArrayList<>();
+    private ShardedProductRepository repository;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Map<String, ProductRepository> byName = new LinkedHashMap<>();
+        for (int i = 0; i < shards; i++) {
+            if ("remote".equals(placement)) {
+                Process process = startShardProcess();
+                processes.add(process);
+                byName.put("shard-" + i, new RemoteProductRepository(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), readPort(process))));
+            } else {
+                byName.put("shard-" + i, new ProductRepositoryImpl(products / shards));
+            }
+        }
+        repository = new ShardedProductRepository(byName);
+
+        ids = new String[products];
+        long start = System.nanoTime();
+        List<Product> batch = new ArrayList<>(LOAD_BATCH);
+        for (int i = 0; i < products; i++) {
+            ids[i] = "sku-" + i;
+            batch.add(new Product(ids[i], "Producto " + i, 1.0, 1_000_000));
+            if (batch.size() == LOAD_BATCH) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+        System.out.printf("%nCarga: %,.0f productos/s%n", products / ((System.nanoTime() - start) / 1e9));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+        for (Process process : processes) {
+            process.destroy();
+            process.waitFor();
+        }
+        processes.clear();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = ids[random.nextInt(products)];
+        if (random.nextInt(100) < WRITE_PERCENT) {
+            return repository.adjustStock(id, random.nextBoolean() ? 1 : -1);
+        }
+        return repository.findById(id);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Product> findAll() {
+        return repository.findAll();
+    }
+
+    /**
+     * Lanza una JVM con el mismo classpath que atiende como shard en un puerto libre.
+     */
+    private static Process startShardProcess() throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        return new ProcessBuilder(java, "-Xmx1g", "-cp", System.getProperty("java.class.path"),
+                "com.inventory.cli.Main", "--shard-server", "0")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    /**
+     * Lee el puerto que el shard anuncia en su primera línea de salida.
+     */
+    private static int readPort(Process process) throws IOException {
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = out.readLine();
+        if (line == null) {
+            throw new IOException("El proceso del shard terminó sin anunciar su puerto.");
+        }
+        return Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1).trim());
+    }
+}
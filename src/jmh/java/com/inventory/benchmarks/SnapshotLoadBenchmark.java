@@ -0,0 +1,91 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.adapters.persistance.ProductSnapshot;
+import com.inventory.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de exportar y de cargar una instantánea de un catálogo grande; cada medición es una
+ * exportación o una carga completa. La carga reparte los bloques entre los hilos del ForkJoinPool común:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="SnapshotLoadBenchmark -p products=10000000"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx6g")
+public class SnapshotLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        @Param({"5000000"})
+        public int products;
+
+        ProductRepositoryImpl source;
+        Path dir;
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            source = new ProductRepositoryImpl(products);
+            for (int i = 0; i < products; i++) {
+                source.save(new Product("sku-" + i, "Producto de prueba " + i, 1.0 + i % 9_999, i % 500));
+            }
+            dir = Files.createTempDirectory("snapshot-bench");
+            file = dir.resolve("catalog.snap");
+            ProductSnapshot.write(source, file);
+            System.out.printf("%nInstantánea: %,d productos, %,d bytes; carga con %d hilos%n",
+                    products, Files.size(file), ForkJoinPool.commonPool().getParallelism());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Repositorio vacío para cada carga, dimensionado para el catálogo.
+     */
+    @State(Scope.Benchmark)
+    public static class Target {
+        ProductRepositoryImpl repository;
+
+        @Setup(Level.Iteration)
+        public void setUp(Catalog catalog) {
+            repository = null; // Libera el de la medición anterior antes de reservar el nuevo.
+            repository = new ProductRepositoryImpl(catalog.products);
+        }
+    }
+
+    @Benchmark
+    public long write(Catalog catalog) {
+        return ProductSnapshot.write(catalog.source, catalog.file);
+    }
+
+    @Benchmark
+    public long load(Catalog catalog, Target target) {
+        return ProductSnapshot.load(catalog.file, target.repository);
+    }
+}
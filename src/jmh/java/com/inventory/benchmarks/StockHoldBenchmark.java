@@ -0,0 +1,261 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.holds.HierarchicalTimingWheel;
+import com.inventory.adapters.holds.StockHoldManager;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retenciones de stock con millones de retenciones pendientes: costo de retener y de vencerlas con un
+ * reloj simulado, y las mismas operaciones solo sobre la estructura de vencimientos (rueda contra
+ * montículo). Como referencia, agenda y cancela la misma cantidad de tareas en un
+ * ScheduledThreadPoolExecutor (una tarea por retención, en un montículo O(log n)). Cada medición
+ * procesa todas las retenciones; la memoria por retención de la rueda y del ejecutor se muestra al
+ * preparar sus estados:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="StockHoldBenchmark -p holds=5000000"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class StockHoldBenchmark {
+    private static final long HOUR = 3_600_000;
+    private static final int PRODUCTS = 10_000;
+
+    /**
+     * Cantidad de retenciones y sus plazos, los mismos en todas las mediciones.
+     */
+    @State(Scope.Benchmark)
+    public static class Workload {
+        @Param({"2000000"})
+        public int holds;
+
+        int[] ttls;
+        Timer[] timers;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            ttls = new int[holds];
+            timers = new Timer[holds];
+            for (int i = 0; i < holds; i++) {
+                ttls[i] = 1 + random.nextInt((int) HOUR);
+                timers[i] = new Timer(1 + ttls[i] / 10); // Ticks de 10 ms.
+            }
+        }
+    }
+
+    /**
+     * Un StockHoldManager vacío sobre un catálogo con stock de sobra, con reloj simulado.
+     */
+    @State(Scope.Benchmark)
+    public static class Holds {
+        final AtomicLong clock = new AtomicLong();
+        String[] ids;
+        StockHoldManager manager;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            ProductRepositoryImpl repository = new ProductRepositoryImpl(PRODUCTS);
+            ids = new String[PRODUCTS];
+            for (int i = 0; i < PRODUCTS; i++) {
+                ids[i] = "sku-" + i;
+                repository.save(new Product(ids[i], "Producto " + i, 1.0, Integer.MAX_VALUE));
+            }
+            clock.set(0);
+            manager = new StockHoldManager(repository, clock::get, StockHoldManager.DEFAULT_TICK_MILLIS);
+        }
+
+        int placeAll(Workload workload) {
+            for (int i = 0; i < workload.holds; i++) {
+                manager.place(ids[i % PRODUCTS], 1, workload.ttls[i]);
+            }
+            return manager.expireDue(); // Agenda en la rueda las retenciones apiladas.
+        }
+    }
+
+    /**
+     * Holds con todas las retenciones ya agendadas.
+     */
+    @State(Scope.Benchmark)
+    public static class PlacedHolds extends Holds {
+        @Setup(Level.Iteration)
+        public void place(Workload workload) {
+            long before = usedHeap();
+            placeAll(workload);
+            System.out.printf("%nRueda de tiempo: %,d B por retención%n", (usedHeap() - before) / workload.holds);
+        }
+    }
+
+    /**
+     * Rueda y montículo con todos los temporizadores ya agendados.
+     */
+    @State(Scope.Benchmark)
+    public static class ScheduledTimers {
+        HierarchicalTimingWheel<Timer> wheel;
+        PriorityQueue<Timer> heap;
+
+        @Setup(Level.Iteration)
+        public void setUp(Workload workload) {
+            wheel = scheduleWheel(workload);
+            heap = scheduleHeap(workload);
+        }
+    }
+
+    /**
+     * Un ejecutor con una tarea agendada por retención.
+     */
+    @State(Scope.Benchmark)
+    public static class ScheduledTasks {
+        ScheduledThreadPoolExecutor executor;
+        ScheduledFuture<?>[] futures;
+
+        @Setup(Level.Iteration)
+        public void setUp(Workload workload) {
+            executor = newExecutor();
+            futures = new ScheduledFuture<?>[workload.holds];
+            long before = usedHeap(); // El arreglo de futuros ya está reservado.
+            scheduleAll(executor, futures, workload);
+            System.out.printf("%nUna tarea por retención: %,d B por retención%n", (usedHeap() - before) / workload.holds);
+        }
+
+        @TearDown(Level.Iteration)
+        public void shutdown() {
+            executor.shutdownNow();
+        }
+    }
+
+    static final class Timer extends HierarchicalTimingWheel.Entry {
+        final long due;
+
+        Timer(long due) {
+            this.due = due;
+        }
+    }
+
+    @Benchmark
+    public int placeHolds(Workload workload, Holds holds) {
+        return holds.placeAll(workload);
+    }
+
+    @Benchmark
+    public int expireHolds(PlacedHolds holds) {
+        int expired = 0;
+        for (long minute = 1; minute <= 60; minute++) {
+            holds.clock.set(minute * 60_000);
+            expired += holds.manager.expireDue();
+        }
+        return expired;
+    }
+
+    @Benchmark
+    public HierarchicalTimingWheel<Timer> wheelSchedule(Workload workload) {
+        return scheduleWheel(workload);
+    }
+
+    @Benchmark
+    public long wheelExpire(ScheduledTimers timers) {
+        long[] fired = new long[1];
+        for (long tick = 6_000; tick <= HOUR / 10; tick += 6_000) {
+            timers.wheel.advanceTo(tick, timer -> fired[0]++);
+        }
+        return fired[0];
+    }
+
+    @Benchmark
+    public PriorityQueue<Timer> heapSchedule(Workload workload) {
+        return scheduleHeap(workload);
+    }
+
+    @Benchmark
+    public long heapExpire(ScheduledTimers timers) {
+        long fired = 0;
+        for (long tick = 6_000; tick <= HOUR / 10; tick += 6_000) {
+            while (!timers.heap.isEmpty() && timers.heap.peek().due <= tick) {
+                timers.heap.poll();
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    @Benchmark
+    public ScheduledFuture<?>[] executorSchedule(Workload workload) {
+        ScheduledThreadPoolExecutor executor = newExecutor();
+        try {
+            return scheduleAll(executor, new ScheduledFuture<?>[workload.holds], workload);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public ScheduledThreadPoolExecutor executorCancel(ScheduledTasks tasks) {
+        for (ScheduledFuture<?> future : tasks.futures) {
+            future.cancel(false);
+        }
+        return tasks.executor;
+    }
+
+    private static HierarchicalTimingWheel<Timer> scheduleWheel(Workload workload) {
+        HierarchicalTimingWheel<Timer> wheel = new HierarchicalTimingWheel<>(0);
+        for (Timer timer : workload.timers) {
+            wheel.schedule(timer, timer.due);
+        }
+        return wheel;
+    }
+
+    private static PriorityQueue<Timer> scheduleHeap(Workload workload) {
+        PriorityQueue<Timer> heap = new PriorityQueue<>(Comparator.comparingLong((Timer timer) -> timer.due));
+        for (Timer timer : workload.timers) {
+            heap.add(timer);
+        }
+        return heap;
+    }
+
+    private static ScheduledThreadPoolExecutor newExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static ScheduledFuture<?>[] scheduleAll(ScheduledThreadPoolExecutor executor, ScheduledFuture<?>[] futures,
+                                                    Workload workload) {
+        Runnable release = () -> { };
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = executor.schedule(release, HOUR + workload.ttls[i], TimeUnit.MILLISECONDS);
+        }
+        return futures;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,82 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.usecases.AddProductUseCase;
+import com.inventory.usecases.UpdateProductUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Casos de uso de escritura sobre un repositorio compartido. La cantidad de hilos se elige al
+ * ejecutar, por ejemplo: mvn -P jmh test-compile exec:exec -Djmh.args="UseCaseBenchmark -t 4"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class UseCaseBenchmark {
+    private static final int CATALOG_SIZE = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        final AtomicInteger threadIds = new AtomicInteger();
+        ProductRepositoryImpl repository;
+        AddProductUseCase addProductUseCase;
+        UpdateProductUseCase updateProductUseCase;
+
+        // Se recrea en cada iteración para que las altas no hagan crecer el catálogo sin límite.
+        @Setup(Level.Iteration)
+        public void setUp() {
+            repository = new ProductRepositoryImpl(CATALOG_SIZE * 4);
+            for (int i = 0; i < CATALOG_SIZE; i++) {
+                repository.save(new Product("sku-" + i, "Producto " + i, 1.0 + i % 9_999, 100));
+            }
+            addProductUseCase = new AddProductUseCase(repository);
+            updateProductUseCase = new UpdateProductUseCase(repository);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        String prefix;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Catalog catalog) {
+            prefix = "t" + catalog.threadIds.incrementAndGet() + "-";
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public void addProduct(Catalog catalog, Writer writer) {
+        catalog.addProductUseCase.execute(writer.prefix + writer.next++, "Producto nuevo", 10.0, 5);
+    }
+
+    @Benchmark
+    public void updateProductStock(Catalog catalog) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        catalog.updateProductUseCase.execute("sku-" + random.nextInt(CATALOG_SIZE), null, null, random.nextInt(1_000));
+    }
+
+    @Benchmark
+    public void updateHotProductStock(Catalog catalog) {
+        // Todos los hilos sobre el mismo producto: mide el costo de los reintentos optimistas.
+        catalog.updateProductUseCase.execute("sku-0", null, null, ThreadLocalRandom.current().nextInt(1_000));
+    }
+}
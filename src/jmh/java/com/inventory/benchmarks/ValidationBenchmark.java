@@ -0,0 +1,39 @@
+package com.inventory.benchmarks;
+
+import com.inventory.domain.ProductValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación de ID y nombre: String.matches (comportamiento original) contra ProductValidator.
+ * Ejecutar con "-prof gc" para comparar también la asignación de memoria por operación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+    public String id = "SKU-2024_000123";
+    public String name = "Café de especialidad, tostado medio";
+
+    @Benchmark
+    public boolean regex() {
+        return id.matches("^[a-zA-Z0-9_-]{3,20}$") & name.matches("^[a-zA-Z0-9 áéíóúÁÉÍÓÚñÑ.,'-]{3,50}$");
+    }
+
+    @Benchmark
+    public boolean validator() {
+        return ProductValidator.isValidId(id) & ProductValidator.isValidName(name);
+    }
+}
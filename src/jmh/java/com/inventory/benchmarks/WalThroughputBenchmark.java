@@ -0,0 +1,98 @@
+package com.inventory.benchmarks;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.adapters.persistance.WalProductRepository;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compara el rendimiento de escritura del repositorio en memoria con el del registro en disco, con
+ * varios hilos que escriben cada uno sus propios productos. Para el registro se informa además cuántas escrituras
+ * agrupó cada fsync:
+ *
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="WalThroughputBenchmark -t 32"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@Threads(16)
+public class WalThroughputBenchmark {
+    private static final int KEYS_PER_THREAD = 2_000;
+
+    @State(Scope.Benchmark)
+    public static class Storage {
+        @Param({"memory", "wal"})
+        public String repository;
+
+        ProductRepository target;
+        final AtomicInteger writers = new AtomicInteger();
+        final LongAdder writes = new LongAdder();
+        private Path dir;
+        private Path logFile;
+
+        @Setup(Level.Trial)
+        public void open() throws IOException {
+            if ("wal".equals(repository)) {
+                dir = Files.createTempDirectory("wal-bench");
+                logFile = dir.resolve("products.wal");
+                target = new WalProductRepository(logFile);
+            } else {
+                target = new ProductRepositoryImpl();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            if (target instanceof WalProductRepository) {
+                WalProductRepository wal = (WalProductRepository) target;
+                System.out.printf("%nfsyncs: %,d (%.1f escrituras por fsync)%n",
+                        wal.getSyncCount(), (double) writes.sum() / wal.getSyncCount());
+                wal.close();
+                Files.deleteIfExists(logFile);
+                Files.deleteIfExists(dir);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        String prefix;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Storage storage) {
+            prefix = "t" + storage.writers.getAndIncrement() + "-";
+        }
+    }
+
+    @Benchmark
+    public void save(Storage storage, Writer writer) {
+        int i = writer.next;
+        writer.next = (i + 1) % KEYS_PER_THREAD; // Sobrescribe sus propios productos: el catálogo no crece.
+        storage.target.save(new Product(writer.prefix + i, "Producto " + i, 10.0, i));
+        storage.writes.increment();
+    }
+}
@@ -0,0 +1,73 @@
+package com.inventory.adapters.controller;
+
+/**
+ * Resultado de una operación del controlador, independiente de cómo se presente
+ * (consola, HTTP, modo por lotes). Lleva un estado, un mensaje para el usuario y,
+ * si la operación tuvo éxito, el valor producido.
+ */
+public final class ControllerResult<T> {
+    /**
+     * Desenlace de la operación; cada adaptador lo traduce a su propio formato (ej. códigos HTTP).
+     */
+    public enum Status {
+        OK,
+        CREATED,
+        INVALID,
+        NOT_FOUND,
+        CONFLICT,
+        FORBIDDEN
+    }
+
+    private final Status status;
+    private final String message;
+    private final T value;
+
+    private ControllerResult(Status status, String message, T value) {
+        this.status = status;
+        this.message = message;
+        this.value = value;
+    }
+
+    public static <T> ControllerResult<T> ok(T value, String message) {
+        return new ControllerResult<>(Status.OK, message, value);
+    }
+
+    public static <T> ControllerResult<T> created(T value, String message) {
+        return new ControllerResult<>(Status.CREATED, message, value);
+    }
+
+    public static <T> ControllerResult<T> invalid(String message) {
+        return new ControllerResult<>(Status.INVALID, message, null);
+    }
+
+    public static <T> ControllerResult<T> notFound(String message) {
+        return new ControllerResult<>(Status.NOT_FOUND, message, null);
+    }
+
+    public static <T> ControllerResult<T> conflict(String message) {
+        return new ControllerResult<>(Status.CONFLICT, message, null);
+    }
+
+    public static <T> ControllerResult<T> forbidden(String message) {
+        return new ControllerResult<>(Status.FORBIDDEN, message, null);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.OK || status == Status.CREATED;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Valor producido por la operación; null si falló.
+     */
+    public T getValue() {
+        return value;
+    }
+}
@@ -1,71 +1,279 @@
 package com.inventory.adapters.controller;
 
+import com.inventory.adapters.metrics.InventoryMetrics;
+import com.inventory.adapters.metrics.OperationMetrics;
 import com.inventory.domain.Product;
 import com.inventory.usecases.*;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Controlador que actúa como fachada para los casos de uso.
- * Recibe solicitudes de la capa de presentación (CLI) y las delega a los casos de uso.
- * Centraliza el manejo de excepciones de los casos de uso para presentarlas de forma amigable.
+ * Recibe solicitudes de la capa de presentación (CLI, HTTP) y las delega a los casos de uso.
+ * Centraliza el manejo de excepciones de los casos de uso y las traduce a un ControllerResult,
+ * de modo que cada adaptador decide cómo presentarlo (mensajes en consola, códigos HTTP, etc.).
  * Adhiere a SRP al tener la responsabilidad de coordinar las operaciones de producto.
+ *
+ * Cada llamada a un caso de uso se mide (latencia, llamadas y errores) en las métricas recibidas; las
+ * fallas inesperadas (ej. DataAccessException) también cuentan como error antes de propagarse.
+ * Es seguro usarlo desde varios hilos a la vez.
  */
 public class ProductController {
     private final AddProductUseCase addProductUseCase;
     private final UpdateProductUseCase updateProductUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
+    private final GetProductUseCase getProductUseCase;
     private final ListAllProductsUseCase listAllProductsUseCase;
+    private final AdjustStockUseCase adjustStockUseCase;
+    private final OperationMetrics addMetrics;
+    private final OperationMetrics updateMetrics;
+    private final OperationMetrics deleteMetrics;
+    private final OperationMetrics getMetrics;
+    private final OperationMetrics listMetrics;
+    private final OperationMetrics adjustStockMetrics;
 
     public ProductController(AddProductUseCase addProductUseCase,
                              UpdateProductUseCase updateProductUseCase,
                              DeleteProductUseCase deleteProductUseCase,
-                             ListAllProductsUseCase listAllProductsUseCase) {
+                             GetProductUseCase getProductUseCase,
+                             ListAllProductsUseCase listAllProductsUseCase,
+                             AdjustStockUseCase adjustStockUseCase) {
+        this(addProductUseCase, updateProductUseCase, deleteProductUseCase, getProductUseCase,
+                listAllProductsUseCase, adjustStockUseCase, new InventoryMetrics());
+    }
+
+    public ProductController(AddProductUseCase addProductUseCase,
+                             UpdateProductUseCase updateProductUseCase,
+                             DeleteProductUseCase deleteProductUseCase,
+                             GetProductUseCase getProductUseCase,
+                             ListAllProductsUseCase listAllProductsUseCase,
+                             AdjustStockUseCase adjustStockUseCase,
+                             InventoryMetrics metrics) {
         // Inyección de dependencias de todos los casos de uso.
         this.addProductUseCase = addProductUseCase;
         this.updateProductUseCase = updateProductUseCase;
         this.deleteProductUseCase = deleteProductUseCase;
+        this.getProductUseCase = getProductUseCase;
         this.listAllProductsUseCase = listAllProductsUseCase;
+        this.adjustStockUseCase = adjustStockUseCase;
+        this.addMetrics = metrics.operation(InventoryMetrics.ADD_PRODUCT);
+        this.updateMetrics = metrics.operation(InventoryMetrics.UPDATE_PRODUCT);
+        this.deleteMetrics = metrics.operation(InventoryMetrics.DELETE_PRODUCT);
+        this.getMetrics = metrics.operation(InventoryMetrics.GET_PRODUCT);
+        this.listMetrics = metrics.operation(InventoryMetrics.LIST_PRODUCTS);
+        this.adjustStockMetrics = metrics.operation(InventoryMetrics.ADJUST_STOCK);
     }
 
-    public void addProduct(String id, String name, double price, int stock) {
+    public ControllerResult<Product> addProduct(String id, String name, double price, int stock) {
+        long start = addMetrics.start();
         try {
-            addProductUseCase.execute(id, name, price, stock);
-            System.out.println("✅ Producto '" + name + "' agregado con éxito.");
+            Product product = addProductUseCase.execute(id, name, price, stock);
+            addMetrics.recordSuccess(start);
+            return ControllerResult.created(product, "Producto '" + name + "' agregado con éxito.");
+        } catch (AccessDeniedException e) {
+            addMetrics.recordError(start);
+            return ControllerResult.forbidden("Error al agregar producto: " + e.getMessage());
+        } catch (ProductAlreadyExistsException e) {
+            addMetrics.recordError(start);
+            return ControllerResult.conflict("Error al agregar producto: " + e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.err.println("❌ Error al agregar producto: " + e.getMessage());
+            addMetrics.recordError(start);
+            return ControllerResult.invalid("Error al agregar producto: " + e.getMessage());
+        } catch (RuntimeException e) {
+            addMetrics.recordError(start);
+            throw e;
         }
     }
 
-    public void updateProduct(String id, String name, Double price, Integer stock) {
+    public ControllerResult<Product> updateProduct(String id, String name, Double price, Integer stock) {
+        long start = updateMetrics.start();
         try {
-            updateProductUseCase.execute(id, name, price, stock);
-            System.out.println("✅ Producto con ID '" + id + "' actualizado con éxito.");
+            Product product = updateProductUseCase.execute(id, name, price, stock);
+            updateMetrics.recordSuccess(start);
+            return ControllerResult.ok(product, "Producto con ID '" + id + "' actualizado con éxito.");
+        } catch (AccessDeniedException e) {
+            updateMetrics.recordError(start);
+            return ControllerResult.forbidden("Error al actualizar producto: " + e.getMessage());
         } catch (NoSuchElementException e) {
-            System.err.println("❌ Error al actualizar producto: " + e.getMessage());
+            updateMetrics.recordError(start);
+            return ControllerResult.notFound("Error al actualizar producto: " + e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.err.println("❌ Error de validación al actualizar producto: " + e.getMessage());
+            updateMetrics.recordError(start);
+            return ControllerResult.invalid("Error de validación al actualizar producto: " + e.getMessage());
+        } catch (RuntimeException e) {
+            updateMetrics.recordError(start);
+            throw e;
         }
     }
 
-    public void deleteProduct(String id) {
+    public ControllerResult<Void> deleteProduct(String id) {
+        long start = deleteMetrics.start();
         try {
             deleteProductUseCase.execute(id);
-            System.out.println("✅ Producto con ID '" + id + "' eliminado con éxito.");
+            deleteMetrics.recordSuccess(start);
+            return ControllerResult.ok(null, "Producto con ID '" + id + "' eliminado con éxito.");
+        } catch (AccessDeniedException e) {
+            deleteMetrics.recordError(start);
+            return ControllerResult.forbidden("Error al eliminar producto: " + e.getMessage());
+        } catch (NoSuchElementException e) {
+            deleteMetrics.recordError(start);
+            return ControllerResult.notFound("Error al eliminar producto: " + e.getMessage());
+        } catch (RuntimeException e) {
+            deleteMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    public ControllerResult<Product> getProduct(String id) {
+        long start = getMetrics.start();
+        try {
+            Product product = getProductUseCase.execute(id);
+            getMetrics.recordSuccess(start);
+            return ControllerResult.ok(product, product.toString());
+        } catch (AccessDeniedException e) {
+            getMetrics.recordError(start);
+            return ControllerResult.forbidden("Error al consultar producto: " + e.getMessage());
         } catch (NoSuchElementException e) {
-            System.err.println("❌ Error al eliminar producto: " + e.getMessage());
+            getMetrics.recordError(start);
+            return ControllerResult.notFound(e.getMessage());
+        } catch (RuntimeException e) {
+            getMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    /**
+     * @return El nuevo stock del producto.
+     */
+    public ControllerResult<Integer> adjustStock(String id, int delta) {
+        long start = adjustStockMetrics.start();
+        try {
+            int newStock = adjustStockUseCase.execute(id, delta);
+            adjustStockMetrics.recordSuccess(start);
+            return ControllerResult.ok(newStock, "Stock del producto con ID '" + id + "' ajustado. Nuevo stock: " + newStock);
+        } catch (AccessDeniedException e) {
+            adjustStockMetrics.recordError(start);
+            return ControllerResult.forbidden("Error al ajustar stock: " + e.getMessage());
+        } catch (NoSuchElementException e) {
+            adjustStockMetrics.recordError(start);
+            return ControllerResult.notFound("Error al ajustar stock: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            adjustStockMetrics.recordError(start);
+            return ControllerResult.invalid("Error de validación al ajustar stock: " + e.getMessage());
+        } catch (RuntimeException e) {
+            adjustStockMetrics.recordError(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Recorre todos los productos en streaming: la memoria usada no depende del tamaño del catálogo.
+     * Como la lectura es perezosa, la medición abarca desde esta llamada hasta que se cierra el stream.
+     * @throws AccessDeniedException Si el rol del llamador no puede listar productos.
+     */
+    public Stream<Product> listAllProducts() {
+        long start = listMetrics.start();
+        Stream<Product> products;
+        try {
+            products = listAllProductsUseCase.stream();
+        } catch (RuntimeException e) {
+            listMetrics.recordError(start);
+            throw e;
         }
+        // Una falla al recorrer (ej. se cae la base de datos a mitad del listado) se cuenta como error al cerrar.
+        AtomicBoolean failed = new AtomicBoolean();
+        return StreamSupport.stream(new FailureTrackingSpliterator<>(products.spliterator(), failed), false)
+                .onClose(products::close)
+                .onClose(() -> {
+                    if (failed.get()) {
+                        listMetrics.recordError(start);
+                    } else {
+                        listMetrics.recordSuccess(start);
+                    }
+                });
     }
 
-    public void listAllProducts() {
-        List<Product> products = listAllProductsUseCase.execute();
-        if (products.isEmpty()) {
-            System.out.println("ℹ️ No hay productos en el inventario.");
-        } else {
-            System.out.println("\n--- Lista de Productos ---");
-            products.forEach(System.out::println);
-            System.out.println("--------------------------");
+    /**
+     * Obtiene una página de productos ordenados por ID.
+     * @param afterId Cursor devuelto por la página anterior (null para la primera).
+     * @param pageSize Cantidad de productos por página.
+     * @return La página y el cursor de la siguiente (null si no hay más productos).
+     */
+    public ControllerResult<ProductPage> listProductsPage(String afterId, int pageSize) {
+        long start = listMetrics.start();
+        List<Product> products;
+        try {
+            products = listAllProductsUseCase.execute(afterId, pageSize);
+            listMetrics.recordSuccess(start);
+        } catch (AccessDeniedException e) {
+            listMetrics.recordError(start);
+            return ControllerResult.forbidden("Error al listar productos: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            listMetrics.recordError(start);
+            return ControllerResult.invalid("Error al listar productos: " + e.getMessage());
+        } catch (RuntimeException e) {
+            listMetrics.recordError(start);
+            throw e;
+        }
+        String next = products.size() < pageSize ? null : products.get(products.size() - 1).getId();
+        String message = products.isEmpty()
+                ? (afterId == null ? "No hay productos en el inventario." : "No hay más productos.")
+                : products.size() + " productos.";
+        return ControllerResult.ok(new ProductPage(products, next), message);
+    }
+
+    /**
+     * Delega en otro Spliterator y anota si alguna lectura lanzó una excepción.
+     */
+    private static final class FailureTrackingSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<T> source;
+        private final AtomicBoolean failed;
+
+        FailureTrackingSpliterator(Spliterator<T> source, AtomicBoolean failed) {
+            this.source = source;
+            this.failed = failed;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                return source.tryAdvance(action);
+            } catch (RuntimeException e) {
+                failed.set(true);
+                throw e;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            try {
+                source.forEachRemaining(action);
+            } catch (RuntimeException e) {
+                failed.set(true);
+                throw e;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> split = source.trySplit();
+            return split == null ? null : new FailureTrackingSpliterator<>(split, failed);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.inventory.adapters.controller;
+
+import com.inventory.domain.Product;
+
+import java.util.List;
+
+/**
+ * Página de productos ordenados por ID junto con el cursor para pedir la siguiente.
+ */
+public final class ProductPage {
+    private final List<Product> products;
+    private final String nextCursor;
+
+    public ProductPage(List<Product> products, String nextCursor) {
+        this.products = products;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    /**
+     * ID a usar como cursor de la página siguiente, o null si no hay más productos.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
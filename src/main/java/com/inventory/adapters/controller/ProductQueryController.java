@@ -0,0 +1,66 @@
+package com.inventory.adapters.controller;
+
+import com.inventory.domain.InventoryStats;
+import com.inventory.domain.Product;
+import com.inventory.usecases.FindLowStockProductsUseCase;
+import com.inventory.usecases.FindProductsByPriceRangeUseCase;
+import com.inventory.usecases.InventoryStatsUseCase;
+import com.inventory.usecases.SearchProductsByNameUseCase;
+
+import java.util.List;
+
+/**
+ * Controlador para las búsquedas de productos por nombre, precio y stock, y para los totales del inventario.
+ * Se mantiene separado de ProductController (SRP): solo coordina consultas de lectura. Como aquel,
+ * devuelve cada resultado en un ControllerResult y deja que el adaptador decida cómo presentarlo.
+ */
+public class ProductQueryController {
+    private final SearchProductsByNameUseCase searchProductsByNameUseCase;
+    private final FindProductsByPriceRangeUseCase findProductsByPriceRangeUseCase;
+    private final FindLowStockProductsUseCase findLowStockProductsUseCase;
+    private final InventoryStatsUseCase inventoryStatsUseCase;
+
+    public ProductQueryController(SearchProductsByNameUseCase searchProductsByNameUseCase,
+                                  FindProductsByPriceRangeUseCase findProductsByPriceRangeUseCase,
+                                  FindLowStockProductsUseCase findLowStockProductsUseCase,
+                                  InventoryStatsUseCase inventoryStatsUseCase) {
+        this.searchProductsByNameUseCase = searchProductsByNameUseCase;
+        this.findProductsByPriceRangeUseCase = findProductsByPriceRangeUseCase;
+        this.findLowStockProductsUseCase = findLowStockProductsUseCase;
+        this.inventoryStatsUseCase = inventoryStatsUseCase;
+    }
+
+    public ControllerResult<List<Product>> searchByName(String prefix, int limit) {
+        try {
+            return found(searchProductsByNameUseCase.execute(prefix, limit));
+        } catch (IllegalArgumentException e) {
+            return ControllerResult.invalid("Error al buscar productos: " + e.getMessage());
+        }
+    }
+
+    public ControllerResult<List<Product>> findByPriceRange(double minPrice, double maxPrice, int limit) {
+        try {
+            return found(findProductsByPriceRangeUseCase.execute(minPrice, maxPrice, limit));
+        } catch (IllegalArgumentException e) {
+            return ControllerResult.invalid("Error al buscar productos: " + e.getMessage());
+        }
+    }
+
+    public ControllerResult<List<Product>> findLowStock(int threshold, int limit) {
+        try {
+            return found(findLowStockProductsUseCase.execute(threshold, limit));
+        } catch (IllegalArgumentException e) {
+            return ControllerResult.invalid("Error al buscar productos: " + e.getMessage());
+        }
+    }
+
+    public ControllerResult<InventoryStats> getStats() {
+        InventoryStats stats = inventoryStatsUseCase.execute();
+        return ControllerResult.ok(stats, stats.getProductCount() + " productos.");
+    }
+
+    private static ControllerResult<List<Product>> found(List<Product> products) {
+        return ControllerResult.ok(products, products.isEmpty()
+                ? "No se encontraron productos." : products.size() + " productos encontrados.");
+    }
+}
@@ -0,0 +1,71 @@
+package com.inventory.adapters.controller;
+
+import com.inventory.domain.StockHold;
+import com.inventory.usecases.AccessDeniedException;
+import com.inventory.usecases.ConfirmStockHoldUseCase;
+import com.inventory.usecases.PlaceStockHoldUseCase;
+import com.inventory.usecases.ReleaseStockHoldUseCase;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Controlador para las retenciones de stock con vencimiento.
+ * Se mantiene separado de ProductController (SRP): solo coordina retener, confirmar y liberar. Como aquel,
+ * devuelve cada resultado en un ControllerResult y deja que el adaptador decida cómo presentarlo.
+ */
+public class StockHoldController {
+    private final PlaceStockHoldUseCase placeStockHoldUseCase;
+    private final ConfirmStockHoldUseCase confirmStockHoldUseCase;
+    private final ReleaseStockHoldUseCase releaseStockHoldUseCase;
+
+    public StockHoldController(PlaceStockHoldUseCase placeStockHoldUseCase,
+                               ConfirmStockHoldUseCase confirmStockHoldUseCase,
+                               ReleaseStockHoldUseCase releaseStockHoldUseCase) {
+        this.placeStockHoldUseCase = placeStockHoldUseCase;
+        this.confirmStockHoldUseCase = confirmStockHoldUseCase;
+        this.releaseStockHoldUseCase = releaseStockHoldUseCase;
+    }
+
+    /**
+     * @return La retención creada; CONFLICT si el stock disponible no alcanza.
+     */
+    public ControllerResult<StockHold> placeHold(String productId, int quantity, long ttlMillis) {
+        try {
+            Optional<StockHold> hold = placeStockHoldUseCase.execute(productId, quantity, ttlMillis);
+            if (hold.isEmpty()) {
+                return ControllerResult.conflict("Stock insuficiente para retener " + quantity
+                        + " unidades del producto con ID '" + productId + "'.");
+            }
+            return ControllerResult.created(hold.get(), hold.get().toString());
+        } catch (AccessDeniedException e) {
+            return ControllerResult.forbidden("Error al retener stock: " + e.getMessage());
+        } catch (NoSuchElementException e) {
+            return ControllerResult.notFound("Error al retener stock: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ControllerResult.invalid("Error de validación al retener stock: " + e.getMessage());
+        }
+    }
+
+    public ControllerResult<Void> confirmHold(long holdId) {
+        try {
+            confirmStockHoldUseCase.execute(holdId);
+            return ControllerResult.ok(null, "Retención " + holdId + " confirmada.");
+        } catch (AccessDeniedException e) {
+            return ControllerResult.forbidden("Error al confirmar retención: " + e.getMessage());
+        } catch (NoSuchElementException e) {
+            return ControllerResult.notFound("Error al confirmar retención: " + e.getMessage());
+        }
+    }
+
+    public ControllerResult<Void> releaseHold(long holdId) {
+        try {
+            releaseStockHoldUseCase.execute(holdId);
+            return ControllerResult.ok(null, "Retención " + holdId + " liberada.");
+        } catch (AccessDeniedException e) {
+            return ControllerResult.forbidden("Error al liberar retención: " + e.getMessage());
+        } catch (NoSuchElementException e) {
+            return ControllerResult.notFound("Error al liberar retención: " + e.getMessage());
+        }
+    }
+}
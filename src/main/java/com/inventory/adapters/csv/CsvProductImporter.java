@@ -0,0 +1,445 @@
+package com.inventory.adapters.csv;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import com.inventory.usecases.AccessDeniedException;
+import com.inventory.usecases.CallerContext;
+import com.inventory.usecases.ImportProductsUseCase;
+import com.inventory.usecases.Role;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Importa productos desde un archivo CSV (id,nombre,precio,stock) de cualquier tamaño.
+ *
+ * Un hilo lector recorre el archivo con NIO en bloques cortados en el último salto de línea y los
+ * entrega por una cola acotada a varios hilos que analizan y validan las filas en paralelo
+ * (con las mismas reglas del constructor de Product) y las guardan en lotes a través de
+ * ImportProductsUseCase (saveAll), que sobre el registro en disco cuesta un solo fsync por lote. Los
+ * hilos del importador guardan con el rol de quien inició la importación. Los bloques salen de un conjunto fijo de
+ * buffers reutilizables, así que la memoria usada no depende del tamaño del archivo.
+ *
+ * Las filas inválidas no detienen la importación: se escriben en un reporte aparte con su número de
+ * línea y el motivo. Una primera línea que empiece con "id," se toma como encabezado y se omite.
+ * Los campos pueden ir entre comillas dobles (por ejemplo, nombres con comas). Como las filas se
+ * procesan en paralelo, si un ID se repite en el archivo no está definido cuál de sus filas prevalece.
+ */
+public class CsvProductImporter {
+    private static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    private static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    private final ImportProductsUseCase importProducts;
+    private final int parserThreads;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public CsvProductImporter(ProductRepository repository) {
+        this(new ImportProductsUseCase(repository));
+    }
+
+    public CsvProductImporter(ImportProductsUseCase importProducts) {
+        this(importProducts, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    public CsvProductImporter(ProductRepository repository, int parserThreads, int batchSize, int chunkSize) {
+        this(new ImportProductsUseCase(repository), parserThreads, batchSize, chunkSize);
+    }
+
+    /**
+     * @param importProducts Caso de uso que guarda cada lote (y verifica el permiso de importar).
+     * @param parserThreads Hilos que analizan y guardan filas.
+     * @param batchSize Productos acumulados por hilo antes de escribirlos en el repositorio.
+     * @param chunkSize Tamaño en bytes de cada bloque leído; ninguna línea puede superarlo.
+     */
+    public CsvProductImporter(ImportProductsUseCase importProducts, int parserThreads, int batchSize, int chunkSize) {
+        if (parserThreads <= 0 || batchSize <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Los parámetros de importación deben ser mayores que cero.");
+        }
+        this.importProducts = importProducts;
+        this.parserThreads = parserThreads;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Importa el archivo completo.
+     * @param csvFile Archivo CSV de entrada.
+     * @param rejectsReport Archivo donde se escriben las filas rechazadas (se sobrescribe).
+     * @param progressListener Recibe el avance cada segundo; puede ser null.
+     * @return El resumen final de la importación.
+     * @throws UncheckedIOException Si no se puede leer el CSV o escribir el reporte.
+     * @throws AccessDeniedException Si el rol del llamador no puede importar productos (antes de leer nada).
+     */
+    public ImportProgress importFile(Path csvFile, Path rejectsReport, Consumer<ImportProgress> progressListener) {
+        importProducts.checkAllowed();
+        Role caller = CallerContext.current();
+        Run run = new Run();
+        ScheduledExecutorService reporter = null;
+        if (progressListener != null) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "csv-import-progress");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(() -> progressListener.accept(run.progress()), 1, 1, TimeUnit.SECONDS);
+        }
+
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ);
+             BufferedWriter rejects = Files.newBufferedWriter(rejectsReport, StandardCharsets.UTF_8)) {
+            run.rejects = rejects;
+            List<Thread> workers = new ArrayList<>(parserThreads);
+            for (int i = 0; i < parserThreads; i++) {
+                Thread worker = new Thread(() -> CallerContext.callAs(caller, () -> {
+                    run.parseChunks();
+                    return null;
+                }), "csv-import-" + i);
+                workers.add(worker);
+                worker.start();
+            }
+            try {
+                run.readChunks(channel);
+            } finally {
+                for (int i = 0; i < parserThreads; i++) {
+                    run.putUninterruptibly(run.filled, Chunk.END);
+                }
+                for (Thread worker : workers) {
+                    joinUninterruptibly(worker);
+                }
+            }
+            Throwable failure = run.failure.get();
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure != null) {
+                throw new IllegalStateException("La importación se interrumpió: " + failure.getMessage(), failure);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo importar el archivo " + csvFile, e);
+        } finally {
+            if (reporter != null) {
+                reporter.shutdownNow();
+            }
+        }
+
+        ImportProgress summary = run.progress();
+        if (progressListener != null) {
+            progressListener.accept(summary);
+        }
+        return summary;
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Bloque de líneas completas listo para analizar.
+     */
+    private static final class Chunk {
+        static final Chunk END = new Chunk(null, 0, 0);
+
+        final byte[] bytes;
+        final int length;
+        final long firstLine;
+
+        Chunk(byte[] bytes, int length, long firstLine) {
+            this.bytes = bytes;
+            this.length = length;
+            this.firstLine = firstLine;
+        }
+    }
+
+    /**
+     * Estado de una importación en curso.
+     */
+    private final class Run {
+        final long start = System.nanoTime();
+        final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(parserThreads * 2);
+        final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(parserThreads * 3 + 1);
+        final LongAdder read = new LongAdder();
+        final LongAdder imported = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        BufferedWriter rejects;
+
+        Run() {
+            for (int i = 0; i < parserThreads * 3 + 1; i++) {
+                free.add(new byte[chunkSize]);
+            }
+        }
+
+        ImportProgress progress() {
+            return new ImportProgress(read.sum(), imported.sum(), rejected.sum(), System.nanoTime() - start);
+        }
+
+        // --- Lectura ---
+
+        void readChunks(FileChannel channel) throws IOException {
+            byte[] carry = new byte[chunkSize];
+            int carried = 0;
+            long nextLine = 1;
+            boolean eof = false;
+            while (!eof && failure.get() == null) {
+                byte[] buffer = takeUninterruptibly(free);
+                System.arraycopy(carry, 0, buffer, 0, carried);
+                ByteBuffer target = ByteBuffer.wrap(buffer, carried, buffer.length - carried);
+                while (target.hasRemaining()) {
+                    if (channel.read(target) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                int filledBytes = target.position();
+                int cut = eof ? filledBytes : lastNewline(buffer, filledBytes) + 1;
+                if (cut == 0 && !eof) {
+                    throw new IOException("La línea " + nextLine + " supera el tamaño máximo de " + chunkSize + " bytes.");
+                }
+                carried = filledBytes - cut;
+                System.arraycopy(buffer, cut, carry, 0, carried);
+                if (cut > 0) {
+                    putUninterruptibly(filled, new Chunk(buffer, cut, nextLine));
+                    nextLine += countNewlines(buffer, cut);
+                } else {
+                    free.add(buffer);
+                }
+            }
+        }
+
+        // --- Análisis y escritura ---
+
+        void parseChunks() {
+            List<Product> batch = new ArrayList<>(batchSize);
+            try {
+                while (true) {
+                    Chunk chunk = takeUninterruptibly(filled);
+                    if (chunk == Chunk.END) {
+                        break;
+                    }
+                    if (failure.get() == null) {
+                        parse(chunk, batch);
+                    }
+                    free.add(chunk.bytes);
+                }
+                flush(batch);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+                // Se siguen consumiendo bloques para que el lector no quede bloqueado en la cola.
+                drainUntilEnd();
+            }
+        }
+
+        private void parse(Chunk chunk, List<Product> batch) throws IOException {
+            StringBuilder rejectedRows = null;
+            byte[] bytes = chunk.bytes;
+            long line = chunk.firstLine;
+            int position = 0;
+            while (position < chunk.length) {
+                int end = indexOf(bytes, (byte) '\n', position, chunk.length);
+                int lineEnd = end > position && bytes[end - 1] == '\r' ? end - 1 : end;
+                if (lineEnd > position) {
+                    String text = new String(bytes, position, lineEnd - position, StandardCharsets.UTF_8);
+                    if (line != 1 || !isHeader(text)) {
+                        read.increment();
+                        String reason = parseRow(text, batch);
+                        if (reason != null) {
+                            rejected.increment();
+                            if (rejectedRows == null) {
+                                rejectedRows = new StringBuilder();
+                            }
+                            rejectedRows.append(line).append('\t').append(reason).append('\t').append(text).append('\n');
+                        } else if (batch.size() >= batchSize) {
+                            flush(batch);
+                        }
+                    }
+                }
+                position = end + 1;
+                line++;
+            }
+            if (rejectedRows != null) {
+                synchronized (this) {
+                    rejects.write(rejectedRows.toString());
+                }
+            }
+        }
+
+        /**
+         * Agrega la fila al lote si es válida.
+         * @return null si la fila es válida; si no, el motivo del rechazo.
+         */
+        private String parseRow(String text, List<Product> batch) {
+            String[] fields = splitFields(text);
+            if (fields == null) {
+                return "Se esperaban 4 columnas: id,nombre,precio,stock.";
+            }
+            try {
+                batch.add(new Product(fields[0], fields[1], Double.parseDouble(fields[2]), Integer.parseInt(fields[3])));
+                return null;
+            } catch (NumberFormatException e) {
+                return "El precio o el stock no es un número válido.";
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+
+        private void flush(List<Product> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            importProducts.execute(batch);
+            imported.add(batch.size());
+            batch.clear();
+        }
+
+        private void drainUntilEnd() {
+            while (true) {
+                Chunk chunk = takeUninterruptibly(filled);
+                if (chunk == Chunk.END) {
+                    return;
+                }
+                free.add(chunk.bytes);
+            }
+        }
+
+        <T> T takeUninterruptibly(BlockingQueue<T> queue) {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+
+        <T> void putUninterruptibly(BlockingQueue<T> queue, T element) {
+            while (true) {
+                try {
+                    queue.put(element);
+                    return;
+                } catch (InterruptedException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+    }
+
+    // --- Utilidades de análisis ---
+
+    private static boolean isHeader(String line) {
+        return line.regionMatches(true, 0, "id,", 0, 3);
+    }
+
+    /**
+     * Separa una línea en exactamente 4 campos, respetando comillas dobles ("" dentro de comillas es una comilla).
+     * @return Los campos, o null si la cantidad de columnas no es 4 o las comillas están mal cerradas.
+     */
+    static String[] splitFields(String line) {
+        String[] fields = new String[4];
+        int count = 0;
+        int i = 0;
+        int length = line.length();
+        while (true) {
+            if (count == fields.length) {
+                return null;
+            }
+            StringBuilder field = new StringBuilder();
+            if (i < length && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        return null;
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < length && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < length && line.charAt(i) != ',') {
+                    return null;
+                }
+            } else {
+                int comma = line.indexOf(',', i);
+                int end = comma < 0 ? length : comma;
+                field.append(line, i, end);
+                i = end;
+            }
+            fields[count++] = field.toString();
+            if (i >= length) {
+                break;
+            }
+            i++; // Saltar la coma.
+            if (i == length) {
+                // Coma final: hay un último campo vacío.
+                if (count == fields.length) {
+                    return null;
+                }
+                fields[count++] = "";
+                break;
+            }
+        }
+        return count == fields.length ? fields : null;
+    }
+
+    private static int lastNewline(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static long countNewlines(byte[] bytes, int length) {
+        long count = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,45 @@
+package com.inventory.adapters.csv;
+
+/**
+ * Estado de una importación en un momento dado: filas leídas, importadas y rechazadas.
+ * Se entrega periódicamente mientras corre la importación y una última vez al terminar.
+ */
+public final class ImportProgress {
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long elapsedNanos;
+
+    public ImportProgress(long rowsRead, long rowsImported, long rowsRejected, long elapsedNanos) {
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Filas: %,d (importadas %,d, rechazadas %,d) en %,d ms - %,.0f filas/s",
+                rowsRead, rowsImported, rowsRejected, getElapsedMillis(), getRowsPerSecond());
+    }
+}
@@ -0,0 +1,109 @@
+package com.inventory.adapters.events;
+
+import com.inventory.domain.Product;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Anillo acotado de eventos de cambio con varios productores y varios suscriptores.
+ *
+ * Cada publicación reserva la secuencia siguiente con un incremento atómico y deja el evento en la
+ * posición secuencia % capacidad; no hay candados y un productor nunca espera a nadie. Los suscriptores
+ * no se registran en el anillo: cada uno lleva su propio cursor y lee a su ritmo (ChangeSubscription).
+ * Si uno se atrasa más que la capacidad, los eventos que le faltaban se sobrescriben y lo detecta al
+ * leer (ChangeStreamOverrunException); los productores y los demás suscriptores no se enteran.
+ *
+ * Cada posición guarda el evento completo, que lleva su propia secuencia: así un lector distingue un
+ * evento todavía no escrito (secuencia menor a la esperada) de uno ya sobrescrito (secuencia mayor).
+ */
+public final class ChangeEventRing {
+    private final AtomicReferenceArray<ProductChangeEvent> slots;
+    private final int mask;
+    private final AtomicLong lastClaimed = new AtomicLong();
+
+    /**
+     * @param capacity Cantidad de eventos que se conservan; se redondea a la potencia de dos siguiente.
+     */
+    public ChangeEventRing(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("La capacidad del anillo debe estar entre 1 y 2^30.");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Publica un cambio. Nunca bloquea.
+     * @param before Estado anterior (null en un alta).
+     * @param after Estado nuevo (null en una baja).
+     * @return La secuencia asignada al evento.
+     */
+    public long publish(Product before, Product after) {
+        if (before == null && after == null) {
+            throw new IllegalArgumentException("Un cambio necesita el estado anterior o el nuevo.");
+        }
+        long sequence = lastClaimed.incrementAndGet();
+        ProductChangeEvent event = new ProductChangeEvent(sequence, before, after);
+        int index = (int) (sequence & mask);
+        while (true) {
+            ProductChangeEvent current = slots.get(index);
+            if (current != null && current.getSequence() > sequence) {
+                // Este productor se demoró una vuelta completa y la posición ya tiene un evento posterior:
+                // el suyo se da por sobrescrito, igual que si se hubiera escrito a tiempo.
+                return sequence;
+            }
+            if (slots.compareAndSet(index, current, event)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * @return Cantidad de eventos que el anillo conserva.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return La secuencia del último evento publicado o en curso de publicación (0 si no hubo ninguno).
+     */
+    public long lastSequence() {
+        return lastClaimed.get();
+    }
+
+    /**
+     * @return La secuencia más antigua que todavía puede leerse.
+     */
+    public long oldestAvailableSequence() {
+        return Math.max(1, lastClaimed.get() - mask);
+    }
+
+    /**
+     * Suscribe un lector que empieza en la secuencia indicada (por ejemplo, la siguiente a la última
+     * que procesó antes de reiniciarse).
+     * @param fromSequence Primera secuencia a leer, 1 o mayor.
+     */
+    public ChangeSubscription subscribe(long fromSequence) {
+        if (fromSequence < 1) {
+            throw new IllegalArgumentException("Las secuencias empiezan en 1.");
+        }
+        return new ChangeSubscription(this, fromSequence);
+    }
+
+    /**
+     * Suscribe un lector que solo recibe los eventos publicados a partir de ahora.
+     */
+    public ChangeSubscription subscribeToNew() {
+        return new ChangeSubscription(this, lastClaimed.get() + 1);
+    }
+
+    ProductChangeEvent slot(long sequence) {
+        return slots.get((int) (sequence & mask));
+    }
+}
@@ -0,0 +1,26 @@
+package com.inventory.adapters.events;
+
+/**
+ * El suscriptor pidió eventos que el anillo ya descartó por falta de espacio: se quedó atrás más de
+ * la capacidad del anillo (o intentó retomar desde una secuencia demasiado antigua). Para no perder
+ * cambios debe resincronizarse con una lectura completa y suscribirse desde la secuencia actual.
+ */
+public class ChangeStreamOverrunException extends IllegalStateException {
+    private final long requestedSequence;
+    private final long oldestAvailableSequence;
+
+    public ChangeStreamOverrunException(long requestedSequence, long oldestAvailableSequence) {
+        super("El evento " + requestedSequence + " ya no está disponible; el más antiguo es el "
+                + oldestAvailableSequence + ".");
+        this.requestedSequence = requestedSequence;
+        this.oldestAvailableSequence = oldestAvailableSequence;
+    }
+
+    public long getRequestedSequence() {
+        return requestedSequence;
+    }
+
+    public long getOldestAvailableSequence() {
+        return oldestAvailableSequence;
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory.adapters.events;
+
+import java.util.function.Consumer;
+
+/**
+ * Cursor de un suscriptor sobre un ChangeEventRing. Lee sin bloquear y a su propio ritmo (el
+ * suscriptor decide cuándo y cuántos eventos pedir), de modo que un consumidor lento nunca frena a
+ * los escritores. No es seguro compartirlo entre hilos; cada lector usa el suyo.
+ */
+public final class ChangeSubscription {
+    private final ChangeEventRing ring;
+    private long nextSequence;
+
+    ChangeSubscription(ChangeEventRing ring, long fromSequence) {
+        this.ring = ring;
+        this.nextSequence = fromSequence;
+    }
+
+    /**
+     * Entrega, en orden de secuencia y sin huecos, los eventos disponibles a partir del cursor.
+     * El cursor avanza después de cada entrega: si el consumidor lanza una excepción, ese evento se
+     * vuelve a entregar en la próxima llamada.
+     * @param maxEvents Máximo de eventos a entregar en esta llamada.
+     * @return Cantidad de eventos entregados (0 si todavía no hay nuevos).
+     * @throws ChangeStreamOverrunException Si el evento siguiente ya fue sobrescrito.
+     */
+    public int poll(Consumer<? super ProductChangeEvent> consumer, int maxEvents) {
+        int delivered = 0;
+        while (delivered < maxEvents) {
+            ProductChangeEvent event = ring.slot(nextSequence);
+            if (event == null || event.getSequence() < nextSequence) {
+                // Todavía no publicado (o reservado por un productor que aún no lo escribió).
+                break;
+            }
+            if (event.getSequence() > nextSequence) {
+                throw new ChangeStreamOverrunException(nextSequence, ring.oldestAvailableSequence());
+            }
+            consumer.accept(event);
+            nextSequence++;
+            delivered++;
+        }
+        return delivered;
+    }
+
+    /**
+     * @return La secuencia del próximo evento a entregar; sirve para retomar con ChangeEventRing.subscribe.
+     */
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * @return Eventos publicados que este suscriptor todavía no leyó.
+     */
+    public long lag() {
+        return Math.max(0, ring.lastSequence() - nextSequence + 1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.inventory.adapters.events;
+
+import com.inventory.domain.Product;
+
+/**
+ * Cambio de un producto publicado en el flujo de cambios: número de secuencia y estado anterior y nuevo.
+ * Un alta no tiene estado anterior y una baja no tiene estado nuevo. Inmutable.
+ */
+public final class ProductChangeEvent {
+    public enum Type { INSERT, UPDATE, DELETE }
+
+    private final long sequence;
+    private final Product before;
+    private final Product after;
+
+    ProductChangeEvent(long sequence, Product before, Product after) {
+        this.sequence = sequence;
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * @return Posición del evento en el flujo, empezando en 1 y sin huecos.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return El producto antes del cambio, o null si es un alta.
+     */
+    public Product getBefore() {
+        return before;
+    }
+
+    /**
+     * @return El producto después del cambio, o null si es una baja.
+     */
+    public Product getAfter() {
+        return after;
+    }
+
+    public String getProductId() {
+        return after != null ? after.getId() : before.getId();
+    }
+
+    public Type getType() {
+        return before == null ? Type.INSERT : after == null ? Type.DELETE : Type.UPDATE;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + getType() + " " + getProductId();
+    }
+}
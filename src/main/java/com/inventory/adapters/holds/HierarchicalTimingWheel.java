@@ -0,0 +1,126 @@
+package com.inventory.adapters.holds;
+
+import java.util.function.Consumer;
+
+/**
+ * Rueda de tiempo jerárquica: agenda vencimientos en O(1) y los dispara en O(1) amortizado por
+ * elemento, sin una tarea programada ni un nodo de cola de prioridad por elemento.
+ *
+ * Hay LEVELS ruedas de 64 casilleros. En la rueda k cada casillero abarca 64^k ticks, así que las
+ * cuatro cubren 2^24 ticks (unas 46 horas con ticks de 10 ms). Un elemento se guarda en la rueda más
+ * baja cuyo alcance cubre lo que le falta para vencer; cuando el tick actual llega al comienzo del
+ * bloque de su casillero, ese casillero se vuelca a las ruedas de abajo (cascada) y, en la rueda 0,
+ * el casillero del tick actual se dispara completo. Cada elemento baja a lo sumo LEVELS - 1 veces.
+ * Los vencimientos más allá del alcance se guardan en el último casillero posible y se reubican al bajar.
+ *
+ * Los casilleros son listas enlazadas a través de los propios elementos (Entry), sin nodos extra.
+ * No es segura para varios hilos: quien la usa debe serializar los accesos.
+ */
+public final class HierarchicalTimingWheel<E extends HierarchicalTimingWheel.Entry> {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long SPAN = 1L << (BITS * LEVELS); // Ticks que cubre la rueda completa.
+
+    /**
+     * Elemento agendable. Un mismo elemento no puede estar agendado dos veces a la vez.
+     */
+    public abstract static class Entry {
+        long deadline; // Tick de vencimiento.
+        Entry next; // Siguiente del mismo casillero.
+    }
+
+    private final Entry[][] slots = new Entry[LEVELS][SLOTS];
+    private long current;
+    private int size;
+
+    /**
+     * @param startTick Tick actual; los elementos con vencimiento anterior se disparan en el siguiente.
+     */
+    public HierarchicalTimingWheel(long startTick) {
+        this.current = startTick;
+    }
+
+    public long currentTick() {
+        return current;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Agenda el elemento para el tick indicado (o el siguiente, si ese ya pasó).
+     */
+    public void schedule(E entry, long deadlineTick) {
+        entry.deadline = deadlineTick;
+        place(entry, Math.max(deadlineTick, current + 1));
+        size++;
+    }
+
+    /**
+     * Avanza tick por tick hasta el indicado, disparando en orden todo lo que vence en el camino.
+     * Si onExpire lanza una excepción, los elementos del casillero que todavía no se dispararon se
+     * reagendan para el tick siguiente (ninguno se pierde) y la excepción se propaga.
+     * @return Cantidad de elementos disparados.
+     */
+    @SuppressWarnings("unchecked")
+    public int advanceTo(long tick, Consumer<? super E> onExpire) {
+        int fired = 0;
+        while (current < tick) {
+            current++;
+            // Los bloques que empiezan en este tick bajan antes de disparar la rueda 0.
+            for (int level = 1; level < LEVELS && (current & ((1L << (BITS * level)) - 1)) == 0; level++) {
+                int index = (int) (current >>> (BITS * level)) & MASK;
+                Entry entry = slots[level][index];
+                slots[level][index] = null;
+                while (entry != null) {
+                    Entry next = entry.next;
+                    place(entry, Math.max(entry.deadline, current));
+                    entry = next;
+                }
+            }
+            int index = (int) current & MASK;
+            Entry entry = slots[0][index];
+            slots[0][index] = null;
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.next = null;
+                size--;
+                fired++;
+                try {
+                    onExpire.accept((E) entry);
+                } catch (RuntimeException | Error e) {
+                    for (Entry rest = next; rest != null; ) {
+                        Entry following = rest.next;
+                        place(rest, current + 1);
+                        rest = following;
+                    }
+                    throw e;
+                }
+                entry = next;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Guarda el elemento en el casillero que le corresponde para vencer en el tick indicado (no anterior al actual).
+     */
+    private void place(Entry entry, long tick) {
+        long delta = tick - current;
+        if (delta >= SPAN) {
+            // Fuera de alcance: último bloque posible de la rueda superior; se reubica cuando baje.
+            tick = current + SPAN - 1;
+            delta = SPAN - 1;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) (tick >>> (BITS * level)) & MASK;
+        entry.next = slots[level][index];
+        slots[level][index] = entry;
+    }
+}
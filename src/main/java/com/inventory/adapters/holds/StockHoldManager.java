@@ -0,0 +1,311 @@
+package com.inventory.adapters.holds;
+
+import com.inventory.adapters.persistance.DataAccessException;
+import com.inventory.domain.ProductRepository;
+import com.inventory.domain.StockHold;
+import com.inventory.domain.StockHolds;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Retenciones de stock con vencimiento: place descuenta las unidades del producto (tryReserve), así
+ * que el stock del repositorio es siempre el disponible sin contar las retenciones activas; confirm las
+ * da por vendidas y release o el vencimiento las devuelven (adjustStock).
+ *
+ * Cada retención termina una sola vez: confirmar, liberar y vencer compiten con un CAS sobre su estado
+ * y solo el ganador toca el stock, así que ninguna unidad se devuelve dos veces. Si devolverlas falla
+ * por el almacenamiento (DataAccessException: una base de datos o un shard caídos), la retención queda
+ * en una cola de devoluciones pendientes que expireDue reintenta en cada tick: las unidades siguen
+ * contadas en heldUnits hasta volver al stock. Cualquier otra falla (ej. el stock desbordaría) no se
+ * resuelve reintentando: esas unidades se descartan, se informan por la salida de errores y se
+ * acumulan en lostUnits.
+ *
+ * Los vencimientos se agendan en una HierarchicalTimingWheel. place no toca la rueda: apila la
+ * retención en una pila sin candados que expireDue vuelca antes de avanzar, así que agendar es O(1)
+ * y nunca espera al hilo que vence. Las retenciones confirmadas o liberadas siguen en la rueda hasta su
+ * vencimiento y ahí se descartan (cancelación perezosa, también O(1)).
+ * start programa expireDue cada tick en un hilo propio y close lo detiene; sin start, quien use el
+ * administrador debe llamar a expireDue periódicamente.
+ */
+public class StockHoldManager implements StockHolds, AutoCloseable {
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    private static final int ACTIVE = 0;
+    private static final int CONFIRMED = 1;
+    private static final int RELEASED = 2;
+    private static final int EXPIRED = 3;
+
+    private final ProductRepository repository;
+    private final LongSupplier clock;
+    private final long tickMillis;
+    private final ConcurrentHashMap<Long, Hold> active = new ConcurrentHashMap<>();
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong heldUnits = new AtomicLong();
+    private final AtomicLong lostUnits = new AtomicLong();
+    // Retenciones nuevas todavía no agendadas, enlazadas por Entry.next (pila de Treiber).
+    private final AtomicReference<Hold> pending = new AtomicReference<>();
+    private final ReentrantLock expiryLock = new ReentrantLock(); // Protege la rueda.
+    private final HierarchicalTimingWheel<Hold> wheel;
+    // Retenciones terminadas cuyas unidades no se pudieron devolver al stock; se reintentan en cada tick.
+    private final ConcurrentLinkedQueue<Hold> unreturned = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService scheduler;
+
+    public StockHoldManager(ProductRepository repository) {
+        this(repository, System::currentTimeMillis, DEFAULT_TICK_MILLIS);
+    }
+
+    /**
+     * @param clock Reloj en milisegundos (uno simulado en las pruebas).
+     * @param tickMillis Resolución de los vencimientos: una retención vence a lo sumo un tick tarde.
+     */
+    public StockHoldManager(ProductRepository repository, LongSupplier clock, long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("El tick debe ser mayor que cero.");
+        }
+        this.repository = repository;
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.wheel = new HierarchicalTimingWheel<>(clock.getAsLong() / tickMillis);
+    }
+
+    /**
+     * Retiene unidades de un producto hasta que se confirmen, se liberen o venza el plazo.
+     * @return La retención, o vacío si el stock disponible no alcanza.
+     * @throws NoSuchElementException Si el producto no existe.
+     * @throws IllegalArgumentException Si la cantidad o el plazo no son positivos.
+     */
+    @Override
+    public Optional<StockHold> place(String productId, int quantity, long ttlMillis) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad a retener debe ser mayor que cero.");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("El plazo de la retención debe ser mayor que cero.");
+        }
+        if (!repository.tryReserve(productId, quantity)) {
+            if (repository.findById(productId).isEmpty()) {
+                throw new NoSuchElementException("Producto con ID " + productId + " no encontrado para retener stock.");
+            }
+            return Optional.empty();
+        }
+        Hold hold = new Hold(lastId.incrementAndGet(), productId, quantity, clock.getAsLong() + ttlMillis);
+        heldUnits.addAndGet(quantity);
+        active.put(hold.id, hold);
+        Hold head;
+        do {
+            head = pending.get();
+            hold.next = head;
+        } while (!pending.compareAndSet(head, hold));
+        return Optional.of(hold.toStockHold());
+    }
+
+    /**
+     * Empieza a vencer retenciones cada tick desde un hilo propio.
+     * @throws IllegalStateException Si ya se inició.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            throw new IllegalStateException("Los vencimientos ya están en marcha.");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "stock-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                expireDue();
+            } catch (RuntimeException e) {
+                // Una excepción cancelaría la tarea programada; lo que quedó pendiente se retoma en el próximo tick.
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene el hilo de vencimientos y espera a que termine el tick en curso. Las retenciones activas
+     * no se tocan: siguen reteniendo sus unidades.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    /**
+     * Da por vendidas las unidades retenidas.
+     * @return false si la retención no existe o ya terminó (confirmada, liberada o vencida).
+     */
+    @Override
+    public boolean confirm(long holdId) {
+        Hold hold = active.get(holdId);
+        if (hold == null) {
+            return false;
+        }
+        if (clock.getAsLong() >= hold.expiresAt) {
+            // Venció aunque expireDue todavía no la haya procesado: se devuelve ahora.
+            finish(hold, EXPIRED);
+            return false;
+        }
+        return finish(hold, CONFIRMED);
+    }
+
+    /**
+     * Devuelve las unidades retenidas al stock del producto.
+     * @return false si la retención no existe o ya terminó.
+     */
+    @Override
+    public boolean release(long holdId) {
+        Hold hold = active.get(holdId);
+        return hold != null && finish(hold, RELEASED);
+    }
+
+    /**
+     * @return La retención si sigue activa.
+     */
+    @Override
+    public Optional<StockHold> find(long holdId) {
+        Hold hold = active.get(holdId);
+        return hold == null ? Optional.empty() : Optional.of(hold.toStockHold());
+    }
+
+    /**
+     * Reintenta las devoluciones pendientes, agenda las retenciones nuevas y vence las que llegaron a
+     * su plazo según el reloj. Si otro hilo ya está venciendo, no hace nada (lo hará ese hilo o la
+     * próxima llamada).
+     * @return Cantidad de retenciones vencidas en esta llamada.
+     */
+    public int expireDue() {
+        if (!expiryLock.tryLock()) {
+            return 0;
+        }
+        try {
+            // Solo las que ya estaban: las que vuelvan a fallar esperan al próximo tick.
+            for (int retries = unreturned.size(); retries > 0; retries--) {
+                Hold owed = unreturned.poll();
+                if (owed == null) {
+                    break;
+                }
+                returnUnits(owed);
+            }
+            Hold hold = pending.getAndSet(null);
+            while (hold != null) {
+                Hold next = (Hold) hold.next;
+                if (hold.state == ACTIVE) {
+                    // Se redondea hacia arriba: una retención nunca vence antes de su plazo.
+                    wheel.schedule(hold, (hold.expiresAt + tickMillis - 1) / tickMillis);
+                }
+                hold = next;
+            }
+            int[] expired = new int[1];
+            wheel.advanceTo(clock.getAsLong() / tickMillis, due -> {
+                if (finish(due, EXPIRED)) {
+                    expired[0]++;
+                }
+            });
+            return expired[0];
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+
+    public int activeHolds() {
+        return active.size();
+    }
+
+    /**
+     * @return Unidades retenidas por retenciones activas, de todos los productos.
+     */
+    public long heldUnits() {
+        return heldUnits.get();
+    }
+
+    /**
+     * @return Retenciones terminadas cuyas unidades todavía no se pudieron devolver al stock.
+     */
+    public int pendingReturns() {
+        return unreturned.size();
+    }
+
+    /**
+     * @return Unidades de retenciones terminadas que no se pudieron devolver al stock por una falla que
+     *         reintentar no resuelve, y que por eso se descartaron.
+     */
+    public long lostUnits() {
+        return lostUnits.get();
+    }
+
+    /**
+     * Termina la retención si sigue activa; solo el hilo que gana el CAS ajusta el stock.
+     */
+    private boolean finish(Hold hold, int outcome) {
+        if (!Hold.STATE.compareAndSet(hold, ACTIVE, outcome)) {
+            return false;
+        }
+        active.remove(hold.id, hold);
+        if (outcome == CONFIRMED) {
+            heldUnits.addAndGet(-hold.quantity);
+        } else {
+            returnUnits(hold);
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve las unidades de una retención terminada; si el almacenamiento falla, la deja pendiente
+     * para el próximo tick en lugar de perderlas.
+     */
+    private void returnUnits(Hold hold) {
+        try {
+            // Si el producto se eliminó entretanto, sus unidades se van con él.
+            repository.adjustStock(hold.productId, hold.quantity);
+        } catch (DataAccessException e) {
+            unreturned.add(hold);
+            return;
+        } catch (RuntimeException e) {
+            lostUnits.addAndGet(hold.quantity);
+            System.err.println("No se devolvieron " + hold.quantity + " unidades de la retención " + hold.id
+                    + " al producto " + hold.productId + ": " + e.getMessage());
+        }
+        heldUnits.addAndGet(-hold.quantity);
+    }
+
+    private static final class Hold extends HierarchicalTimingWheel.Entry {
+        static final AtomicIntegerFieldUpdater<Hold> STATE = AtomicIntegerFieldUpdater.newUpdater(Hold.class, "state");
+
+        final long id;
+        final String productId;
+        final int quantity;
+        final long expiresAt;
+        volatile int state = ACTIVE;
+
+        Hold(long id, String productId, int quantity, long expiresAt) {
+            this.id = id;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+        }
+
+        StockHold toStockHold() {
+            return new StockHold(id, productId, quantity, expiresAt);
+        }
+    }
+}
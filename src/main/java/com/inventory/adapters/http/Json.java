@@ -0,0 +1,307 @@
+package com.inventory.adapters.http;
+
+import com.inventory.adapters.controller.ProductPage;
+import com.inventory.adapters.events.ProductChangeEvent;
+import com.inventory.domain.Product;
+import com.inventory.domain.StockHold;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificación JSON mínima para la API HTTP: solo lo que usan sus mensajes
+ * (productos, páginas, eventos de cambio, retenciones, errores y objetos planos de entrada), sin dependencias externas.
+ */
+final class Json {
+    private Json() {
+    }
+
+    static String product(Product product) {
+        StringBuilder out = new StringBuilder(96);
+        appendProduct(out, product);
+        return out.toString();
+    }
+
+    static String page(ProductPage page) {
+        StringBuilder out = new StringBuilder(64 + page.getProducts().size() * 96);
+        out.append("{\"items\":[");
+        boolean first = true;
+        for (Product product : page.getProducts()) {
+            if (!first) {
+                out.append(',');
+            }
+            appendProduct(out, product);
+            first = false;
+        }
+        out.append("],\"next\":");
+        appendString(out, page.getNextCursor());
+        return out.append('}').toString();
+    }
+
+    static String changes(List<ProductChangeEvent> events, long next) {
+        StringBuilder out = new StringBuilder(64 + events.size() * 256);
+        out.append("{\"events\":[");
+        boolean first = true;
+        for (ProductChangeEvent event : events) {
+            if (!first) {
+                out.append(',');
+            }
+            out.append("{\"sequence\":").append(event.getSequence());
+            out.append(",\"type\":\"").append(event.getType()).append('"');
+            out.append(",\"before\":");
+            appendNullableProduct(out, event.getBefore());
+            out.append(",\"after\":");
+            appendNullableProduct(out, event.getAfter());
+            out.append('}');
+            first = false;
+        }
+        out.append("],\"next\":").append(next);
+        return out.append('}').toString();
+    }
+
+    static String hold(StockHold hold) {
+        StringBuilder out = new StringBuilder(96);
+        out.append("{\"id\":").append(hold.getId());
+        out.append(",\"productId\":");
+        appendString(out, hold.getProductId());
+        out.append(",\"quantity\":").append(hold.getQuantity());
+        out.append(",\"expiresAtMillis\":").append(hold.getExpiresAtMillis());
+        return out.append('}').toString();
+    }
+
+    static String error(String message) {
+        return singleField("error", message);
+    }
+
+    static String message(String message) {
+        return singleField("message", message);
+    }
+
+    private static String singleField(String name, String value) {
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        out.append("{\"").append(name).append("\":");
+        appendString(out, value);
+        return out.append('}').toString();
+    }
+
+    private static void appendProduct(StringBuilder out, Product product) {
+        out.append("{\"id\":");
+        appendString(out, product.getId());
+        out.append(",\"name\":");
+        appendString(out, product.getName());
+        out.append(",\"price\":");
+        double price = product.getPrice();
+        out.append(Double.isFinite(price) ? Double.toString(price) : "null");
+        out.append(",\"stock\":").append(product.getStock());
+        out.append(",\"version\":").append(product.getVersion());
+        out.append('}');
+    }
+
+    private static void appendNullableProduct(StringBuilder out, Product product) {
+        if (product == null) {
+            out.append("null");
+        } else {
+            appendProduct(out, product);
+        }
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Lee un objeto JSON plano: los valores pueden ser cadenas, números (Double), true, false o null.
+     * @throws IllegalArgumentException Si el texto no es un objeto JSON plano válido.
+     */
+    static Map<String, Object> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, Object> result = parser.object();
+        parser.skipWhitespace();
+        if (parser.position != text.length()) {
+            throw parser.error("contenido sobrante después del objeto");
+        }
+        return result;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> object() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return result;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                result.put(key, value());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return result;
+                }
+                if (c != ',') {
+                    throw error("se esperaba ',' o '}'");
+                }
+            }
+        }
+
+        private Object value() {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return number();
+            }
+            if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            }
+            if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            }
+            if (text.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            throw error("valor no soportado");
+        }
+
+        private Double number() {
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            try {
+                return Double.valueOf(text.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("número inválido");
+            }
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        out.append(escaped);
+                        break;
+                    case 'b':
+                        out.append('\b');
+                        break;
+                    case 'f':
+                        out.append('\f');
+                        break;
+                    case 'n':
+                        out.append('\n');
+                        break;
+                    case 'r':
+                        out.append('\r');
+                        break;
+                    case 't':
+                        out.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw error("escape unicode incompleto");
+                        }
+                        try {
+                            out.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("escape unicode inválido");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        throw error("escape inválido");
+                }
+            }
+        }
+
+        void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error("se esperaba '" + expected + "'");
+            }
+        }
+
+        private char peek() {
+            if (position >= text.length()) {
+                throw error("fin inesperado");
+            }
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        IllegalArgumentException error(String detail) {
+            return new IllegalArgumentException("JSON inválido en la posición " + position + ": " + detail + ".");
+        }
+    }
+}
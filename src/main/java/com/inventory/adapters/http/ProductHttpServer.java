@@ -0,0 +1,453 @@
+package com.inventory.adapters.http;
+
+import com.inventory.adapters.controller.ControllerResult;
+import com.inventory.adapters.controller.ProductController;
+import com.inventory.adapters.controller.ProductPage;
+import com.inventory.adapters.controller.StockHoldController;
+import com.inventory.adapters.events.ChangeEventRing;
+import com.inventory.adapters.events.ChangeStreamOverrunException;
+import com.inventory.adapters.events.ProductChangeEvent;
+import com.inventory.domain.Product;
+import com.inventory.domain.StockHold;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Adaptador HTTP/JSON para el inventario, construido sobre el HttpServer del JDK.
+ * Cada solicitud se atiende en su propio hilo virtual, así que miles de conexiones concurrentes
+ * (incluidas las que esperan E/S, como el fsync del registro en disco) no necesitan miles de hilos del sistema.
+ *
+ * Rutas:
+ * - GET    /products?after=&lt;id&gt;&amp;limit=&lt;n&gt;  página ordenada por ID ({"items": [...], "next": id|null})
+ * - GET    /products/{id}                      producto
+ * - POST   /products                           alta ({"id", "name", "price", "stock"}) → 201
+ * - PUT    /products/{id}                      actualización parcial ({"name"?, "price"?, "stock"?})
+ * - DELETE /products/{id}                      baja → 204
+ * - GET    /changes?from=&lt;secuencia&gt;&amp;limit=&lt;n&gt;  flujo de cambios, si se configuró
+ *                                              ({"events": [...], "next": secuencia}; 410 si ya se descartaron)
+ * - POST   /holds                              retención, si se configuró ({"productId", "quantity", "ttlMillis"?})
+ *                                              → 201 con {"id", "productId", "quantity", "expiresAtMillis"}; 409 sin stock
+ * - POST   /holds/{id}/confirm                 confirma la retención
+ * - DELETE /holds/{id}                         libera la retención → 204
+ *
+ * Los errores se responden como {"error": mensaje} con 400, 403, 404, 405, 409, 410, 413 o 500.
+ *
+ * La API no autentica: quien la lanza decide en qué dirección escucha (Main usa loopback salvo que se
+ * indique otra). Con mucha concurrencia conviene lanzar la JVM con estos ajustes del HttpServer del JDK,
+ * que se leen una sola vez al crear el primer servidor:
+ * - -Dsun.net.httpserver.nodelay=true: cabeceras y cuerpo se escriben por separado; con el algoritmo de
+ *   Nagle activo, la segunda escritura espera el ACK retardado del cliente (~40 ms por respuesta en keep-alive).
+ * - -Dsun.net.httpserver.maxIdleConnections=20000: por defecto se cierran las conexiones keep-alive que
+ *   superan 200 en espera, lo que obliga a miles de clientes concurrentes a reconectarse en cada solicitud.
+ */
+public class ProductHttpServer implements AutoCloseable {
+    private static final String BASE_PATH = "/products";
+    private static final String CHANGES_PATH = "/changes";
+    private static final String HOLDS_PATH = "/holds";
+    private static final String CONFIRM_SUFFIX = "/confirm";
+    private static final long DEFAULT_HOLD_TTL_MILLIS = 15 * 60 * 1000;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1_000;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int BACKLOG = 4_096;
+
+    private final ProductController controller;
+    private final ChangeEventRing changes;
+    private final StockHoldController holds;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Crea el servidor sin iniciarlo.
+     * @param address Dirección y puerto (0 elige un puerto libre).
+     * @throws UncheckedIOException Si no se puede abrir el puerto.
+     */
+    public ProductHttpServer(ProductController controller, InetSocketAddress address) {
+        this(controller, null, address);
+    }
+
+    /**
+     * Crea el servidor sin iniciarlo, exponiendo además el flujo de cambios en /changes.
+     * @param changes Anillo de eventos de cambio (null para no exponerlo).
+     * @param address Dirección y puerto (0 elige un puerto libre).
+     * @throws UncheckedIOException Si no se puede abrir el puerto.
+     */
+    public ProductHttpServer(ProductController controller, ChangeEventRing changes, InetSocketAddress address) {
+        this(controller, changes, null, address);
+    }
+
+    /**
+     * Crea el servidor sin iniciarlo, exponiendo además el flujo de cambios en /changes y las retenciones
+     * de stock en /holds.
+     * @param changes Anillo de eventos de cambio (null para no exponerlo).
+     * @param holds Controlador de retenciones (null para no exponerlas).
+     * @param address Dirección y puerto (0 elige un puerto libre).
+     * @throws UncheckedIOException Si no se puede abrir el puerto.
+     */
+    public ProductHttpServer(ProductController controller, ChangeEventRing changes, StockHoldController holds,
+                             InetSocketAddress address) {
+        this.controller = controller;
+        this.changes = changes;
+        this.holds = holds;
+        try {
+            this.server = HttpServer.create(address, BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el puerto HTTP " + address.getPort(), e);
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH, this::handle);
+        if (changes != null) {
+            server.createContext(CHANGES_PATH, this::handle);
+        }
+        if (holds != null) {
+            server.createContext(HOLDS_PATH, this::handle);
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Deja de aceptar conexiones y espera hasta un segundo a que terminen las solicitudes en curso.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+    }
+
+    // --- Despacho ---
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (IllegalArgumentException e) {
+                // Cuerpo, parámetros o JSON mal formados.
+                send(exchange, 400, Json.error(e.getMessage()));
+            } catch (BodyTooLargeException e) {
+                send(exchange, 413, Json.error("El cuerpo de la solicitud supera los " + MAX_BODY_BYTES + " bytes."));
+            } catch (RuntimeException e) {
+                // Mensaje genérico: no se exponen detalles internos al cliente.
+                send(exchange, 500, Json.error("Error interno del servidor."));
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if (path.equals(CHANGES_PATH) && changes != null) {
+            if (method.equals("GET")) {
+                changes(exchange);
+            } else {
+                methodNotAllowed(exchange, "GET");
+            }
+            return;
+        }
+        if (path.startsWith(HOLDS_PATH) && holds != null) {
+            routeHold(exchange, path, method);
+            return;
+        }
+        if (path.equals(BASE_PATH) || path.equals(BASE_PATH + "/")) {
+            if (method.equals("GET")) {
+                list(exchange);
+            } else if (method.equals("POST")) {
+                add(exchange);
+            } else {
+                methodNotAllowed(exchange, "GET, POST");
+            }
+            return;
+        }
+        String id = path.startsWith(BASE_PATH + "/") ? path.substring(BASE_PATH.length() + 1) : "";
+        if (id.isEmpty() || id.indexOf('/') >= 0) {
+            send(exchange, 404, Json.error("Ruta no encontrada: " + path));
+            return;
+        }
+        switch (method) {
+            case "GET":
+                respond(exchange, controller.getProduct(id));
+                break;
+            case "PUT":
+                update(exchange, id);
+                break;
+            case "DELETE":
+                ControllerResult<Void> result = controller.deleteProduct(id);
+                if (result.isSuccess()) {
+                    send(exchange, 204, null);
+                } else {
+                    respond(exchange, result);
+                }
+                break;
+            default:
+                methodNotAllowed(exchange, "GET, PUT, DELETE");
+        }
+    }
+
+    private void routeHold(HttpExchange exchange, String path, String method) throws IOException {
+        if (path.equals(HOLDS_PATH) || path.equals(HOLDS_PATH + "/")) {
+            if (method.equals("POST")) {
+                placeHold(exchange);
+            } else {
+                methodNotAllowed(exchange, "POST");
+            }
+            return;
+        }
+        String rest = path.startsWith(HOLDS_PATH + "/") ? path.substring(HOLDS_PATH.length() + 1) : "";
+        boolean confirm = rest.endsWith(CONFIRM_SUFFIX);
+        String id = confirm ? rest.substring(0, rest.length() - CONFIRM_SUFFIX.length()) : rest;
+        if (id.isEmpty() || id.indexOf('/') >= 0) {
+            send(exchange, 404, Json.error("Ruta no encontrada: " + path));
+            return;
+        }
+        long holdId = parseLong(id, "id");
+        if (confirm) {
+            if (method.equals("POST")) {
+                respond(exchange, holds.confirmHold(holdId));
+            } else {
+                methodNotAllowed(exchange, "POST");
+            }
+        } else if (method.equals("DELETE")) {
+            ControllerResult<Void> result = holds.releaseHold(holdId);
+            if (result.isSuccess()) {
+                send(exchange, 204, null);
+            } else {
+                respond(exchange, result);
+            }
+        } else {
+            methodNotAllowed(exchange, "DELETE");
+        }
+    }
+
+    private void list(HttpExchange exchange) throws IOException {
+        Map<String, String> query = queryParameters(exchange);
+        String after = query.get("after");
+        if (after != null && after.isEmpty()) {
+            after = null;
+        }
+        int limit = limitParameter(query);
+        ControllerResult<ProductPage> result = controller.listProductsPage(after, limit);
+        if (result.isSuccess()) {
+            send(exchange, 200, Json.page(result.getValue()));
+        } else {
+            respond(exchange, result);
+        }
+    }
+
+    /**
+     * Eventos desde la secuencia "from" (por defecto, el más antiguo disponible). El cliente guarda
+     * "next" y lo envía como "from" en la próxima consulta.
+     */
+    private void changes(HttpExchange exchange) throws IOException {
+        Map<String, String> query = queryParameters(exchange);
+        String from = query.get("from");
+        long sequence = from == null || from.isEmpty() ? changes.oldestAvailableSequence() : parseLong(from, "from");
+        if (sequence < 1) {
+            throw new IllegalArgumentException("El parámetro 'from' debe ser 1 o mayor.");
+        }
+        int limit = limitParameter(query);
+        List<ProductChangeEvent> events = new ArrayList<>(Math.min(limit, 256));
+        try {
+            changes.subscribe(sequence).poll(events::add, limit);
+        } catch (ChangeStreamOverrunException e) {
+            send(exchange, 410, Json.error(e.getMessage()));
+            return;
+        }
+        send(exchange, 200, Json.changes(events, sequence + events.size()));
+    }
+
+    private void add(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        String id = requiredString(body, "id");
+        String name = requiredString(body, "name");
+        Double price = optionalNumber(body, "price");
+        Integer stock = optionalInteger(body, "stock");
+        if (price == null || stock == null) {
+            throw new IllegalArgumentException("Los campos 'price' y 'stock' son obligatorios.");
+        }
+        respond(exchange, controller.addProduct(id, name, price, stock));
+    }
+
+    private void update(HttpExchange exchange, String id) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        Object name = body.get("name");
+        if (name != null && !(name instanceof String)) {
+            throw new IllegalArgumentException("El campo 'name' debe ser texto.");
+        }
+        respond(exchange, controller.updateProduct(id, (String) name,
+                optionalNumber(body, "price"), optionalInteger(body, "stock")));
+    }
+
+    private void placeHold(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        String productId = requiredString(body, "productId");
+        Integer quantity = optionalInteger(body, "quantity");
+        if (quantity == null) {
+            throw new IllegalArgumentException("El campo 'quantity' es obligatorio.");
+        }
+        Double ttl = optionalNumber(body, "ttlMillis");
+        if (ttl != null && ttl != Math.rint(ttl)) {
+            throw new IllegalArgumentException("El campo 'ttlMillis' debe ser un número entero.");
+        }
+        respond(exchange, holds.placeHold(productId, quantity, ttl == null ? DEFAULT_HOLD_TTL_MILLIS : ttl.longValue()));
+    }
+
+    // --- Respuestas ---
+
+    private static void respond(HttpExchange exchange, ControllerResult<?> result) throws IOException {
+        Object value = result.getValue();
+        switch (result.getStatus()) {
+            case OK:
+                send(exchange, 200, body(value, result.getMessage()));
+                break;
+            case CREATED:
+                send(exchange, 201, body(value, result.getMessage()));
+                break;
+            case NOT_FOUND:
+                send(exchange, 404, Json.error(result.getMessage()));
+                break;
+            case CONFLICT:
+                send(exchange, 409, Json.error(result.getMessage()));
+                break;
+            case FORBIDDEN:
+                send(exchange, 403, Json.error(result.getMessage()));
+                break;
+            default:
+                send(exchange, 400, Json.error(result.getMessage()));
+        }
+    }
+
+    private static String body(Object value, String message) {
+        if (value instanceof Product) {
+            return Json.product((Product) value);
+        }
+        if (value instanceof StockHold) {
+            return Json.hold((StockHold) value);
+        }
+        return Json.message(message);
+    }
+
+    private static void methodNotAllowed(HttpExchange exchange, String allowed) throws IOException {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        send(exchange, 405, Json.error("Método no permitido: " + exchange.getRequestMethod()));
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // --- Lectura de la solicitud ---
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        byte[] buffer = new byte[4096];
+        try (InputStream in = exchange.getRequestBody()) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                if (body.size() + n > MAX_BODY_BYTES) {
+                    throw new BodyTooLargeException();
+                }
+                body.write(buffer, 0, n);
+            }
+        }
+        return Json.parseObject(body.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                parameters.put(key, value);
+            }
+        }
+        return parameters;
+    }
+
+    private static int limitParameter(Map<String, String> query) {
+        String limit = query.get("limit");
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.min(MAX_PAGE_SIZE, parseInt(limit, "limit"));
+    }
+
+    private static String requiredString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("El campo '" + field + "' es obligatorio y debe ser texto.");
+        }
+        return (String) value;
+    }
+
+    private static Double optionalNumber(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (value != null && !(value instanceof Double)) {
+            throw new IllegalArgumentException("El campo '" + field + "' debe ser numérico.");
+        }
+        return (Double) value;
+    }
+
+    private static Integer optionalInteger(Map<String, Object> body, String field) {
+        Double value = optionalNumber(body, field);
+        if (value == null) {
+            return null;
+        }
+        if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El campo '" + field + "' debe ser un número entero.");
+        }
+        return value.intValue();
+    }
+
+    private static int parseInt(String value, String parameter) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro '" + parameter + "' debe ser un número entero.");
+        }
+    }
+
+    private static long parseLong(String value, String parameter) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro '" + parameter + "' debe ser un número entero.");
+        }
+    }
+
+    private static final class BodyTooLargeException extends RuntimeException {
+        BodyTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventory.adapters.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de métricas por operación (una instancia por aplicación).
+ * Las operaciones se crean la primera vez que se piden y se listan en orden de creación.
+ */
+public class InventoryMetrics implements InventoryMetricsMXBean {
+    public static final String OBJECT_NAME = "com.inventory:type=InventoryMetrics";
+
+    public static final String ADD_PRODUCT = "addProduct";
+    public static final String UPDATE_PRODUCT = "updateProduct";
+    public static final String DELETE_PRODUCT = "deleteProduct";
+    public static final String GET_PRODUCT = "getProduct";
+    public static final String LIST_PRODUCTS = "listProducts";
+    public static final String ADJUST_STOCK = "adjustStock";
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final List<OperationMetrics> ordered = new ArrayList<>();
+
+    /**
+     * Devuelve las métricas de la operación, creándolas si hace falta. Conviene guardar la
+     * referencia obtenida en lugar de pedirla en cada llamada.
+     */
+    public OperationMetrics operation(String name) {
+        OperationMetrics metrics = operations.get(name);
+        if (metrics != null) {
+            return metrics;
+        }
+        synchronized (ordered) {
+            return operations.computeIfAbsent(name, key -> {
+                OperationMetrics created = new OperationMetrics(key);
+                ordered.add(created);
+                return created;
+            });
+        }
+    }
+
+    @Override
+    public List<OperationStats> getOperations() {
+        List<OperationMetrics> current;
+        synchronized (ordered) {
+            current = new ArrayList<>(ordered);
+        }
+        List<OperationStats> stats = new ArrayList<>(current.size());
+        for (OperationMetrics metrics : current) {
+            stats.add(metrics.snapshot());
+        }
+        return stats;
+    }
+
+    @Override
+    public void reset() {
+        synchronized (ordered) {
+            for (OperationMetrics metrics : ordered) {
+                metrics.reset();
+            }
+        }
+    }
+
+    /**
+     * Publica las métricas en el servidor JMX de la plataforma.
+     * @throws IllegalStateException Si no se pudieron registrar (por ejemplo, ya hay otra instancia registrada).
+     */
+    public void registerMBean() {
+        registerMBean(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public void registerMBean(MBeanServer server) {
+        try {
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Ya hay métricas registradas como " + OBJECT_NAME, e);
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron registrar las métricas en JMX: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.inventory.adapters.metrics;
+
+import java.util.List;
+
+/**
+ * Vista JMX de las métricas del inventario (por ejemplo desde jconsole o VisualVM,
+ * bajo el nombre com.inventory:type=InventoryMetrics).
+ */
+public interface InventoryMetricsMXBean {
+    List<OperationStats> getOperations();
+
+    void reset();
+}
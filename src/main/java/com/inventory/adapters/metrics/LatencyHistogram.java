@@ -0,0 +1,155 @@
+package com.inventory.adapters.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas log-lineales: cada potencia de dos se divide
+ * en 32 cubetas iguales, así que cualquier percentil se informa con un error relativo menor al 3,2 %
+ * usando memoria fija (unos 10 KB por franja) sin importar cuántos valores se registren.
+ *
+ * Registrar un valor es una sola suma atómica sin candados. Para que hilos distintos no compitan por
+ * la misma línea de caché, el histograma se reparte en franjas elegidas según el hilo y se suman al leer.
+ * Las lecturas no detienen a los escritores, por lo que un resumen tomado durante la carga puede
+ * no incluir los valores registrados en ese mismo instante.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Valores desde 2^46 ns (unas 19 horas) caen en la última cubeta.
+    private static final int MAX_EXPONENT = 45;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final long MAX_TRACKABLE = (1L << MAX_EXPONENT + 1) - 1;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        int stripeCount = Integer.highestOneBit(Math.min(16, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+        stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Registra una latencia. Los valores negativos se toman como cero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_TRACKABLE));
+        long id = Thread.currentThread().threadId();
+        stripes[(int) (id ^ (id >>> 16)) & stripeMask].getAndIncrement(bucketOf(value));
+        if (value > max.get()) {
+            max.accumulate(value);
+        }
+    }
+
+    /**
+     * Suma las franjas y devuelve un resumen con los percentiles habituales.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKETS; b++) {
+                long c = stripe.get(b);
+                counts[b] += c;
+                total += c;
+            }
+        }
+        long maxValue = max.get();
+        return new Snapshot(total,
+                percentile(counts, total, 0.50, maxValue),
+                percentile(counts, total, 0.99, maxValue),
+                percentile(counts, total, 0.999, maxValue),
+                maxValue);
+    }
+
+    /**
+     * Descarta todos los valores registrados. No es atómico respecto de los registros concurrentes.
+     */
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKETS; b++) {
+                stripe.set(b, 0);
+            }
+        }
+        max.reset();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return exponent * SUB_BUCKETS + (int) (value >>> exponent);
+    }
+
+    /**
+     * Mayor valor que cae en la cubeta indicada.
+     */
+    static long highestValueIn(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS - 1;
+        long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << exponent) - 1;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long maxValue) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int b = 0; b < counts.length; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(b), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Resumen inmutable de un histograma; todos los valores en nanosegundos.
+     */
+    public static final class Snapshot {
+        private final long count;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        Snapshot(long count, long p50, long p99, long p999, long max) {
+            this.count = count;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.inventory.adapters.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de una operación: histograma de latencias y contadores de llamadas y errores.
+ * Uso típico en el camino crítico:
+ *
+ *   long start = metrics.start();
+ *   ... operación ...
+ *   metrics.recordSuccess(start);   // o recordError(start)
+ */
+public final class OperationMetrics {
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private volatile long sinceNanos = System.nanoTime();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void recordSuccess(long startNanos) {
+        latencies.record(System.nanoTime() - startNanos);
+    }
+
+    public void recordError(long startNanos) {
+        latencies.record(System.nanoTime() - startNanos);
+        errors.increment();
+    }
+
+    public OperationStats snapshot() {
+        LatencyHistogram.Snapshot histogram = latencies.snapshot();
+        long elapsed = System.nanoTime() - sinceNanos;
+        return new OperationStats(name, histogram.getCount(), errors.sum(),
+                elapsed == 0 ? 0 : histogram.getCount() * 1e9 / elapsed,
+                histogram.getP50(), histogram.getP99(), histogram.getP999(), histogram.getMax());
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+        sinceNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,72 @@
+package com.inventory.adapters.metrics;
+
+/**
+ * Resumen de las métricas de una operación. Las latencias están en nanosegundos y el
+ * rendimiento en llamadas por segundo desde el inicio (o desde el último reset).
+ * Sus getters lo convierten en un CompositeData al exponerse por JMX.
+ */
+public final class OperationStats {
+    private final String operation;
+    private final long calls;
+    private final long errors;
+    private final double callsPerSecond;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    public OperationStats(String operation, long calls, long errors, double callsPerSecond,
+                          long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.operation = operation;
+        this.calls = calls;
+        this.errors = errors;
+        this.callsPerSecond = callsPerSecond;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getCallsPerSecond() {
+        return callsPerSecond;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-14s llamadas=%,d errores=%,d %,.1f/s p50=%s p99=%s p999=%s máx=%s",
+                operation, calls, errors, callsPerSecond,
+                micros(p50Nanos), micros(p99Nanos), micros(p999Nanos), micros(maxNanos));
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%,.1fµs", nanos / 1_000.0);
+    }
+}
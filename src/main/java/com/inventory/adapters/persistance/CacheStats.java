@@ -0,0 +1,49 @@
+package com.inventory.adapters.persistance;
+
+/**
+ * Estadísticas de CachingProductRepository. Los aciertos incluyen los de la caché negativa
+ * (IDs que se sabe que no existen).
+ */
+public final class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+
+    public CacheStats(long hits, long misses, long evictions, long size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return Proporción de lecturas resueltas sin consultar el almacenamiento (0 si no hubo lecturas).
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("aciertos=%d fallos=%d (%.1f %% de aciertos) desalojos=%d tamaño=%d",
+                hits, misses, getHitRate() * 100, evictions, size);
+    }
+}
@@ -0,0 +1,262 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de ProductRepository con una caché acotada de lectura para findById, pensado para
+ * almacenamientos en los que cada consulta es una ida y vuelta costosa (base de datos, red).
+ *
+ * - La caché se divide en franjas según el ID; cada una es un LinkedHashMap en orden de acceso con su
+ *   propio candado y desaloja el producto usado hace más tiempo (LRU) al llenarse.
+ * - También recuerda los IDs que no existen (caché negativa), así que comprobar un alta repetida o un
+ *   ID mal escrito no vuelve a consultar el almacenamiento.
+ * - Toda escritura se delega primero y luego invalida los IDs afectados; la siguiente lectura los
+ *   vuelve a cargar. No se guarda el producto escrito porque el almacenamiento puede cambiarlo (versión).
+ *
+ * Una lectura que va al almacenamiento deja antes una marca propia en la entrada del ID y solo guarda
+ * el resultado si la marca sigue ahí; como toda escritura borra la entrada, una carga lenta no puede
+ * dejar en la caché un valor anterior a una escritura ya terminada. Las escrituras hechas directamente sobre el repositorio decorado no se ven en la caché.
+ *
+ * No extiende ProductRepositoryDecorator: esa base consulta el estado anterior y el nuevo de cada
+ * escritura, dos idas y vueltas extra que aquí son justamente lo que se quiere evitar.
+ * Los listados (findAll, findPage, stream) se delegan sin pasar por la caché.
+ */
+public class CachingProductRepository implements ProductRepository {
+    private static final int STRIPES = 64; // Potencia de dos.
+    private static final Object MISSING = new Object(); // Marca de un ID que no existe.
+
+    private final ProductRepository delegate;
+    private final Segment[] segments = new Segment[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize Cantidad máxima de IDs en caché (existentes o no), repartida entre las franjas
+     *                    (se redondea hacia arriba a un múltiplo de la cantidad de franjas).
+     */
+    public CachingProductRepository(ProductRepository delegate, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("El tamaño de la caché debe ser positivo.");
+        }
+        this.delegate = delegate;
+        int perSegment = Math.max(1, (maximumSize + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        Segment segment = segmentFor(id);
+        Pending pending;
+        segment.lock.lock();
+        try {
+            Object cached = segment.entries.get(id);
+            if (cached != null && !(cached instanceof Pending)) {
+                hits.increment();
+                return cached == MISSING ? Optional.empty() : Optional.of((Product) cached);
+            }
+            pending = new Pending();
+            segment.entries.put(id, pending);
+        } finally {
+            segment.lock.unlock();
+        }
+
+        // La consulta al almacenamiento se hace fuera del candado para no frenar a las demás lecturas de la franja.
+        misses.increment();
+        Optional<Product> loaded = delegate.findById(id);
+        segment.lock.lock();
+        try {
+            // Solo si la marca sigue ahí: una escritura (o otra carga más reciente) la habrá reemplazado.
+            segment.entries.replace(id, pending, loaded.isPresent() ? loaded.get() : MISSING);
+        } finally {
+            segment.lock.unlock();
+        }
+        return loaded;
+    }
+
+    @Override
+    public void save(Product product) {
+        try {
+            delegate.save(product);
+        } finally {
+            invalidate(product.getId());
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        try {
+            return delegate.compareAndSave(expectedVersion, product);
+        } finally {
+            // También cuando falla: el fallo indica que la caché pudo haber quedado desactualizada.
+            invalidate(product.getId());
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        try {
+            delegate.delete(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        try {
+            return delegate.adjustStock(id, delta);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        try {
+            return delegate.tryReserve(id, quantity);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    // --- Lotes: se delega el lote completo para conservar el camino eficiente del almacenamiento ---
+
+    @Override
+    public void saveAll(List<Product> products) {
+        try {
+            delegate.saveAll(products);
+        } finally {
+            for (Product product : products) {
+                invalidate(product.getId());
+            }
+        }
+    }
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<Product> products) {
+        try {
+            return delegate.insertAllIfAbsent(products);
+        } finally {
+            for (Product product : products) {
+                invalidate(product.getId());
+            }
+        }
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> ids) {
+        try {
+            return delegate.deleteAll(ids);
+        } finally {
+            for (String id : ids) {
+                invalidate(id);
+            }
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Product> stream() {
+        return delegate.stream();
+    }
+
+    /**
+     * @return Aciertos, fallos y desalojos desde la creación (o el último resetStats) y el tamaño actual.
+     */
+    public CacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Vacía la caché, por ejemplo tras escribir directamente en el repositorio decorado.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.entries.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private void invalidate(String id) {
+        Segment segment = segmentFor(id);
+        segment.lock.lock();
+        try {
+            segment.entries.remove(id);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private Segment segmentFor(String id) {
+        int h = id.hashCode();
+        return segments[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Marca de una carga en curso; cada carga usa una instancia distinta.
+     */
+    private static final class Pending {
+    }
+
+    /**
+     * Franja de la caché. Todos sus campos se acceden bajo su candado.
+     */
+    private final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<String, Object> entries; // Product, MISSING o la marca de una carga en curso.
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,714 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductId;
+import com.inventory.domain.ProductRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Implementación en memoria de ProductRepository que guarda el catálogo por columnas en arreglos
+ * primitivos en lugar de un objeto por producto.
+ *
+ * Cada producto ocupa una posición (slot): su precio está en un double[], su stock en un int[], su
+ * versión en un long[], su ID empaquetado (ProductId) en dos long de otro long[], y su nombre,
+ * codificado en UTF-8, en un único byte[] compartido (el arena). Un índice de direccionamiento abierto
+ * (int[] con sondeo lineal) lleva de cada ID a su posición comparando solo los dos long, sin calcular
+ * hashes de String ni crear objetos; findById(ProductId) lo usa directamente. Las posiciones que
+ * libera un delete se reutilizan en las altas siguientes, y el arena se compacta cuando más de la
+ * mitad de su contenido quedó sin uso.
+ *
+ * Así un producto cuesta unas decenas de bytes en lugar de varios objetos (entrada del mapa, celda,
+ * Product y dos String), y recorrer precios y stock (forEachPriceAndStock) lee memoria contigua.
+ * Los Product se crean recién al leerlos.
+ *
+ * Las escrituras toman el candado de escritura de un StampedLock; findById intenta primero una lectura
+ * optimista sin candado y solo si un escritor se cruzó la repite con el candado de lectura. A diferencia
+ * de ProductRepositoryImpl, los escritores de productos distintos sí se esperan entre sí.
+ */
+public class ColumnarProductRepository implements ProductRepository {
+    private static final int HEADER_BYTES = 1; // Largo del nombre.
+    private static final int MIN_COMPACTION_BYTES = 64 * 1024;
+    private static final int MAX_SLOTS = 1 << 29;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Columnas, indexadas por posición. Una versión 0 marca una posición libre.
+    private double[] prices;
+    private int[] stocks;
+    private long[] versions;
+    private long[] keys;      // ID empaquetado: getHigh() en 2 * posición y getLow() en la siguiente.
+    private int[] offsets;    // Inicio del registro del producto en el arena.
+    private byte[] reserved;  // Bytes del arena reservados para la posición (el registro puede ser menor).
+    private int highWater;    // Posiciones usadas alguna vez; las demás nunca se escribieron.
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    // Registros [largo del nombre][nombre], uno por posición.
+    private byte[] arena;
+    private int arenaEnd;
+    private int garbage; // Bytes del arena que ya no pertenecen a ninguna posición.
+
+    // Índice por ID: guarda posición + 1 (0 = vacío) y se mantiene a lo sumo a medio llenar.
+    private int[] table;
+    private int size;
+
+    // Altas y bajas, para saber si el orden por ID calculado para findPage sigue vigente.
+    private int structuralChanges;
+    private volatile SortedSlots sorted;
+
+    public ColumnarProductRepository() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Cantidad aproximada de productos, para dimensionar los arreglos de antemano.
+     */
+    public ColumnarProductRepository(int expectedSize) {
+        int capacity = Math.max(16, Math.min(expectedSize, MAX_SLOTS));
+        prices = new double[capacity];
+        stocks = new int[capacity];
+        versions = new long[capacity];
+        keys = new long[capacity * 2];
+        offsets = new int[capacity];
+        reserved = new byte[capacity];
+        arena = new byte[(int) Math.min(Integer.MAX_VALUE - 8, capacity * 32L)];
+        table = new int[tableSizeFor(capacity)];
+    }
+
+    @Override
+    public void save(Product product) {
+        long stamp = lock.writeLock();
+        try {
+            saveLocked(product);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        long stamp = lock.writeLock();
+        try {
+            return compareAndSaveLocked(expectedVersion, product);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        // Un ID que no se puede empaquetar no es válido, así que tampoco puede estar guardado.
+        ProductId key = ProductId.tryOf(id);
+        return key == null ? Optional.empty() : lookup(key.getHigh(), key.getLow(), id);
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return lookup(id.getHigh(), id.getLow(), null);
+    }
+
+    /**
+     * Lee el stock directamente de su columna, sin armar el Product. Con un ProductId que quien llama
+     * ya tiene, la consulta completa no crea objetos (útil para verificar disponibilidad).
+     * @return El stock, o vacío si el producto no existe.
+     */
+    public OptionalInt findStock(ProductId id) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            int slot = find(id.getHigh(), id.getLow());
+            int[] stockColumn = stocks;
+            int stock = slot >= 0 && slot < stockColumn.length ? stockColumn[slot] : 0;
+            if (lock.validate(stamp)) {
+                return slot < 0 ? OptionalInt.empty() : OptionalInt.of(stock);
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            int slot = find(id.getHigh(), id.getLow());
+            return slot < 0 ? OptionalInt.empty() : OptionalInt.of(stocks[slot]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @param id El ID como String si quien llama ya lo tiene, o null para decodificarlo.
+     */
+    private Optional<Product> lookup(long high, long low, String id) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            // Sin candado los arreglos pueden estar a medio cambiar: todo lo leído se copia a variables
+            // locales, se acota a los límites de cada arreglo y solo se usa si validate confirma que
+            // ningún escritor intervino.
+            int slot = find(high, low);
+            if (slot < 0) {
+                if (lock.validate(stamp)) {
+                    return Optional.empty();
+                }
+            } else {
+                double[] priceColumn = prices;
+                int[] stockColumn = stocks;
+                long[] versionColumn = versions;
+                if (slot < priceColumn.length && slot < stockColumn.length && slot < versionColumn.length) {
+                    double price = priceColumn[slot];
+                    int stock = stockColumn[slot];
+                    long version = versionColumn[slot];
+                    String name = nameAt(slot);
+                    if (lock.validate(stamp) && name != null) {
+                        return Optional.of(new Product(id != null ? id : ProductId.fromBits(high, low).toString(),
+                                name, price, stock, version));
+                    }
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            int slot = find(high, low);
+            return slot < 0 ? Optional.empty() : Optional.of(productAt(slot, id));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Devuelve todos los productos, en el orden de sus posiciones. Toma el candado de lectura durante
+     * todo el recorrido, así que el resultado es el catálogo en un instante.
+     */
+    @Override
+    public List<Product> findAll() {
+        long stamp = lock.readLock();
+        try {
+            List<Product> result = new ArrayList<>(size);
+            for (int slot = 0; slot < highWater; slot++) {
+                if (versions[slot] != 0) {
+                    result.add(productAt(slot, null));
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Las posiciones no siguen el orden de los IDs, así que se ordenan una vez y el resultado se
+     * reutiliza en las páginas siguientes hasta la próxima alta o baja (las modificaciones no lo
+     * afectan). Recorrer el catálogo entero con stream() cuesta un solo ordenamiento.
+     */
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que cero.");
+        }
+        long stamp = lock.readLock();
+        try {
+            int[] order = sortedSlots();
+            int from = 0;
+            if (afterId != null) {
+                // Primera posición con un ID mayor que el cursor. Un cursor que no es un ID válido se
+                // compara como String (caso raro: solo si el cliente inventa el cursor).
+                ProductId cursor = ProductId.tryOf(afterId);
+                int low = 0;
+                int high = order.length;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    int slot = order[mid];
+                    int cmp = cursor != null
+                            ? ProductId.compare(cursor.getHigh(), cursor.getLow(), keys[2 * slot], keys[2 * slot + 1])
+                            : afterId.compareTo(idAt(slot));
+                    if (cmp >= 0) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                from = low;
+            }
+            int to = (int) Math.min(order.length, (long) from + limit);
+            List<Product> page = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                page.add(productAt(order[i], null));
+            }
+            return page;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        long stamp = lock.writeLock();
+        try {
+            remove(id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Los lotes se aplican bajo una sola adquisición del candado de escritura.
+
+    @Override
+    public void saveAll(List<Product> batch) {
+        long stamp = lock.writeLock();
+        try {
+            for (Product product : batch) {
+                saveLocked(product);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<Product> batch) {
+        boolean[] inserted = new boolean[batch.size()];
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < inserted.length; i++) {
+                inserted[i] = compareAndSaveLocked(0, batch.get(i));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return inserted;
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> batch) {
+        boolean[] deleted = new boolean[batch.size()];
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < deleted.length; i++) {
+                deleted[i] = remove(batch.get(i));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return deleted;
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(id);
+            if (slot < 0) {
+                return OptionalInt.empty();
+            }
+            // Mismas reglas que Product.withStockAdjustedBy.
+            long next = (long) stocks[slot] + delta;
+            if (next < 0) {
+                throw new IllegalArgumentException("El stock no puede ser negativo.");
+            }
+            if (next > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("El stock del producto excede el máximo permitido.");
+            }
+            stocks[slot] = (int) next;
+            versions[slot]++;
+            return OptionalInt.of((int) next);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad a reservar debe ser mayor que cero.");
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(id);
+            if (slot < 0 || stocks[slot] < quantity) {
+                return false;
+            }
+            stocks[slot] -= quantity;
+            versions[slot]++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Consumidor de precio y stock para los recorridos por columnas.
+     */
+    @FunctionalInterface
+    public interface PriceStockConsumer {
+        void accept(double price, int stock);
+    }
+
+    /**
+     * Recorre precio y stock de todos los productos directamente sobre las columnas, sin crear objetos.
+     * Toma el candado de lectura durante el recorrido, así que ve el catálogo en un instante.
+     */
+    public void forEachPriceAndStock(PriceStockConsumer consumer) {
+        long stamp = lock.readLock();
+        try {
+            for (int slot = 0; slot < highWater; slot++) {
+                if (versions[slot] != 0) {
+                    consumer.accept(prices[slot], stocks[slot]);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return Cantidad de productos almacenados.
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // --- Escrituras; todas se ejecutan con el candado de escritura tomado ---
+
+    private void saveLocked(Product product) {
+        ProductId key = ProductId.of(product.getId());
+        int slot = find(key.getHigh(), key.getLow());
+        if (slot < 0) {
+            insert(key, product);
+        } else {
+            update(slot, product, versions[slot] + 1);
+        }
+    }
+
+    private boolean compareAndSaveLocked(long expectedVersion, Product product) {
+        ProductId key = ProductId.of(product.getId());
+        int slot = find(key.getHigh(), key.getLow());
+        if (slot < 0) {
+            if (expectedVersion != 0) {
+                return false;
+            }
+            insert(key, product);
+            return true;
+        }
+        if (versions[slot] != expectedVersion) {
+            return false;
+        }
+        update(slot, product, expectedVersion + 1);
+        return true;
+    }
+
+    private void insert(ProductId key, Product product) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == prices.length) {
+                growColumns();
+            }
+            slot = highWater++;
+        }
+        keys[2 * slot] = key.getHigh();
+        keys[2 * slot + 1] = key.getLow();
+        update(slot, product, 1);
+        if (++size * 2 > table.length) {
+            rebuildTable(table.length * 2);
+        } else {
+            link(slot);
+        }
+        structuralChanges++;
+    }
+
+    private void update(int slot, Product product, long version) {
+        byte[] name = product.getName().getBytes(StandardCharsets.UTF_8);
+        int length = HEADER_BYTES + name.length;
+        if (length > (reserved[slot] & 0xFF)) {
+            // El registro no entra en el lugar que tenía: el lugar viejo queda como basura del arena.
+            garbage += reserved[slot] & 0xFF;
+            reserved[slot] = 0;
+            offsets[slot] = allocate(length);
+            reserved[slot] = (byte) length;
+        }
+        int offset = offsets[slot];
+        arena[offset] = (byte) name.length;
+        System.arraycopy(name, 0, arena, offset + HEADER_BYTES, name.length);
+        prices[slot] = product.getPrice();
+        stocks[slot] = product.getStock();
+        versions[slot] = version;
+    }
+
+    /**
+     * Retira el producto del índice y deja su posición (con su lugar en el arena) para la próxima alta.
+     * @return true si el producto existía.
+     */
+    private boolean remove(String id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        unlink(slot);
+        versions[slot] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+        structuralChanges++;
+        return true;
+    }
+
+    private int allocate(int length) {
+        if (arenaEnd + length > arena.length) {
+            if (garbage >= MIN_COMPACTION_BYTES && garbage * 2 >= arenaEnd) {
+                compact();
+            }
+            if (arenaEnd + length > arena.length) {
+                // Crece un 25%: con millones de productos, duplicar dejaría decenas de MB sin usar.
+                long grown = Math.max(arena.length + (arena.length >> 2), (long) arenaEnd + length);
+                if (grown > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Se alcanzó el tamaño máximo del almacenamiento de nombres.");
+                }
+                arena = Arrays.copyOf(arena, (int) grown);
+            }
+        }
+        int offset = arenaEnd;
+        arenaEnd += length;
+        return offset;
+    }
+
+    /**
+     * Copia los registros vigentes a un arena nuevo, uno detrás de otro. Las posiciones libres pierden
+     * su lugar reservado. Se crea un arreglo nuevo (en lugar de mover los bytes en el mismo) para que
+     * una lectura optimista en curso nunca vea un registro a medio mover.
+     */
+    private void compact() {
+        byte[] compacted = new byte[arena.length];
+        int end = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (versions[slot] == 0 || reserved[slot] == 0) {
+                // Posición libre, o la que se está reescribiendo y pidió el lugar nuevo.
+                reserved[slot] = 0;
+                continue;
+            }
+            int offset = offsets[slot];
+            int length = HEADER_BYTES + (arena[offset] & 0xFF);
+            System.arraycopy(arena, offset, compacted, end, length);
+            offsets[slot] = end;
+            reserved[slot] = (byte) length;
+            end += length;
+        }
+        arena = compacted;
+        arenaEnd = end;
+        garbage = 0;
+    }
+
+    private void growColumns() {
+        if (prices.length >= MAX_SLOTS) {
+            throw new IllegalStateException("Se alcanzó la cantidad máxima de productos.");
+        }
+        int capacity = Math.min(MAX_SLOTS, prices.length * 2);
+        prices = Arrays.copyOf(prices, capacity);
+        stocks = Arrays.copyOf(stocks, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        keys = Arrays.copyOf(keys, capacity * 2);
+        offsets = Arrays.copyOf(offsets, capacity);
+        reserved = Arrays.copyOf(reserved, capacity);
+    }
+
+    // --- Índice por ID ---
+
+    /**
+     * @return La posición del ID, o -1 si no está o no es un ID válido.
+     */
+    private int slotOf(String id) {
+        ProductId key = ProductId.tryOf(id);
+        return key == null ? -1 : find(key.getHigh(), key.getLow());
+    }
+
+    /**
+     * Busca la posición del ID empaquetado. Se usa también desde la lectura optimista, así que no puede
+     * fallar ni quedar en un bucle aunque los arreglos cambien mientras tanto: en ese caso puede
+     * devolver cualquier cosa, que validate descartará.
+     * @return La posición, o -1 si el ID no está.
+     */
+    private int find(long high, long low) {
+        int[] index = table;
+        long[] keyColumn = keys;
+        int mask = index.length - 1;
+        for (int i = ProductId.hash(high, low) & mask, probes = 0; probes < index.length; i = (i + 1) & mask, probes++) {
+            int entry = index[i];
+            if (entry == 0) {
+                return -1;
+            }
+            int key = 2 * (entry - 1);
+            if (key + 1 < keyColumn.length && keyColumn[key] == high && keyColumn[key + 1] == low) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void link(int slot) {
+        int mask = table.length - 1;
+        int i = hashOf(slot) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    /**
+     * Quita la posición del índice corriendo hacia atrás las entradas siguientes del mismo tramo, para
+     * no dejar marcas de borrado que alarguen las búsquedas.
+     */
+    private void unlink(int slot) {
+        int mask = table.length - 1;
+        int hole = hashOf(slot) & mask;
+        while (table[hole] != slot + 1) {
+            hole = (hole + 1) & mask;
+        }
+        for (int i = (hole + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int home = hashOf(table[i] - 1) & mask;
+            // La entrada puede ocupar el hueco si su posición ideal no está entre el hueco y ella.
+            boolean between = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+            if (!between) {
+                table[hole] = table[i];
+                hole = i;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void rebuildTable(int length) {
+        table = new int[length];
+        for (int slot = 0; slot < highWater; slot++) {
+            if (versions[slot] != 0) {
+                link(slot);
+            }
+        }
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int length = 16;
+        while (length < capacity * 2L) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    private int hashOf(int slot) {
+        return ProductId.hash(keys[2 * slot], keys[2 * slot + 1]);
+    }
+
+    // --- Lectura de registros ---
+
+    private int compareSlots(int a, int b) {
+        return ProductId.compare(keys[2 * a], keys[2 * a + 1], keys[2 * b], keys[2 * b + 1]);
+    }
+
+    private String idAt(int slot) {
+        return ProductId.fromBits(keys[2 * slot], keys[2 * slot + 1]).toString();
+    }
+
+    /**
+     * @return El nombre de la posición, o null si los datos leídos son inconsistentes (lectura optimista).
+     */
+    private String nameAt(int slot) {
+        byte[] bytes = arena;
+        int[] offsetColumn = offsets;
+        if (slot >= offsetColumn.length) {
+            return null;
+        }
+        int offset = offsetColumn[slot];
+        if (offset < 0 || offset + HEADER_BYTES > bytes.length) {
+            return null;
+        }
+        int start = offset + HEADER_BYTES;
+        int length = bytes[offset] & 0xFF;
+        if (start + length > bytes.length) {
+            return null;
+        }
+        return new String(bytes, start, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Arma el Product de la posición. Requiere el candado de lectura o escritura.
+     * @param id El ID si quien llama ya lo tiene (evita decodificarlo), o null.
+     */
+    private Product productAt(int slot, String id) {
+        return new Product(id != null ? id : idAt(slot), nameAt(slot), prices[slot], stocks[slot], versions[slot]);
+    }
+
+    // --- Orden por ID para findPage ---
+
+    /**
+     * Requiere el candado de lectura. Varios lectores pueden recalcular el orden a la vez; cualquiera de
+     * los resultados es válido mientras no cambie structuralChanges, que solo cambia con el de escritura.
+     */
+    private int[] sortedSlots() {
+        SortedSlots current = sorted;
+        if (current != null && current.structuralChanges == structuralChanges) {
+            return current.slots;
+        }
+        int[] slots = new int[size];
+        int count = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (versions[slot] != 0) {
+                slots[count++] = slot;
+            }
+        }
+        mergeSort(slots, new int[slots.length], 0, slots.length);
+        sorted = new SortedSlots(structuralChanges, slots);
+        return slots;
+    }
+
+    /**
+     * Ordena slots[from, to) por ID. Un ordenamiento propio evita encajonar millones de int en Integer
+     * para usar un Comparator.
+     */
+    private void mergeSort(int[] slots, int[] buffer, int from, int to) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int slot = slots[i];
+                int j = i - 1;
+                while (j >= from && compareSlots(slots[j], slot) > 0) {
+                    slots[j + 1] = slots[j];
+                    j--;
+                }
+                slots[j + 1] = slot;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(slots, buffer, from, mid);
+        mergeSort(slots, buffer, mid, to);
+        if (compareSlots(slots[mid - 1], slots[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(slots, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && compareSlots(buffer[left], buffer[right]) <= 0)) {
+                slots[i] = buffer[left++];
+            } else {
+                slots[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static final class SortedSlots {
+        final int structuralChanges;
+        final int[] slots;
+
+        SortedSlots(int structuralChanges, int[] slots) {
+            this.structuralChanges = structuralChanges;
+            this.slots = slots;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.inventory.adapters.persistance;
+
+/**
+ * Falla del almacenamiento subyacente (por ejemplo, un error de la base de datos) al ejecutar una
+ * operación de ProductRepository. Envuelve la excepción original, que no es parte del contrato del dominio.
+ */
+public class DataAccessException extends RuntimeException {
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,161 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.InventoryAggregates;
+import com.inventory.domain.InventoryStats;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * Oyente de cambios (ver ObservableProductRepository) que mantiene los totales del inventario
+ * (InventoryStats) al día en cada escritura, de modo que consultarlos no requiere recorrer el catálogo.
+ *
+ * Los totales se reparten en celdas inmutables, una por franja de IDs. Cada cambio se traduce en una
+ * diferencia (lo que aporta el estado nuevo menos lo que aportaba el anterior) que se aplica con CAS a
+ * la celda de su ID, reemplazándola por otra: escritores de productos distintos casi nunca tocan la
+ * misma celda y nadie toma un candado global.
+ *
+ * La lectura suma las celdas (una cantidad fija, O(1) respecto del catálogo) y vuelve a leerlas: si
+ * ninguna cambió entretanto, el resultado es exactamente el estado del inventario en un instante.
+ * Si los escritores no dan tregua, tras unos intentos se devuelve la última suma, en la que cada
+ * producto aparece con algún estado que realmente tuvo (sus cambios siempre caen en la misma celda).
+ */
+public class InventoryAggregator implements ProductChangeListener, InventoryAggregates {
+    // Límites por defecto de los rangos de precio: <10, 10-50, 50-100, 100-500, 500-1000 y 1000 o más.
+    private static final double[] DEFAULT_PRICE_BUCKET_BOUNDS = {10, 50, 100, 500, 1_000};
+
+    private static final int CELLS = 64; // Potencia de dos.
+    private static final int SNAPSHOT_ATTEMPTS = 16;
+
+    private final double[] bounds;
+    private final AtomicReferenceArray<Cell> cells = new AtomicReferenceArray<>(CELLS);
+
+    public InventoryAggregator(ProductRepository existing) {
+        this(existing, DEFAULT_PRICE_BUCKET_BOUNDS);
+    }
+
+    /**
+     * Calcula los totales de los productos que el repositorio ya contiene; los cambios posteriores
+     * llegan por onChange.
+     * @param priceBucketBounds Límites de los rangos de precio, en orden creciente.
+     */
+    public InventoryAggregator(ProductRepository existing, double[] priceBucketBounds) {
+        for (int i = 1; i < priceBucketBounds.length; i++) {
+            if (!(priceBucketBounds[i - 1] < priceBucketBounds[i])) {
+                throw new IllegalArgumentException("Los límites de precio deben estar en orden creciente.");
+            }
+        }
+        this.bounds = priceBucketBounds.clone();
+        Cell empty = new Cell(0, 0, 0, 0, new long[bounds.length + 1]);
+        for (int i = 0; i < CELLS; i++) {
+            cells.set(i, empty);
+        }
+        try (Stream<Product> products = existing.stream()) {
+            products.forEach(product -> onChange(null, product));
+        }
+    }
+
+    @Override
+    public void onChange(Product before, Product after) {
+        String id = after != null ? after.getId() : before.getId();
+        int index = cellOf(id);
+        while (true) {
+            Cell current = cells.get(index);
+            Cell updated = current.apply(before, -1).apply(after, +1);
+            if (cells.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public InventoryStats currentStats() {
+        Cell[] seen = new Cell[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            seen[i] = cells.get(i);
+        }
+        for (int attempt = 1; ; attempt++) {
+            boolean stable = true;
+            for (int i = 0; i < CELLS; i++) {
+                Cell cell = cells.get(i);
+                if (cell != seen[i]) {
+                    // Cada cambio crea una celda nueva, así que comparar referencias detecta cualquier escritura.
+                    seen[i] = cell;
+                    stable = false;
+                }
+            }
+            if (stable || attempt == SNAPSHOT_ATTEMPTS) {
+                return sum(seen);
+            }
+        }
+    }
+
+    private InventoryStats sum(Cell[] seen) {
+        long products = 0;
+        long units = 0;
+        long valueCents = 0;
+        long outOfStock = 0;
+        long[] buckets = new long[bounds.length + 1];
+        for (Cell cell : seen) {
+            products += cell.products;
+            units += cell.units;
+            valueCents += cell.valueCents;
+            outOfStock += cell.outOfStock;
+            for (int b = 0; b < buckets.length; b++) {
+                buckets[b] += cell.buckets[b];
+            }
+        }
+        return new InventoryStats(products, units, valueCents, outOfStock, bounds, buckets);
+    }
+
+    private int bucketOf(double price) {
+        int index = Arrays.binarySearch(bounds, price);
+        // Un precio igual a un límite abre el rango siguiente.
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static int cellOf(String id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (CELLS - 1);
+    }
+
+    /**
+     * Totales parciales de una franja de IDs. Inmutable: cada cambio produce una celda nueva.
+     */
+    private final class Cell {
+        final long products;
+        final long units;
+        final long valueCents;
+        final long outOfStock;
+        final long[] buckets;
+
+        Cell(long products, long units, long valueCents, long outOfStock, long[] buckets) {
+            this.products = products;
+            this.units = units;
+            this.valueCents = valueCents;
+            this.outOfStock = outOfStock;
+            this.buckets = buckets;
+        }
+
+        /**
+         * @param sign +1 para sumar el aporte del producto, -1 para quitarlo.
+         * @return Esta celda si product es null; si no, una nueva con el aporte aplicado.
+         */
+        Cell apply(Product product, int sign) {
+            if (product == null) {
+                return this;
+            }
+            long[] nextBuckets = buckets.clone();
+            nextBuckets[bucketOf(product.getPrice())] += sign;
+            long stock = product.getStock();
+            return new Cell(products + sign,
+                    units + sign * stock,
+                    valueCents + sign * Math.round(product.getPrice() * 100) * stock,
+                    outOfStock + (stock == 0 ? sign : 0),
+                    nextBuckets);
+        }
+    }
+}
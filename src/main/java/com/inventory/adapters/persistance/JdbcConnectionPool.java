@@ -0,0 +1,166 @@
+package com.inventory.adapters.persistance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool fijo de conexiones JDBC para JdbcProductRepository. Las conexiones se abren a demanda hasta el
+ * máximo y después se reutilizan; cada una conserva sus sentencias preparadas, de modo que una operación
+ * no paga ni la conexión ni la preparación del SQL. Si todas están en uso, quien pide una espera.
+ */
+final class JdbcConnectionPool implements AutoCloseable {
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final BlockingQueue<PooledConnection> idle;
+    private final List<PooledConnection> all = new ArrayList<>();
+    private final int maxSize;
+    private boolean closed;
+
+    JdbcConnectionPool(String url, String user, String password, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("El pool necesita al menos una conexión.");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Entrega una conexión libre; debe devolverse con close() (try-with-resources).
+     * @throws SQLException Si no se pudo abrir una conexión nueva o no se liberó ninguna a tiempo.
+     */
+    PooledConnection borrow() throws SQLException {
+        PooledConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new SQLException("El pool de conexiones está cerrado.");
+            }
+            if (all.size() < maxSize) {
+                connection = new PooledConnection(DriverManager.getConnection(url, user, password));
+                all.add(connection);
+                return connection;
+            }
+        }
+        try {
+            connection = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión libre.", e);
+        }
+        if (connection == null) {
+            throw new SQLException("No se liberó ninguna conexión en " + BORROW_TIMEOUT_SECONDS + " s.");
+        }
+        return connection;
+    }
+
+    /**
+     * Cierra todas las conexiones. Las que estén en uso se cierran igual; quien las tenga recibirá errores.
+     */
+    @Override
+    public synchronized void close() throws SQLException {
+        closed = true;
+        SQLException failure = null;
+        for (PooledConnection connection : all) {
+            try {
+                connection.connection.close();
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+        all.clear();
+        idle.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        try {
+            // Un lote que quedó a medio armar (por un error o un atajo antes de executeBatch) no debe
+            // ejecutarse junto con el del siguiente usuario de la misma sentencia.
+            connection.clearBatches();
+            if (!connection.connection.getAutoCommit()) {
+                // Una transacción que quedó abierta por un error no debe pasar al siguiente usuario.
+                connection.connection.rollback();
+                connection.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            discard(connection);
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+        }
+        idle.offer(connection);
+    }
+
+    private synchronized void discard(PooledConnection connection) {
+        all.remove(connection);
+        try {
+            connection.connection.close();
+        } catch (SQLException ignored) {
+            // La conexión ya estaba rota; no hay nada más que hacer con ella.
+        }
+    }
+
+    /**
+     * Conexión del pool con su caché de sentencias preparadas. La usa un solo hilo a la vez.
+     */
+    final class PooledConnection implements AutoCloseable {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        Connection connection() {
+            return connection;
+        }
+
+        /**
+         * @return La sentencia ya preparada para este SQL en esta conexión, o una nueva que queda guardada.
+         */
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            return statement;
+        }
+
+        private void clearBatches() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.clearBatch();
+            }
+        }
+
+        /**
+         * Devuelve la conexión al pool.
+         */
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+}
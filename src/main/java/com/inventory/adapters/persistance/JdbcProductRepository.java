@@ -0,0 +1,459 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementación de ProductRepository sobre una base de datos relacional vía JDBC (probada con H2).
+ * Los productos viven en la tabla "products", que se crea si no existe.
+ *
+ * - Las conexiones salen de un pool fijo y cada una reutiliza sus sentencias preparadas, así que una
+ *   operación individual es una sola ida y vuelta (dos en save() de un producto nuevo).
+ * - Los lotes (saveAll, insertAllIfAbsent, deleteAll) se envían con executeBatch dentro de una única
+ *   transacción: un solo commit por lote en lugar de uno por producto.
+ * - stream() y findAll() leen con un cursor y un tamaño de extracción fijo, sin traer toda la tabla de una vez.
+ * - La versión se mantiene en la propia fila: compareAndSave es un UPDATE ... WHERE version = ?,
+ *   de modo que el control optimista funciona también entre varios procesos que comparten la base.
+ *
+ * Para que findPage pagine en el mismo orden que los demás repositorios, la columna id debe compararse
+ * byte a byte (la colación por defecto de H2; en otras bases puede requerir una colación binaria).
+ * Los errores de la base se informan como DataAccessException.
+ */
+public class JdbcProductRepository implements ProductRepository, AutoCloseable {
+    public static final int DEFAULT_POOL_SIZE = 8;
+    private static final int FETCH_SIZE = 500;
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS products ("
+            + "id VARCHAR(20) PRIMARY KEY, name VARCHAR(50) NOT NULL, price DOUBLE PRECISION NOT NULL, "
+            + "stock INTEGER NOT NULL, version BIGINT NOT NULL)";
+    private static final String COLUMNS = "SELECT id, name, price, stock, version FROM products";
+    private static final String SELECT_BY_ID = COLUMNS + " WHERE id = ?";
+    private static final String SELECT_ALL = COLUMNS + " ORDER BY id";
+    private static final String SELECT_FIRST_PAGE = COLUMNS + " ORDER BY id LIMIT ?";
+    private static final String SELECT_PAGE = COLUMNS + " WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String INSERT = "INSERT INTO products (id, name, price, stock, version) VALUES (?, ?, ?, ?, 1)";
+    private static final String INSERT_IF_ABSENT = "INSERT INTO products (id, name, price, stock, version) "
+            + "SELECT ?, ?, ?, ?, 1 WHERE NOT EXISTS (SELECT 1 FROM products WHERE id = ?)";
+    private static final String UPDATE = "UPDATE products SET name = ?, price = ?, stock = ?, version = version + 1 WHERE id = ?";
+    private static final String UPDATE_IF_VERSION = UPDATE + " AND version = ?";
+    private static final String RESERVE = "UPDATE products SET stock = stock - ?, version = version + 1 WHERE id = ? AND stock >= ?";
+    private static final String DELETE = "DELETE FROM products WHERE id = ?";
+
+    private final JdbcConnectionPool pool;
+
+    /**
+     * Conecta sin usuario ni contraseña (ej. "jdbc:h2:./inventario") con el pool por defecto.
+     */
+    public JdbcProductRepository(String url) {
+        this(url, null, null, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * @param url URL JDBC; el driver correspondiente debe estar en el classpath.
+     * @param poolSize Máximo de conexiones abiertas a la vez.
+     * @throws DataAccessException Si no se puede conectar o crear la tabla.
+     */
+    public JdbcProductRepository(String url, String user, String password, int poolSize) {
+        this.pool = new JdbcConnectionPool(url, user, password, poolSize);
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow();
+             Statement statement = connection.connection().createStatement()) {
+            statement.execute(CREATE_TABLE);
+        } catch (SQLException e) {
+            closeQuietly();
+            throw new DataAccessException("No se pudo inicializar la base de datos " + url, e);
+        }
+    }
+
+    @Override
+    public void save(Product product) {
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            // Si otro escritor inserta el ID entre el UPDATE y el INSERT, se vuelve a intentar como actualización.
+            while (update(connection, product) == 0) {
+                if (insert(connection, product)) {
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al guardar el producto " + product.getId(), e);
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            return compareAndSave(connection, expectedVersion, product);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al guardar el producto " + product.getId(), e);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            return find(connection, id);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al buscar el producto " + id, e);
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        try (Stream<Product> products = stream()) {
+            return products.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que cero.");
+        }
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            PreparedStatement statement;
+            if (afterId == null) {
+                statement = connection.prepare(SELECT_FIRST_PAGE);
+                statement.setInt(1, limit);
+            } else {
+                statement = connection.prepare(SELECT_PAGE);
+                statement.setString(1, afterId);
+                statement.setInt(2, limit);
+            }
+            List<Product> page = new ArrayList<>(Math.min(limit, 1_024));
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    page.add(read(rows));
+                }
+            }
+            return page;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar productos", e);
+        }
+    }
+
+    /**
+     * Recorre la tabla con un cursor. El stream retiene una conexión del pool hasta que se cierra,
+     * así que debe usarse con try-with-resources (y no llamar al repositorio desde el propio recorrido
+     * si el pool tiene una sola conexión).
+     */
+    @Override
+    public Stream<Product> stream() {
+        JdbcConnectionPool.PooledConnection connection;
+        ResultSet rows;
+        try {
+            connection = pool.borrow();
+            try {
+                // Algunos drivers (ej. PostgreSQL) solo respetan el tamaño de extracción dentro de una transacción.
+                connection.connection().setAutoCommit(false);
+                PreparedStatement statement = connection.prepare(SELECT_ALL);
+                statement.setFetchSize(FETCH_SIZE);
+                rows = statement.executeQuery();
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar productos", e);
+        }
+        Spliterator<Product> cursor = new Spliterators.AbstractSpliterator<Product>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Product> action) {
+                try {
+                    if (!rows.next()) {
+                        return false;
+                    }
+                    action.accept(read(rows));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Error al listar productos", e);
+                }
+            }
+        };
+        return StreamSupport.stream(cursor, false).onClose(() -> {
+            try {
+                rows.close();
+            } catch (SQLException ignored) {
+                // Al devolverla, el pool revierte la transacción de lectura y deja la conexión lista.
+            }
+            connection.close();
+        });
+    }
+
+    @Override
+    public void delete(String id) {
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            PreparedStatement statement = connection.prepare(DELETE);
+            statement.setString(1, id);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al eliminar el producto " + id, e);
+        }
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        // Lectura y escritura condicionada a la versión leída: la validación del nuevo stock es la del
+        // dominio (Product.withStockAdjustedBy) y un escritor concurrente solo provoca un reintento.
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            while (true) {
+                Optional<Product> current = find(connection, id);
+                if (current.isEmpty()) {
+                    return OptionalInt.empty();
+                }
+                Product updated = current.get().withStockAdjustedBy(delta);
+                if (compareAndSave(connection, current.get().getVersion(), updated)) {
+                    return OptionalInt.of(updated.getStock());
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al ajustar el stock del producto " + id, e);
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad a reservar debe ser mayor que cero.");
+        }
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            PreparedStatement statement = connection.prepare(RESERVE);
+            statement.setInt(1, quantity);
+            statement.setString(2, id);
+            statement.setInt(3, quantity);
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al reservar stock del producto " + id, e);
+        }
+    }
+
+    // --- Lotes ---
+    // Si un lote choca con un escritor concurrente (clave duplicada), se revierte completo y se repite
+    // producto por producto con las operaciones individuales, que ya resuelven esa carrera.
+
+    @Override
+    public void saveAll(List<Product> products) {
+        boolean applied;
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            applied = saveBatch(connection, products);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al guardar un lote de " + products.size() + " productos", e);
+        }
+        if (!applied) {
+            ProductRepository.super.saveAll(products);
+        }
+    }
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<Product> products) {
+        boolean[] inserted = null;
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            connection.connection().setAutoCommit(false);
+            PreparedStatement statement = connection.prepare(INSERT_IF_ABSENT);
+            for (Product product : products) {
+                bindInsert(statement, product);
+                statement.setString(5, product.getId());
+                statement.addBatch();
+            }
+            int[] counts = executeBatch(statement);
+            if (counts != null) {
+                connection.connection().commit();
+                inserted = new boolean[counts.length];
+                for (int i = 0; i < counts.length; i++) {
+                    inserted[i] = counts[i] > 0;
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al insertar un lote de " + products.size() + " productos", e);
+        }
+        return inserted != null ? inserted : ProductRepository.super.insertAllIfAbsent(products);
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> ids) {
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            connection.connection().setAutoCommit(false);
+            PreparedStatement statement = connection.prepare(DELETE);
+            for (String id : ids) {
+                statement.setString(1, id);
+                statement.addBatch();
+            }
+            int[] counts = statement.executeBatch();
+            connection.connection().commit();
+            boolean[] deleted = new boolean[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                deleted[i] = counts[i] > 0;
+            }
+            return deleted;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al eliminar un lote de " + ids.size() + " productos", e);
+        }
+    }
+
+    /**
+     * Cierra todas las conexiones del pool.
+     */
+    @Override
+    public void close() {
+        try {
+            pool.close();
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al cerrar las conexiones", e);
+        }
+    }
+
+    /**
+     * Actualiza en un lote los productos existentes e inserta en otro los que faltan, en una transacción.
+     * @return false si hay que repetir el lote producto por producto (IDs repetidos en el lote, o un
+     *         alta concurrente del mismo ID).
+     */
+    private boolean saveBatch(JdbcConnectionPool.PooledConnection connection, List<Product> products) throws SQLException {
+        Set<String> ids = new HashSet<>(products.size() * 2);
+        for (Product product : products) {
+            if (!ids.add(product.getId())) {
+                // Con IDs repetidos, el UPDATE del segundo no vería el INSERT del primero.
+                return false;
+            }
+        }
+        connection.connection().setAutoCommit(false);
+        PreparedStatement update = connection.prepare(UPDATE);
+        for (Product product : products) {
+            bindUpdate(update, product);
+            update.addBatch();
+        }
+        int[] updated = update.executeBatch();
+        PreparedStatement insert = connection.prepare(INSERT);
+        boolean inserts = false;
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == Statement.SUCCESS_NO_INFO) {
+                // El driver no informa qué filas existían: no se puede saber cuáles insertar.
+                connection.connection().rollback();
+                return false;
+            }
+            if (updated[i] == 0) {
+                bindInsert(insert, products.get(i));
+                insert.addBatch();
+                inserts = true;
+            }
+        }
+        if (inserts && executeBatch(insert) == null) {
+            return false;
+        }
+        connection.connection().commit();
+        return true;
+    }
+
+    /**
+     * Ejecuta el lote acumulado.
+     * @return Las filas afectadas por cada sentencia, o null si el lote se revirtió por una clave duplicada.
+     */
+    private static int[] executeBatch(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.executeBatch();
+        } catch (BatchUpdateException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+            statement.clearBatch();
+            statement.getConnection().rollback();
+            return null;
+        }
+    }
+
+    private static Optional<Product> find(JdbcConnectionPool.PooledConnection connection, String id) throws SQLException {
+        PreparedStatement statement = connection.prepare(SELECT_BY_ID);
+        statement.setString(1, id);
+        try (ResultSet rows = statement.executeQuery()) {
+            return rows.next() ? Optional.of(read(rows)) : Optional.empty();
+        }
+    }
+
+    private static boolean compareAndSave(JdbcConnectionPool.PooledConnection connection, long expectedVersion,
+                                          Product product) throws SQLException {
+        if (expectedVersion == 0) {
+            return insert(connection, product);
+        }
+        PreparedStatement statement = connection.prepare(UPDATE_IF_VERSION);
+        bindUpdate(statement, product);
+        statement.setLong(5, expectedVersion);
+        return statement.executeUpdate() == 1;
+    }
+
+    private static int update(JdbcConnectionPool.PooledConnection connection, Product product) throws SQLException {
+        PreparedStatement statement = connection.prepare(UPDATE);
+        bindUpdate(statement, product);
+        return statement.executeUpdate();
+    }
+
+    /**
+     * @return false si el ID ya existía.
+     */
+    private static boolean insert(JdbcConnectionPool.PooledConnection connection, Product product) throws SQLException {
+        PreparedStatement statement = connection.prepare(INSERT);
+        bindInsert(statement, product);
+        try {
+            statement.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            if (isDuplicateKey(e)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asigna los parámetros 1 a 4 de INSERT e INSERT_IF_ABSENT: id, nombre, precio, stock.
+     */
+    private static void bindInsert(PreparedStatement statement, Product product) throws SQLException {
+        statement.setString(1, product.getId());
+        statement.setString(2, product.getName());
+        statement.setDouble(3, product.getPrice());
+        statement.setInt(4, product.getStock());
+    }
+
+    /**
+     * Asigna los parámetros 1 a 4 de UPDATE y UPDATE_IF_VERSION: nombre, precio, stock, id.
+     */
+    private static void bindUpdate(PreparedStatement statement, Product product) throws SQLException {
+        statement.setString(1, product.getName());
+        statement.setDouble(2, product.getPrice());
+        statement.setInt(3, product.getStock());
+        statement.setString(4, product.getId());
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+        // Clase SQLSTATE 23: violación de una restricción de integridad (aquí, la clave primaria).
+        String state = e.getSQLState();
+        return state != null && state.startsWith("23");
+    }
+
+    private static Product read(ResultSet rows) throws SQLException {
+        return new Product(rows.getString(1), rows.getString(2), rows.getDouble(3), rows.getInt(4), rows.getLong(5));
+    }
+
+    private void closeQuietly() {
+        try {
+            pool.close();
+        } catch (SQLException ignored) {
+            // Ya se está informando el error que impidió crear el repositorio.
+        }
+    }
+}
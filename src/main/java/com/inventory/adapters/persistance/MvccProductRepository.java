@@ -0,0 +1,624 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductReadView;
+import com.inventory.domain.ProductTransaction;
+import com.inventory.domain.TransactionConflictException;
+import com.inventory.domain.TransactionalProductRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio en memoria con control de concurrencia multiversión (MVCC): transacciones de varios
+ * productos que se confirman de forma atómica y vistas de solo lectura en un instante que no
+ * bloquean a los escritores.
+ *
+ * Cada ID guarda una cadena de versiones, de la más nueva a la más vieja, marcadas con la marca de
+ * tiempo de la confirmación que las creó (null = baja). Un lector con la marca T ve, de cada cadena,
+ * la primera versión con marca menor o igual a T. Las confirmaciones toman los candados por franja de
+ * sus IDs (en orden, para no bloquearse entre sí), validan que nadie haya confirmado esos IDs después
+ * de su instantánea y recién entonces, bajo un candado de confirmación que solo cubre ese paso, toman
+ * la marca siguiente, instalan las versiones y publican la marca: un lector nunca ve una confirmación
+ * a medias, y ni los lectores ni la validación de otras confirmaciones esperan ese candado.
+ *
+ * Las versiones que ningún lector abierto puede ver se podan al escribir el mismo ID, y al cerrar una
+ * vista se barre el catálogo completo si quedaron muchas retenidas.
+ */
+public class MvccProductRepository implements TransactionalProductRepository {
+    private static final int STRIPES = 64; // Potencia de dos.
+    private static final int MAX_ATTEMPTS = 16;
+    // Mínimo de versiones retenidas por vistas abiertas para que cerrar una vista barra el catálogo;
+    // además deben ser al menos la mitad de los productos, así el barrido cuesta O(1) amortizado por escritura.
+    private static final int SWEEP_THRESHOLD = 4_096;
+    // Marca de "sin instantánea": la confirmación no valida conflictos (escrituras a ciegas).
+    private static final long NO_SNAPSHOT = Long.MAX_VALUE;
+
+    private final ConcurrentHashMap<String, Chain> chains = new ConcurrentHashMap<>();
+    // Índice ordenado de IDs para paginar; cambia junto con chains, bajo el candado de la franja del ID.
+    private final ConcurrentSkipListSet<String> ids = new ConcurrentSkipListSet<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final ReentrantLock commitLock = new ReentrantLock(); // Serializa la asignación de marcas y su publicación.
+    private final AtomicLong lastVisible = new AtomicLong(); // Última marca publicada (todas las anteriores también lo están).
+    // Vistas abiertas, ordenadas por marca: la primera es la más vieja que todavía hay que respetar.
+    private final ConcurrentSkipListMap<View, Boolean> readers = new ConcurrentSkipListMap<>();
+    private final AtomicLong viewSequence = new AtomicLong();
+    // Mayor límite usado para podar: una vista con una marca menor podría no encontrar sus versiones.
+    private final AtomicLong pruneHorizon = new AtomicLong();
+    private final AtomicInteger retained = new AtomicInteger();
+
+    public MvccProductRepository() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // --- Operaciones individuales: cada una es una confirmación de un solo ID ---
+
+    @Override
+    public void save(Product product) {
+        ReentrantLock lock = lockFor(product.getId());
+        lock.lock();
+        try {
+            Product current = latest(product.getId());
+            commitOne(product.getId(), product.withVersion(current == null ? 1 : current.getVersion() + 1));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        ReentrantLock lock = lockFor(product.getId());
+        lock.lock();
+        try {
+            Product current = latest(product.getId());
+            if ((current == null ? 0 : current.getVersion()) != expectedVersion) {
+                return false;
+            }
+            commitOne(product.getId(), product.withVersion(expectedVersion + 1));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        while (true) {
+            long timestamp = lastVisible.get();
+            Chain chain = chains.get(id);
+            if (chain == null) {
+                return Optional.empty();
+            }
+            Version version = visibleAt(chain, timestamp);
+            if (version != null) {
+                return Optional.ofNullable(version.product);
+            }
+            if (lastVisible.get() == timestamp) {
+                return Optional.empty(); // El ID todavía no existía en ese instante.
+            }
+            // Sin vista registrada, una poda pudo descartar la versión de ese instante: se relee con una marca nueva.
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        try (ProductReadView view = openReadView()) {
+            return view.findAll();
+        }
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        try (ProductReadView view = openReadView()) {
+            return view.findPage(afterId, limit);
+        }
+    }
+
+    @Override
+    public Stream<Product> stream() {
+        // Todo el recorrido ve el mismo instante, no uno por página.
+        ProductReadView view = openReadView();
+        return view.stream().onClose(view::close);
+    }
+
+    @Override
+    public void delete(String id) {
+        remove(id);
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Product current = latest(id);
+            if (current == null) {
+                return OptionalInt.empty();
+            }
+            Product updated = current.withStockAdjustedBy(delta);
+            commitOne(id, updated);
+            return OptionalInt.of(updated.getStock());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad a reservar debe ser mayor que cero.");
+        }
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Product current = latest(id);
+            if (current == null || current.getStock() < quantity) {
+                return false;
+            }
+            commitOne(id, current.withStockAdjustedBy(-quantity));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A diferencia de la implementación por defecto, el lote se confirma como una sola transacción:
+     * ningún lector ve una parte del lote sin el resto.
+     */
+    @Override
+    public void saveAll(List<Product> products) {
+        Map<String, Product> writes = new LinkedHashMap<>(products.size() * 2);
+        for (Product product : products) {
+            writes.put(product.getId(), product);
+        }
+        commit(writes, writes.keySet(), NO_SNAPSHOT);
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> ids) {
+        // Saber si el producto existía y retirarlo es una sola operación atómica por ID.
+        boolean[] deleted = new boolean[ids.size()];
+        for (int i = 0; i < deleted.length; i++) {
+            deleted[i] = remove(ids.get(i));
+        }
+        return deleted;
+    }
+
+    // --- Transacciones y vistas ---
+
+    @Override
+    public <T> T inTransaction(Function<ProductTransaction, T> work) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            View view = openView();
+            Transaction transaction = new Transaction(view);
+            T result;
+            try {
+                result = work.apply(transaction);
+            } finally {
+                transaction.active = false;
+                // La confirmación valida contra las versiones vigentes, no contra la vista: cerrarla antes
+                // evita que sus propias versiones anteriores queden retenidas.
+                view.close();
+            }
+            if (commit(transaction.writes, transaction.keys, view.timestamp)) {
+                return result;
+            }
+        }
+        throw new TransactionConflictException("La transacción no pudo confirmarse tras "
+                + MAX_ATTEMPTS + " intentos por escrituras concurrentes.");
+    }
+
+    @Override
+    public ProductReadView openReadView() {
+        return openView();
+    }
+
+    private View openView() {
+        while (true) {
+            View view = new View(lastVisible.get(), viewSequence.incrementAndGet());
+            readers.put(view, Boolean.TRUE);
+            if (pruneHorizon.get() <= view.timestamp) {
+                return view;
+            }
+            // Una poda concurrente pudo descartar versiones de ese instante antes de registrarla.
+            readers.remove(view);
+        }
+    }
+
+    /**
+     * Poda todas las cadenas. Se invoca sola al cerrar una vista si quedaron muchas versiones retenidas.
+     */
+    void collectGarbage() {
+        retained.set(0);
+        long limit = pruneLimit();
+        for (String id : chains.keySet()) {
+            ReentrantLock lock = lockFor(id);
+            lock.lock();
+            try {
+                prune(id, limit);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return Cantidad total de versiones guardadas, incluidas las bajas (para pruebas).
+     */
+    int versionCount() {
+        int count = 0;
+        for (Chain chain : chains.values()) {
+            for (Version version = chain.head; version != null; version = version.older) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // --- Confirmación ---
+
+    /**
+     * Confirma las escrituras (null = baja) de forma atómica.
+     * @param keys IDs leídos o escritos que no deben haber cambiado desde la instantánea.
+     * @param snapshot Marca de la instantánea de la transacción, o NO_SNAPSHOT para no validar.
+     * @return false si hubo un conflicto y no se aplicó nada.
+     */
+    private boolean commit(Map<String, Product> writes, Collection<String> keys, long snapshot) {
+        if (writes.isEmpty()) {
+            return true;
+        }
+        int[] locked = lockAll(keys);
+        try {
+            if (snapshot != NO_SNAPSHOT) {
+                for (String id : keys) {
+                    Chain chain = chains.get(id);
+                    if (chain != null && chain.head.timestamp > snapshot) {
+                        return false;
+                    }
+                }
+            }
+            List<String> written = new ArrayList<>(writes.size());
+            List<Product> values = new ArrayList<>(writes.size());
+            for (Map.Entry<String, Product> write : writes.entrySet()) {
+                Product current = latest(write.getKey());
+                Product value = write.getValue();
+                if (value == null && current == null) {
+                    continue; // Baja de un ID que no existe: no hay nada que versionar.
+                }
+                written.add(write.getKey());
+                values.add(value == null ? null : value.withVersion(current == null ? 1 : current.getVersion() + 1));
+            }
+            if (written.isEmpty()) {
+                return true;
+            }
+            commitLock.lock();
+            try {
+                long timestamp = lastVisible.get() + 1;
+                for (int i = 0; i < written.size(); i++) {
+                    install(written.get(i), new Version(timestamp, values.get(i)));
+                }
+                lastVisible.set(timestamp);
+            } finally {
+                commitLock.unlock();
+            }
+            long limit = pruneLimit();
+            for (String id : written) {
+                prune(id, limit);
+            }
+            return true;
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    /**
+     * Confirma un solo ID; quien llama ya tiene el candado de su franja.
+     */
+    private void commitOne(String id, Product product) {
+        commitLock.lock();
+        try {
+            long timestamp = lastVisible.get() + 1;
+            install(id, new Version(timestamp, product));
+            lastVisible.set(timestamp);
+        } finally {
+            commitLock.unlock();
+        }
+        prune(id, pruneLimit());
+    }
+
+    private void install(String id, Version version) {
+        Chain chain = chains.get(id);
+        if (chain == null) {
+            chains.put(id, new Chain(version));
+            ids.add(id);
+        } else {
+            version.older = chain.head;
+            chain.head = version;
+        }
+    }
+
+    /**
+     * @return Versión vigente del ID; quien llama tiene el candado de su franja, así que ya está publicada.
+     */
+    private Product latest(String id) {
+        Chain chain = chains.get(id);
+        return chain == null ? null : chain.head.product;
+    }
+
+    private boolean remove(String id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            if (latest(id) == null) {
+                return false;
+            }
+            commitOne(id, null);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Recolección de versiones viejas ---
+
+    /**
+     * @return Marca hasta la que se puede podar: de cada cadena basta la versión vigente en ese instante.
+     */
+    private long pruneLimit() {
+        long limit = oldestReader();
+        pruneHorizon.accumulateAndGet(limit, Math::max);
+        // Una vista que se registró antes de que se publicara el horizonte aparece en esta segunda lectura.
+        return Math.min(limit, oldestReader());
+    }
+
+    private long oldestReader() {
+        long visible = lastVisible.get();
+        Map.Entry<View, Boolean> oldest = readers.firstEntry();
+        return oldest == null ? visible : Math.min(visible, oldest.getKey().timestamp);
+    }
+
+    /**
+     * Descarta las versiones anteriores a la vigente en el límite; quien llama tiene el candado de la franja.
+     */
+    private void prune(String id, long limit) {
+        Chain chain = chains.get(id);
+        if (chain == null) {
+            return;
+        }
+        Version kept = chain.head;
+        while (kept != null && kept.timestamp > limit) {
+            kept = kept.older;
+        }
+        if (kept == null) {
+            return;
+        }
+        kept.older = null;
+        if (kept != chain.head) {
+            retained.incrementAndGet();
+        } else if (kept.product == null) {
+            // Baja que ya nadie puede ver de otra forma.
+            chains.remove(id, chain);
+            ids.remove(id);
+        }
+    }
+
+    private static Version visibleAt(Chain chain, long timestamp) {
+        Version version = chain.head;
+        while (version != null && version.timestamp > timestamp) {
+            version = version.older;
+        }
+        return version;
+    }
+
+    // --- Candados ---
+
+    private ReentrantLock lockFor(String id) {
+        return stripes[stripeOf(id)];
+    }
+
+    private static int stripeOf(String id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private int[] lockAll(Collection<String> ids) {
+        boolean[] needed = new boolean[STRIPES];
+        int count = 0;
+        for (String id : ids) {
+            int stripe = stripeOf(id);
+            if (!needed[stripe]) {
+                needed[stripe] = true;
+                count++;
+            }
+        }
+        int[] locked = new int[count];
+        int next = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            if (needed[stripe]) {
+                stripes[stripe].lock();
+                locked[next++] = stripe;
+            }
+        }
+        return locked;
+    }
+
+    private void unlockAll(int[] locked) {
+        for (int i = locked.length - 1; i >= 0; i--) {
+            stripes[locked[i]].unlock();
+        }
+    }
+
+    private static final class Version {
+        final long timestamp;
+        final Product product; // null = baja.
+        volatile Version older;
+
+        Version(long timestamp, Product product) {
+            this.timestamp = timestamp;
+            this.product = product;
+        }
+    }
+
+    private static final class Chain {
+        volatile Version head;
+
+        Chain(Version head) {
+            this.head = head;
+        }
+    }
+
+    private final class View implements ProductReadView, Comparable<View> {
+        final long timestamp;
+        final long sequence; // Desempata vistas abiertas en el mismo instante.
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        View(long timestamp, long sequence) {
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long timestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            ensureOpen();
+            Chain chain = chains.get(id);
+            return chain == null ? Optional.empty() : Optional.ofNullable(productAt(chain));
+        }
+
+        @Override
+        public List<Product> findAll() {
+            ensureOpen();
+            List<Product> result = new ArrayList<>();
+            for (Chain chain : chains.values()) {
+                Product product = productAt(chain);
+                if (product != null) {
+                    result.add(product);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<Product> findPage(String afterId, int limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("El tamaño de página debe ser mayor que cero.");
+            }
+            ensureOpen();
+            List<Product> page = new ArrayList<>(Math.min(limit, 1_024));
+            for (String id : afterId == null ? ids : ids.tailSet(afterId, false)) {
+                Chain chain = chains.get(id);
+                Product product = chain == null ? null : productAt(chain);
+                if (product != null) {
+                    page.add(product);
+                    if (page.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return page;
+        }
+
+        @Override
+        public Stream<Product> stream() {
+            ensureOpen();
+            return ids.stream().map(chains::get).filter(Objects::nonNull).map(this::productAt).filter(Objects::nonNull);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                readers.remove(this);
+                int pending = retained.get();
+                if (pending >= SWEEP_THRESHOLD && pending >= chains.size() / 2) {
+                    collectGarbage();
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(View other) {
+            int byTimestamp = Long.compare(timestamp, other.timestamp);
+            return byTimestamp != 0 ? byTimestamp : Long.compare(sequence, other.sequence);
+        }
+
+        private Product productAt(Chain chain) {
+            // Las cadenas creadas después de la vista solo tienen versiones más nuevas: no se ven.
+            Version version = visibleAt(chain, timestamp);
+            return version == null ? null : version.product;
+        }
+
+        private void ensureOpen() {
+            if (closed.get()) {
+                throw new IllegalStateException("La vista ya fue cerrada.");
+            }
+        }
+    }
+
+    /**
+     * Acumula las escrituras en memoria hasta la confirmación; lee de su vista y de sus propias escrituras.
+     */
+    private static final class Transaction implements ProductTransaction {
+        private final View view;
+        final Set<String> keys = new HashSet<>(); // IDs leídos o escritos: se validan al confirmar.
+        final Map<String, Product> writes = new LinkedHashMap<>(); // null = baja.
+        boolean active = true;
+
+        Transaction(View view) {
+            this.view = view;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            ensureActive();
+            if (writes.containsKey(id)) {
+                return Optional.ofNullable(writes.get(id));
+            }
+            keys.add(id);
+            return view.findById(id);
+        }
+
+        @Override
+        public void save(Product product) {
+            ensureActive();
+            keys.add(product.getId());
+            writes.put(product.getId(), product);
+        }
+
+        @Override
+        public void delete(String id) {
+            ensureActive();
+            keys.add(id);
+            writes.put(id, null);
+        }
+
+        private void ensureActive() {
+            if (!active) {
+                throw new IllegalStateException("La transacción ya terminó.");
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+/**
+ * Decorador de ProductRepository que reparte cada cambio entre varios ProductChangeListener
+ * (agregados, eventos de cambio, índices secundarios).
+ *
+ * Conviene un solo decorador con varios oyentes en lugar de apilar un decorador por oyente: cada
+ * escritura toma un único candado por franja y lee el estado anterior y el nuevo una sola vez, algo
+ * que importa cuando cada findById es un viaje al almacenamiento (JDBC, caché, shards remotos).
+ *
+ * Los oyentes se invocan en el orden dado, bajo el candado del ID, así que todos ven los cambios de un
+ * mismo producto en el orden en que se aplicaron. Si un oyente lanza una excepción, los siguientes no
+ * reciben ese cambio y la excepción llega a quien escribió.
+ */
+public class ObservableProductRepository extends ProductRepositoryDecorator {
+    private final ProductChangeListener[] listeners;
+
+    public ObservableProductRepository(ProductRepository delegate, ProductChangeListener... listeners) {
+        super(delegate);
+        this.listeners = listeners.clone();
+    }
+
+    @Override
+    protected void onChange(Product before, Product after) {
+        for (ProductChangeListener listener : listeners) {
+            listener.onChange(before, after);
+        }
+    }
+}
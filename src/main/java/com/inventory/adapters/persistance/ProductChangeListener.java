@@ -0,0 +1,17 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+
+/**
+ * Recibe los cambios que ObservableProductRepository aplica sobre el repositorio decorado
+ * (índices, agregados, eventos de cambio).
+ */
+@FunctionalInterface
+public interface ProductChangeListener {
+    /**
+     * Se invoca tras cada escritura que modificó un producto, todavía bajo el candado de su ID.
+     * @param before Estado anterior (null si el producto no existía).
+     * @param after Estado nuevo (null si el producto fue eliminado).
+     */
+    void onChange(Product before, Product after);
+}
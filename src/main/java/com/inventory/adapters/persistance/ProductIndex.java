@@ -0,0 +1,163 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductQueries;
+import com.inventory.domain.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Oyente de cambios (ver ObservableProductRepository) que mantiene índices secundarios ordenados por
+ * nombre, precio y stock, de modo que las consultas de ProductQueries cuestan O(log n + k) en lugar de
+ * recorrer el catálogo.
+ *
+ * Cada índice es un conjunto ordenado de pares (valor, ID), así que productos con el mismo valor no
+ * se pisan entre sí. Los índices se actualizan después de escribir en el repositorio; durante
+ * ese breve intervalo una consulta puede omitir un producto recién cambiado, pero nunca devuelve uno
+ * que ya no cumpla el criterio, porque cada resultado se vuelve a comprobar con su estado actual.
+ */
+public class ProductIndex implements ProductChangeListener, ProductQueries {
+    private static final String MIN_ID = "";
+    private static final String MAX_ID = "\uffff"; // Mayor que cualquier ID válido (solo ASCII).
+
+    private final ProductRepository repository;
+    private final ConcurrentSkipListSet<String> byName = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Key> byPrice = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Key> byStock = new ConcurrentSkipListSet<>();
+
+    /**
+     * Indexa los productos que el repositorio ya contiene; los resultados se leen de él.
+     */
+    public ProductIndex(ProductRepository repository) {
+        this.repository = repository;
+        try (Stream<Product> existing = repository.stream()) {
+            existing.forEach(this::index);
+        }
+    }
+
+    @Override
+    public void onChange(Product before, Product after) {
+        if (before != null) {
+            unindex(before);
+        }
+        if (after != null) {
+            index(after);
+        }
+    }
+
+    @Override
+    public List<Product> findByNamePrefix(String prefix, int limit) {
+        requirePositive(limit);
+        if (prefix == null) {
+            throw new IllegalArgumentException("El prefijo de búsqueda no puede ser nulo.");
+        }
+        String from = normalize(prefix);
+        // Las claves son "nombre\0id": todo lo que empieza con el prefijo queda entre el prefijo y el prefijo seguido de MAX_ID.
+        NavigableSet<String> range = byName.subSet(from, true, from + MAX_ID, false);
+        List<Product> result = new ArrayList<>(Math.min(limit, 256));
+        for (String key : range) {
+            String id = key.substring(key.lastIndexOf('\0') + 1);
+            addIfMatches(result, id, p -> normalize(p.getName()).startsWith(from));
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Product> findByPriceRange(double minPrice, double maxPrice, int limit) {
+        requirePositive(limit);
+        if (minPrice > maxPrice) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor que el máximo.");
+        }
+        return collect(byPrice.subSet(new Key(minPrice, MIN_ID), true, new Key(maxPrice, MAX_ID), true), limit,
+                p -> p.getPrice() >= minPrice && p.getPrice() <= maxPrice);
+    }
+
+    @Override
+    public List<Product> findByStockBelow(int threshold, int limit) {
+        requirePositive(limit);
+        return collect(byStock.headSet(new Key(threshold, MIN_ID), false), limit, p -> p.getStock() < threshold);
+    }
+
+    private List<Product> collect(NavigableSet<Key> range, int limit, Predicate<Product> stillMatches) {
+        List<Product> result = new ArrayList<>(Math.min(limit, 256));
+        for (Key key : range) {
+            addIfMatches(result, key.id, stillMatches);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void addIfMatches(List<Product> result, String id, Predicate<Product> stillMatches) {
+        Optional<Product> product = repository.findById(id);
+        if (product.isPresent() && stillMatches.test(product.get())) {
+            result.add(product.get());
+        }
+    }
+
+    private void index(Product product) {
+        byName.add(nameKey(product));
+        byPrice.add(new Key(product.getPrice(), product.getId()));
+        byStock.add(new Key(product.getStock(), product.getId()));
+    }
+
+    private void unindex(Product product) {
+        byName.remove(nameKey(product));
+        byPrice.remove(new Key(product.getPrice(), product.getId()));
+        byStock.remove(new Key(product.getStock(), product.getId()));
+    }
+
+    private static String nameKey(Product product) {
+        return normalize(product.getName()) + '\0' + product.getId();
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static void requirePositive(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El límite de resultados debe ser mayor que cero.");
+        }
+    }
+
+    /**
+     * Entrada de un índice numérico: ordena por valor y desempata por ID.
+     */
+    private static final class Key implements Comparable<Key> {
+        final double value;
+        final String id;
+
+        Key(double value, String id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byValue = Double.compare(value, other.value);
+            return byValue != 0 ? byValue : id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.hashCode(value) + id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductId;
+import com.inventory.domain.ProductRepository;
+import com.inventory.domain.ProductTransaction;
+import com.inventory.domain.TransactionalProductRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base para decoradores de ProductRepository que necesitan enterarse de cada cambio
+ * (ver ObservableProductRepository). Las lecturas se delegan tal cual; cada escritura se ejecuta
+ * bajo un candado por franja (según el ID) y luego se notifica onChange con el estado anterior y el nuevo.
+ *
+ * Como los cambios de un mismo ID se serializan, onChange los recibe en el mismo orden en que se
+ * aplicaron; productos distintos caen casi siempre en franjas distintas y no compiten entre sí.
+ * Las escrituras hechas directamente sobre el repositorio decorado no se notifican.
+ *
+ * adjustStock y tryReserve también pasan por el candado, aunque el repositorio decorado los resuelva sin
+ * candados (CAS): su resultado es solo el stock nuevo, y los oyentes necesitan el producto anterior y el
+ * nuevo, en orden (ProductIndex quita la entrada anterior antes de agregar la nueva; el flujo de cambios
+ * publica cada versión una vez). Se paga un candado y dos findById por escritura (en memoria, un ajuste
+ * sin competencia pasa de ~0,5 a ~0,9 µs), y los ajustes sobre un mismo producto se serializan junto con
+ * sus oyentes en lugar de reintentar el CAS: un producto muy disputado queda limitado a alrededor de un
+ * millón de ajustes por segundo, unas decenas de veces menos que sin decorador. HotSkuContentionBenchmark
+ * compara ambos caminos ("plain" contra "observable") para seguir esa diferencia.
+ */
+public abstract class ProductRepositoryDecorator implements ProductRepository {
+    private static final int STRIPES = 64; // Potencia de dos.
+
+    protected final ProductRepository delegate;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    protected ProductRepositoryDecorator(ProductRepository delegate) {
+        this.delegate = delegate;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Se invoca tras cada escritura que modificó un producto, todavía bajo el candado de su ID.
+     * @param before Estado anterior (null si el producto no existía).
+     * @param after Estado nuevo (null si el producto fue eliminado).
+     */
+    protected abstract void onChange(Product before, Product after);
+
+    @Override
+    public void save(Product product) {
+        ReentrantLock lock = lockFor(product.getId());
+        lock.lock();
+        try {
+            Product before = delegate.findById(product.getId()).orElse(null);
+            delegate.save(product);
+            notifyChange(before, product.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        ReentrantLock lock = lockFor(product.getId());
+        lock.lock();
+        try {
+            Product before = delegate.findById(product.getId()).orElse(null);
+            if (!delegate.compareAndSave(expectedVersion, product)) {
+                return false;
+            }
+            notifyChange(before, product.getId());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Product before = delegate.findById(id).orElse(null);
+            delegate.delete(id);
+            if (before != null) {
+                onChange(before, null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Product before = delegate.findById(id).orElse(null);
+            OptionalInt result = delegate.adjustStock(id, delta);
+            if (result.isPresent()) {
+                notifyChange(before, id);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Product before = delegate.findById(id).orElse(null);
+            if (!delegate.tryReserve(id, quantity)) {
+                return false;
+            }
+            notifyChange(before, id);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Lotes ---
+    // Se toman a la vez los candados de todas las franjas del lote (en orden creciente, para no
+    // bloquearse con otro lote) y se delega el lote completo, de modo que el repositorio decorado
+    // conserve su camino eficiente (ej. un solo fsync). Si un ID se repite, onChange recibe
+    // directamente el estado previo al lote y el final.
+
+    @Override
+    public void saveAll(List<Product> products) {
+        List<String> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        int[] locked = lockAll(ids);
+        try {
+            Map<String, Product> before = snapshot(ids);
+            delegate.saveAll(products);
+            notifyChanges(before);
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<Product> products) {
+        List<String> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        int[] locked = lockAll(ids);
+        try {
+            Map<String, Product> before = snapshot(ids);
+            boolean[] inserted = delegate.insertAllIfAbsent(products);
+            notifyChanges(before);
+            return inserted;
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> ids) {
+        int[] locked = lockAll(ids);
+        try {
+            Map<String, Product> before = snapshot(ids);
+            boolean[] deleted = delegate.deleteAll(ids);
+            notifyChanges(before);
+            return deleted;
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    // --- Transacciones ---
+
+    /**
+     * Ejecuta una transacción del repositorio decorado y notifica onChange por cada producto que confirmó,
+     * para que las subclases transaccionales no dejen a sus oyentes sin enterarse.
+     *
+     * Al terminar el bloque se toman los candados de las franjas de los IDs escritos y se lee su estado
+     * anterior; se mantienen durante la confirmación y la notificación, como en una escritura de lote.
+     * Si la confirmación choca y el bloque se repite, los candados se sueltan antes de volver a ejecutarlo.
+     * @param transactional El repositorio decorado, visto como transaccional.
+     */
+    protected <T> T inTransaction(TransactionalProductRepository transactional, Function<ProductTransaction, T> work) {
+        HeldLocks held = new HeldLocks();
+        try {
+            T result = transactional.inTransaction(transaction -> {
+                held.release();
+                WriteRecordingTransaction recording = new WriteRecordingTransaction(transaction);
+                T value = work.apply(recording);
+                held.acquire(new ArrayList<>(recording.written));
+                return value;
+            });
+            notifyChanges(held.before);
+            return result;
+        } finally {
+            held.release();
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Product> stream() {
+        return delegate.stream();
+    }
+
+    private void notifyChange(Product before, String id) {
+        Product after = delegate.findById(id).orElse(null);
+        if (changed(before, after)) {
+            onChange(before, after);
+        }
+    }
+
+    /**
+     * Compara versiones y no referencias: JDBC, la caché o un shard remoto devuelven una instancia
+     * nueva en cada lectura aunque el producto no haya cambiado (ej. insertAllIfAbsent sobre un ID existente).
+     */
+    private static boolean changed(Product before, Product after) {
+        if (before == null || after == null) {
+            return before != after;
+        }
+        return before.getVersion() != after.getVersion();
+    }
+
+    private Map<String, Product> snapshot(List<String> ids) {
+        Map<String, Product> before = new HashMap<>(ids.size() * 2);
+        for (String id : ids) {
+            if (!before.containsKey(id)) {
+                before.put(id, delegate.findById(id).orElse(null));
+            }
+        }
+        return before;
+    }
+
+    private void notifyChanges(Map<String, Product> before) {
+        for (Map.Entry<String, Product> entry : before.entrySet()) {
+            notifyChange(entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Candados y estado anterior de los IDs que escribe el intento en curso de una transacción.
+     */
+    private final class HeldLocks {
+        int[] locked = new int[0];
+        Map<String, Product> before = new HashMap<>();
+
+        void acquire(List<String> ids) {
+            locked = lockAll(ids);
+            before = snapshot(ids);
+        }
+
+        void release() {
+            unlockAll(locked);
+            locked = new int[0];
+            before = new HashMap<>();
+        }
+    }
+
+    /**
+     * Anota los IDs que el bloque escribe o elimina; todo lo demás lo hace la transacción decorada.
+     */
+    private static final class WriteRecordingTransaction implements ProductTransaction {
+        private final ProductTransaction transaction;
+        final Set<String> written = new LinkedHashSet<>();
+
+        WriteRecordingTransaction(ProductTransaction transaction) {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            return transaction.findById(id);
+        }
+
+        @Override
+        public void save(Product product) {
+            transaction.save(product);
+            written.add(product.getId());
+        }
+
+        @Override
+        public void delete(String id) {
+            transaction.delete(id);
+            written.add(id);
+        }
+    }
+
+    private int[] lockAll(List<String> ids) {
+        boolean[] needed = new boolean[STRIPES];
+        int count = 0;
+        for (String id : ids) {
+            int stripe = stripeOf(id);
+            if (!needed[stripe]) {
+                needed[stripe] = true;
+                count++;
+            }
+        }
+        int[] locked = new int[count];
+        int next = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            if (needed[stripe]) {
+                stripes[stripe].lock();
+                locked[next++] = stripe;
+            }
+        }
+        return locked;
+    }
+
+    private void unlockAll(int[] locked) {
+        for (int i = locked.length - 1; i >= 0; i--) {
+            stripes[locked[i]].unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String id) {
+        return stripes[stripeOf(id)];
+    }
+
+    private static int stripeOf(String id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -6,7 +6,11 @@ import com.inventory.domain.ProductRepository;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Implementación en memoria de ProductRepository.
@@ -18,29 +22,230 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ProductRepositoryImpl implements ProductRepository {
     // Usamos ConcurrentHashMap para simular una "base de datos" simple en memoria.
-    // Proporciona acceso concurrente seguro, aunque para esta CLI no es estrictamente necesario.
-    private final ConcurrentHashMap<String, Product> products = new ConcurrentHashMap<>();
+    // Cada ID apunta a una celda con la instantánea vigente del producto: las escrituras
+    // reemplazan la instantánea con CAS, sin candados, y los lectores nunca ven cambios a medias.
+    // Una celda con null fue retirada por un delete y ya no debe usarse.
+    private final ConcurrentHashMap<String, AtomicReference<Product>> products;
+    // Índice ordenado de IDs para paginar con cursor sin ordenar el catálogo completo en cada consulta.
+    // Puede contener momentáneamente IDs ya eliminados; las lecturas los descartan al no encontrar la celda.
+    private final ConcurrentSkipListSet<String> ids = new ConcurrentSkipListSet<>();
+
+    public ProductRepositoryImpl() {
+        this(16);
+    }
+
+    /**
+     * Crea el repositorio dimensionado de antemano, útil en cargas masivas (ej. desde una instantánea)
+     * para evitar redimensionar el mapa millones de veces.
+     * @param expectedSize Cantidad aproximada de productos que se almacenarán.
+     */
+    public ProductRepositoryImpl(int expectedSize) {
+        this.products = new ConcurrentHashMap<>(expectedSize);
+    }
 
     @Override
     public void save(Product product) {
         // En una implementación real, esto gestionaría si es un nuevo producto (insert)
         // o uno existente (update). Aquí, simplemente lo añadimos/sobrescribimos.
-        products.put(product.getId(), product);
+        while (true) {
+            AtomicReference<Product> slot = products.get(product.getId());
+            if (slot == null) {
+                if (insert(product)) {
+                    return;
+                }
+                continue;
+            }
+            Product current = slot.get();
+            if (current == null) {
+                products.remove(product.getId(), slot);
+                continue;
+            }
+            if (slot.compareAndSet(current, product.withVersion(current.getVersion() + 1))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        while (true) {
+            AtomicReference<Product> slot = products.get(product.getId());
+            if (slot == null) {
+                if (expectedVersion != 0) {
+                    return false;
+                }
+                if (insert(product)) {
+                    return true;
+                }
+                continue;
+            }
+            Product current = slot.get();
+            if (current == null) {
+                products.remove(product.getId(), slot);
+                continue;
+            }
+            if (current.getVersion() != expectedVersion) {
+                return false;
+            }
+            if (slot.compareAndSet(current, product.withVersion(expectedVersion + 1))) {
+                return true;
+            }
+            // Otro escritor ganó la carrera; se vuelve a comparar contra la versión que dejó.
+        }
     }
 
     @Override
     public Optional<Product> findById(String id) {
-        return Optional.ofNullable(products.get(id));
+        AtomicReference<Product> slot = products.get(id);
+        return slot == null ? Optional.empty() : Optional.ofNullable(slot.get());
     }
 
     @Override
     public List<Product> findAll() {
         // Retornamos una copia de los valores para evitar modificaciones externas directas a la colección interna.
-        return new ArrayList<>(products.values());
+        // Las instantáneas son inmutables, así que basta con copiar las referencias.
+        List<Product> result = new ArrayList<>(products.size());
+        for (AtomicReference<Product> slot : products.values()) {
+            Product product = slot.get();
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que cero.");
+        }
+        List<Product> page = new ArrayList<>(Math.min(limit, 1_024));
+        for (String id : afterId == null ? ids : ids.tailSet(afterId, false)) {
+            AtomicReference<Product> slot = products.get(id);
+            Product product = slot == null ? null : slot.get();
+            if (product != null) {
+                page.add(product);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Stream<Product> stream() {
+        // El índice de IDs ya es un recorrido ordenado y perezoso; no hace falta pedir páginas.
+        return ids.stream().map(this::findById).flatMap(Optional::stream);
     }
 
     @Override
     public void delete(String id) {
-        products.remove(id);
+        remove(id);
+    }
+
+    // saveAll usa la implementación por defecto: en memoria no hay idas y vueltas que ahorrar.
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<Product> batch) {
+        boolean[] inserted = new boolean[batch.size()];
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = insertIfAbsent(batch.get(i));
+        }
+        return inserted;
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> batch) {
+        // A diferencia de la implementación por defecto, saber si el producto existía
+        // y retirarlo es una sola operación atómica por ID.
+        boolean[] deleted = new boolean[batch.size()];
+        for (int i = 0; i < deleted.length; i++) {
+            deleted[i] = remove(batch.get(i));
+        }
+        return deleted;
+    }
+
+    /**
+     * Retira la celda del ID.
+     * @return true si contenía un producto vigente.
+     */
+    private boolean remove(String id) {
+        AtomicReference<Product> slot = products.get(id);
+        if (slot == null) {
+            return false;
+        }
+        Product previous = slot.getAndSet(null);
+        products.remove(id, slot);
+        ids.remove(id);
+        // Si otro hilo reinsertó el ID entre ambas líneas, su entrada en el índice no debe perderse.
+        if (products.containsKey(id)) {
+            ids.add(id);
+        }
+        return previous != null;
+    }
+
+    private boolean insertIfAbsent(Product product) {
+        while (true) {
+            if (insert(product)) {
+                return true;
+            }
+            AtomicReference<Product> slot = products.get(product.getId());
+            if (slot != null && slot.get() != null) {
+                return false;
+            }
+            if (slot != null) {
+                // Celda retirada por un delete concurrente: se descarta y se reintenta la inserción.
+                products.remove(product.getId(), slot);
+            }
+        }
+    }
+
+    private boolean insert(Product product) {
+        if (products.putIfAbsent(product.getId(), new AtomicReference<>(product.withVersion(1))) != null) {
+            return false;
+        }
+        ids.add(product.getId());
+        return true;
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        // Bucle CAS sobre la celda del producto: no hay candado global
+        // y los hilos que ajustan productos distintos nunca compiten entre sí.
+        AtomicReference<Product> slot = products.get(id);
+        if (slot == null) {
+            return OptionalInt.empty();
+        }
+        while (true) {
+            Product current = slot.get();
+            if (current == null) {
+                return OptionalInt.empty();
+            }
+            Product updated = current.withStockAdjustedBy(delta);
+            if (slot.compareAndSet(current, updated)) {
+                return OptionalInt.of(updated.getStock());
+            }
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad a reservar debe ser mayor que cero.");
+        }
+        AtomicReference<Product> slot = products.get(id);
+        if (slot == null) {
+            return false;
+        }
+        while (true) {
+            Product current = slot.get();
+            if (current == null || current.getStock() < quantity) {
+                return false;
+            }
+            if (slot.compareAndSet(current, current.withStockAdjustedBy(-quantity))) {
+                return true;
+            }
+        }
     }
-}
\ No newline at end of file
+}
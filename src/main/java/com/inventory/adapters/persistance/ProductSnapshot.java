@@ -0,0 +1,289 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Formato binario compacto y versionado para instantáneas (snapshots) del catálogo.
+ *
+ * Estructura del archivo:
+ * - Cabecera: int MAGIC, short versión, long cantidad de productos, int cantidad de bloques, long posición de la tabla.
+ * - Bloques de hasta RECORDS_PER_BLOCK registros: byte largo id, id ASCII, short largo nombre,
+ *   nombre UTF-8, double precio, int stock.
+ * - Tabla de bloques al final: por bloque, long posición, int bytes, int registros.
+ *
+ * La tabla permite decodificar los bloques en paralelo (fork-join) sobre regiones mapeadas en memoria,
+ * sin tener que recorrer el archivo registro a registro para encontrar dónde empieza cada uno.
+ */
+public final class ProductSnapshot {
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 8 + 4 + 8;
+    private static final int TABLE_ENTRY_SIZE = 8 + 4 + 4;
+    static final int RECORDS_PER_BLOCK = 16 * 1024;
+
+    private ProductSnapshot() {
+    }
+
+    /**
+     * Exporta el contenido actual del repositorio. La lectura no bloquea a los escritores:
+     * la instantánea refleja los productos vistos durante el recorrido, que se hace en streaming
+     * para no duplicar el catálogo en memoria.
+     * @return Cantidad de productos escritos.
+     */
+    public static long write(ProductRepository repository, Path file) {
+        try (Stream<Product> products = repository.stream()) {
+            return write(products::iterator, file);
+        }
+    }
+
+    /**
+     * Escribe los productos en un archivo temporal y lo renombra al destino al terminar,
+     * de modo que un lector nunca vea una instantánea a medio escribir.
+     * @return Cantidad de productos escritos.
+     * @throws UncheckedIOException Si ocurre un error de E/S.
+     */
+    public static long write(Iterable<Product> products, Path file) {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            long count;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                count = writeTo(channel, products);
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir la instantánea " + file, e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // El archivo temporal ya fue movido o no se puede borrar; no afecta el resultado.
+                }
+            }
+        }
+    }
+
+    /**
+     * Carga la instantánea en el repositorio decodificando sus bloques en paralelo.
+     * @return Cantidad de productos cargados.
+     * @throws UncheckedIOException Si el archivo no existe, no es una instantánea o está dañado.
+     */
+    public static long load(Path file, ProductRepository target) {
+        return load(file, target, ForkJoinPool.commonPool());
+    }
+
+    public static long load(Path file, ProductRepository target, ForkJoinPool pool) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("El archivo no es una instantánea de productos.");
+            }
+            short version = header.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versión de instantánea no soportada: " + version);
+            }
+            long count = header.getLong();
+            int blockCount = header.getInt();
+            long tableOffset = header.getLong();
+
+            // Un encabezado dañado no debe traducirse en un búfer negativo o gigante: la tabla y cada bloque
+            // tienen que caber entre el encabezado y el final del archivo.
+            long tableSize = (long) blockCount * TABLE_ENTRY_SIZE;
+            if (count < 0 || blockCount < 0 || tableSize > Integer.MAX_VALUE
+                    || tableOffset < HEADER_SIZE || tableOffset > channel.size() - tableSize) {
+                throw new IOException("La instantánea está dañada: encabezado inválido.");
+            }
+            ByteBuffer table = read(channel, tableOffset, (int) tableSize);
+            Block[] blocks = new Block[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blocks[i] = new Block(table.getLong(), table.getInt(), table.getInt());
+                if (blocks[i].offset < HEADER_SIZE || blocks[i].bytes < 0 || blocks[i].records < 0
+                        || blocks[i].offset > tableOffset - blocks[i].bytes) {
+                    throw new IOException("La instantánea está dañada: bloque " + i + " fuera del archivo.");
+                }
+            }
+
+            AtomicLong loaded = new AtomicLong();
+            pool.invoke(new DecodeTask(channel, blocks, 0, blockCount, target, loaded));
+            if (loaded.get() != count) {
+                throw new IOException("La instantánea está incompleta: se esperaban " + count
+                        + " productos y se leyeron " + loaded.get());
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo cargar la instantánea " + file, e);
+        } catch (UncheckedIOException e) {
+            throw new UncheckedIOException("No se pudo cargar la instantánea " + file, e.getCause());
+        }
+    }
+
+    // --- Escritura ---
+
+    private static long writeTo(FileChannel channel, Iterable<Product> products) throws IOException {
+        channel.position(HEADER_SIZE);
+        List<Block> blocks = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+        long count = 0;
+        long blockStart = HEADER_SIZE;
+        long blockBytes = 0;
+        int blockRecords = 0;
+
+        for (Product product : products) {
+            byte[] id = product.getId().getBytes(StandardCharsets.US_ASCII);
+            byte[] name = product.getName().getBytes(StandardCharsets.UTF_8);
+            int size = 1 + id.length + 2 + name.length + 8 + 4;
+            if (buffer.remaining() < size) {
+                drain(channel, buffer);
+            }
+            buffer.put((byte) id.length).put(id)
+                    .putShort((short) name.length).put(name)
+                    .putDouble(product.getPrice()).putInt(product.getStock());
+            blockBytes += size;
+            count++;
+            if (++blockRecords == RECORDS_PER_BLOCK) {
+                blocks.add(new Block(blockStart, (int) blockBytes, blockRecords));
+                blockStart += blockBytes;
+                blockBytes = 0;
+                blockRecords = 0;
+            }
+        }
+        if (blockRecords > 0) {
+            blocks.add(new Block(blockStart, (int) blockBytes, blockRecords));
+        }
+        drain(channel, buffer);
+
+        long tableOffset = blockStart + blockBytes;
+        ByteBuffer table = ByteBuffer.allocate(blocks.size() * TABLE_ENTRY_SIZE);
+        for (Block block : blocks) {
+            table.putLong(block.offset).putInt(block.bytes).putInt(block.records);
+        }
+        table.flip();
+        writeFully(channel, table, tableOffset);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(FORMAT_VERSION).putLong(count).putInt(blocks.size()).putLong(tableOffset).flip();
+        writeFully(channel, header, 0);
+        return count;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("La instantánea está truncada.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    // --- Lectura paralela ---
+
+    private static final class Block {
+        final long offset;
+        final int bytes;
+        final int records;
+
+        Block(long offset, int bytes, int records) {
+            this.offset = offset;
+            this.bytes = bytes;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Divide el rango de bloques hasta llegar a uno solo, que se mapea y decodifica directamente.
+     */
+    private static final class DecodeTask extends RecursiveAction {
+        private final FileChannel channel;
+        private final Block[] blocks;
+        private final int from;
+        private final int to;
+        private final ProductRepository target;
+        private final AtomicLong loaded;
+
+        DecodeTask(FileChannel channel, Block[] blocks, int from, int to, ProductRepository target, AtomicLong loaded) {
+            this.channel = channel;
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+            this.target = target;
+            this.loaded = loaded;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new DecodeTask(channel, blocks, from, mid, target, loaded),
+                        new DecodeTask(channel, blocks, mid, to, target, loaded));
+                return;
+            }
+            if (to > from) {
+                try {
+                    decode(blocks[from]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void decode(Block block) throws IOException {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, block.offset, block.bytes);
+            byte[] scratch = new byte[256];
+            try {
+                for (int i = 0; i < block.records; i++) {
+                    int idLength = buffer.get() & 0xFF;
+                    buffer.get(scratch, 0, idLength);
+                    String id = new String(scratch, 0, idLength, StandardCharsets.US_ASCII);
+                    int nameLength = buffer.getShort() & 0xFFFF;
+                    if (nameLength > scratch.length) {
+                        scratch = new byte[nameLength];
+                    }
+                    buffer.get(scratch, 0, nameLength);
+                    String name = new String(scratch, 0, nameLength, StandardCharsets.UTF_8);
+                    target.save(new Product(id, name, buffer.getDouble(), buffer.getInt()));
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Bloque dañado en la posición " + block.offset + ": " + e.getMessage(), e);
+            }
+            loaded.addAndGet(block.records);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.ProductReadView;
+import com.inventory.domain.ProductTransaction;
+import com.inventory.domain.TransactionalProductRepository;
+
+import java.util.function.Function;
+
+/**
+ * ObservableProductRepository sobre un repositorio transaccional (ej. MvccProductRepository): además de
+ * las escrituras sueltas, reparte entre los oyentes los cambios que confirma cada transacción, así que
+ * agregados, eventos de cambio e índices no quedan desactualizados al usar inTransaction.
+ */
+public class TransactionalObservableProductRepository extends ObservableProductRepository
+        implements TransactionalProductRepository {
+    private final TransactionalProductRepository transactional;
+
+    public TransactionalObservableProductRepository(TransactionalProductRepository delegate,
+                                                    ProductChangeListener... listeners) {
+        super(delegate, listeners);
+        this.transactional = delegate;
+    }
+
+    @Override
+    public <T> T inTransaction(Function<ProductTransaction, T> work) {
+        return inTransaction(transactional, work);
+    }
+
+    @Override
+    public ProductReadView openReadView() {
+        return transactional.openReadView();
+    }
+}
@@ -0,0 +1,499 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.Stream;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Implementación persistente de ProductRepository basada en un registro de solo anexado
+ * (write-ahead log). Cada save/delete se escribe como un registro en el archivo y el estado
+ * vigente se mantiene en un ProductRepositoryImpl, por lo que las lecturas (incluida la paginación)
+ * cuestan lo mismo que en memoria.
+ *
+ * Las escrituras concurrentes se agrupan en un único fsync (group commit): el primer hilo que
+ * encuentra registros pendientes los vuelca y sincroniza en nombre de todos los que esperan.
+ * Un save() o delete() solo retorna cuando su registro está en disco, así que sobrevive a una caída.
+ * Al abrir el archivo se reproduce el registro completo; una cola incompleta (escritura cortada
+ * por una caída) se descarta, ya que ninguna operación confirmada puede estar en ella.
+ */
+public class WalProductRepository implements ProductRepository, AutoCloseable {
+    private static final int MAGIC = 0x5057414C; // "PWAL"
+    private static final short FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 6;
+    private static final int RECORD_HEADER_SIZE = 8; // longitud + CRC32
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+
+    private static final byte OP_SAVE = 1;
+    private static final byte OP_DELETE = 2;
+
+    // Todas las escrituras sobre 'products' ocurren bajo 'lock', en el mismo orden que el registro.
+    private final ProductRepositoryImpl products = new ProductRepositoryImpl();
+    private final FileChannel channel;
+
+    // Estado del group commit, protegido por 'lock'.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(8 * 1024);
+    private long appendedSeq;
+    private long durableSeq;
+    private long syncCount;
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Abre (o crea) el registro en la ruta indicada y reproduce su contenido en memoria.
+     * @param logFile Archivo del registro.
+     * @throws UncheckedIOException Si el archivo no se puede abrir o no es un registro válido.
+     */
+    public WalProductRepository(Path logFile) {
+        try {
+            this.channel = FileChannel.open(logFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() == 0) {
+                writeHeader();
+            } else {
+                try {
+                    replay();
+                } catch (IOException e) {
+                    channel.close();
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el registro de productos " + logFile, e);
+        }
+    }
+
+    @Override
+    public void save(Product product) {
+        long seq;
+        lock.lock();
+        try {
+            ensureWritable();
+            Product current = products.findById(product.getId()).orElse(null);
+            seq = storeLocked(product.withVersion(current == null ? 1 : current.getVersion() + 1));
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        long seq;
+        lock.lock();
+        try {
+            ensureWritable();
+            Product current = products.findById(product.getId()).orElse(null);
+            long currentVersion = current == null ? 0 : current.getVersion();
+            if (currentVersion != expectedVersion) {
+                return false;
+            }
+            seq = storeLocked(product.withVersion(expectedVersion + 1));
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+        return true;
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return products.findById(id);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return products.findAll();
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        return products.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Product> stream() {
+        return products.stream();
+    }
+
+    @Override
+    public void delete(String id) {
+        byte[] record = encodeDelete(id);
+        long seq;
+        lock.lock();
+        try {
+            ensureWritable();
+            seq = appendLocked(record);
+            products.delete(id);
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+    }
+
+    /**
+     * Registra todo el lote bajo un mismo candado y espera un único fsync, en lugar de uno por producto.
+     * Ante una caída puede sobrevivir solo un prefijo del lote; lo confirmado al retornar es el lote completo.
+     */
+    @Override
+    public void saveAll(List<Product> batch) {
+        long seq = 0;
+        lock.lock();
+        try {
+            ensureWritable();
+            for (Product product : batch) {
+                Product current = products.findById(product.getId()).orElse(null);
+                seq = storeLocked(product.withVersion(current == null ? 1 : current.getVersion() + 1));
+            }
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+    }
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<Product> batch) {
+        boolean[] inserted = new boolean[batch.size()];
+        long seq = 0;
+        lock.lock();
+        try {
+            ensureWritable();
+            for (int i = 0; i < inserted.length; i++) {
+                Product product = batch.get(i);
+                if (products.findById(product.getId()).isEmpty()) {
+                    seq = storeLocked(product.withVersion(1));
+                    inserted[i] = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+        return inserted;
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> ids) {
+        boolean[] deleted = new boolean[ids.size()];
+        long seq = 0;
+        lock.lock();
+        try {
+            ensureWritable();
+            for (int i = 0; i < deleted.length; i++) {
+                String id = ids.get(i);
+                // Solo se registran los IDs que existen; los demás no cambian el estado.
+                if (products.findById(id).isPresent()) {
+                    seq = appendLocked(encodeDelete(id));
+                    products.delete(id);
+                    deleted[i] = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+        return deleted;
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        long seq;
+        int newStock;
+        lock.lock();
+        try {
+            ensureWritable();
+            Product product = products.findById(id).orElse(null);
+            if (product == null) {
+                return OptionalInt.empty();
+            }
+            // El ajuste y su registro ocurren bajo el candado del registro para que el orden
+            // en disco coincida con el orden en que se aplicaron los deltas.
+            Product updated = product.withStockAdjustedBy(delta);
+            newStock = updated.getStock();
+            seq = storeLocked(updated);
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+        return OptionalInt.of(newStock);
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad a reservar debe ser mayor que cero.");
+        }
+        long seq;
+        lock.lock();
+        try {
+            ensureWritable();
+            Product product = products.findById(id).orElse(null);
+            if (product == null || product.getStock() < quantity) {
+                return false;
+            }
+            seq = storeLocked(product.withStockAdjustedBy(-quantity));
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Cantidad de fsync realizados desde la apertura; útil para medir el efecto del group commit.
+     */
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        long seq;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            seq = appendedSeq;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            awaitDurable(seq);
+        } finally {
+            lock.lock();
+            try {
+                closed = true;
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo cerrar el registro de productos.", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // --- Group commit ---
+
+    /**
+     * Registra la instantánea y la publica en memoria bajo el mismo candado, para que el orden
+     * del registro coincida con el orden en que cambian los productos.
+     */
+    private long storeLocked(Product product) {
+        long seq = appendLocked(encodeSave(product));
+        products.save(product);
+        return seq;
+    }
+
+    private long appendLocked(byte[] record) {
+        pending.write(record, 0, record.length);
+        return ++appendedSeq;
+    }
+
+    /**
+     * Espera hasta que el registro con la secuencia indicada esté sincronizado en disco.
+     * Si nadie está sincronizando, el hilo actual asume el rol de líder y vuelca todo lo pendiente
+     * (incluidos los registros de otros hilos) con una sola escritura y un solo fsync.
+     */
+    private void awaitDurable(long seq) {
+        lock.lock();
+        try {
+            while (durableSeq < seq) {
+                checkFailure();
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                byte[] batch = pending.toByteArray();
+                pending.reset();
+                long target = appendedSeq;
+                IOException error = null;
+                lock.unlock();
+                try {
+                    writeFully(ByteBuffer.wrap(batch));
+                    channel.force(false);
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                }
+                flushing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSeq = target;
+                    syncCount++;
+                }
+                flushed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureWritable() {
+        if (closed) {
+            throw new IllegalStateException("El registro de productos está cerrado.");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            // Tras un fallo de E/S el estado en memoria puede adelantarse al disco: no se aceptan más escrituras.
+            throw new UncheckedIOException("El registro de productos falló y no acepta más escrituras.", failure);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // --- Formato del registro ---
+    // Cabecera: int MAGIC, short FORMAT_VERSION.
+    // Registro: int longitud, int CRC32(payload), payload = byte op, UTF id [, UTF nombre, double precio, int stock, long versión].
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(FORMAT_VERSION).flip();
+        writeFully(header);
+        channel.force(true);
+    }
+
+    private static byte[] encodeSave(Product product) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(payload);
+            out.writeByte(OP_SAVE);
+            out.writeUTF(product.getId());
+            out.writeUTF(product.getName());
+            out.writeDouble(product.getPrice());
+            out.writeInt(product.getStock());
+            out.writeLong(product.getVersion());
+            return frame(payload.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // No ocurre con flujos en memoria.
+        }
+    }
+
+    private static byte[] encodeDelete(String id) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(32);
+            DataOutputStream out = new DataOutputStream(payload);
+            out.writeByte(OP_DELETE);
+            out.writeUTF(id);
+            return frame(payload.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        return record.array();
+    }
+
+    /**
+     * Reproduce el registro en memoria y trunca la cola cortada por una caída: un encabezado o un
+     * registro incompleto, o uno cuyo largo o CRC no coincide. Un registro con CRC válido que no se
+     * puede decodificar o que la validación del dominio rechaza no es una cola cortada: fue confirmado
+     * y después de él puede haber más escrituras confirmadas, así que se falla sin tocar el archivo.
+     * @throws IOException Si el archivo no es un registro o contiene un registro válido que no se puede aplicar.
+     */
+    private void replay() throws IOException {
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+        if (channel.size() < HEADER_SIZE || in.readInt() != MAGIC) {
+            throw new IOException("El archivo no es un registro de productos válido.");
+        }
+        short version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Versión de registro no soportada: " + version);
+        }
+
+        long validEnd = HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (true) {
+            byte[] payload;
+            try {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+                payload = new byte[length];
+                in.readFully(payload);
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+            } catch (EOFException e) {
+                break;
+            }
+            apply(payload, validEnd);
+            validEnd += RECORD_HEADER_SIZE + payload.length;
+        }
+
+        if (validEnd < channel.size()) {
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+    }
+
+    private void apply(byte[] payload, long offset) throws IOException {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte op = in.readByte();
+            String id = in.readUTF();
+            if (op == OP_SAVE) {
+                String name = in.readUTF();
+                double price = in.readDouble();
+                int stock = in.readInt();
+                long productVersion = in.readLong();
+                products.save(new Product(id, name, price, stock, productVersion));
+            } else if (op == OP_DELETE) {
+                products.delete(id);
+            } else {
+                throw new IOException("Operación desconocida " + op);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IOException("Registro ilegible en la posición " + offset
+                    + " (el CRC es válido, así que no se descarta): " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.inventory.adapters.sharding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Anillo de hashing consistente que asigna cada ID de producto a uno de los nodos (shards).
+ *
+ * Cada nodo ocupa varios puntos del anillo de 64 bits (nodos virtuales) y un ID pertenece al
+ * primer punto igual o posterior a su hash. Agregar un nodo solo le quita a cada uno de los demás los
+ * tramos que caen justo antes de sus puntos nuevos, así que se mueve alrededor de 1/N de las claves;
+ * quitarlo reparte solo las suyas. Con muchos puntos por nodo la carga queda pareja (±10 % con 160).
+ *
+ * Es inmutable: withNode y withoutNode devuelven un anillo nuevo, que se puede publicar con una sola
+ * escritura volátil mientras otros hilos siguen consultando el anterior.
+ */
+public final class ConsistentHashRing {
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final List<String> nodes;
+    private final int virtualNodes;
+    private final long[] points; // Ordenados de menor a mayor (con signo).
+    private final int[] owners; // Índice en nodes del dueño de cada punto.
+
+    public ConsistentHashRing(List<String> nodes) {
+        this(nodes, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param nodes Nombres de los nodos, distintos entre sí; su orden define el índice de cada uno.
+     * @param virtualNodes Puntos del anillo por nodo.
+     * @throws IllegalArgumentException Si no hay nodos, hay nombres repetidos o virtualNodes no es positivo.
+     */
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("El anillo necesita al menos un nodo.");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("La cantidad de nodos virtuales debe ser mayor que cero.");
+        }
+        if (nodes.stream().distinct().count() != nodes.size()) {
+            throw new IllegalArgumentException("Los nombres de los nodos no pueden repetirse: " + nodes);
+        }
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+        this.virtualNodes = virtualNodes;
+
+        int count = nodes.size() * virtualNodes;
+        long[] hashes = new long[count];
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                int i = node * virtualNodes + v;
+                hashes[i] = hash(nodes.get(node) + "#" + v);
+            }
+        }
+        // Se ordenan los índices por hash; ante un empate (improbable) gana el nodo de menor índice.
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> hashes[a] != hashes[b] ? Long.compare(hashes[a], hashes[b]) : Integer.compare(a, b));
+        this.points = new long[count];
+        this.owners = new int[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /**
+     * @return Nombres de los nodos, en el orden de sus índices.
+     */
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * @return Índice (en nodes()) del nodo dueño del ID.
+     */
+    public int indexFor(String id) {
+        long h = hash(id);
+        int low = 0;
+        int high = points.length;
+        while (low < high) { // Primer punto >= h.
+            int mid = (low + high) >>> 1;
+            if (points[mid] < h) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return owners[low == points.length ? 0 : low]; // Pasado el último punto, el anillo da la vuelta.
+    }
+
+    public String nodeFor(String id) {
+        return nodes.get(indexFor(id));
+    }
+
+    /**
+     * @return Un anillo con el nodo agregado al final; los demás conservan sus índices y sus puntos.
+     */
+    public ConsistentHashRing withNode(String node) {
+        List<String> next = new ArrayList<>(nodes);
+        next.add(node);
+        return new ConsistentHashRing(next, virtualNodes);
+    }
+
+    /**
+     * @return Un anillo sin el nodo; los posteriores bajan un índice.
+     * @throws IllegalArgumentException Si el nodo no existe o es el último.
+     */
+    public ConsistentHashRing withoutNode(String node) {
+        if (!nodes.contains(node)) {
+            throw new IllegalArgumentException("El nodo " + node + " no pertenece al anillo.");
+        }
+        List<String> next = new ArrayList<>(nodes);
+        next.remove(node);
+        return new ConsistentHashRing(next, virtualNodes);
+    }
+
+    /**
+     * Hash de 64 bits: FNV-1a sobre los caracteres y el mezclador final de MurmurHash3, que reparte
+     * bien incluso IDs casi iguales ("sku-1", "sku-2"). No crea objetos y es estable entre JVMs, así
+     * que todos los procesos que comparten los shards asignan cada ID al mismo nodo.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,230 @@
+package com.inventory.adapters.sharding;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Expone un ProductRepository como shard remoto con el protocolo binario de ShardProtocol, para que
+ * ShardedProductRepository reparta el catálogo entre varios procesos (por ejemplo, varias JVM en la
+ * misma máquina escuchando en loopback; ver la opción "--shard-server" de Main).
+ *
+ * Cada conexión se atiende en su propio hilo virtual y procesa sus solicitudes en orden; la concurrencia
+ * entre conexiones queda a cargo del repositorio, que ya es seguro para varios hilos. La respuesta se
+ * envía apenas se procesa la solicitud (TCP_NODELAY), porque el cliente la espera antes de seguir.
+ */
+public class ProductShardServer implements AutoCloseable {
+    private final ProductRepository repository;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    /**
+     * Crea el servidor sin iniciarlo.
+     * @param address Dirección y puerto (0 elige un puerto libre).
+     * @throws UncheckedIOException Si no se puede abrir el puerto.
+     */
+    public ProductShardServer(ProductRepository repository, InetSocketAddress address) {
+        this.repository = repository;
+        try {
+            this.serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(address, 1_024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el puerto del shard " + address, e);
+        }
+        this.acceptor = new Thread(this::acceptLoop, "shard-acceptor-" + getPort());
+    }
+
+    public void start() {
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Espera a que el servidor se cierre (desde otro hilo o al terminar el proceso).
+     */
+    public void awaitClose() throws InterruptedException {
+        acceptor.join();
+    }
+
+    /**
+     * Deja de aceptar conexiones y corta las abiertas. No cierra el repositorio.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // El socket ya estaba cerrado.
+        }
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        executor.close();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Error aceptando conexiones del shard: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), ShardProtocol.BUFFER_BYTES));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), ShardProtocol.BUFFER_BYTES))) {
+            while (true) {
+                int operation = in.read();
+                if (operation < 0) {
+                    return; // El cliente cerró la conexión.
+                }
+                handle((byte) operation, in, out);
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // El cliente se desconectó a mitad de una solicitud.
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Conexión del shard interrumpida: " + e.getMessage());
+            }
+        } finally {
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * Lee los argumentos completos antes de ejecutar la operación, para que un error del repositorio
+     * deje la conexión en un estado conocido y pueda responderse sin cortarla.
+     */
+    private void handle(byte operation, DataInputStream in, DataOutputStream out) throws IOException {
+        try {
+            switch (operation) {
+                case ShardProtocol.SAVE: {
+                    Product product = ShardProtocol.readProduct(in);
+                    repository.save(product);
+                    out.writeByte(ShardProtocol.OK);
+                    break;
+                }
+                case ShardProtocol.COMPARE_AND_SAVE: {
+                    long expectedVersion = in.readLong();
+                    Product product = ShardProtocol.readProduct(in);
+                    boolean saved = repository.compareAndSave(expectedVersion, product);
+                    out.writeByte(ShardProtocol.OK);
+                    out.writeBoolean(saved);
+                    break;
+                }
+                case ShardProtocol.FIND_BY_ID: {
+                    Optional<Product> product = repository.findById(in.readUTF());
+                    out.writeByte(ShardProtocol.OK);
+                    out.writeBoolean(product.isPresent());
+                    if (product.isPresent()) {
+                        ShardProtocol.writeProduct(out, product.get());
+                    }
+                    break;
+                }
+                case ShardProtocol.FIND_ALL: {
+                    List<Product> products = repository.findAll();
+                    out.writeByte(ShardProtocol.OK);
+                    ShardProtocol.writeProducts(out, products);
+                    break;
+                }
+                case ShardProtocol.FIND_PAGE: {
+                    String afterId = in.readBoolean() ? in.readUTF() : null;
+                    int limit = in.readInt();
+                    List<Product> page = repository.findPage(afterId, limit);
+                    out.writeByte(ShardProtocol.OK);
+                    ShardProtocol.writeProducts(out, page);
+                    break;
+                }
+                case ShardProtocol.DELETE: {
+                    repository.delete(in.readUTF());
+                    out.writeByte(ShardProtocol.OK);
+                    break;
+                }
+                case ShardProtocol.ADJUST_STOCK: {
+                    String id = in.readUTF();
+                    int delta = in.readInt();
+                    OptionalInt stock = repository.adjustStock(id, delta);
+                    out.writeByte(ShardProtocol.OK);
+                    out.writeBoolean(stock.isPresent());
+                    out.writeInt(stock.orElse(0));
+                    break;
+                }
+                case ShardProtocol.TRY_RESERVE: {
+                    String id = in.readUTF();
+                    int quantity = in.readInt();
+                    boolean reserved = repository.tryReserve(id, quantity);
+                    out.writeByte(ShardProtocol.OK);
+                    out.writeBoolean(reserved);
+                    break;
+                }
+                case ShardProtocol.SAVE_ALL: {
+                    repository.saveAll(ShardProtocol.readProducts(in));
+                    out.writeByte(ShardProtocol.OK);
+                    break;
+                }
+                case ShardProtocol.INSERT_ALL_IF_ABSENT: {
+                    boolean[] inserted = repository.insertAllIfAbsent(ShardProtocol.readProducts(in));
+                    out.writeByte(ShardProtocol.OK);
+                    ShardProtocol.writeFlags(out, inserted);
+                    break;
+                }
+                case ShardProtocol.DELETE_ALL: {
+                    boolean[] deleted = repository.deleteAll(ShardProtocol.readIds(in));
+                    out.writeByte(ShardProtocol.OK);
+                    ShardProtocol.writeFlags(out, deleted);
+                    break;
+                }
+                default:
+                    throw new IOException("Operación desconocida en el protocolo del shard: " + operation);
+            }
+        } catch (IllegalArgumentException e) {
+            out.writeByte(ShardProtocol.ILLEGAL_ARGUMENT);
+            out.writeUTF(String.valueOf(e.getMessage()));
+        } catch (RuntimeException e) {
+            out.writeByte(ShardProtocol.FAILURE);
+            out.writeUTF(String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Nada más que hacer con una conexión que ya falló.
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.inventory.adapters.sharding;
+
+import com.inventory.adapters.persistance.DataAccessException;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Cliente de un shard remoto (ProductShardServer): cada operación de ProductRepository es una ida y
+ * vuelta por TCP con el protocolo binario de ShardProtocol.
+ *
+ * Las conexiones se abren a demanda y se reutilizan: un hilo toma una libre (o abre una nueva si no hay),
+ * envía la solicitud, espera la respuesta y la devuelve. Así cada hilo cliente tiene a lo sumo una
+ * solicitud en vuelo y no espera a los demás. Una conexión que falla (incluido un shard que no responde
+ * dentro del tiempo de lectura) se descarta y la operación termina en DataAccessException, sin
+ * reintentos: la solicitud pudo haberse aplicado en el shard.
+ */
+public class RemoteProductRepository implements ProductRepository, AutoCloseable {
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+    private static final int DEFAULT_READ_TIMEOUT_MILLIS = 30_000;
+
+    private final InetSocketAddress address;
+    private final int readTimeoutMillis;
+    private final Queue<Connection> idle = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    public RemoteProductRepository(InetSocketAddress address) {
+        this(address, DEFAULT_READ_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param readTimeoutMillis Tiempo máximo de espera de cada respuesta; un shard colgado no bloquea
+     *                          a quien llama más que eso.
+     */
+    public RemoteProductRepository(InetSocketAddress address, int readTimeoutMillis) {
+        if (readTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("El tiempo de lectura debe ser mayor que cero.");
+        }
+        this.address = address;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    public InetSocketAddress getAddress() {
+        return address;
+    }
+
+    @Override
+    public void save(Product product) {
+        call(ShardProtocol.SAVE, out -> ShardProtocol.writeProduct(out, product), in -> null);
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        return call(ShardProtocol.COMPARE_AND_SAVE, out -> {
+            out.writeLong(expectedVersion);
+            ShardProtocol.writeProduct(out, product);
+        }, DataInputStream::readBoolean);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return call(ShardProtocol.FIND_BY_ID, out -> out.writeUTF(id),
+                in -> in.readBoolean() ? Optional.of(ShardProtocol.readProduct(in)) : Optional.empty());
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return call(ShardProtocol.FIND_ALL, out -> { }, ShardProtocol::readProducts);
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        return call(ShardProtocol.FIND_PAGE, out -> {
+            out.writeBoolean(afterId != null);
+            if (afterId != null) {
+                out.writeUTF(afterId);
+            }
+            out.writeInt(limit);
+        }, ShardProtocol::readProducts);
+    }
+
+    @Override
+    public void delete(String id) {
+        call(ShardProtocol.DELETE, out -> out.writeUTF(id), in -> null);
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        return call(ShardProtocol.ADJUST_STOCK, out -> {
+            out.writeUTF(id);
+            out.writeInt(delta);
+        }, in -> {
+            boolean present = in.readBoolean();
+            int stock = in.readInt();
+            return present ? OptionalInt.of(stock) : OptionalInt.empty();
+        });
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        return call(ShardProtocol.TRY_RESERVE, out -> {
+            out.writeUTF(id);
+            out.writeInt(quantity);
+        }, DataInputStream::readBoolean);
+    }
+
+    // Los lotes viajan en una sola ida y vuelta.
+
+    @Override
+    public void saveAll(List<Product> products) {
+        call(ShardProtocol.SAVE_ALL, out -> ShardProtocol.writeProducts(out, products), in -> null);
+    }
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<Product> products) {
+        return call(ShardProtocol.INSERT_ALL_IF_ABSENT, out -> ShardProtocol.writeProducts(out, products), ShardProtocol::readFlags);
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> ids) {
+        return call(ShardProtocol.DELETE_ALL, out -> ShardProtocol.writeIds(out, ids), ShardProtocol::readFlags);
+    }
+
+    /**
+     * Cierra las conexiones libres; las que estén en uso se cierran al devolverse.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private interface Request {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private interface Response<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private <T> T call(byte operation, Request request, Response<T> response) {
+        if (closed) {
+            throw new IllegalStateException("El cliente del shard " + address + " está cerrado.");
+        }
+        Connection connection = idle.poll();
+        // Solo vuelve al grupo una conexión cuya respuesta se leyó completa; ante cualquier otra falla
+        // (E/S, tiempo agotado, una respuesta que no se pudo decodificar) se cierra.
+        boolean reusable = false;
+        try {
+            if (connection == null) {
+                connection = new Connection(address, readTimeoutMillis);
+            }
+            connection.out.writeByte(operation);
+            request.write(connection.out);
+            connection.out.flush();
+            byte status = connection.in.readByte();
+            if (status != ShardProtocol.OK) {
+                String message = connection.in.readUTF();
+                reusable = true;
+                if (status == ShardProtocol.ILLEGAL_ARGUMENT) {
+                    throw new IllegalArgumentException(message);
+                }
+                throw new DataAccessException("El shard " + address + " falló: " + message, null);
+            }
+            T result = response.read(connection.in);
+            reusable = true;
+            return result;
+        } catch (IOException e) {
+            throw new DataAccessException("Error de comunicación con el shard " + address, e);
+        } finally {
+            if (connection != null) {
+                if (reusable) {
+                    release(connection);
+                } else {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private void release(Connection connection) {
+        idle.offer(connection);
+        if (closed && idle.remove(connection)) {
+            connection.close();
+        }
+    }
+
+    private static final class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        Connection(InetSocketAddress address, int readTimeoutMillis) throws IOException {
+            socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(readTimeoutMillis);
+                socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), ShardProtocol.BUFFER_BYTES));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), ShardProtocol.BUFFER_BYTES));
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // La conexión ya estaba rota.
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.inventory.adapters.sharding;
+
+import com.inventory.domain.Product;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocolo binario entre RemoteProductRepository y ProductShardServer, sobre una conexión TCP
+ * persistente. Cada solicitud es un byte de operación seguido de sus argumentos; cada respuesta, un byte
+ * de estado seguido del resultado (OK) o de un mensaje (errores). No hay marcos con largo: los campos
+ * tienen tamaño fijo o llevan su largo delante, igual que en el registro en disco (DataOutputStream).
+ *
+ * - Producto: UTF id, UTF nombre, double precio, int stock, long versión.
+ * - Lista de productos o de IDs: int cantidad y luego los elementos.
+ * - Resultado por lote (boolean[]): int cantidad y un byte por posición.
+ *
+ * Un cliente envía una solicitud y espera su respuesta antes de enviar la siguiente por la misma conexión.
+ * Una cantidad negativa o un producto inválido en el flujo se informan como IOException: después de un
+ * dato malformado no se sabe dónde empieza el siguiente, así que ambos lados cierran la conexión.
+ */
+final class ShardProtocol {
+    static final byte SAVE = 1;
+    static final byte COMPARE_AND_SAVE = 2;
+    static final byte FIND_BY_ID = 3;
+    static final byte FIND_ALL = 4;
+    static final byte FIND_PAGE = 5;
+    static final byte DELETE = 6;
+    static final byte ADJUST_STOCK = 7;
+    static final byte TRY_RESERVE = 8;
+    static final byte SAVE_ALL = 9;
+    static final byte INSERT_ALL_IF_ABSENT = 10;
+    static final byte DELETE_ALL = 11;
+
+    static final byte OK = 0;
+    static final byte ILLEGAL_ARGUMENT = 1; // El cliente la relanza como IllegalArgumentException.
+    static final byte FAILURE = 2; // Cualquier otra falla del shard; el cliente lanza DataAccessException.
+
+    static final int BUFFER_BYTES = 64 * 1024;
+    // Capacidad inicial máxima de una lista leída: una cantidad enorme en el flujo no reserva memoria por adelantado.
+    private static final int MAX_INITIAL_CAPACITY = 4_096;
+
+    private ShardProtocol() {
+    }
+
+    static void writeProduct(DataOutputStream out, Product product) throws IOException {
+        out.writeUTF(product.getId());
+        out.writeUTF(product.getName());
+        out.writeDouble(product.getPrice());
+        out.writeInt(product.getStock());
+        out.writeLong(product.getVersion());
+    }
+
+    static Product readProduct(DataInputStream in) throws IOException {
+        String id = in.readUTF();
+        String name = in.readUTF();
+        double price = in.readDouble();
+        int stock = in.readInt();
+        long version = in.readLong();
+        try {
+            return new Product(id, name, price, stock, version);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Producto inválido en el protocolo del shard: " + e.getMessage(), e);
+        }
+    }
+
+    static void writeProducts(DataOutputStream out, List<Product> products) throws IOException {
+        out.writeInt(products.size());
+        for (Product product : products) {
+            writeProduct(out, product);
+        }
+    }
+
+    static List<Product> readProducts(DataInputStream in) throws IOException {
+        int count = readCount(in);
+        List<Product> products = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+        for (int i = 0; i < count; i++) {
+            products.add(readProduct(in));
+        }
+        return products;
+    }
+
+    static void writeIds(DataOutputStream out, List<String> ids) throws IOException {
+        out.writeInt(ids.size());
+        for (String id : ids) {
+            out.writeUTF(id);
+        }
+    }
+
+    static List<String> readIds(DataInputStream in) throws IOException {
+        int count = readCount(in);
+        List<String> ids = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+        for (int i = 0; i < count; i++) {
+            ids.add(in.readUTF());
+        }
+        return ids;
+    }
+
+    static void writeFlags(DataOutputStream out, boolean[] flags) throws IOException {
+        out.writeInt(flags.length);
+        for (boolean flag : flags) {
+            out.writeBoolean(flag);
+        }
+    }
+
+    static boolean[] readFlags(DataInputStream in) throws IOException {
+        boolean[] flags = new boolean[readCount(in)];
+        for (int i = 0; i < flags.length; i++) {
+            flags[i] = in.readBoolean();
+        }
+        return flags;
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Cantidad negativa en el protocolo del shard: " + count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,365 @@
+package com.inventory.adapters.sharding;
+
+import com.inventory.adapters.persistance.DataAccessException;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio particionado: reparte el catálogo entre varios shards (cada uno un ProductRepository,
+ * en el mismo proceso o remoto con RemoteProductRepository) y asigna cada ID a uno de ellos con un
+ * ConsistentHashRing. Así el catálogo y las escrituras no quedan limitados a un solo mapa ni a una sola JVM.
+ *
+ * - Las operaciones por ID van solo al shard dueño y conservan su atomicidad.
+ * - findAll y findPage consultan todos los shards en paralelo (un hilo virtual por shard) y combinan
+ *   los resultados: findAll los concatena (sin orden, como el repositorio en memoria) y findPage
+ *   intercala las páginas de cada shard por ID, así que stream() recorre el catálogo completo en orden.
+ * - Los lotes se agrupan por shard y cada grupo viaja en una sola llamada, también en paralelo.
+ *
+ * addShard y removeShard cambian el anillo y mueven solo las claves que cambian de dueño (cerca de 1/N).
+ * Primero copian esas claves a su shard nuevo, luego publican el anillo y recién después las borran del
+ * anterior, así que las lecturas concurrentes siempre encuentran el producto. Las escrituras concurrentes
+ * a una clave que se está moviendo pueden perderse, y los productos movidos vuelven a la versión 1:
+ * conviene cambiar la topología sin escritores activos (por ejemplo, en una ventana de mantenimiento).
+ */
+public class ShardedProductRepository implements ProductRepository, AutoCloseable {
+    private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId);
+    private static final int MOVE_BATCH = 1_000; // Productos por llamada al mover claves entre shards.
+
+    /**
+     * Anillo y shards publicados juntos: shards[i] es el dueño de los IDs con ring.indexFor(id) == i.
+     */
+    private static final class Topology {
+        final ConsistentHashRing ring;
+        final ProductRepository[] shards;
+
+        Topology(ConsistentHashRing ring, ProductRepository[] shards) {
+            this.ring = ring;
+            this.shards = shards;
+        }
+
+        ProductRepository shardFor(String id) {
+            return shards[ring.indexFor(id)];
+        }
+    }
+
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+    private final Object topologyLock = new Object(); // Serializa los cambios de topología.
+    private volatile Topology topology;
+
+    /**
+     * @param shards Shards por nombre; el nombre (no el orden) determina qué IDs le tocan a cada uno,
+     *               así que todos los procesos que compartan los shards deben usar los mismos nombres.
+     * @throws IllegalArgumentException Si no hay shards.
+     */
+    public ShardedProductRepository(Map<String, ? extends ProductRepository> shards) {
+        this(shards, ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ShardedProductRepository(Map<String, ? extends ProductRepository> shards, int virtualNodes) {
+        ConsistentHashRing ring = new ConsistentHashRing(new ArrayList<>(shards.keySet()), virtualNodes);
+        this.topology = new Topology(ring, shards.values().toArray(new ProductRepository[0]));
+    }
+
+    /**
+     * @return Los shards actuales por nombre, en el orden del anillo.
+     */
+    public Map<String, ProductRepository> shards() {
+        Topology current = topology;
+        Map<String, ProductRepository> shards = new LinkedHashMap<>();
+        for (int i = 0; i < current.shards.length; i++) {
+            shards.put(current.ring.nodes().get(i), current.shards[i]);
+        }
+        return shards;
+    }
+
+    /**
+     * @return Nombre del shard dueño del ID.
+     */
+    public String shardNameFor(String id) {
+        return topology.ring.nodeFor(id);
+    }
+
+    @Override
+    public void save(Product product) {
+        topology.shardFor(product.getId()).save(product);
+    }
+
+    @Override
+    public boolean compareAndSave(long expectedVersion, Product product) {
+        return topology.shardFor(product.getId()).compareAndSave(expectedVersion, product);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return topology.shardFor(id).findById(id);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        List<List<Product>> parts = onEveryShard(topology.shards, ProductRepository::findAll);
+        int size = 0;
+        for (List<Product> part : parts) {
+            size += part.size();
+        }
+        List<Product> all = new ArrayList<>(size);
+        for (List<Product> part : parts) {
+            all.addAll(part);
+        }
+        return all;
+    }
+
+    /**
+     * Pide a cada shard su página desde el cursor e intercala las primeras limit por ID: los IDs
+     * siguientes de cada shard son posteriores a los de su página, así que ninguno puede faltar.
+     */
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que cero.");
+        }
+        List<List<Product>> pages = onEveryShard(topology.shards, shard -> shard.findPage(afterId, limit));
+        if (pages.size() == 1) {
+            return pages.get(0);
+        }
+        List<Product> merged = new ArrayList<>();
+        for (List<Product> page : pages) {
+            merged.addAll(page);
+        }
+        merged.sort(BY_ID);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public void delete(String id) {
+        topology.shardFor(id).delete(id);
+    }
+
+    @Override
+    public OptionalInt adjustStock(String id, int delta) {
+        return topology.shardFor(id).adjustStock(id, delta);
+    }
+
+    @Override
+    public boolean tryReserve(String id, int quantity) {
+        return topology.shardFor(id).tryReserve(id, quantity);
+    }
+
+    @Override
+    public void saveAll(List<Product> products) {
+        saveAll(topology, products);
+    }
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<Product> products) {
+        Topology current = topology;
+        List<List<Integer>> groups = groupByShard(current, products, Product::getId);
+        boolean[] inserted = new boolean[products.size()];
+        onShardsWithWork(current, groups, (shard, positions) ->
+                scatter(shard.insertAllIfAbsent(select(products, positions)), positions, inserted));
+        return inserted;
+    }
+
+    @Override
+    public boolean[] deleteAll(List<String> ids) {
+        Topology current = topology;
+        List<List<Integer>> groups = groupByShard(current, ids, Function.identity());
+        boolean[] deleted = new boolean[ids.size()];
+        onShardsWithWork(current, groups, (shard, positions) ->
+                scatter(shard.deleteAll(select(ids, positions)), positions, deleted));
+        return deleted;
+    }
+
+    /**
+     * Agrega un shard y le mueve los productos que ahora le corresponden.
+     * @return Cantidad de productos movidos.
+     * @throws IllegalArgumentException Si ya existe un shard con ese nombre.
+     */
+    public long addShard(String name, ProductRepository shard) {
+        synchronized (topologyLock) {
+            Topology current = topology;
+            ConsistentHashRing ring = current.ring.withNode(name);
+            ProductRepository[] shards = new ProductRepository[current.shards.length + 1];
+            System.arraycopy(current.shards, 0, shards, 0, current.shards.length);
+            shards[current.shards.length] = shard;
+            Topology next = new Topology(ring, shards);
+
+            List<List<String>> leaving = new ArrayList<>();
+            long moved = 0;
+            for (ProductRepository source : current.shards) {
+                List<String> ids = copyMisplaced(source, next);
+                leaving.add(ids);
+                moved += ids.size();
+            }
+            topology = next;
+            for (int i = 0; i < current.shards.length; i++) {
+                current.shards[i].deleteAll(leaving.get(i));
+            }
+            return moved;
+        }
+    }
+
+    /**
+     * Quita un shard y reparte sus productos entre los que quedan. El shard quitado conserva sus datos
+     * (queda como copia) y no se cierra: quien lo creó decide qué hacer con él.
+     * @return Cantidad de productos movidos.
+     * @throws IllegalArgumentException Si el shard no existe o es el único.
+     */
+    public long removeShard(String name) {
+        synchronized (topologyLock) {
+            Topology current = topology;
+            int removed = current.ring.nodes().indexOf(name);
+            ConsistentHashRing ring = current.ring.withoutNode(name);
+            List<ProductRepository> remaining = new ArrayList<>(List.of(current.shards));
+            ProductRepository source = remaining.remove(removed);
+            Topology next = new Topology(ring, remaining.toArray(new ProductRepository[0]));
+            long moved = copyMisplaced(source, next).size();
+            topology = next;
+            return moved;
+        }
+    }
+
+    /**
+     * Cierra los hilos de consulta en paralelo y los shards que sean AutoCloseable (conexiones remotas).
+     */
+    @Override
+    public void close() throws Exception {
+        fanOut.close();
+        Exception failure = null;
+        for (ProductRepository shard : topology.shards) {
+            if (shard instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) shard).close();
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Copia a su dueño según la topología nueva los productos del shard que ya no le pertenecen,
+     * recorriéndolo de a una página para no cargarlo completo en memoria.
+     * @return IDs copiados, que el shard de origen todavía conserva.
+     */
+    private List<String> copyMisplaced(ProductRepository source, Topology next) {
+        List<String> copied = new ArrayList<>();
+        try (Stream<Product> products = source.stream()) {
+            List<Product> batch = new ArrayList<>();
+            products.forEach(product -> {
+                if (next.shardFor(product.getId()) != source) {
+                    batch.add(product);
+                    copied.add(product.getId());
+                    if (batch.size() == MOVE_BATCH) {
+                        saveAll(next, batch);
+                        batch.clear();
+                    }
+                }
+            });
+            saveAll(next, batch);
+        }
+        return copied;
+    }
+
+    private void saveAll(Topology target, List<Product> products) {
+        List<List<Integer>> groups = groupByShard(target, products, Product::getId);
+        onShardsWithWork(target, groups, (shard, positions) -> shard.saveAll(select(products, positions)));
+    }
+
+    private static <T> List<List<Integer>> groupByShard(Topology topology, List<T> items, Function<T, String> idOf) {
+        List<List<Integer>> groups = new ArrayList<>(topology.shards.length);
+        for (int i = 0; i < topology.shards.length; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int i = 0; i < items.size(); i++) {
+            groups.get(topology.ring.indexFor(idOf.apply(items.get(i)))).add(i);
+        }
+        return groups;
+    }
+
+    private static <T> List<T> select(List<T> items, List<Integer> positions) {
+        List<T> selected = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            selected.add(items.get(position));
+        }
+        return selected;
+    }
+
+    private static void scatter(boolean[] results, List<Integer> positions, boolean[] target) {
+        for (int i = 0; i < results.length; i++) {
+            target[positions.get(i)] = results[i];
+        }
+    }
+
+    /**
+     * Aplica la operación a cada shard que tenga posiciones del lote, en paralelo.
+     */
+    private void onShardsWithWork(Topology topology, List<List<Integer>> groups,
+                                  BiConsumer<ProductRepository, List<Integer>> work) {
+        List<Integer> busy = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            if (!groups.get(i).isEmpty()) {
+                busy.add(i);
+            }
+        }
+        inParallel(busy, i -> {
+            work.accept(topology.shards[i], groups.get(i));
+            return null;
+        });
+    }
+
+    private <T> List<T> onEveryShard(ProductRepository[] shards, Function<ProductRepository, T> operation) {
+        return inParallel(List.of(shards), operation);
+    }
+
+    /**
+     * Aplica la operación a cada elemento, en paralelo si hay más de uno, y devuelve los resultados en
+     * el mismo orden. Si alguna falla se relanza su excepción (la primera, en orden).
+     */
+    private <S, T> List<T> inParallel(List<S> inputs, Function<S, T> operation) {
+        List<T> results = new ArrayList<>(inputs.size());
+        if (inputs.size() == 1) {
+            results.add(operation.apply(inputs.get(0)));
+            return results;
+        }
+        List<Future<T>> futures = new ArrayList<>(inputs.size());
+        for (S input : inputs) {
+            futures.add(fanOut.submit(() -> operation.apply(input)));
+        }
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new DataAccessException("Falló una consulta a un shard", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataAccessException("Interrumpido esperando a los shards", e);
+            }
+        }
+        return results;
+    }
+}
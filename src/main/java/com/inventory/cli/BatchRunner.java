@@ -0,0 +1,207 @@
+package com.inventory.cli;
+
+import com.inventory.adapters.controller.ControllerResult;
+import com.inventory.adapters.controller.ProductController;
+import com.inventory.domain.Product;
+import com.inventory.usecases.AccessDeniedException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Modo por lotes (--batch): ejecuta comandos leídos de un flujo, sin menús ni mensajes interactivos,
+ * y escribe cada resultado en un formato estable pensado para otros programas.
+ *
+ * Entrada: un comando por línea, con campos separados por tabuladores (los nombres pueden contener
+ * espacios y comas, pero no tabuladores). Las líneas vacías y las que empiezan con '#' se ignoran.
+ *
+ *   add     id  nombre  precio  stock
+ *   update  id  nombre  precio  stock     (un campo vacío deja el valor actual)
+ *   delete  id
+ *   get     id
+ *   list
+ *
+ * Salida: una línea por resultado, campos separados por tabuladores; los precios usan punto decimal.
+ *
+ *   OK    add|update|get  id  nombre  precio  stock  versión
+ *   OK    delete          id
+ *   ITEM  id  nombre  precio  stock  versión             (una por producto, antes del OK de list)
+ *   OK    list            cantidad
+ *   ERR   número de línea  INVALID|NOT_FOUND|CONFLICT|FORBIDDEN|SYNTAX|FAILURE  mensaje
+ *
+ * FAILURE indica una falla inesperada (ej. se cayó la base de datos); un list que falla a mitad de
+ * camino puede dejar líneas ITEM antes de su ERR.
+ *
+ * Toda la salida pasa por el Writer recibido, que conviene que tenga búfer: así el costo de un lote
+ * grande lo marca el repositorio y no la consola.
+ */
+public class BatchRunner {
+    private final ProductController controller;
+
+    public BatchRunner(ProductController controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Ejecuta todos los comandos del flujo. Un comando fallido se informa con ERR y no detiene el lote.
+     * @return Resumen con la cantidad de comandos ejecutados y fallidos.
+     * @throws IOException Si falla la lectura o la escritura.
+     */
+    public Summary run(BufferedReader in, Writer out) throws IOException {
+        long commands = 0;
+        long errors = 0;
+        long lineNumber = 0;
+        String line;
+        try {
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                commands++;
+                if (!execute(line.split("\t", -1), lineNumber, out)) {
+                    errors++;
+                }
+            }
+        } finally {
+            // Aunque falle la lectura, los resultados de los comandos ya ejecutados no se pierden en el búfer.
+            out.flush();
+        }
+        return new Summary(commands, errors);
+    }
+
+    /**
+     * @return true si el comando tuvo éxito.
+     */
+    private boolean execute(String[] fields, long lineNumber, Writer out) throws IOException {
+        String command = fields[0];
+        try {
+            switch (command) {
+                case "add":
+                    expectFields(fields, 5);
+                    return writeProduct(out, lineNumber, command, controller.addProduct(fields[1], fields[2],
+                            Double.parseDouble(fields[3]), Integer.parseInt(fields[4])));
+                case "update":
+                    expectFields(fields, 5);
+                    return writeProduct(out, lineNumber, command, controller.updateProduct(fields[1],
+                            fields[2].isEmpty() ? null : fields[2],
+                            fields[3].isEmpty() ? null : Double.valueOf(fields[3]),
+                            fields[4].isEmpty() ? null : Integer.valueOf(fields[4])));
+                case "delete":
+                    expectFields(fields, 2);
+                    ControllerResult<Void> deleted = controller.deleteProduct(fields[1]);
+                    if (!deleted.isSuccess()) {
+                        return writeError(out, lineNumber, deleted.getStatus().name(), deleted.getMessage());
+                    }
+                    out.write("OK\tdelete\t");
+                    out.write(fields[1]);
+                    out.write('\n');
+                    return true;
+                case "get":
+                    expectFields(fields, 2);
+                    return writeProduct(out, lineNumber, command, controller.getProduct(fields[1]));
+                case "list":
+                    expectFields(fields, 1);
+                    return list(out, lineNumber);
+                default:
+                    return writeError(out, lineNumber, "SYNTAX", "Comando desconocido: " + command);
+            }
+        } catch (NumberFormatException e) {
+            return writeError(out, lineNumber, "SYNTAX", "El precio o el stock no es un número válido.");
+        } catch (IllegalArgumentException e) {
+            return writeError(out, lineNumber, "SYNTAX", e.getMessage());
+        } catch (RuntimeException e) {
+            return writeError(out, lineNumber, "FAILURE", e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private boolean list(Writer out, long lineNumber) throws IOException {
+        long count = 0;
+        Stream<Product> listed;
+        try {
+            listed = controller.listAllProducts();
+        } catch (AccessDeniedException e) {
+            return writeError(out, lineNumber, ControllerResult.Status.FORBIDDEN.name(), e.getMessage());
+        }
+        try (Stream<Product> products = listed) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                out.write("ITEM\t");
+                writeFields(out, iterator.next());
+                count++;
+            }
+        }
+        out.write("OK\tlist\t");
+        out.write(Long.toString(count));
+        out.write('\n');
+        return true;
+    }
+
+    private static boolean writeProduct(Writer out, long lineNumber, String command,
+                                        ControllerResult<Product> result) throws IOException {
+        if (!result.isSuccess()) {
+            return writeError(out, lineNumber, result.getStatus().name(), result.getMessage());
+        }
+        out.write("OK\t");
+        out.write(command);
+        out.write('\t');
+        writeFields(out, result.getValue());
+        return true;
+    }
+
+    private static void writeFields(Writer out, Product product) throws IOException {
+        out.write(product.getId());
+        out.write('\t');
+        out.write(product.getName());
+        out.write('\t');
+        out.write(Double.toString(product.getPrice()));
+        out.write('\t');
+        out.write(Integer.toString(product.getStock()));
+        out.write('\t');
+        out.write(Long.toString(product.getVersion()));
+        out.write('\n');
+    }
+
+    private static boolean writeError(Writer out, long lineNumber, String status, String message) throws IOException {
+        out.write("ERR\t");
+        out.write(Long.toString(lineNumber));
+        out.write('\t');
+        out.write(status);
+        out.write('\t');
+        // El mensaje va en un solo campo: se reemplazan separadores que romperían el formato.
+        out.write(message.replace('\t', ' ').replace('\n', ' '));
+        out.write('\n');
+        return false;
+    }
+
+    private static void expectFields(String[] fields, int expected) {
+        if (fields.length != expected) {
+            throw new IllegalArgumentException("El comando " + fields[0] + " espera " + (expected - 1)
+                    + " campos y recibió " + (fields.length - 1) + ".");
+        }
+    }
+
+    /**
+     * Totales de un lote ejecutado.
+     */
+    public static final class Summary {
+        private final long commands;
+        private final long errors;
+
+        Summary(long commands, long errors) {
+            this.commands = commands;
+            this.errors = errors;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+    }
+}
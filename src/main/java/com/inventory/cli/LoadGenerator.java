@@ -0,0 +1,468 @@
+package com.inventory.cli;
+
+import com.inventory.adapters.controller.ControllerResult;
+import com.inventory.adapters.controller.ProductController;
+import com.inventory.adapters.metrics.LatencyHistogram;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Modo de prueba de carga (--loadtest): varios hilos, de plataforma o virtuales, llaman sin pausa al
+ * controlador con una mezcla configurable de operaciones, y cada segundo se informa el rendimiento,
+ * las latencias p50/p99/p999 y los errores de ese segundo. Al terminar devuelve un resumen con los
+ * totales por operación y por estado de error.
+ *
+ * Todas las operaciones eligen su producto del mismo espacio de claves ("sku-0" ... "sku-(n-1)", ver
+ * seed), con distribución uniforme o de Zipf. Por eso una parte de las altas falla con CONFLICT y de
+ * las actualizaciones y bajas con NOT_FOUND: es parte de la carga, y se cuenta aparte de las
+ * excepciones inesperadas. Cada instancia se ejecuta una sola vez.
+ */
+public class LoadGenerator {
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH = 1_000;
+    private static final int STATUSES = ControllerResult.Status.values().length;
+
+    /**
+     * Operaciones que componen la mezcla.
+     */
+    public enum Operation {
+        ADD, UPDATE, DELETE, GET, LIST
+    }
+
+    private final ProductController controller;
+    private final Settings settings;
+    private final String[] ids;
+    private final ZipfianKeys zipf;
+    private final int[] cumulativeWeights;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean running;
+
+    private final LongAdder[] calls = new LongAdder[Operation.values().length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LatencyHistogram totalLatency = new LatencyHistogram();
+    // Un contador por ControllerResult.Status y uno más, al final, para las excepciones.
+    private final LongAdder[] failures = new LongAdder[STATUSES + 1];
+    private final LatencyHistogram intervalLatency = new LatencyHistogram();
+    private final LongAdder intervalCalls = new LongAdder();
+    private final LongAdder intervalErrors = new LongAdder();
+
+    public LoadGenerator(ProductController controller, Settings settings) {
+        this.controller = controller;
+        this.settings = settings;
+        ids = new String[settings.catalogSize];
+        for (int k = 0; k < ids.length; k++) {
+            ids[k] = idOf(k);
+        }
+        zipf = settings.zipfExponent > 0 ? new ZipfianKeys(settings.catalogSize, settings.zipfExponent) : null;
+        cumulativeWeights = new int[Operation.values().length];
+        int sum = 0;
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            sum += settings.weights[i];
+            cumulativeWeights[i] = sum;
+        }
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Carga el catálogo inicial ("sku-0" ... "sku-(count-1)") directo en el repositorio, por lotes y
+     * sin pasar por los casos de uso, para que la carga no dependa de los permisos del rol.
+     */
+    public static void seed(ProductRepository repository, int count) {
+        List<Product> batch = new ArrayList<>(SEED_BATCH);
+        for (int k = 0; k < count; k++) {
+            batch.add(newProduct(idOf(k), k));
+            if (batch.size() == SEED_BATCH) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    /**
+     * Ejecuta la carga durante el tiempo configurado.
+     * @param onSecond Recibe el resumen de cada segundo, desde el hilo que llamó a run.
+     * @return Totales de toda la ejecución.
+     * @throws InterruptedException Si se interrumpe el hilo; la carga se detiene igual.
+     * @throws IllegalStateException Si la instancia ya se ejecutó.
+     */
+    public Summary run(Consumer<Interval> onSecond) throws InterruptedException {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("La prueba de carga ya se ejecutó.");
+        }
+        Thread.Builder builder = settings.virtualThreads
+                ? Thread.ofVirtual().name("carga-", 0) : Thread.ofPlatform().daemon().name("carga-", 0);
+        List<Thread> workers = new ArrayList<>(settings.threads);
+        running = true;
+        long begin = System.nanoTime();
+        try {
+            for (int t = 0; t < settings.threads; t++) {
+                workers.add(builder.start(this::work));
+            }
+            long last = begin;
+            for (int second = 1; second <= settings.durationSeconds; second++) {
+                long wait = begin + TimeUnit.SECONDS.toNanos(second) - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                long now = System.nanoTime();
+                // Tomar y vaciar no es atómico: una llamada que termina justo entre ambos puede caer en
+                // el segundo siguiente o perderse del histograma del intervalo (no de los totales).
+                LatencyHistogram.Snapshot latency = intervalLatency.snapshot();
+                intervalLatency.reset();
+                onSecond.accept(new Interval(second, (now - last) / 1e9,
+                        intervalCalls.sumThenReset(), intervalErrors.sumThenReset(), latency));
+                last = now;
+            }
+        } finally {
+            running = false;
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+        return summarize((System.nanoTime() - begin) / 1e9);
+    }
+
+    private void work() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            Operation operation = nextOperation(random);
+            int key = zipf != null ? zipf.next(random) : random.nextInt(ids.length);
+            long start = System.nanoTime();
+            int failure;
+            try {
+                ControllerResult<?> result = execute(operation, key, random);
+                failure = result.isSuccess() ? -1 : result.getStatus().ordinal();
+            } catch (RuntimeException e) {
+                failure = STATUSES;
+            }
+            long elapsed = System.nanoTime() - start;
+            calls[operation.ordinal()].increment();
+            latencies[operation.ordinal()].record(elapsed);
+            totalLatency.record(elapsed);
+            intervalLatency.record(elapsed);
+            intervalCalls.increment();
+            if (failure >= 0) {
+                failures[failure].increment();
+                intervalErrors.increment();
+            }
+        }
+    }
+
+    private ControllerResult<?> execute(Operation operation, int key, ThreadLocalRandom random) {
+        String id = ids[key];
+        switch (operation) {
+            case ADD:
+                return controller.addProduct(id, "Producto " + key, 1 + key % 1_000, 100);
+            case UPDATE:
+                return controller.updateProduct(id, null, null, random.nextInt(1_000));
+            case DELETE:
+                return controller.deleteProduct(id);
+            case GET:
+                return controller.getProduct(id);
+            case LIST:
+                return controller.listProductsPage(id, PAGE_SIZE);
+            default:
+                throw new AssertionError(operation);
+        }
+    }
+
+    private Operation nextOperation(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (pick >= cumulativeWeights[i]) {
+            i++;
+        }
+        return Operation.values()[i];
+    }
+
+    private Summary summarize(double seconds) {
+        Map<Operation, Long> callsByOperation = new EnumMap<>(Operation.class);
+        Map<Operation, LatencyHistogram.Snapshot> latencyByOperation = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            callsByOperation.put(operation, calls[operation.ordinal()].sum());
+            latencyByOperation.put(operation, latencies[operation.ordinal()].snapshot());
+        }
+        Map<ControllerResult.Status, Long> failuresByStatus = new EnumMap<>(ControllerResult.Status.class);
+        for (ControllerResult.Status status : ControllerResult.Status.values()) {
+            long count = failures[status.ordinal()].sum();
+            if (count > 0) {
+                failuresByStatus.put(status, count);
+            }
+        }
+        return new Summary(settings, seconds, callsByOperation, latencyByOperation, totalLatency.snapshot(),
+                failuresByStatus, failures[STATUSES].sum());
+    }
+
+    private static String idOf(int key) {
+        return "sku-" + key;
+    }
+
+    private static Product newProduct(String id, int key) {
+        return new Product(id, "Producto " + key, 1 + key % 1_000, 100);
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f µs", nanos / 1e3);
+    }
+
+    /**
+     * Parámetros de la prueba de carga.
+     */
+    public static final class Settings {
+        /** Mezcla por defecto: mayoría de lecturas, como un catálogo consultado más de lo que se modifica. */
+        public static final String DEFAULT_MIX = "get=60,update=20,list=10,add=5,delete=5";
+
+        private final int threads;
+        private final boolean virtualThreads;
+        private final int catalogSize;
+        private final int durationSeconds;
+        private final double zipfExponent;
+        private final int[] weights; // Indexado por Operation.ordinal().
+
+        /**
+         * @param zipfExponent Exponente de la distribución de Zipf de las claves; 0 para claves uniformes.
+         * @param mix Peso relativo de cada operación (las que faltan no se ejecutan), ver parseMix.
+         * @throws IllegalArgumentException Si algún valor está fuera de rango o la mezcla está vacía.
+         */
+        public Settings(int threads, boolean virtualThreads, int catalogSize, int durationSeconds,
+                        double zipfExponent, Map<Operation, Integer> mix) {
+            if (threads <= 0 || catalogSize <= 0 || durationSeconds <= 0) {
+                throw new IllegalArgumentException("Los hilos, el catálogo y la duración deben ser positivos.");
+            }
+            if (zipfExponent < 0) {
+                throw new IllegalArgumentException("El exponente de Zipf no puede ser negativo.");
+            }
+            weights = new int[Operation.values().length];
+            long total = 0;
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                if (entry.getValue() < 0) {
+                    throw new IllegalArgumentException("El peso de " + entry.getKey() + " no puede ser negativo.");
+                }
+                weights[entry.getKey().ordinal()] = entry.getValue();
+                total += entry.getValue();
+            }
+            if (total == 0 || total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("La mezcla de operaciones debe tener algún peso positivo.");
+            }
+            this.threads = threads;
+            this.virtualThreads = virtualThreads;
+            this.catalogSize = catalogSize;
+            this.durationSeconds = durationSeconds;
+            this.zipfExponent = zipfExponent;
+        }
+
+        /**
+         * Lee una mezcla con el formato "operación=peso,..." (por ejemplo "get=60,update=20,list=20").
+         * @throws IllegalArgumentException Si nombra una operación desconocida o un peso no numérico.
+         */
+        public static Map<Operation, Integer> parseMix(String text) {
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (String entry : text.split(",")) {
+                int equals = entry.indexOf('=');
+                if (equals < 0) {
+                    throw new IllegalArgumentException("Entrada de mezcla inválida (se espera operación=peso): " + entry);
+                }
+                String name = entry.substring(0, equals).trim();
+                Operation operation;
+                try {
+                    operation = Operation.valueOf(name.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Operación desconocida en la mezcla: " + name);
+                }
+                mix.put(operation, Integer.parseInt(entry.substring(equals + 1).trim()));
+            }
+            return mix;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public int getCatalogSize() {
+            return catalogSize;
+        }
+
+        public int getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        public double getZipfExponent() {
+            return zipfExponent;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder mix = new StringBuilder();
+            for (Operation operation : Operation.values()) {
+                if (weights[operation.ordinal()] > 0) {
+                    mix.append(mix.length() == 0 ? "" : ",")
+                            .append(operation.name().toLowerCase(Locale.ROOT)).append('=').append(weights[operation.ordinal()]);
+                }
+            }
+            return String.format(Locale.ROOT, "%d hilos %s, %,d productos, claves %s, mezcla %s, %d s",
+                    threads, virtualThreads ? "virtuales" : "de plataforma", catalogSize,
+                    zipfExponent > 0 ? String.format(Locale.ROOT, "zipf %.2f", zipfExponent) : "uniformes",
+                    mix, durationSeconds);
+        }
+    }
+
+    /**
+     * Lo ocurrido en un segundo de la prueba.
+     */
+    public static final class Interval {
+        private final int second;
+        private final double seconds;
+        private final long calls;
+        private final long errors;
+        private final LatencyHistogram.Snapshot latency;
+
+        Interval(int second, double seconds, long calls, long errors, LatencyHistogram.Snapshot latency) {
+            this.second = second;
+            this.seconds = seconds;
+            this.calls = calls;
+            this.errors = errors;
+            this.latency = latency;
+        }
+
+        public int getSecond() {
+            return second;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return calls / seconds;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%4d s | %,10.0f ops/s | p50 %10s | p99 %10s | p999 %10s | errores %,d",
+                    second, getThroughput(), micros(latency.getP50()), micros(latency.getP99()),
+                    micros(latency.getP999()), errors);
+        }
+    }
+
+    /**
+     * Totales de una prueba de carga completa.
+     */
+    public static final class Summary {
+        private final Settings settings;
+        private final double seconds;
+        private final Map<Operation, Long> calls;
+        private final Map<Operation, LatencyHistogram.Snapshot> latencies;
+        private final LatencyHistogram.Snapshot latency;
+        private final Map<ControllerResult.Status, Long> failures;
+        private final long exceptions;
+
+        Summary(Settings settings, double seconds, Map<Operation, Long> calls,
+                Map<Operation, LatencyHistogram.Snapshot> latencies, LatencyHistogram.Snapshot latency,
+                Map<ControllerResult.Status, Long> failures, long exceptions) {
+            this.settings = settings;
+            this.seconds = seconds;
+            this.calls = calls;
+            this.latencies = latencies;
+            this.latency = latency;
+            this.failures = failures;
+            this.exceptions = exceptions;
+        }
+
+        public long getCalls() {
+            return latency.getCount();
+        }
+
+        public long getCalls(Operation operation) {
+            return calls.get(operation);
+        }
+
+        /**
+         * @return Llamadas que terminaron con un resultado no exitoso o con una excepción.
+         */
+        public long getErrors() {
+            long errors = exceptions;
+            for (long count : failures.values()) {
+                errors += count;
+            }
+            return errors;
+        }
+
+        /**
+         * @return Llamadas que terminaron con ese estado (solo estados de error).
+         */
+        public long getFailures(ControllerResult.Status status) {
+            return failures.getOrDefault(status, 0L);
+        }
+
+        public long getExceptions() {
+            return exceptions;
+        }
+
+        public double getThroughput() {
+            return getCalls() / seconds;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return El resumen en texto, tal como se guarda en el archivo de resultados.
+         */
+        public String report() {
+            StringBuilder report = new StringBuilder();
+            report.append("Prueba de carga: ").append(settings).append('\n');
+            report.append(String.format(Locale.ROOT, "Duración real: %.1f s%n", seconds));
+            report.append(String.format(Locale.ROOT, "Total: %,d llamadas, %,.0f ops/s, p50 %s, p99 %s, p999 %s, máx %s%n",
+                    getCalls(), getThroughput(), micros(latency.getP50()), micros(latency.getP99()),
+                    micros(latency.getP999()), micros(latency.getMax())));
+            for (Operation operation : Operation.values()) {
+                LatencyHistogram.Snapshot snapshot = latencies.get(operation);
+                if (snapshot.getCount() == 0) {
+                    continue;
+                }
+                report.append(String.format(Locale.ROOT, "  %-6s %,12d llamadas | p50 %10s | p99 %10s | p999 %10s%n",
+                        operation.name().toLowerCase(Locale.ROOT), calls.get(operation), micros(snapshot.getP50()),
+                        micros(snapshot.getP99()), micros(snapshot.getP999())));
+            }
+            report.append(String.format(Locale.ROOT, "Errores: %,d%n", getErrors()));
+            for (Map.Entry<ControllerResult.Status, Long> entry : failures.entrySet()) {
+                report.append(String.format(Locale.ROOT, "  %-10s %,d%n", entry.getKey(), entry.getValue()));
+            }
+            if (exceptions > 0) {
+                report.append(String.format(Locale.ROOT, "  %-10s %,d%n", "EXCEPCIÓN", exceptions));
+            }
+            return report.toString();
+        }
+    }
+}
@@ -1,11 +1,60 @@
 package com.inventory.cli;
 
+import com.inventory.adapters.controller.ControllerResult;
 import com.inventory.adapters.controller.ProductController;
+import com.inventory.adapters.controller.ProductPage;
+import com.inventory.adapters.csv.CsvProductImporter;
+import com.inventory.adapters.csv.ImportProgress;
+import com.inventory.adapters.events.ChangeEventRing;
+import com.inventory.adapters.http.ProductHttpServer;
+import com.inventory.adapters.metrics.InventoryMetrics;
+import com.inventory.adapters.metrics.OperationStats;
+import com.inventory.adapters.controller.ProductQueryController;
+import com.inventory.adapters.controller.StockHoldController;
+import com.inventory.adapters.holds.StockHoldManager;
+import com.inventory.adapters.persistance.CachingProductRepository;
+import com.inventory.adapters.persistance.ColumnarProductRepository;
+import com.inventory.adapters.persistance.InventoryAggregator;
+import com.inventory.adapters.persistance.JdbcProductRepository;
+import com.inventory.adapters.persistance.MvccProductRepository;
+import com.inventory.adapters.persistance.ObservableProductRepository;
+import com.inventory.adapters.persistance.ProductIndex;
 import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.adapters.persistance.ProductSnapshot;
+import com.inventory.adapters.persistance.TransactionalObservableProductRepository;
+import com.inventory.adapters.persistance.WalProductRepository;
+import com.inventory.adapters.sharding.ProductShardServer;
+import com.inventory.adapters.sharding.RemoteProductRepository;
+import com.inventory.adapters.sharding.ShardedProductRepository;
+import com.inventory.domain.InventoryStats;
+import com.inventory.domain.Product;
 import com.inventory.domain.ProductRepository;
+import com.inventory.domain.TransactionConflictException;
+import com.inventory.domain.TransactionalProductRepository;
 import com.inventory.usecases.*;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.InputMismatchException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
 /**
@@ -15,24 +64,138 @@ import java.util.Scanner;
  * la configuración de las dependencias de la aplicación (composición).
  */
 public class Main {
+    private static final int PAGE_SIZE = 20;
+    private static final int BATCH_BUFFER_CHARS = 64 * 1024;
+    private static final int CHANGE_RING_CAPACITY = 64 * 1024;
+    private static final long POLICY_POLL_MILLIS = 1_000;
+    private static final int LOAD_TEST_THREADS = 8;
+    private static final int LOAD_TEST_CATALOG = 100_000;
+    private static final double DEFAULT_ZIPF_EXPONENT = 0.99;
+    private static final String LOAD_TEST_REPORT = "loadtest-resumen.txt";
+
     public static void main(String[] args) {
         // --- Configuración de Dependencias (Composición) ---
         // Aquí se instancian las implementaciones concretas y se inyectan en sus dependientes.
         // Esto demuestra el Principio de Inversión de Dependencias (DIP) y facilita las pruebas.
 
-        ProductRepository productRepository = new ProductRepositoryImpl();
+        // La prueba de carga agrega, modifica y elimina productos al azar: solo se permite sobre un
+        // almacenamiento en memoria, para que nunca toque un catálogo real.
+        String persistent = persistentStorageOption(args);
+        if (hasOption(args, "--loadtest") && persistent != null) {
+            System.err.println("--loadtest no se puede combinar con " + persistent
+                    + ": la prueba modificaría el catálogo guardado. Use el repositorio en memoria.");
+            return;
+        }
+        // Cada opción de almacenamiento elige un repositorio distinto; combinadas, solo una se aplicaría
+        // (ej. --wal junto con --snapshot no cargaría nunca la instantánea).
+        List<String> storageOptions = storageOptions(args);
+        if (storageOptions.size() > 1) {
+            System.err.println("Las opciones " + String.join(" y ", storageOptions)
+                    + " no se pueden combinar: indique un solo almacenamiento.");
+            return;
+        }
+        ProductRepository storage = createRepository(args);
+        // Con "--shard-server <puerto>" el proceso solo atiende como shard remoto de otro proceso
+        // (ver "--shards"), sin menú, hasta que lo terminen.
+        String shardPort = optionValue(args, "--shard-server");
+        if (shardPort != null) {
+            serveShard(storage, Integer.parseInt(shardPort));
+            return;
+        }
+        // Con "--cache <productos>" las lecturas por ID pasan por una caché LRU acotada; conviene cuando
+        // el almacenamiento es lento (base de datos, red), no con el repositorio en memoria.
+        CachingProductRepository cache = null;
+        String cacheSize = optionValue(args, "--cache");
+        if (cacheSize != null) {
+            cache = new CachingProductRepository(storage, Integer.parseInt(cacheSize));
+        }
+        // Un solo decorador reparte cada escritura entre los totales del inventario, el flujo de eventos
+        // de cambio (los consumidores lo leen por GET /changes) y los índices secundarios. Con "--mvcc"
+        // (sin "--cache") también reparte lo que confirma cada transacción.
+        ProductRepository base = cache != null ? cache : storage;
+        InventoryAggregator aggregates = new InventoryAggregator(base);
+        ChangeEventRing changes = new ChangeEventRing(CHANGE_RING_CAPACITY);
+        ProductIndex index = new ProductIndex(base);
+        ObservableProductRepository productRepository = base instanceof TransactionalProductRepository
+                ? new TransactionalObservableProductRepository((TransactionalProductRepository) base,
+                        aggregates, changes::publish, index)
+                : new ObservableProductRepository(base, aggregates, changes::publish, index);
+
+        // Con "--policy <archivo>" las altas, actualizaciones, bajas, listados, ajustes y retenciones de stock e
+        // importaciones verifican los permisos del rol indicado con "--role" (ADMINISTRADOR si se omite);
+        // el archivo se recarga solo al cambiar.
+        Authorizer authorizer = createAuthorizer(args);
+        ImportProductsUseCase importProductsUseCase = new ImportProductsUseCase(productRepository, authorizer);
+        String csv = optionValue(args, "--import");
+        if (csv != null) {
+            importCsv(Paths.get(csv), importProductsUseCase);
+        }
+        AddProductUseCase addProductUseCase = new AddProductUseCase(productRepository, authorizer);
+        UpdateProductUseCase updateProductUseCase = new UpdateProductUseCase(productRepository, authorizer);
+        DeleteProductUseCase deleteProductUseCase = new DeleteProductUseCase(productRepository, authorizer);
+        ListAllProductsUseCase listAllProductsUseCase = new ListAllProductsUseCase(productRepository, authorizer);
+        AdjustStockUseCase adjustStockUseCase = new AdjustStockUseCase(productRepository, authorizer);
+        // Vender un pedido de varios productos necesita transacciones: solo está disponible con "--mvcc".
+        SellProductsUseCase sellProductsUseCase = productRepository instanceof TransactionalProductRepository
+                ? new SellProductsUseCase((TransactionalProductRepository) productRepository, authorizer) : null;
 
-        AddProductUseCase addProductUseCase = new AddProductUseCase(productRepository);
-        UpdateProductUseCase updateProductUseCase = new UpdateProductUseCase(productRepository);
-        DeleteProductUseCase deleteProductUseCase = new DeleteProductUseCase(productRepository);
-        ListAllProductsUseCase listAllProductsUseCase = new ListAllProductsUseCase(productRepository);
+        // Las métricas se consultan con la opción 9 del menú o por JMX (jconsole, VisualVM).
+        InventoryMetrics metrics = new InventoryMetrics();
+        metrics.registerMBean();
 
         ProductController productController = new ProductController(
                 addProductUseCase,
                 updateProductUseCase,
                 deleteProductUseCase,
-                listAllProductsUseCase
+                new GetProductUseCase(productRepository, authorizer),
+                listAllProductsUseCase,
+                adjustStockUseCase,
+                metrics
         );
+        ProductQueryController productQueryController = new ProductQueryController(
+                new SearchProductsByNameUseCase(index),
+                new FindProductsByPriceRangeUseCase(index),
+                new FindLowStockProductsUseCase(index),
+                new InventoryStatsUseCase(aggregates)
+        );
+
+        // Con "--loadtest <segundos>" el proceso solo genera carga concurrente contra el controlador
+        // (ver LoadGenerator) y guarda el resumen en un archivo, sin menú.
+        String loadTest = optionValue(args, "--loadtest");
+        if (loadTest != null) {
+            runLoadTest(args, Integer.parseInt(loadTest), productRepository, productController);
+            showMetrics(metrics, cache);
+            closeRepository(storage);
+            return;
+        }
+
+        // Con "--batch [archivo]" se ejecutan los comandos del archivo (o de la entrada estándar) sin menú.
+        if (hasOption(args, "--batch")) {
+            runBatch(optionValue(args, "--batch"), productController);
+            closeRepository(storage);
+            return;
+        }
+
+        // Las retenciones de stock (opción 12 del menú y /holds en la API HTTP) vencen desde un hilo propio
+        // mientras la aplicación está abierta; al salir se detiene y las activas conservan sus unidades.
+        StockHoldManager stockHolds = new StockHoldManager(productRepository);
+        stockHolds.start();
+        StockHoldController stockHoldController = new StockHoldController(
+                new PlaceStockHoldUseCase(stockHolds, authorizer),
+                new ConfirmStockHoldUseCase(stockHolds, authorizer),
+                new ReleaseStockHoldUseCase(stockHolds, authorizer)
+        );
+
+        // Con "--http <puerto>" la API JSON atiende en paralelo al menú de consola. Como no autentica,
+        // solo escucha en loopback salvo que se indique otra dirección con "--http <host>:<puerto>".
+        ProductHttpServer httpServer = null;
+        String http = optionValue(args, "--http");
+        if (http != null) {
+            InetSocketAddress address = httpAddress(http);
+            httpServer = new ProductHttpServer(productController, changes, stockHoldController, address);
+            httpServer.start();
+            System.out.println("API HTTP escuchando en http://" + address.getHostString() + ":" + httpServer.getPort() + "/products");
+        }
 
         Scanner scanner = new Scanner(System.in);
         int choice;
@@ -56,7 +219,32 @@ public class Main {
                         deleteProduct(scanner, productController);
                         break;
                     case 4:
-                        productController.listAllProducts();
+                        listProducts(scanner, productController);
+                        break;
+                    case 5:
+                        exportSnapshot(scanner, productRepository);
+                        break;
+                    case 6:
+                        adjustStock(scanner, productController);
+                        break;
+                    case 7:
+                        searchProducts(scanner, productQueryController);
+                        break;
+                    case 8:
+                        System.out.print("Ingrese la ruta del archivo CSV (id,nombre,precio,stock): ");
+                        importCsv(Paths.get(scanner.nextLine().trim()), importProductsUseCase);
+                        break;
+                    case 9:
+                        showMetrics(metrics, cache);
+                        break;
+                    case 10:
+                        showStats(productQueryController.getStats());
+                        break;
+                    case 11:
+                        sellProducts(scanner, sellProductsUseCase);
+                        break;
+                    case 12:
+                        manageHold(scanner, stockHoldController);
                         break;
                     case 0:
                         System.out.println("Saliendo de la aplicación. ¡Hasta luego!");
@@ -76,6 +264,339 @@ public class Main {
         } while (choice != 0);
 
         scanner.close();
+        if (httpServer != null) {
+            httpServer.close();
+        }
+        stockHolds.close();
+        closeRepository(storage);
+    }
+
+    private static void serveShard(ProductRepository storage, int port) {
+        ProductShardServer server = new ProductShardServer(storage,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            closeRepository(storage);
+        }));
+        server.start();
+        // Quien lanzó el proceso lee esta línea para conocer el puerto (útil con puerto 0).
+        System.out.println("Shard escuchando en el puerto " + server.getPort());
+        try {
+            server.awaitClose();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static InetSocketAddress httpAddress(String option) {
+        int colon = option.lastIndexOf(':');
+        if (colon < 0) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(option.trim()));
+        }
+        return new InetSocketAddress(option.substring(0, colon).trim(), Integer.parseInt(option.substring(colon + 1).trim()));
+    }
+
+    private static void closeRepository(ProductRepository storage) {
+        if (storage instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) storage).close();
+            } catch (Exception e) {
+                System.err.println("No se pudo cerrar el repositorio: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un lote de comandos (ver BatchRunner) leído de un archivo, o de la entrada estándar si no se
+     * indica uno o se indica "-". Los resultados van a la salida estándar a través de un único búfer, que
+     * solo se vuelca al llenarse y al terminar; el resumen va a la salida de errores para no mezclarse con ellos.
+     */
+    private static void runBatch(String source, ProductController controller) {
+        boolean fromStdin = source == null || source.startsWith("-");
+        long start = System.nanoTime();
+        BatchRunner.Summary summary;
+        try (BufferedReader in = fromStdin
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BATCH_BUFFER_CHARS)
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8)) {
+            // Se escribe directo al descriptor: System.out vuelca en cada salto de línea.
+            Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BATCH_BUFFER_CHARS);
+            summary = new BatchRunner(controller).run(in, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error de E/S en el modo por lotes", e);
+        }
+        System.err.printf("Lote terminado: %,d comandos, %,d con error, en %d ms.%n",
+                summary.getCommands(), summary.getErrors(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Precarga el catálogo y genera carga durante los segundos indicados, mostrando cada segundo el
+     * rendimiento, las latencias y los errores. Opciones: "--threads <n>" (8 por defecto), "--virtual"
+     * para usar hilos virtuales, "--mix get=60,update=20,..." (ver LoadGenerator.Settings),
+     * "--keys uniform|zipf[:exponente]", "--catalog <productos>" y "--report <archivo>" para el resumen.
+     */
+    private static void runLoadTest(String[] args, int seconds, ProductRepository repository,
+                                    ProductController controller) {
+        String threads = optionValue(args, "--threads");
+        String mix = optionValue(args, "--mix");
+        String catalog = optionValue(args, "--catalog");
+        String report = optionValue(args, "--report");
+        LoadGenerator.Settings settings = new LoadGenerator.Settings(
+                threads != null ? Integer.parseInt(threads) : LOAD_TEST_THREADS,
+                hasOption(args, "--virtual"),
+                catalog != null ? Integer.parseInt(catalog) : LOAD_TEST_CATALOG,
+                seconds,
+                zipfExponent(optionValue(args, "--keys")),
+                LoadGenerator.Settings.parseMix(mix != null ? mix : LoadGenerator.Settings.DEFAULT_MIX));
+
+        long start = System.nanoTime();
+        LoadGenerator.seed(repository, settings.getCatalogSize());
+        System.out.printf("Catálogo precargado: %,d productos en %d ms.%n",
+                settings.getCatalogSize(), (System.nanoTime() - start) / 1_000_000);
+        System.out.println("Prueba de carga: " + settings);
+
+        LoadGenerator.Summary summary;
+        try {
+            summary = new LoadGenerator(controller, settings).run(System.out::println);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Prueba de carga interrumpida.");
+            return;
+        }
+        System.out.print(summary.report());
+        Path file = Paths.get(report != null ? report : LOAD_TEST_REPORT);
+        try {
+            Files.writeString(file, summary.report(), StandardCharsets.UTF_8);
+            System.out.println("Resumen guardado en " + file);
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar el resumen en " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return 0 para claves uniformes (por defecto), o el exponente de "zipf[:exponente]" (0,99 si se omite).
+     */
+    private static double zipfExponent(String keys) {
+        if (keys == null || keys.equalsIgnoreCase("uniform")) {
+            return 0;
+        }
+        if (keys.toLowerCase(Locale.ROOT).startsWith("zipf")) {
+            int colon = keys.indexOf(':');
+            return colon < 0 ? DEFAULT_ZIPF_EXPONENT : Double.parseDouble(keys.substring(colon + 1));
+        }
+        throw new IllegalArgumentException("Distribución de claves desconocida (uniform o zipf[:exponente]): " + keys);
+    }
+
+    /**
+     * Elige la implementación del repositorio según los argumentos de línea de comandos.
+     * Con "--jdbc <url>" los productos se guardan en una base de datos relacional (el driver debe estar
+     * en el classpath); con "--wal <archivo>" se persisten en un registro en disco; con
+     * "--snapshot <archivo>" el repositorio en memoria se carga desde una instantánea binaria (main
+     * rechaza combinar estas opciones entre sí o con "--shards");
+     * sin argumentos se usa el repositorio en memoria vacío. Con "--columnar" el repositorio en memoria
+     * guarda el catálogo por columnas, que ocupa varias veces menos en catálogos de millones de productos;
+     * con "--mvcc" guarda varias versiones por producto, y los listados ven siempre un único instante
+     * aunque haya escrituras concurrentes. Con "--shards <n>" el catálogo se reparte entre n repositorios
+     * en memoria por hashing consistente, y con "--shards <host:puerto,...>" entre procesos lanzados
+     * con "--shard-server <puerto>".
+     */
+    private static ProductRepository createRepository(String[] args) {
+        String shards = optionValue(args, "--shards");
+        if (shards != null) {
+            return createShardedRepository(shards, hasOption(args, "--columnar"));
+        }
+        String jdbc = optionValue(args, "--jdbc");
+        if (jdbc != null) {
+            return new JdbcProductRepository(jdbc);
+        }
+        String wal = optionValue(args, "--wal");
+        if (wal != null) {
+            return new WalProductRepository(Paths.get(wal));
+        }
+        boolean columnar = hasOption(args, "--columnar");
+        boolean mvcc = hasOption(args, "--mvcc");
+        String snapshot = optionValue(args, "--snapshot");
+        if (snapshot == null) {
+            return mvcc ? new MvccProductRepository()
+                    : columnar ? new ColumnarProductRepository() : new ProductRepositoryImpl();
+        }
+        Path file = Paths.get(snapshot);
+        int expected = estimateProducts(file);
+        ProductRepository repository = mvcc ? new MvccProductRepository()
+                : columnar ? new ColumnarProductRepository(expected) : new ProductRepositoryImpl(expected);
+        long start = System.nanoTime();
+        long loaded = ProductSnapshot.load(file, repository);
+        System.out.printf("Instantánea cargada: %d productos en %d ms.%n",
+                loaded, (System.nanoTime() - start) / 1_000_000);
+        return repository;
+    }
+
+    /**
+     * @return Las opciones de almacenamiento indicadas (--shards, --jdbc, --wal, --snapshot), en ese orden.
+     */
+    private static List<String> storageOptions(String[] args) {
+        List<String> options = new ArrayList<>();
+        for (String option : new String[] {"--shards", "--jdbc", "--wal", "--snapshot"}) {
+            if (optionValue(args, option) != null) {
+                options.add(option);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * @return La opción que guarda el catálogo fuera de este proceso (o lo carga de un archivo), o null
+     *         si el inventario vive solo en memoria.
+     */
+    private static String persistentStorageOption(String[] args) {
+        for (String option : new String[] {"--jdbc", "--wal", "--snapshot"}) {
+            if (optionValue(args, option) != null) {
+                return option;
+            }
+        }
+        String shards = optionValue(args, "--shards");
+        return shards != null && !shards.matches("\\d+") ? "--shards <host:puerto,...>" : null;
+    }
+
+    /**
+     * Los shards se nombran por su posición en la lista ("shard-0", "shard-1", ...), así que todos
+     * los procesos que compartan los mismos shards deben indicarlos en el mismo orden.
+     */
+    private static ShardedProductRepository createShardedRepository(String shards, boolean columnar) {
+        Map<String, ProductRepository> byName = new LinkedHashMap<>();
+        if (shards.matches("\\d+")) {
+            for (int i = 0; i < Integer.parseInt(shards); i++) {
+                byName.put("shard-" + i, columnar ? new ColumnarProductRepository() : new ProductRepositoryImpl());
+            }
+        } else {
+            for (String address : shards.split(",")) {
+                int colon = address.lastIndexOf(':');
+                byName.put("shard-" + byName.size(), new RemoteProductRepository(new InetSocketAddress(
+                        address.substring(0, colon).trim(), Integer.parseInt(address.substring(colon + 1).trim()))));
+            }
+        }
+        return new ShardedProductRepository(byName);
+    }
+
+    private static Authorizer createAuthorizer(String[] args) {
+        String policy = optionValue(args, "--policy");
+        if (policy == null) {
+            return Authorizer.permitAll();
+        }
+        String role = optionValue(args, "--role");
+        Path file = Paths.get(policy);
+        Authorizer authorizer = new Authorizer(AuthorizationPolicy.load(file),
+                role == null ? Role.ADMINISTRADOR : Role.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+        watchPolicy(file, authorizer);
+        return authorizer;
+    }
+
+    /**
+     * Revisa periódicamente la fecha de modificación de la política y, si cambió, la compila y la publica.
+     * Las llamadas en curso no se detienen: terminan con la política que ya leyeron. Si el archivo nuevo
+     * tiene errores, se mantiene la política anterior.
+     */
+    private static void watchPolicy(Path file, Authorizer authorizer) {
+        Thread watcher = new Thread(() -> {
+            long lastModified = lastModified(file);
+            while (true) {
+                try {
+                    Thread.sleep(POLICY_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long modified = lastModified(file);
+                if (modified == lastModified) {
+                    continue;
+                }
+                lastModified = modified;
+                try {
+                    authorizer.reload(AuthorizationPolicy.load(file));
+                    System.err.println("Política de autorización recargada desde " + file);
+                } catch (RuntimeException e) {
+                    System.err.println("Se mantiene la política anterior; no se pudo recargar: " + e.getMessage());
+                }
+            }
+        }, "policy-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static String optionValue(String[] args, String option) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (option.equals(args[i])) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasOption(String[] args, String option) {
+        for (String arg : args) {
+            if (option.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int estimateProducts(Path snapshot) {
+        try {
+            // Unos 40 bytes por registro en promedio; basta como estimación para dimensionar el mapa.
+            return (int) Math.min(Integer.MAX_VALUE, Files.size(snapshot) / 40);
+        } catch (IOException e) {
+            return 16;
+        }
+    }
+
+    private static void exportSnapshot(Scanner scanner, ProductRepository repository) {
+        System.out.print("Ingrese la ruta del archivo de instantánea: ");
+        String path = scanner.nextLine().trim();
+        long start = System.nanoTime();
+        long written = ProductSnapshot.write(repository, Paths.get(path));
+        System.out.printf("✅ Instantánea exportada: %d productos en %d ms.%n",
+                written, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Importa un CSV mostrando el avance cada segundo. Las filas rechazadas quedan en
+     * "<archivo>.rechazos" con su número de línea y el motivo. Si el rol no puede importar, lo informa
+     * sin leer el archivo.
+     */
+    private static void importCsv(Path csv, ImportProductsUseCase importProducts) {
+        Path rejects = Paths.get(csv + ".rechazos");
+        ImportProgress summary;
+        try {
+            summary = new CsvProductImporter(importProducts)
+                    .importFile(csv, rejects, progress -> System.out.println("  " + progress));
+        } catch (AccessDeniedException e) {
+            System.err.println("❌ " + e.getMessage());
+            return;
+        }
+        System.out.printf("✅ Importación terminada: %,d productos importados, %,d filas rechazadas.%n",
+                summary.getRowsImported(), summary.getRowsRejected());
+        if (summary.getRowsRejected() > 0) {
+            System.out.println("   Detalle de las filas rechazadas en " + rejects);
+        }
+    }
+
+    private static void showMetrics(InventoryMetrics metrics, CachingProductRepository cache) {
+        System.out.println("\n--- Métricas por Operación (latencias del caso de uso) ---");
+        for (OperationStats stats : metrics.getOperations()) {
+            System.out.println(stats);
+        }
+        if (cache != null) {
+            System.out.println("Caché: " + cache.stats());
+        }
+        System.out.println("----------------------------------------------------------");
     }
 
     private static void printMenu() {
@@ -84,6 +605,14 @@ public class Main {
         System.out.println("2. Actualizar Producto");
         System.out.println("3. Eliminar Producto");
         System.out.println("4. Listar Todos los Productos");
+        System.out.println("5. Exportar Instantánea del Catálogo");
+        System.out.println("6. Ajustar Stock (sumar/restar unidades)");
+        System.out.println("7. Buscar Productos (nombre, precio o stock bajo)");
+        System.out.println("8. Importar Productos desde CSV");
+        System.out.println("9. Ver Métricas de Rendimiento");
+        System.out.println("10. Ver Estadísticas del Inventario (valor, unidades, sin stock)");
+        System.out.println("11. Vender un Pedido de Varios Productos (requiere --mvcc)");
+        System.out.println("12. Retener Stock (retener, confirmar o liberar unidades con vencimiento)");
         System.out.println("0. Salir");
         System.out.print("Seleccione una opción: ");
     }
@@ -103,10 +632,7 @@ public class Main {
         }
 
         try {
-            controller.addProduct(id, name, price, stock);
-            System.out.println("Producto agregado correctamente.");
-        } catch (IllegalArgumentException e) {
-            System.err.println("No se pudo agregar el producto: " + e.getMessage());
+            print(controller.addProduct(id, name, price, stock));
         } catch (Exception e) {
             System.err.println("Error inesperado. Por favor, contacte al administrador.");
         }
@@ -128,13 +654,183 @@ public class Main {
         System.out.print("Nuevo Stock del producto: ");
         Integer stock = readNullableInt(scanner, "Stock");
 
-        controller.updateProduct(id, name, price, stock);
+        print(controller.updateProduct(id, name, price, stock));
+    }
+
+    private static void listProducts(Scanner scanner, ProductController controller) {
+        // Se muestra de a una página para no cargar el catálogo completo en memoria.
+        String cursor = printPage(controller, null);
+        while (cursor != null) {
+            System.out.print("Presione Enter para ver más productos o escriba 'q' para volver: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            cursor = printPage(controller, cursor);
+        }
+    }
+
+    /**
+     * Muestra una página de productos.
+     * @return El cursor de la página siguiente, o null si no hay más productos.
+     */
+    private static String printPage(ProductController controller, String afterId) {
+        ControllerResult<ProductPage> result = controller.listProductsPage(afterId, PAGE_SIZE);
+        if (!result.isSuccess()) {
+            print(result);
+            return null;
+        }
+        ProductPage page = result.getValue();
+        if (page.getProducts().isEmpty()) {
+            System.out.println("ℹ️ " + result.getMessage());
+            return null;
+        }
+        if (afterId == null) {
+            System.out.println("\n--- Lista de Productos ---");
+        }
+        for (Product product : page.getProducts()) {
+            System.out.println(product);
+        }
+        if (page.getNextCursor() == null) {
+            System.out.println("--------------------------");
+        }
+        return page.getNextCursor();
+    }
+
+    /**
+     * Presenta en consola el resultado de una operación del controlador.
+     */
+    private static void print(ControllerResult<?> result) {
+        if (result.isSuccess()) {
+            System.out.println("✅ " + result.getMessage());
+        } else {
+            System.err.println("❌ " + result.getMessage());
+        }
+    }
+
+    private static void searchProducts(Scanner scanner, ProductQueryController controller) {
+        System.out.println("Buscar por: 1. Nombre  2. Rango de precio  3. Stock bajo");
+        System.out.print("Seleccione el tipo de búsqueda: ");
+        int type = readInt(scanner, "Tipo de búsqueda");
+        switch (type) {
+            case 1:
+                System.out.print("Ingrese el comienzo del nombre: ");
+                printProducts(controller.searchByName(scanner.nextLine(), PAGE_SIZE));
+                break;
+            case 2:
+                System.out.print("Ingrese el precio mínimo: ");
+                double min = readDouble(scanner, "Precio mínimo");
+                System.out.print("Ingrese el precio máximo: ");
+                double max = readDouble(scanner, "Precio máximo");
+                printProducts(controller.findByPriceRange(min, max, PAGE_SIZE));
+                break;
+            case 3:
+                System.out.print("Ingrese el umbral de stock: ");
+                printProducts(controller.findLowStock(readInt(scanner, "Umbral"), PAGE_SIZE));
+                break;
+            default:
+                System.out.println("Tipo de búsqueda no válido.");
+        }
+    }
+
+    /**
+     * Muestra los resultados de una búsqueda.
+     */
+    private static void printProducts(ControllerResult<List<Product>> result) {
+        if (!result.isSuccess()) {
+            print(result);
+            return;
+        }
+        if (result.getValue().isEmpty()) {
+            System.out.println("ℹ️ " + result.getMessage());
+            return;
+        }
+        System.out.println("\n--- Resultados de la Búsqueda ---");
+        result.getValue().forEach(System.out::println);
+        System.out.println("---------------------------------");
+    }
+
+    private static void showStats(ControllerResult<InventoryStats> result) {
+        InventoryStats stats = result.getValue();
+        double[] bounds = stats.getPriceBucketBounds();
+        long[] counts = stats.getPriceBucketCounts();
+        System.out.println("\n--- Estadísticas del Inventario ---");
+        System.out.printf("Productos: %,d%n", stats.getProductCount());
+        System.out.printf("Unidades en existencia: %,d%n", stats.getUnitsOnHand());
+        System.out.printf("Valor total: %,.2f%n", stats.getTotalValue());
+        System.out.printf("Productos sin stock: %,d%n", stats.getOutOfStockCount());
+        System.out.println("Productos por rango de precio:");
+        for (int i = 0; i < counts.length; i++) {
+            String range = i == 0 ? String.format("menos de %.2f", bounds[0])
+                    : i == bounds.length ? String.format("%.2f o más", bounds[i - 1])
+                    : String.format("%.2f a %.2f", bounds[i - 1], bounds[i]);
+            System.out.printf("  %-20s %,d%n", range, counts[i]);
+        }
+        System.out.println("-----------------------------------");
+    }
+
+    private static void adjustStock(Scanner scanner, ProductController controller) {
+        System.out.print("Ingrese ID del producto: ");
+        String id = scanner.nextLine();
+        System.out.print("Ingrese unidades a sumar (use negativo para restar): ");
+        int delta = readInt(scanner, "Unidades");
+        print(controller.adjustStock(id, delta));
+    }
+
+    private static void manageHold(Scanner scanner, StockHoldController controller) {
+        System.out.println("Acción: 1. Retener  2. Confirmar  3. Liberar");
+        System.out.print("Seleccione la acción: ");
+        int action = readInt(scanner, "Acción");
+        switch (action) {
+            case 1:
+                System.out.print("Ingrese ID del producto: ");
+                String id = scanner.nextLine();
+                System.out.print("Ingrese unidades a retener: ");
+                int quantity = readInt(scanner, "Unidades");
+                System.out.print("Ingrese el plazo en minutos: ");
+                int minutes = readInt(scanner, "Plazo");
+                print(controller.placeHold(id, quantity, minutes * 60_000L));
+                break;
+            case 2:
+                System.out.print("Ingrese ID de la retención: ");
+                print(controller.confirmHold(readInt(scanner, "Retención")));
+                break;
+            case 3:
+                System.out.print("Ingrese ID de la retención: ");
+                print(controller.releaseHold(readInt(scanner, "Retención")));
+                break;
+            default:
+                System.out.println("Acción no válida.");
+        }
+    }
+
+    private static void sellProducts(Scanner scanner, SellProductsUseCase sellProducts) {
+        if (sellProducts == null) {
+            System.out.println("❌ Vender un pedido requiere transacciones: inicie con --mvcc (sin --cache).");
+            return;
+        }
+        System.out.print("Ingrese las líneas del pedido (id=cantidad, separadas por comas): ");
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        try {
+            for (String line : scanner.nextLine().split(",")) {
+                int equals = line.indexOf('=');
+                if (equals < 0) {
+                    throw new IllegalArgumentException("Línea sin cantidad: " + line.trim());
+                }
+                quantities.merge(line.substring(0, equals).trim(),
+                        Integer.parseInt(line.substring(equals + 1).trim()), Integer::sum);
+            }
+            Map<String, Integer> remaining = sellProducts.execute(quantities);
+            System.out.println("✅ Pedido vendido. Stock restante: " + remaining);
+        } catch (IllegalArgumentException | NoSuchElementException | TransactionConflictException
+                 | AccessDeniedException e) {
+            System.out.println("❌ " + e.getMessage());
+        }
     }
 
     private static void deleteProduct(Scanner scanner, ProductController controller) {
         System.out.print("Ingrese ID del producto a eliminar: ");
         String id = scanner.nextLine();
-        controller.deleteProduct(id);
+        print(controller.deleteProduct(id));
     }
 
     // Métodos auxiliares para lectura segura de entrada
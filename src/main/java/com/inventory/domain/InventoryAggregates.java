@@ -0,0 +1,9 @@
+package com.inventory.domain;
+
+/**
+ * Contrato para obtener los totales del inventario sin recorrer el catálogo.
+ * Se separa de ProductRepository (ISP) porque solo algunas implementaciones los mantienen al día.
+ */
+public interface InventoryAggregates {
+    InventoryStats currentStats(); // Totales vigentes; O(1) respecto de la cantidad de productos.
+}
@@ -0,0 +1,70 @@
+package com.inventory.domain;
+
+import java.util.Arrays;
+
+/**
+ * Totales del inventario en un instante: cantidad de productos, unidades en existencia, valor total
+ * (precio por stock), productos sin stock y cantidad de productos por rango de precio.
+ *
+ * El rango i abarca los precios en [límite i-1, límite i); el primero empieza en el precio mínimo y el
+ * último no tiene tope, así que hay un rango más que límites. El valor se acumula en centavos para que
+ * sumar y restar millones de veces no arrastre errores de redondeo.
+ */
+public final class InventoryStats {
+    private final long productCount;
+    private final long unitsOnHand;
+    private final long totalValueCents;
+    private final long outOfStockCount;
+    private final double[] priceBucketBounds;
+    private final long[] priceBucketCounts;
+
+    public InventoryStats(long productCount, long unitsOnHand, long totalValueCents, long outOfStockCount,
+                          double[] priceBucketBounds, long[] priceBucketCounts) {
+        if (priceBucketCounts.length != priceBucketBounds.length + 1) {
+            throw new IllegalArgumentException("Debe haber un rango de precio más que límites.");
+        }
+        this.productCount = productCount;
+        this.unitsOnHand = unitsOnHand;
+        this.totalValueCents = totalValueCents;
+        this.outOfStockCount = outOfStockCount;
+        this.priceBucketBounds = priceBucketBounds.clone();
+        this.priceBucketCounts = priceBucketCounts.clone();
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getUnitsOnHand() {
+        return unitsOnHand;
+    }
+
+    /**
+     * @return Suma de precio por stock de todos los productos.
+     */
+    public double getTotalValue() {
+        return totalValueCents / 100.0;
+    }
+
+    public long getTotalValueCents() {
+        return totalValueCents;
+    }
+
+    public long getOutOfStockCount() {
+        return outOfStockCount;
+    }
+
+    public double[] getPriceBucketBounds() {
+        return priceBucketBounds.clone();
+    }
+
+    public long[] getPriceBucketCounts() {
+        return priceBucketCounts.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Productos: %d, Unidades: %d, Valor total: %.2f, Sin stock: %d, Por precio: %s",
+                productCount, unitsOnHand, getTotalValue(), outOfStockCount, Arrays.toString(priceBucketCounts));
+    }
+}
@@ -0,0 +1,44 @@
+package com.inventory.domain;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator que recorre un ProductRepository pidiendo páginas con findPage a medida que se consumen.
+ * Solo mantiene en memoria la página actual.
+ */
+final class PagedProductSpliterator extends Spliterators.AbstractSpliterator<Product> {
+    static final int DEFAULT_PAGE_SIZE = 1_000;
+
+    private final ProductRepository repository;
+    private final int pageSize;
+    private Iterator<Product> page;
+    private String cursor;
+    private boolean lastPage;
+
+    PagedProductSpliterator(ProductRepository repository, int pageSize) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        this.repository = repository;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Product> action) {
+        while (page == null || !page.hasNext()) {
+            if (lastPage) {
+                return false;
+            }
+            List<Product> next = repository.findPage(cursor, pageSize);
+            lastPage = next.size() < pageSize;
+            if (!next.isEmpty()) {
+                cursor = next.get(next.size() - 1).getId();
+            }
+            page = next.iterator();
+        }
+        action.accept(page.next());
+        return true;
+    }
+}
@@ -7,33 +7,50 @@ import java.util.Objects;
  * Entidad de dominio que representa un producto.
  * Sigue los principios de POO encapsulando sus atributos y comportamiento.
  * Es el "corazón" del Domain-Driven Design para esta aplicación.
+ *
+ * Cada instancia es una instantánea inmutable de una versión del producto, por lo que puede
+ * compartirse entre hilos sin copiarla. Las modificaciones (withName, withPrice, ...) devuelven
+ * una nueva instantánea con la versión siguiente; el repositorio decide la versión definitiva al guardar.
  */
-public class Product {
+public final class Product {
     private final String id;
-    private String name;
-    private double price;
-    private int stock;
+    private final String name;
+    private final double price;
+    private final int stock;
+    private final long version;
 
-public Product(String id, String name, double price, int stock) {
-    if (id == null || !id.matches("^[a-zA-Z0-9_-]{3,20}$")) {
-        throw new IllegalArgumentException("El ID debe ser alfanumérico (3-20 caracteres).");
+    /**
+     * Crea la primera versión de un producto.
+     */
+    public Product(String id, String name, double price, int stock) {
+        this(id, name, price, stock, 1L);
     }
-    if (name == null || !name.matches("^[a-zA-Z0-9 áéíóúÁÉÍÓÚñÑ.,'-]{3,50}$")) {
-        throw new IllegalArgumentException("El nombre contiene caracteres inválidos o es demasiado corto.");
-    }
-    if (price < 0.01 || price > 10000) {
-        throw new IllegalArgumentException("El precio debe estar entre $0.01 y $10,000.");
-    }
-    if (stock < 0) {
-        throw new IllegalArgumentException("El stock no puede ser negativo.");
+
+public Product(String id, String name, double price, int stock, long version) {
+    ProductValidator.validateId(id);
+    ProductValidator.validateName(name);
+    ProductValidator.validatePrice(price);
+    ProductValidator.validateStock(stock);
+    if (version < 1) {
+        throw new IllegalArgumentException("La versión del producto debe ser positiva.");
     }
     // ...asignación de campos...
     this.id = id;
     this.name = name;
     this.price = price;
     this.stock = stock;
+    this.version = version;
 }
 
+    // Copia ya validada por quien la invoca; evita repetir la validación completa en cada modificación.
+    private Product(Product base, String name, double price, int stock, long version) {
+        this.id = base.id;
+        this.name = name;
+        this.price = price;
+        this.stock = stock;
+        this.version = version;
+    }
+
     public String getId() {
         return id;
     }
@@ -42,33 +59,66 @@ public Product(String id, String name, double price, int stock) {
         return name;
     }
 
-    public void setName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("El nombre del producto no puede ser nulo o vacío.");
-        }
-        this.name = name;
+    // Los métodos with* aplican las mismas reglas que el constructor (ProductValidator).
+
+    public Product withName(String name) {
+        ProductValidator.validateName(name);
+        return new Product(this, name, price, stock, version + 1);
     }
 
     public double getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
-        if (price <= 0) {
-            throw new IllegalArgumentException("El precio del producto debe ser mayor que cero.");
-        }
-        this.price = price;
+    public Product withPrice(double price) {
+        ProductValidator.validatePrice(price);
+        return new Product(this, name, price, stock, version + 1);
     }
 
     public int getStock() {
         return stock;
     }
 
-    public void setStock(int stock) {
-        if (stock < 0) {
-            throw new IllegalArgumentException("El stock del producto no puede ser negativo.");
+    public Product withStock(int stock) {
+        ProductValidator.validateStock(stock);
+        return new Product(this, name, price, stock, version + 1);
+    }
+
+    /**
+     * Devuelve la versión siguiente con un delta (positivo o negativo) aplicado al stock.
+     * @param delta Unidades a sumar o restar.
+     * @throws IllegalArgumentException Si el resultado sería negativo o excede el máximo representable.
+     */
+    public Product withStockAdjustedBy(int delta) {
+        long next = (long) stock + delta;
+        if (next < 0) {
+            throw new IllegalArgumentException("El stock no puede ser negativo.");
         }
-        this.stock = stock;
+        if (next > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El stock del producto excede el máximo permitido.");
+        }
+        return new Product(this, name, price, (int) next, version + 1);
+    }
+
+    /**
+     * Versión de esta instantánea. Crece en uno cada vez que el repositorio guarda un cambio
+     * y permite detectar escritores concurrentes (control optimista de concurrencia).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Devuelve esta misma instantánea con otra versión; si ya la tiene, retorna la instancia actual.
+     */
+    public Product withVersion(long version) {
+        if (version == this.version) {
+            return this;
+        }
+        if (version < 1) {
+            throw new IllegalArgumentException("La versión del producto debe ser positiva.");
+        }
+        return new Product(this, name, price, stock, version);
     }
 
     @Override
@@ -88,4 +138,4 @@ public Product(String id, String name, double price, int stock) {
     public int hashCode() {
         return Objects.hash(id);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,173 @@
+package com.inventory.domain;
+
+import java.util.Arrays;
+
+/**
+ * ID de producto empaquetado en dos long.
+ *
+ * Un ID válido (ProductValidator) tiene de 3 a 20 caracteres de un alfabeto de exactamente 64 símbolos
+ * ('-', dígitos, mayúsculas, '_' y minúsculas), así que cada carácter cabe en 6 bits: los 10 primeros
+ * ocupan los 60 bits bajos de high y los 10 siguientes los de low, el primero en los bits más altos.
+ * El largo (5 bits) se reparte en los 4 bits altos libres de cada long.
+ *
+ * Comparar e indexar por ProductId solo opera sobre los dos long: no recorre caracteres ni sigue
+ * punteros, y un ProductId guardado por quien llama permite buscar sin crear objetos. Los símbolos se
+ * numeran en el orden ASCII, así que compareTo ordena igual que String.compareTo sobre los IDs.
+ */
+public final class ProductId implements Comparable<ProductId> {
+    private static final int BITS_PER_CHAR = 6;
+    private static final int CHARS_PER_LONG = 10;
+    private static final long CHARS_MASK = (1L << (BITS_PER_CHAR * CHARS_PER_LONG)) - 1;
+    private static final int LENGTH_SHIFT = 60;
+    private static final String ALPHABET = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz";
+    // Código de 6 bits de cada carácter ASCII, o -1 si no pertenece al alfabeto.
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        Arrays.fill(CODES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            CODES[ALPHABET.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final long high;
+    private final long low;
+
+    private ProductId(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Empaqueta el ID.
+     * @throws IllegalArgumentException Si no es un ID válido (mismo mensaje que ProductValidator).
+     */
+    public static ProductId of(String id) {
+        ProductId packed = tryOf(id);
+        if (packed == null) {
+            throw new IllegalArgumentException("El ID debe ser alfanumérico (3-20 caracteres).");
+        }
+        return packed;
+    }
+
+    /**
+     * Empaqueta el ID, validándolo en la misma pasada.
+     * @return El ID empaquetado, o null si no es un ID válido (y por lo tanto no puede estar guardado).
+     */
+    public static ProductId tryOf(String id) {
+        if (id == null) {
+            return null;
+        }
+        int length = id.length();
+        if (length < ProductValidator.MIN_ID_LENGTH || length > ProductValidator.MAX_ID_LENGTH) {
+            return null;
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 2 * CHARS_PER_LONG; i++) {
+            long code = 0;
+            if (i < length) {
+                char c = id.charAt(i);
+                if (c >= CODES.length || CODES[c] < 0) {
+                    return null;
+                }
+                code = CODES[c];
+            }
+            if (i < CHARS_PER_LONG) {
+                high = high << BITS_PER_CHAR | code;
+            } else {
+                low = low << BITS_PER_CHAR | code;
+            }
+        }
+        high |= (long) (length & 0xF) << LENGTH_SHIFT;
+        low |= (long) (length >>> 4) << LENGTH_SHIFT;
+        return new ProductId(high, low);
+    }
+
+    /**
+     * Reconstruye un ID a partir de los dos long de getHigh() y getLow() (por ejemplo, leídos de un
+     * almacenamiento por columnas).
+     */
+    public static ProductId fromBits(long high, long low) {
+        int length = lengthOf(high, low);
+        if (length < ProductValidator.MIN_ID_LENGTH || length > ProductValidator.MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Los bits no corresponden a un ID de producto.");
+        }
+        return new ProductId(high, low);
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public int length() {
+        return lengthOf(high, low);
+    }
+
+    @Override
+    public int compareTo(ProductId other) {
+        return compare(high, low, other.high, other.low);
+    }
+
+    /**
+     * Compara dos IDs empaquetados sin crear objetos, con el mismo orden que compareTo.
+     */
+    public static int compare(long high, long low, long otherHigh, long otherLow) {
+        // Los caracteres de relleno valen 0, igual que '-'; a igualdad de caracteres, el más corto va primero.
+        int byChars = Long.compare(high & CHARS_MASK, otherHigh & CHARS_MASK);
+        if (byChars == 0) {
+            byChars = Long.compare(low & CHARS_MASK, otherLow & CHARS_MASK);
+        }
+        return byChars != 0 ? byChars : Integer.compare(lengthOf(high, low), lengthOf(otherHigh, otherLow));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductId)) {
+            return false;
+        }
+        ProductId other = (ProductId) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(high, low);
+    }
+
+    /**
+     * Hash de un ID empaquetado sin crear objetos; coincide con hashCode().
+     */
+    public static int hash(long high, long low) {
+        long h = high * 0x9E3779B97F4A7C15L + low;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    /**
+     * @return El ID como String (se decodifica en cada llamada).
+     */
+    @Override
+    public String toString() {
+        int length = length();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            long bits = i < CHARS_PER_LONG ? high : low;
+            int shift = BITS_PER_CHAR * (CHARS_PER_LONG - 1 - i % CHARS_PER_LONG);
+            chars[i] = ALPHABET.charAt((int) (bits >>> shift) & 0x3F);
+        }
+        return new String(chars);
+    }
+
+    private static int lengthOf(long high, long low) {
+        return (int) (high >>> LENGTH_SHIFT) | (int) (low >>> LENGTH_SHIFT) << 4;
+    }
+}
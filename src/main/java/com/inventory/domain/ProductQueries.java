@@ -0,0 +1,14 @@
+package com.inventory.domain;
+
+import java.util.List;
+
+/**
+ * Contrato para consultas de productos por atributos distintos del ID.
+ * Se separa de ProductRepository (ISP) porque solo algunas implementaciones mantienen
+ * los índices necesarios para responderlas sin recorrer todo el catálogo.
+ */
+public interface ProductQueries {
+    List<Product> findByNamePrefix(String prefix, int limit); // Nombres que empiezan con el prefijo (sin distinguir mayúsculas).
+    List<Product> findByPriceRange(double minPrice, double maxPrice, int limit); // Precio dentro del rango, inclusive, de menor a mayor.
+    List<Product> findByStockBelow(int threshold, int limit); // Stock estrictamente menor al umbral, de menor a mayor.
+}
@@ -0,0 +1,21 @@
+package com.inventory.domain;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Vista de solo lectura del catálogo en un instante: todas sus consultas ven exactamente las
+ * transacciones confirmadas hasta su apertura, aunque haya escrituras concurrentes.
+ * Debe cerrarse para que el repositorio pueda descartar las versiones que retiene por ella.
+ */
+public interface ProductReadView extends AutoCloseable {
+    long timestamp(); // Marca de tiempo de confirmación que ve la vista.
+    Optional<Product> findById(String id);
+    List<Product> findAll();
+    List<Product> findPage(String afterId, int limit); // Página ordenada por ID después del cursor (null = desde el inicio).
+    Stream<Product> stream(); // Recorrido perezoso ordenado por ID; válido mientras la vista siga abierta.
+
+    @Override
+    void close();
+}
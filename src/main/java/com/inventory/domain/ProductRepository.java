@@ -2,6 +2,9 @@ package com.inventory.domain;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Interfaz que define el contrato para la persistencia de productos.
@@ -10,10 +13,70 @@ import java.util.Optional;
  * También aplica POO al definir un contrato para la interacción con los datos.
  */
 public interface ProductRepository {
-    void save(Product product); // Guarda o actualiza un producto.
+    void save(Product product); // Guarda o actualiza un producto, asignándole la versión siguiente.
+    boolean compareAndSave(long expectedVersion, Product product); // Guarda solo si la versión actual coincide (0 = no debe existir).
     Optional<Product> findById(String id); // Busca un producto por su ID.
     List<Product> findAll(); // Obtiene todos los productos.
+    List<Product> findPage(String afterId, int limit); // Página ordenada por ID después del cursor (null = desde el inicio).
     void delete(String id); // Elimina un producto por su ID.
+    OptionalInt adjustStock(String id, int delta); // Ajusta el stock atómicamente; vacío si el producto no existe.
+    boolean tryReserve(String id, int quantity); // Descuenta stock solo si alcanza; false si no alcanza o no existe.
+
+    /**
+     * Busca un producto por su ID empaquetado. Las implementaciones indexadas por ProductId deben
+     * sobrescribirlo para buscar sin decodificar el ID ni crear objetos; esta versión lo convierte a String.
+     */
+    default Optional<Product> findById(ProductId id) {
+        return findById(id.toString());
+    }
+
+    // --- Operaciones por lotes ---
+    // Las implementaciones por defecto repiten la operación individual; un almacenamiento que pueda
+    // resolver el lote en una sola ida y vuelta (o un solo fsync) debe sobrescribirlas.
+    // Cada producto del lote se aplica de forma atómica, pero el lote en conjunto no es una transacción.
+
+    /**
+     * Guarda o actualiza todos los productos, como save() sobre cada uno y en el mismo orden.
+     */
+    default void saveAll(List<Product> products) {
+        for (Product product : products) {
+            save(product);
+        }
+    }
+
+    /**
+     * Inserta solo los productos cuyo ID no existe todavía (equivale a compareAndSave(0, producto)).
+     * @return Por cada posición del lote, true si el producto se insertó y false si el ID ya existía.
+     */
+    default boolean[] insertAllIfAbsent(List<Product> products) {
+        boolean[] inserted = new boolean[products.size()];
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = compareAndSave(0, products.get(i));
+        }
+        return inserted;
+    }
+
+    /**
+     * Elimina todos los IDs indicados.
+     * @return Por cada posición del lote, true si el producto existía y fue eliminado.
+     */
+    default boolean[] deleteAll(List<String> ids) {
+        boolean[] deleted = new boolean[ids.size()];
+        for (int i = 0; i < deleted.length; i++) {
+            String id = ids.get(i);
+            deleted[i] = findById(id).isPresent();
+            delete(id);
+        }
+        return deleted;
+    }
+
+    /**
+     * Recorre todos los productos ordenados por ID, cargándolos de a una página a la vez.
+     * A diferencia de findAll(), la memoria usada depende del tamaño de página y no del catálogo.
+     */
+    default Stream<Product> stream() {
+        return StreamSupport.stream(new PagedProductSpliterator(this, PagedProductSpliterator.DEFAULT_PAGE_SIZE), false);
+    }
 }
 
 
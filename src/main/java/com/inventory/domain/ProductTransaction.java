@@ -0,0 +1,31 @@
+package com.inventory.domain;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Unidad de trabajo sobre el repositorio: acumula lecturas y escrituras de varios productos y las
+ * confirma juntas, todas o ninguna. Las lecturas ven una instantánea del momento en que empezó la
+ * transacción más las escrituras propias todavía sin confirmar.
+ * Solo es válida dentro del bloque que la recibe (ver TransactionalProductRepository.inTransaction).
+ */
+public interface ProductTransaction {
+    Optional<Product> findById(String id); // Lectura coherente con el resto de la transacción.
+    void save(Product product); // Guarda o actualiza al confirmar, asignándole la versión siguiente.
+    void delete(String id); // Elimina al confirmar.
+
+    /**
+     * Ajusta el stock dentro de la transacción.
+     * @return El stock resultante, o vacío si el producto no existe.
+     * @throws IllegalArgumentException Si el stock quedaría negativo.
+     */
+    default OptionalInt adjustStock(String id, int delta) {
+        Optional<Product> current = findById(id);
+        if (!current.isPresent()) {
+            return OptionalInt.empty();
+        }
+        Product updated = current.get().withStockAdjustedBy(delta);
+        save(updated);
+        return OptionalInt.of(updated.getStock());
+    }
+}
@@ -0,0 +1,93 @@
+package com.inventory.domain;
+
+/**
+ * Reglas de validación de los atributos de Product, compartidas por el constructor y los métodos with*.
+ *
+ * Equivale a las expresiones regulares originales
+ *   ID:     ^[a-zA-Z0-9_-]{3,20}$
+ *   Nombre: ^[a-zA-Z0-9 áéíóúÁÉÍÓÚñÑ.,'-]{3,50}$
+ * pero las comprueba carácter por carácter contra tablas precalculadas, sin compilar un Pattern
+ * ni crear un Matcher en cada llamada. En cargas masivas esto evita que la validación domine la CPU y el GC.
+ */
+public final class ProductValidator {
+    public static final int MIN_ID_LENGTH = 3;
+    public static final int MAX_ID_LENGTH = 20;
+    public static final int MIN_NAME_LENGTH = 3;
+    public static final int MAX_NAME_LENGTH = 50;
+    public static final double MIN_PRICE = 0.01;
+    public static final double MAX_PRICE = 10000;
+
+    // Tablas indexadas por carácter; cubren hasta 'ú' (U+00FA), el mayor carácter permitido.
+    private static final boolean[] ID_CHARS = new boolean[256];
+    private static final boolean[] NAME_CHARS = new boolean[256];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ID_CHARS[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            ID_CHARS[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ID_CHARS[c] = true;
+        }
+        System.arraycopy(ID_CHARS, 0, NAME_CHARS, 0, ID_CHARS.length);
+        ID_CHARS['_'] = true;
+        ID_CHARS['-'] = true;
+        for (char c : " áéíóúÁÉÍÓÚñÑ.,'-".toCharArray()) {
+            NAME_CHARS[c] = true;
+        }
+    }
+
+    private ProductValidator() {
+    }
+
+    public static boolean isValidId(String id) {
+        return matches(id, ID_CHARS, MIN_ID_LENGTH, MAX_ID_LENGTH);
+    }
+
+    public static boolean isValidName(String name) {
+        return matches(name, NAME_CHARS, MIN_NAME_LENGTH, MAX_NAME_LENGTH);
+    }
+
+    public static void validateId(String id) {
+        if (!isValidId(id)) {
+            throw new IllegalArgumentException("El ID debe ser alfanumérico (3-20 caracteres).");
+        }
+    }
+
+    public static void validateName(String name) {
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException("El nombre contiene caracteres inválidos o es demasiado corto.");
+        }
+    }
+
+    public static void validatePrice(double price) {
+        if (price < MIN_PRICE || price > MAX_PRICE) {
+            throw new IllegalArgumentException("El precio debe estar entre $0.01 y $10,000.");
+        }
+    }
+
+    public static void validateStock(int stock) {
+        if (stock < 0) {
+            throw new IllegalArgumentException("El stock no puede ser negativo.");
+        }
+    }
+
+    private static boolean matches(String value, boolean[] allowed, int minLength, int maxLength) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        if (length < minLength || length > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= allowed.length || !allowed[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventory.domain;
+
+/**
+ * Retención temporal de unidades de un producto (por ejemplo, durante el pago de un pedido).
+ * Mientras está activa, sus unidades ya están descontadas del stock disponible del producto; si no
+ * se confirma antes de vencer, se devuelven solas.
+ */
+public final class StockHold {
+    private final long id;
+    private final String productId;
+    private final int quantity;
+    private final long expiresAtMillis;
+
+    public StockHold(long id, String productId, int quantity, long expiresAtMillis) {
+        this.id = id;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Retención: " + id + ", Producto: " + productId + ", Cantidad: " + quantity + ", Vence: " + expiresAtMillis;
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory.domain;
+
+import java.util.Optional;
+
+/**
+ * Contrato para retener unidades de stock con vencimiento.
+ * Se separa de ProductRepository (ISP) porque las retenciones viven fuera del almacenamiento:
+ * quien las implementa descuenta y devuelve las unidades a través del repositorio.
+ */
+public interface StockHolds {
+    Optional<StockHold> place(String productId, int quantity, long ttlMillis); // Vacío si el stock no alcanza.
+    boolean confirm(long holdId); // false si la retención no existe o ya terminó.
+    boolean release(long holdId); // false si la retención no existe o ya terminó.
+    Optional<StockHold> find(long holdId); // Solo las retenciones activas.
+}
@@ -0,0 +1,11 @@
+package com.inventory.domain;
+
+/**
+ * Se lanza cuando una transacción no logra confirmarse porque escrituras concurrentes modificaron
+ * una y otra vez los productos que leía o escribía.
+ */
+public class TransactionConflictException extends IllegalStateException {
+    public TransactionConflictException(String message) {
+        super(message);
+    }
+}
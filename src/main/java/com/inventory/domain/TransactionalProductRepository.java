@@ -0,0 +1,20 @@
+package com.inventory.domain;
+
+import java.util.function.Function;
+
+/**
+ * Contrato para repositorios con transacciones de varias operaciones y lecturas en un instante.
+ * Se separa de ProductRepository (ISP) porque solo algunas implementaciones pueden ofrecerlas.
+ */
+public interface TransactionalProductRepository extends ProductRepository {
+    /**
+     * Ejecuta el bloque dentro de una transacción y confirma sus escrituras de forma atómica.
+     * Si otra escritura confirmada choca con lo leído o escrito, el bloque se vuelve a ejecutar
+     * desde cero con una instantánea nueva, así que no debe tener otros efectos que los de la transacción.
+     * Si el bloque lanza una excepción, no se aplica ninguna escritura y la excepción se propaga.
+     * @throws TransactionConflictException Si tras varios reintentos sigue habiendo conflictos.
+     */
+    <T> T inTransaction(Function<ProductTransaction, T> work);
+
+    ProductReadView openReadView(); // Abre una vista en el instante actual; no bloquea a los escritores.
+}
@@ -0,0 +1,28 @@
+package com.inventory.usecases;
+
+/**
+ * Se lanza cuando el rol de quien invoca un caso de uso no tiene el permiso que este requiere.
+ */
+public class AccessDeniedException extends RuntimeException {
+    private final Role role;
+    private final Permission permission;
+
+    /**
+     * @param role Rol del llamador, o null si la llamada no tenía ninguno.
+     */
+    public AccessDeniedException(Role role, Permission permission) {
+        super(role == null
+                ? "Se necesita un rol con permiso para " + permission.getDescription() + "."
+                : "El rol " + role + " no tiene permiso para " + permission.getDescription() + ".");
+        this.role = role;
+        this.permission = permission;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public Permission getPermission() {
+        return permission;
+    }
+}
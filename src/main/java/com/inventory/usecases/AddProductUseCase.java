@@ -10,11 +10,20 @@ import com.inventory.domain.ProductRepository;
  */
 public class AddProductUseCase {
     private final ProductRepository productRepository;
+    private final Authorizer authorizer;
 
     public AddProductUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso ADD_PRODUCT antes de cada ejecución.
+     */
+    public AddProductUseCase(ProductRepository productRepository, Authorizer authorizer) {
         // Inyección de dependencias: el repositorio se pasa como argumento.
         // Esto refuerza DIP y facilita la prueba.
         this.productRepository = productRepository;
+        this.authorizer = authorizer;
     }
 
     /**
@@ -24,19 +33,26 @@ public class AddProductUseCase {
      * @param name El nombre del producto.
      * @param price El precio del producto.
      * @param stock La cantidad en stock del producto.
-     * @throws IllegalArgumentException Si el producto con el ID ya existe o los datos son inválidos.
+     * @return El producto creado (versión 1).
+     * @throws ProductAlreadyExistsException Si el producto con el ID ya existe.
+     * @throws IllegalArgumentException Si los datos son inválidos.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso ADD_PRODUCT.
      */
-    public void execute(String id, String name, double price, int stock) {
-        if (productRepository.findById(id).isPresent()) {
-            throw new IllegalArgumentException("Ya existe un producto con ese ID. Por favor, elija otro.");
-        }
+    public Product execute(String id, String name, double price, int stock) {
+        authorizer.check(Permission.ADD_PRODUCT);
+        Product newProduct;
         try {
-            Product newProduct = new Product(id, name, price, stock);
-            productRepository.save(newProduct);
+            newProduct = new Product(id, name, price, stock);
         } catch (IllegalArgumentException e) {
             // Mensaje seguro, no revela detalles internos
             throw new IllegalArgumentException("Datos inválidos: " + e.getMessage());
         }
+        // Comprobar la existencia e insertar es una sola operación atómica (versión esperada 0):
+        // dos altas simultáneas del mismo ID no pueden pisarse.
+        if (!productRepository.compareAndSave(0, newProduct)) {
+            throw new ProductAlreadyExistsException("Ya existe un producto con ese ID. Por favor, elija otro.");
+        }
+        return newProduct;
     }
 
 }
\ No newline at end of file
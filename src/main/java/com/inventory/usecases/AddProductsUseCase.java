@@ -0,0 +1,48 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caso de uso para agregar varios productos nuevos en una sola operación del repositorio.
+ * Los IDs que ya existen (o que se repiten dentro del lote) no se sobrescriben y se informan como fallidos.
+ * Adhiere al SRP.
+ */
+public class AddProductsUseCase {
+    private final ProductRepository productRepository;
+    private final Authorizer authorizer;
+
+    public AddProductsUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso ADD_PRODUCT antes de cada ejecución.
+     */
+    public AddProductsUseCase(ProductRepository productRepository, Authorizer authorizer) {
+        this.productRepository = productRepository;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Ejecuta el alta por lotes.
+     * @param products Productos ya validados (el constructor de Product aplica las reglas de negocio).
+     * @return Un resultado por producto, en el mismo orden del lote.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso ADD_PRODUCT.
+     */
+    public List<BatchItemResult> execute(List<Product> products) {
+        authorizer.check(Permission.ADD_PRODUCT);
+        boolean[] inserted = productRepository.insertAllIfAbsent(products);
+        List<BatchItemResult> results = new ArrayList<>(products.size());
+        for (int i = 0; i < inserted.length; i++) {
+            String id = products.get(i).getId();
+            results.add(inserted[i]
+                    ? BatchItemResult.success(id)
+                    : BatchItemResult.failure(id, "Ya existe un producto con ese ID."));
+        }
+        return results;
+    }
+}
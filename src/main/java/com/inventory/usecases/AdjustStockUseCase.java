@@ -0,0 +1,48 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.ProductRepository;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+/**
+ * Caso de uso para sumar o restar unidades al stock de un producto.
+ * A diferencia de UpdateProductUseCase, que fija un valor absoluto leído previamente,
+ * aquí el repositorio aplica el delta de forma atómica, por lo que ventas concurrentes
+ * sobre el mismo producto no pierden actualizaciones.
+ * Adhiere al SRP.
+ */
+public class AdjustStockUseCase {
+    private final ProductRepository productRepository;
+    private final Authorizer authorizer;
+
+    public AdjustStockUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso ADJUST_STOCK antes de cada ajuste.
+     */
+    public AdjustStockUseCase(ProductRepository productRepository, Authorizer authorizer) {
+        this.productRepository = productRepository;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Ejecuta el ajuste atómico del stock.
+     * @param id El ID del producto.
+     * @param delta Unidades a sumar (positivo) o restar (negativo).
+     * @return El nuevo stock del producto.
+     * @throws NoSuchElementException Si el producto no se encuentra.
+     * @throws IllegalArgumentException Si el ajuste dejaría el stock negativo.
+     * @throws AccessDeniedException Si el rol del llamador no puede ajustar el stock.
+     */
+    public int execute(String id, int delta) {
+        authorizer.check(Permission.ADJUST_STOCK);
+        OptionalInt newStock = productRepository.adjustStock(id, delta);
+        if (newStock.isEmpty()) {
+            throw new NoSuchElementException("Producto con ID " + id + " no encontrado para ajustar stock.");
+        }
+        return newStock.getAsInt();
+    }
+}
@@ -0,0 +1,131 @@
+package com.inventory.usecases;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Política de autorización compilada: por cada rol, una máscara de 64 bits con un bit por permiso.
+ * La política se compila una sola vez al cargarla, así que consultarla es leer un long del arreglo y
+ * probar un bit, sin mapas, sin recorrer listas y sin crear objetos. Es inmutable; para cambiarla se
+ * carga una nueva y se publica con Authorizer.reload.
+ *
+ * Formato del archivo (properties en UTF-8), una línea por rol con sus permisos separados por comas
+ * o "*" para todos; los roles que no aparecen no tienen ningún permiso:
+ *
+ *   ADMINISTRADOR=*
+ *   OPERADOR=UPDATE_PRODUCT,LIST_PRODUCTS,ADJUST_STOCK
+ *   CONSULTA=LIST_PRODUCTS
+ */
+public final class AuthorizationPolicy {
+    static {
+        if (Permission.values().length > Long.SIZE) {
+            throw new ExceptionInInitializerError("Hay más permisos que bits en la máscara de cada rol.");
+        }
+    }
+
+    private static final long ALL_PERMISSIONS = Permission.values().length == Long.SIZE
+            ? -1L : (1L << Permission.values().length) - 1;
+
+    private final long[] grants; // Indexado por Role.ordinal(); bit Permission.ordinal().
+
+    private AuthorizationPolicy(long[] grants) {
+        this.grants = grants;
+    }
+
+    /**
+     * @return true si el rol tiene el permiso.
+     */
+    public boolean allows(Role role, Permission permission) {
+        return (grants[role.ordinal()] & (1L << permission.ordinal())) != 0;
+    }
+
+    /**
+     * @return Los permisos del rol (para mostrarlos; no se usa al autorizar).
+     */
+    public Set<Permission> permissionsOf(Role role) {
+        Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+        for (Permission permission : Permission.values()) {
+            if (allows(role, permission)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    /**
+     * Política por defecto: el administrador puede todo, el operador actualiza, lista y ajusta el stock,
+     * y el rol de consulta solo lista (el alta de productos y la importación quedan reservadas al
+     * administrador).
+     */
+    public static AuthorizationPolicy defaults() {
+        Properties properties = new Properties();
+        properties.setProperty(Role.ADMINISTRADOR.name(), "*");
+        properties.setProperty(Role.OPERADOR.name(), "UPDATE_PRODUCT,LIST_PRODUCTS,ADJUST_STOCK");
+        properties.setProperty(Role.CONSULTA.name(), "LIST_PRODUCTS");
+        return compile(properties);
+    }
+
+    /**
+     * Política que le da todos los permisos a todos los roles (equivale a no autorizar).
+     */
+    public static AuthorizationPolicy permitAll() {
+        long[] grants = new long[Role.values().length];
+        Arrays.fill(grants, ALL_PERMISSIONS);
+        return new AuthorizationPolicy(grants);
+    }
+
+    /**
+     * Lee y compila una política desde un archivo.
+     * @throws UncheckedIOException Si el archivo no se puede leer.
+     * @throws IllegalArgumentException Si nombra un rol o un permiso que no existe.
+     */
+    public static AuthorizationPolicy load(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return compile(properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la política de autorización " + file, e);
+        }
+    }
+
+    /**
+     * Compila los pares rol → permisos en las máscaras de bits.
+     * @throws IllegalArgumentException Si nombra un rol o un permiso que no existe.
+     */
+    public static AuthorizationPolicy compile(Properties properties) {
+        long[] grants = new long[Role.values().length];
+        for (String roleName : properties.stringPropertyNames()) {
+            Role role = parse(Role.class, roleName, "Rol");
+            for (String entry : properties.getProperty(roleName).split(",")) {
+                String permissionName = entry.trim();
+                if (permissionName.isEmpty()) {
+                    continue;
+                }
+                if (permissionName.equals("*")) {
+                    grants[role.ordinal()] = ALL_PERMISSIONS;
+                } else {
+                    grants[role.ordinal()] |= 1L << parse(Permission.class, permissionName, "Permiso").ordinal();
+                }
+            }
+        }
+        return new AuthorizationPolicy(grants);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name, String kind) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(kind + " desconocido en la política de autorización: " + name);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.inventory.usecases;
+
+import java.util.Objects;
+
+/**
+ * Verifica, al comienzo de cada caso de uso protegido, que el rol del llamador (CallerContext, o el rol
+ * por defecto si no hay uno) tenga el permiso requerido según la AuthorizationPolicy vigente.
+ *
+ * La política se lee de un campo volátil y se reemplaza entera con reload: las llamadas en curso
+ * terminan con la política que leyeron y las siguientes ven la nueva, sin candados ni pausas. Verificar
+ * un permiso es leer ese campo y probar un bit; solo una denegación crea objetos (la excepción).
+ */
+public final class Authorizer {
+    private static final Authorizer PERMIT_ALL = new Authorizer();
+
+    private final boolean enabled;
+    private final Role defaultRole;
+    private volatile AuthorizationPolicy policy;
+
+    private Authorizer() {
+        this.enabled = false;
+        this.defaultRole = Role.ADMINISTRADOR;
+        this.policy = AuthorizationPolicy.permitAll();
+    }
+
+    /**
+     * @param policy Política inicial.
+     * @param defaultRole Rol de las llamadas hechas fuera de CallerContext.callAs (por ejemplo, el
+     *                    usuario de la consola); null para denegarlas.
+     */
+    public Authorizer(AuthorizationPolicy policy, Role defaultRole) {
+        this.enabled = true;
+        this.defaultRole = defaultRole;
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    /**
+     * Autorizador que permite todo sin consultar nada; lo usan los casos de uso creados sin uno.
+     */
+    public static Authorizer permitAll() {
+        return PERMIT_ALL;
+    }
+
+    /**
+     * Publica una política nueva. Las verificaciones posteriores la usan; las que ya leyeron la
+     * anterior terminan con ella.
+     */
+    public void reload(AuthorizationPolicy policy) {
+        if (!enabled) {
+            throw new IllegalStateException("El autorizador que permite todo no admite políticas.");
+        }
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    public AuthorizationPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @throws AccessDeniedException Si el llamador no tiene el permiso.
+     */
+    public void check(Permission permission) {
+        if (!enabled) {
+            return;
+        }
+        Role caller = CallerContext.current();
+        if (caller == null) {
+            caller = defaultRole;
+        }
+        if (caller == null || !policy.allows(caller, permission)) {
+            throw new AccessDeniedException(caller, permission);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.inventory.usecases;
+
+/**
+ * Resultado de un elemento dentro de una operación por lotes: el lote no se detiene
+ * por un elemento fallido, y cada uno informa si se aplicó o por qué no.
+ */
+public final class BatchItemResult {
+    private final String id;
+    private final boolean success;
+    private final String message;
+
+    private BatchItemResult(String id, boolean success, String message) {
+        this.id = id;
+        this.success = success;
+        this.message = message;
+    }
+
+    public static BatchItemResult success(String id) {
+        return new BatchItemResult(id, true, null);
+    }
+
+    public static BatchItemResult failure(String id, String message) {
+        return new BatchItemResult(id, false, message);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Motivo del fallo; null si el elemento se aplicó.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return success ? id + ": OK" : id + ": " + message;
+    }
+}
@@ -0,0 +1,39 @@
+package com.inventory.usecases;
+
+import java.util.function.Supplier;
+
+/**
+ * Rol de quien invoca los casos de uso en el hilo actual. Lo establece el adaptador que autenticó al
+ * usuario (por ejemplo, por cada solicitud) alrededor de la llamada; los casos de uso lo leen a través
+ * del Authorizer sin que cada firma tenga que recibirlo.
+ */
+public final class CallerContext {
+    private static final ThreadLocal<Role> CURRENT = new ThreadLocal<>();
+
+    private CallerContext() {
+    }
+
+    /**
+     * Ejecuta la acción con el rol indicado como llamador y después restaura el anterior.
+     */
+    public static <T> T callAs(Role role, Supplier<T> action) {
+        Role previous = CURRENT.get();
+        CURRENT.set(role);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return El rol del llamador en este hilo, o null si ningún adaptador lo estableció.
+     */
+    public static Role current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.StockHolds;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Caso de uso para dar por vendidas las unidades de una retención activa.
+ * Adhiere al SRP.
+ */
+public class ConfirmStockHoldUseCase {
+    private final StockHolds stockHolds;
+    private final Authorizer authorizer;
+
+    public ConfirmStockHoldUseCase(StockHolds stockHolds) {
+        this(stockHolds, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso ADJUST_STOCK antes de cada confirmación.
+     */
+    public ConfirmStockHoldUseCase(StockHolds stockHolds, Authorizer authorizer) {
+        this.stockHolds = stockHolds;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Ejecuta la confirmación.
+     * @param holdId El ID de la retención.
+     * @throws NoSuchElementException Si la retención no existe o ya terminó (confirmada, liberada o vencida).
+     * @throws AccessDeniedException Si el rol del llamador no puede ajustar el stock.
+     */
+    public void execute(long holdId) {
+        authorizer.check(Permission.ADJUST_STOCK);
+        if (!stockHolds.confirm(holdId)) {
+            throw new NoSuchElementException("Retención " + holdId + " no encontrada o ya terminada para confirmar.");
+        }
+    }
+}
@@ -2,29 +2,41 @@ package com.inventory.usecases;
 
 import com.inventory.domain.ProductRepository;
 
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 
 /**
  * Caso de uso para eliminar un producto existente.
+ * El resultado sale de la propia baja atómica del repositorio (deleteAll), no de una consulta previa:
+ * si dos llamadas eliminan el mismo producto a la vez, solo una informa éxito.
  * Adhiere al SRP.
  */
 public class DeleteProductUseCase {
     private final ProductRepository productRepository;
+    private final Authorizer authorizer;
 
     public DeleteProductUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso DELETE_PRODUCT antes de cada ejecución.
+     */
+    public DeleteProductUseCase(ProductRepository productRepository, Authorizer authorizer) {
         this.productRepository = productRepository;
+        this.authorizer = authorizer;
     }
 
     /**
      * Ejecuta la lógica para eliminar un producto por su ID.
      * @param id El ID del producto a eliminar.
      * @throws NoSuchElementException Si el producto no se encuentra.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso DELETE_PRODUCT.
      */
     public void execute(String id) {
-        if (productRepository.findById(id).isEmpty()) {
+        authorizer.check(Permission.DELETE_PRODUCT);
+        if (!productRepository.deleteAll(List.of(id))[0]) {
             throw new NoSuchElementException("Producto con ID " + id + " no encontrado para eliminar.");
         }
-        productRepository.delete(id);
     }
 }
\ No newline at end of file
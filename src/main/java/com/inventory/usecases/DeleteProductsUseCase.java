@@ -0,0 +1,46 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caso de uso para eliminar varios productos en una sola operación del repositorio.
+ * Adhiere al SRP.
+ */
+public class DeleteProductsUseCase {
+    private final ProductRepository productRepository;
+    private final Authorizer authorizer;
+
+    public DeleteProductsUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso DELETE_PRODUCT antes de cada ejecución.
+     */
+    public DeleteProductsUseCase(ProductRepository productRepository, Authorizer authorizer) {
+        this.productRepository = productRepository;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Ejecuta la eliminación por lotes.
+     * @param ids IDs de los productos a eliminar.
+     * @return Un resultado por ID, en el mismo orden del lote; los IDs inexistentes se informan como fallidos.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso DELETE_PRODUCT.
+     */
+    public List<BatchItemResult> execute(List<String> ids) {
+        authorizer.check(Permission.DELETE_PRODUCT);
+        boolean[] deleted = productRepository.deleteAll(ids);
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < deleted.length; i++) {
+            String id = ids.get(i);
+            results.add(deleted[i]
+                    ? BatchItemResult.success(id)
+                    : BatchItemResult.failure(id, "Producto con ID " + id + " no encontrado para eliminar."));
+        }
+        return results;
+    }
+}
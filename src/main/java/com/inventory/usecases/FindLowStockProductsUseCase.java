@@ -0,0 +1,32 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductQueries;
+
+import java.util.List;
+
+/**
+ * Caso de uso para listar los productos con stock bajo (por debajo de un umbral).
+ * Adhiere al SRP.
+ */
+public class FindLowStockProductsUseCase {
+    private final ProductQueries productQueries;
+
+    public FindLowStockProductsUseCase(ProductQueries productQueries) {
+        this.productQueries = productQueries;
+    }
+
+    /**
+     * Ejecuta la búsqueda de productos con stock menor al umbral.
+     * @param threshold Umbral de stock, exclusivo.
+     * @param limit Cantidad máxima de resultados.
+     * @return Los productos encontrados, ordenados de menor a mayor stock.
+     * @throws IllegalArgumentException Si el umbral es negativo o el límite no es positivo.
+     */
+    public List<Product> execute(int threshold, int limit) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("El umbral de stock no puede ser negativo.");
+        }
+        return productQueries.findByStockBelow(threshold, limit);
+    }
+}
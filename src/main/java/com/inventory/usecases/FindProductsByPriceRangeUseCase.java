@@ -0,0 +1,30 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductQueries;
+
+import java.util.List;
+
+/**
+ * Caso de uso para listar los productos dentro de una banda de precios.
+ * Adhiere al SRP.
+ */
+public class FindProductsByPriceRangeUseCase {
+    private final ProductQueries productQueries;
+
+    public FindProductsByPriceRangeUseCase(ProductQueries productQueries) {
+        this.productQueries = productQueries;
+    }
+
+    /**
+     * Ejecuta la búsqueda por rango de precio.
+     * @param minPrice Precio mínimo, inclusive.
+     * @param maxPrice Precio máximo, inclusive.
+     * @param limit Cantidad máxima de resultados.
+     * @return Los productos encontrados, ordenados de menor a mayor precio.
+     * @throws IllegalArgumentException Si el rango es inválido o el límite no es positivo.
+     */
+    public List<Product> execute(double minPrice, double maxPrice, int limit) {
+        return productQueries.findByPriceRange(minPrice, maxPrice, limit);
+    }
+}
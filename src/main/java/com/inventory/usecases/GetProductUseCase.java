@@ -0,0 +1,40 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Caso de uso para consultar un producto por su ID.
+ * Adhiere al SRP.
+ */
+public class GetProductUseCase {
+    private final ProductRepository productRepository;
+    private final Authorizer authorizer;
+
+    public GetProductUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso LIST_PRODUCTS antes de cada ejecución.
+     */
+    public GetProductUseCase(ProductRepository productRepository, Authorizer authorizer) {
+        this.productRepository = productRepository;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Ejecuta la consulta.
+     * @param id El ID del producto.
+     * @return La versión vigente del producto.
+     * @throws NoSuchElementException Si el producto no se encuentra.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso LIST_PRODUCTS.
+     */
+    public Product execute(String id) {
+        authorizer.check(Permission.LIST_PRODUCTS);
+        return productRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Producto con ID " + id + " no encontrado."));
+    }
+}
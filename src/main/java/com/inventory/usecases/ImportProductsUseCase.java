@@ -0,0 +1,47 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+
+import java.util.List;
+
+/**
+ * Caso de uso para guardar los lotes de una importación masiva (por ejemplo, desde un CSV).
+ * A diferencia de AddProductsUseCase, sobrescribe los productos que ya existen, como una carga del
+ * catálogo. Requiere el permiso IMPORT_PRODUCTS.
+ * Adhiere al SRP.
+ */
+public class ImportProductsUseCase {
+    private final ProductRepository productRepository;
+    private final Authorizer authorizer;
+
+    public ImportProductsUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso IMPORT_PRODUCTS antes de cada lote.
+     */
+    public ImportProductsUseCase(ProductRepository productRepository, Authorizer authorizer) {
+        this.productRepository = productRepository;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Verifica el permiso sin guardar nada, para rechazar una importación antes de leer el archivo.
+     * @throws AccessDeniedException Si el rol del llamador no puede importar productos.
+     */
+    public void checkAllowed() {
+        authorizer.check(Permission.IMPORT_PRODUCTS);
+    }
+
+    /**
+     * Guarda un lote de productos.
+     * @param products Productos ya validados (el constructor de Product aplica las reglas de negocio).
+     * @throws AccessDeniedException Si el rol del llamador no puede importar productos.
+     */
+    public void execute(List<Product> products) {
+        authorizer.check(Permission.IMPORT_PRODUCTS);
+        productRepository.saveAll(products);
+    }
+}
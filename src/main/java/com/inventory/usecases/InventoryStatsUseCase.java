@@ -0,0 +1,23 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.InventoryAggregates;
+import com.inventory.domain.InventoryStats;
+
+/**
+ * Caso de uso para consultar los totales del inventario (valor, unidades, productos sin stock y
+ * cantidad de productos por rango de precio). Adhiere al SRP.
+ */
+public class InventoryStatsUseCase {
+    private final InventoryAggregates inventoryAggregates;
+
+    public InventoryStatsUseCase(InventoryAggregates inventoryAggregates) {
+        this.inventoryAggregates = inventoryAggregates;
+    }
+
+    /**
+     * @return Los totales vigentes, sin recorrer el catálogo.
+     */
+    public InventoryStats execute() {
+        return inventoryAggregates.currentStats();
+    }
+}
@@ -4,6 +4,7 @@ import com.inventory.domain.Product;
 import com.inventory.domain.ProductRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Caso de uso para listar todos los productos disponibles.
@@ -11,16 +12,51 @@ import java.util.List;
  */
 public class ListAllProductsUseCase {
     private final ProductRepository productRepository;
+    private final Authorizer authorizer;
 
     public ListAllProductsUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso LIST_PRODUCTS antes de cada ejecución.
+     */
+    public ListAllProductsUseCase(ProductRepository productRepository, Authorizer authorizer) {
         this.productRepository = productRepository;
+        this.authorizer = authorizer;
     }
 
     /**
      * Ejecuta la lógica para obtener todos los productos.
+     * Carga el catálogo completo en memoria; para catálogos grandes prefiera la versión paginada o stream().
      * @return Una lista de todos los productos.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso LIST_PRODUCTS.
      */
     public List<Product> execute() {
+        authorizer.check(Permission.LIST_PRODUCTS);
         return productRepository.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene una página de productos ordenados por ID.
+     * @param afterId ID del último producto de la página anterior (null para la primera página).
+     * @param limit Cantidad máxima de productos de la página.
+     * @return Los productos de la página; si trae menos de 'limit' elementos, no hay más páginas.
+     * @throws IllegalArgumentException Si el tamaño de página no es positivo.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso LIST_PRODUCTS.
+     */
+    public List<Product> execute(String afterId, int limit) {
+        authorizer.check(Permission.LIST_PRODUCTS);
+        return productRepository.findPage(afterId, limit);
+    }
+
+    /**
+     * Recorre todos los productos ordenados por ID de forma perezosa, sin materializar el catálogo.
+     * @return Un stream que carga los productos a medida que se consumen.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso LIST_PRODUCTS.
+     */
+    public Stream<Product> stream() {
+        authorizer.check(Permission.LIST_PRODUCTS);
+        return productRepository.stream();
+    }
+}
@@ -0,0 +1,24 @@
+package com.inventory.usecases;
+
+/**
+ * Operaciones protegidas por la autorización. Cada permiso ocupa un bit (su ordinal) en las máscaras
+ * que compila AuthorizationPolicy, así que no puede haber más de 64.
+ */
+public enum Permission {
+    ADD_PRODUCT("agregar productos"),
+    UPDATE_PRODUCT("actualizar productos"),
+    DELETE_PRODUCT("eliminar productos"),
+    LIST_PRODUCTS("listar productos"),
+    ADJUST_STOCK("ajustar el stock"),
+    IMPORT_PRODUCTS("importar productos");
+
+    private final String description;
+
+    Permission(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
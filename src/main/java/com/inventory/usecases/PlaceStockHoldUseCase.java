@@ -0,0 +1,45 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.StockHold;
+import com.inventory.domain.StockHolds;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Caso de uso para retener unidades de un producto durante un plazo (por ejemplo, mientras se paga
+ * un pedido). Las unidades se descuentan al retener y vuelven solas al stock si nadie confirma la
+ * retención antes de que venza.
+ * Adhiere al SRP.
+ */
+public class PlaceStockHoldUseCase {
+    private final StockHolds stockHolds;
+    private final Authorizer authorizer;
+
+    public PlaceStockHoldUseCase(StockHolds stockHolds) {
+        this(stockHolds, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso ADJUST_STOCK antes de cada retención.
+     */
+    public PlaceStockHoldUseCase(StockHolds stockHolds, Authorizer authorizer) {
+        this.stockHolds = stockHolds;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Ejecuta la retención.
+     * @param productId El ID del producto.
+     * @param quantity Unidades a retener (mayor que cero).
+     * @param ttlMillis Plazo de la retención en milisegundos (mayor que cero).
+     * @return La retención, o vacío si el stock disponible no alcanza.
+     * @throws NoSuchElementException Si el producto no se encuentra.
+     * @throws IllegalArgumentException Si la cantidad o el plazo no son positivos.
+     * @throws AccessDeniedException Si el rol del llamador no puede ajustar el stock.
+     */
+    public Optional<StockHold> execute(String productId, int quantity, long ttlMillis) {
+        authorizer.check(Permission.ADJUST_STOCK);
+        return stockHolds.place(productId, quantity, ttlMillis);
+    }
+}
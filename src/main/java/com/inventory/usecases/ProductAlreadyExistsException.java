@@ -0,0 +1,12 @@
+package com.inventory.usecases;
+
+/**
+ * Se lanza al intentar agregar un producto cuyo ID ya existe.
+ * Extiende IllegalArgumentException para que quien ya trataba el alta duplicada como un dato
+ * inválido siga funcionando; los adaptadores que necesitan distinguirla (ej. HTTP 409) pueden capturarla aparte.
+ */
+public class ProductAlreadyExistsException extends IllegalArgumentException {
+    public ProductAlreadyExistsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.StockHolds;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Caso de uso para devolver al stock las unidades de una retención activa antes de que venza.
+ * Adhiere al SRP.
+ */
+public class ReleaseStockHoldUseCase {
+    private final StockHolds stockHolds;
+    private final Authorizer authorizer;
+
+    public ReleaseStockHoldUseCase(StockHolds stockHolds) {
+        this(stockHolds, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso ADJUST_STOCK antes de cada liberación.
+     */
+    public ReleaseStockHoldUseCase(StockHolds stockHolds, Authorizer authorizer) {
+        this.stockHolds = stockHolds;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Ejecuta la liberación.
+     * @param holdId El ID de la retención.
+     * @throws NoSuchElementException Si la retención no existe o ya terminó (confirmada, liberada o vencida).
+     * @throws AccessDeniedException Si el rol del llamador no puede ajustar el stock.
+     */
+    public void execute(long holdId) {
+        authorizer.check(Permission.ADJUST_STOCK);
+        if (!stockHolds.release(holdId)) {
+            throw new NoSuchElementException("Retención " + holdId + " no encontrada o ya terminada para liberar.");
+        }
+    }
+}
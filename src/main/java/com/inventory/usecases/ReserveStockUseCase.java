@@ -0,0 +1,39 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.ProductRepository;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Caso de uso para reservar (descontar) unidades de stock solo si hay suficientes.
+ * La comprobación y el descuento ocurren en una única operación atómica del repositorio.
+ * Adhiere al SRP.
+ */
+public class ReserveStockUseCase {
+    private final ProductRepository productRepository;
+
+    public ReserveStockUseCase(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Ejecuta la reserva de stock.
+     * @param id El ID del producto.
+     * @param quantity Unidades a reservar (mayor que cero).
+     * @return true si se reservaron las unidades; false si el stock no alcanzaba.
+     * @throws NoSuchElementException Si el producto no se encuentra.
+     * @throws IllegalArgumentException Si la cantidad no es positiva.
+     */
+    public boolean execute(String id, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad a reservar debe ser mayor que cero.");
+        }
+        if (productRepository.tryReserve(id, quantity)) {
+            return true;
+        }
+        if (productRepository.findById(id).isEmpty()) {
+            throw new NoSuchElementException("Producto con ID " + id + " no encontrado para reservar stock.");
+        }
+        return false;
+    }
+}
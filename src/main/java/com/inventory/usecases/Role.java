@@ -0,0 +1,10 @@
+package com.inventory.usecases;
+
+/**
+ * Roles de quien invoca los casos de uso. Qué puede hacer cada uno lo define la AuthorizationPolicy vigente.
+ */
+public enum Role {
+    ADMINISTRADOR,
+    OPERADOR,
+    CONSULTA
+}
@@ -0,0 +1,32 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductQueries;
+
+import java.util.List;
+
+/**
+ * Caso de uso para buscar productos cuyo nombre empieza con un texto dado.
+ * Adhiere al SRP.
+ */
+public class SearchProductsByNameUseCase {
+    private final ProductQueries productQueries;
+
+    public SearchProductsByNameUseCase(ProductQueries productQueries) {
+        this.productQueries = productQueries;
+    }
+
+    /**
+     * Ejecuta la búsqueda por prefijo del nombre, sin distinguir mayúsculas de minúsculas.
+     * @param prefix Comienzo del nombre a buscar.
+     * @param limit Cantidad máxima de resultados.
+     * @return Los productos encontrados, ordenados por nombre.
+     * @throws IllegalArgumentException Si el prefijo está vacío o el límite no es positivo.
+     */
+    public List<Product> execute(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar el comienzo del nombre a buscar.");
+        }
+        return productQueries.findByNamePrefix(prefix.trim(), limit);
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory.usecases;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.TransactionConflictException;
+import com.inventory.domain.TransactionalProductRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Caso de uso para vender un pedido de varios productos: descuenta el stock de todas sus líneas en
+ * una sola transacción, así que o se venden todas o no se toca ninguna (ej. si una línea no tiene
+ * stock suficiente, las anteriores no quedan descontadas).
+ * Adhiere al SRP.
+ */
+public class SellProductsUseCase {
+    private final TransactionalProductRepository productRepository;
+    private final Authorizer authorizer;
+
+    public SellProductsUseCase(TransactionalProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso ADJUST_STOCK antes de cada venta.
+     */
+    public SellProductsUseCase(TransactionalProductRepository productRepository, Authorizer authorizer) {
+        this.productRepository = productRepository;
+        this.authorizer = authorizer;
+    }
+
+    /**
+     * Ejecuta la venta del pedido.
+     * @param quantities Unidades a vender (mayores que cero) por ID de producto.
+     * @return El stock que le queda a cada producto, en el orden del pedido.
+     * @throws NoSuchElementException Si algún producto no se encuentra (no se vende nada).
+     * @throws IllegalArgumentException Si el pedido está vacío, alguna cantidad no es positiva o algún
+     *         producto no tiene stock suficiente (no se vende nada).
+     * @throws TransactionConflictException Si escrituras concurrentes impiden confirmar la venta.
+     * @throws AccessDeniedException Si el rol del llamador no puede ajustar el stock.
+     */
+    public Map<String, Integer> execute(Map<String, Integer> quantities) {
+        authorizer.check(Permission.ADJUST_STOCK);
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("El pedido debe tener al menos un producto.");
+        }
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            if (line.getValue() <= 0) {
+                throw new IllegalArgumentException("La cantidad a vender de " + line.getKey() + " debe ser mayor que cero.");
+            }
+        }
+        return productRepository.inTransaction(transaction -> {
+            Map<String, Integer> remaining = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                Optional<Product> product = transaction.findById(line.getKey());
+                if (product.isEmpty()) {
+                    throw new NoSuchElementException("Producto con ID " + line.getKey() + " no encontrado para vender.");
+                }
+                if (product.get().getStock() < line.getValue()) {
+                    throw new IllegalArgumentException("Stock insuficiente de " + line.getKey() + ": hay "
+                            + product.get().getStock() + " y se piden " + line.getValue() + ".");
+                }
+                remaining.put(line.getKey(), transaction.adjustStock(line.getKey(), -line.getValue()).getAsInt());
+            }
+            return remaining;
+        });
+    }
+}
@@ -12,9 +12,18 @@ import java.util.Optional;
  */
 public class UpdateProductUseCase {
     private final ProductRepository productRepository;
+    private final Authorizer authorizer;
 
     public UpdateProductUseCase(ProductRepository productRepository) {
+        this(productRepository, Authorizer.permitAll());
+    }
+
+    /**
+     * @param authorizer Verifica que el llamador tenga el permiso UPDATE_PRODUCT antes de cada ejecución.
+     */
+    public UpdateProductUseCase(ProductRepository productRepository, Authorizer authorizer) {
         this.productRepository = productRepository;
+        this.authorizer = authorizer;
     }
 
     /**
@@ -23,31 +32,39 @@ public class UpdateProductUseCase {
      * @param name El nuevo nombre del producto (puede ser nulo si no se actualiza).
      * @param price El nuevo precio del producto (puede ser nulo si no se actualiza).
      * @param stock El nuevo stock del producto (puede ser nulo si no se actualiza).
+     * @return El producto tal como quedó guardado.
      * @throws NoSuchElementException Si el producto no se encuentra.
      * @throws IllegalArgumentException Si los datos de actualización son inválidos.
+     * @throws AccessDeniedException Si el rol del llamador no tiene el permiso UPDATE_PRODUCT.
      */
-    public void execute(String id, String name, Double price, Integer stock) {
-        Optional<Product> existingProductOptional = productRepository.findById(id);
-        if (existingProductOptional.isEmpty()) {
-            throw new NoSuchElementException("Producto con ID " + id + " no encontrado para actualizar.");
-        }
+    public Product execute(String id, String name, Double price, Integer stock) {
+        authorizer.check(Permission.UPDATE_PRODUCT);
+        // Control optimista: se lee una instantánea, se construye la versión nueva y se guarda
+        // solo si nadie la modificó entretanto. Si otro escritor ganó, se reintenta sobre su versión.
+        while (true) {
+            Optional<Product> existingProductOptional = productRepository.findById(id);
+            if (existingProductOptional.isEmpty()) {
+                throw new NoSuchElementException("Producto con ID " + id + " no encontrado para actualizar.");
+            }
 
-        Product productToUpdate = existingProductOptional.get();
+            Product current = existingProductOptional.get();
+            Product productToUpdate = current;
 
-        // Actualizar solo si los nuevos valores son válidos y diferentes de nulo.
-        if (name != null) {
-            productToUpdate.setName(name); // La validación se hace en el setter de Product
-        }
-        if (price != null) {
-            productToUpdate.setPrice(price); // La validación se hace en el setter de Product
-        }
-        if (stock != null) {
-            productToUpdate.setStock(stock); // La validación se hace en el setter de Product
-        }
+            // Actualizar solo si los nuevos valores son válidos y diferentes de nulo.
+            if (name != null) {
+                productToUpdate = productToUpdate.withName(name); // La validación se hace en Product
+            }
+            if (price != null) {
+                productToUpdate = productToUpdate.withPrice(price); // La validación se hace en Product
+            }
+            if (stock != null) {
+                productToUpdate = productToUpdate.withStock(stock); // La validación se hace en Product
+            }
 
-        // Se "guarda" el producto. En una implementación real, esto actualizaría el registro.
-        // En nuestra implementación en memoria, ya tenemos la referencia y los cambios son persistidos.
-        // Sin embargo, mantener la llamada a save() es buena práctica para consistencia.
-        productRepository.save(productToUpdate);
+            if (productRepository.compareAndSave(current.getVersion(), productToUpdate)) {
+                // El repositorio guarda la versión siguiente a la leída, no la acumulada por los with*.
+                return productToUpdate.withVersion(current.getVersion() + 1);
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.inventory.adapters.controller;
+
+import com.inventory.adapters.metrics.InventoryMetrics;
+import com.inventory.adapters.metrics.OperationStats;
+import com.inventory.adapters.persistance.DataAccessException;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import com.inventory.usecases.*;
+import junit.framework.TestCase;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pruebas de las métricas del controlador: las fallas inesperadas del almacenamiento también se cuentan.
+ */
+public class ProductControllerTest extends TestCase {
+    private boolean failing;
+    private InventoryMetrics metrics;
+    private ProductController controller;
+
+    protected void setUp() {
+        ProductRepository repository = new ProductRepositoryImpl() {
+            @Override
+            public Optional<Product> findById(String id) {
+                failIfAsked();
+                return super.findById(id);
+            }
+
+            @Override
+            public OptionalInt adjustStock(String id, int delta) {
+                failIfAsked();
+                return super.adjustStock(id, delta);
+            }
+
+            @Override
+            public Stream<Product> stream() {
+                Iterator<Product> products = super.findAll().iterator();
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new Iterator<Product>() {
+                    @Override
+                    public boolean hasNext() {
+                        return products.hasNext();
+                    }
+
+                    @Override
+                    public Product next() {
+                        failIfAsked();
+                        return products.next();
+                    }
+                }, 0), false);
+            }
+        };
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        metrics = new InventoryMetrics();
+        controller = new ProductController(
+                new AddProductUseCase(repository),
+                new UpdateProductUseCase(repository),
+                new DeleteProductUseCase(repository),
+                new GetProductUseCase(repository),
+                new ListAllProductsUseCase(repository),
+                new AdjustStockUseCase(repository),
+                metrics);
+    }
+
+    public void testUnexpectedFailuresAreCountedAsErrors() {
+        failing = true;
+        try {
+            controller.getProduct("abc-1");
+            fail("Se esperaba DataAccessException");
+        } catch (DataAccessException expected) {
+        }
+        try {
+            controller.adjustStock("abc-1", 1);
+            fail("Se esperaba DataAccessException");
+        } catch (DataAccessException expected) {
+        }
+
+        assertCounted(InventoryMetrics.GET_PRODUCT, 1, 1);
+        assertCounted(InventoryMetrics.ADJUST_STOCK, 1, 1);
+    }
+
+    public void testAListingThatFailsMidwayIsCountedAsAnError() {
+        try (Stream<Product> products = controller.listAllProducts()) {
+            assertEquals(1, products.count());
+        }
+        failing = true;
+        try (Stream<Product> products = controller.listAllProducts()) {
+            products.forEach(product -> { });
+            fail("Se esperaba DataAccessException");
+        } catch (DataAccessException expected) {
+        }
+        assertCounted(InventoryMetrics.LIST_PRODUCTS, 2, 1);
+    }
+
+    public void testExpectedFailuresAreStillTranslated() {
+        assertEquals(ControllerResult.Status.NOT_FOUND, controller.getProduct("zzz-9").getStatus());
+        assertCounted(InventoryMetrics.GET_PRODUCT, 1, 1);
+    }
+
+    private void failIfAsked() {
+        if (failing) {
+            throw new DataAccessException("Base de datos caída", new SQLException("conexión perdida"));
+        }
+    }
+
+    private void assertCounted(String operation, long calls, long errors) {
+        for (OperationStats stats : metrics.getOperations()) {
+            if (stats.getOperation().equals(operation)) {
+                assertEquals(operation, calls, stats.getCalls());
+                assertEquals(operation, errors, stats.getErrors());
+                return;
+            }
+        }
+        throw new NoSuchElementException(operation);
+    }
+}
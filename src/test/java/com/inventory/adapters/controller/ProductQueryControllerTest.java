@@ -0,0 +1,65 @@
+package com.inventory.adapters.controller;
+
+import com.inventory.adapters.persistance.InventoryAggregator;
+import com.inventory.adapters.persistance.ProductIndex;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.InventoryStats;
+import com.inventory.domain.Product;
+import com.inventory.usecases.FindLowStockProductsUseCase;
+import com.inventory.usecases.FindProductsByPriceRangeUseCase;
+import com.inventory.usecases.InventoryStatsUseCase;
+import com.inventory.usecases.SearchProductsByNameUseCase;
+import junit.framework.TestCase;
+
+import java.util.List;
+
+/**
+ * Pruebas del controlador de consultas: devuelve resultados y errores en un ControllerResult.
+ */
+public class ProductQueryControllerTest extends TestCase {
+    private ProductQueryController controller;
+
+    protected void setUp() {
+        ProductRepositoryImpl repository = new ProductRepositoryImpl();
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        repository.save(new Product("abc-2", "Mouse", 10.0, 0));
+        ProductIndex index = new ProductIndex(repository);
+        controller = new ProductQueryController(
+                new SearchProductsByNameUseCase(index),
+                new FindProductsByPriceRangeUseCase(index),
+                new FindLowStockProductsUseCase(index),
+                new InventoryStatsUseCase(new InventoryAggregator(repository)));
+    }
+
+    public void testSearchReturnsTheProductsFound() {
+        ControllerResult<List<Product>> result = controller.searchByName("tec", 10);
+
+        assertEquals(ControllerResult.Status.OK, result.getStatus());
+        assertEquals(1, result.getValue().size());
+        assertEquals("abc-1", result.getValue().get(0).getId());
+    }
+
+    public void testEmptySearchIsStillSuccessful() {
+        ControllerResult<List<Product>> result = controller.findByPriceRange(100.0, 200.0, 10);
+
+        assertTrue(result.isSuccess());
+        assertTrue(result.getValue().isEmpty());
+        assertEquals("No se encontraron productos.", result.getMessage());
+    }
+
+    public void testInvalidSearchIsReportedAsInvalid() {
+        ControllerResult<List<Product>> result = controller.searchByName(" ", 10);
+
+        assertEquals(ControllerResult.Status.INVALID, result.getStatus());
+        assertNull(result.getValue());
+    }
+
+    public void testStatsAreReturnedInsteadOfPrinted() {
+        ControllerResult<InventoryStats> result = controller.getStats();
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getValue().getProductCount());
+        assertEquals(3, result.getValue().getUnitsOnHand());
+        assertEquals(1, result.getValue().getOutOfStockCount());
+    }
+}
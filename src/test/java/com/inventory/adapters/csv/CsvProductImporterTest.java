@@ -0,0 +1,158 @@
+package com.inventory.adapters.csv;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.usecases.AccessDeniedException;
+import com.inventory.usecases.AuthorizationPolicy;
+import com.inventory.usecases.Authorizer;
+import com.inventory.usecases.CallerContext;
+import com.inventory.usecases.ImportProductsUseCase;
+import com.inventory.usecases.Role;
+import junit.framework.TestCase;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Pruebas de la importación masiva desde CSV.
+ */
+public class CsvProductImporterTest extends TestCase {
+    private Path dir;
+    private Path csv;
+    private Path rejects;
+
+    protected void setUp() throws IOException {
+        dir = Files.createTempDirectory("csv-import-test");
+        csv = dir.resolve("catalogo.csv");
+        rejects = dir.resolve("catalogo.csv.rechazos");
+    }
+
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(rejects);
+        Files.deleteIfExists(dir);
+    }
+
+    public void testImportsValidRowsAndReportsRejectedOnes() throws IOException {
+        String content = "id,name,price,stock\r\n"
+                + "sku-001,Café molido,12.5,10\r\n"
+                + "\r\n"
+                + "x,Nombre válido,1.0,1\n"
+                + "sku-002,\"Tornillos, caja de 100\",3.25,200\n"
+                + "sku-003,Taza,abc,5\n"
+                + "sku-004,Solo tres columnas,1.0\n"
+                + "sku-005,Martillo,20000,1\n"
+                + "sku-006,Llave inglesa,45.9,0"; // Sin salto de línea final.
+        Files.write(csv, content.getBytes(StandardCharsets.UTF_8));
+
+        ProductRepositoryImpl repository = new ProductRepositoryImpl();
+        ImportProgress summary = new CsvProductImporter(repository, 2, 2, 64).importFile(csv, rejects, null);
+
+        assertEquals(7, summary.getRowsRead());
+        assertEquals(3, summary.getRowsImported());
+        assertEquals(4, summary.getRowsRejected());
+        assertEquals("Café molido", repository.findById("sku-001").get().getName());
+        assertEquals("Tornillos, caja de 100", repository.findById("sku-002").get().getName());
+        assertEquals(0, repository.findById("sku-006").get().getStock());
+
+        List<String> report = Files.readAllLines(rejects, StandardCharsets.UTF_8);
+        assertEquals(4, report.size());
+        // Cada línea del reporte: número de línea, motivo y la fila original.
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("4\t") && line.endsWith("\tx,Nombre válido,1.0,1")));
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("6\t") && line.endsWith("sku-003,Taza,abc,5")));
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("7\tSe esperaban 4 columnas")));
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("8\t") && line.contains("Martillo")));
+    }
+
+    public void testLineNumbersSurviveChunkBoundaries() throws IOException {
+        int rows = 5_000;
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < rows; i++) {
+                // Cada fila 1000 tiene un stock negativo.
+                writer.write("sku-" + i + ",Producto " + i + ",1.5," + (i % 1000 == 999 ? -1 : i) + "\n");
+            }
+        }
+
+        ProductRepositoryImpl repository = new ProductRepositoryImpl();
+        ImportProgress summary = new CsvProductImporter(repository, 3, 64, 256).importFile(csv, rejects, null);
+
+        assertEquals(rows, summary.getRowsRead());
+        assertEquals(rows - 5, summary.getRowsImported());
+        assertEquals(rows - 5, repository.findAll().size());
+        Product product = repository.findById("sku-4321").get();
+        assertEquals("Producto 4321", product.getName());
+        List<String> report = Files.readAllLines(rejects, StandardCharsets.UTF_8);
+        assertEquals(5, report.size());
+        for (int line = 1000; line <= 5000; line += 1000) {
+            String prefix = line + "\t";
+            assertTrue("Falta la línea " + line, report.stream().anyMatch(r -> r.startsWith(prefix)));
+        }
+    }
+
+    public void testEmptyFileImportsNothing() throws IOException {
+        Files.write(csv, new byte[0]);
+
+        ImportProgress summary = new CsvProductImporter(new ProductRepositoryImpl(), 1, 10, 16).importFile(csv, rejects, null);
+
+        assertEquals(0, summary.getRowsRead());
+        assertEquals(0, summary.getRowsRejected());
+    }
+
+    public void testFileEndingExactlyOnAChunkBoundary() throws IOException {
+        String row = "sku-01,Taza,1,5\n"; // 16 bytes, igual al tamaño de bloque.
+        assertEquals(16, row.getBytes(StandardCharsets.UTF_8).length);
+        for (String content : new String[] {row, row + row.replace("sku-01", "sku-02")}) {
+            Files.write(csv, content.getBytes(StandardCharsets.UTF_8));
+            ProductRepositoryImpl repository = new ProductRepositoryImpl();
+
+            ImportProgress summary = new CsvProductImporter(repository, 1, 10, 16).importFile(csv, rejects, null);
+
+            assertEquals(content.length() / 16, summary.getRowsImported());
+            assertEquals(0, summary.getRowsRejected());
+            assertTrue(repository.findById("sku-01").isPresent());
+        }
+    }
+
+    public void testImportRunsWithTheCallerRole() throws IOException {
+        Files.write(csv, "sku-01,Taza,1,5\nsku-02,Plato,2,5\n".getBytes(StandardCharsets.UTF_8));
+        ProductRepositoryImpl repository = new ProductRepositoryImpl();
+        CsvProductImporter importer = new CsvProductImporter(new ImportProductsUseCase(repository,
+                new Authorizer(AuthorizationPolicy.defaults(), Role.OPERADOR)), 2, 1, 64);
+
+        try {
+            importer.importFile(csv, rejects, null);
+            fail("El operador no puede importar");
+        } catch (AccessDeniedException expected) {
+        }
+        assertTrue(repository.findAll().isEmpty());
+
+        // Los hilos del importador guardan con el rol de quien la inició, no con el rol por defecto.
+        ImportProgress summary = CallerContext.callAs(Role.ADMINISTRADOR, () -> importer.importFile(csv, rejects, null));
+        assertEquals(2, summary.getRowsImported());
+        assertEquals(2, repository.findAll().size());
+    }
+
+    public void testFailsWhenALineExceedsTheChunkSize() throws IOException {
+        Files.write(csv, "sku-001,Nombre demasiado largo para el bloque,1.0,1\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            new CsvProductImporter(new ProductRepositoryImpl(), 1, 10, 16).importFile(csv, rejects, null);
+            fail("Se esperaba un error por línea demasiado larga");
+        } catch (UncheckedIOException expected) {
+            // Esperado.
+        }
+    }
+
+    public void testSplitFields() {
+        assertEquals(4, CsvProductImporter.splitFields("a,b,c,d").length);
+        assertEquals("b \"x\"", CsvProductImporter.splitFields("a,\"b \"\"x\"\"\",c,d")[1]);
+        assertEquals("", CsvProductImporter.splitFields("a,b,c,")[3]);
+        assertNull(CsvProductImporter.splitFields("a,b,c"));
+        assertNull(CsvProductImporter.splitFields("a,b,c,d,e"));
+        assertNull(CsvProductImporter.splitFields("a,\"b,c,d"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.inventory.adapters.events;
+
+import com.inventory.adapters.persistance.ObservableProductRepository;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Pruebas del flujo de cambios: orden, cursores independientes, reanudación y detección de atraso.
+ */
+public class ChangeEventRingTest extends TestCase {
+    private ChangeEventRing ring;
+    private ProductRepository repository;
+
+    protected void setUp() {
+        ring = new ChangeEventRing(8);
+        repository = new ObservableProductRepository(new ProductRepositoryImpl(), ring::publish);
+    }
+
+    public void testEveryWritePublishesOneEventInOrder() {
+        ChangeSubscription subscription = ring.subscribe(1);
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        repository.adjustStock("abc-1", 2);
+        repository.delete("abc-1");
+        repository.delete("abc-1"); // Sin cambio: no publica.
+
+        List<ProductChangeEvent> events = drain(subscription);
+        assertEquals(3, events.size());
+        assertEquals("#1 INSERT abc-1", events.get(0).toString());
+        assertNull(events.get(0).getBefore());
+        assertEquals(ProductChangeEvent.Type.UPDATE, events.get(1).getType());
+        assertEquals(3, events.get(1).getBefore().getStock());
+        assertEquals(5, events.get(1).getAfter().getStock());
+        assertEquals("#3 DELETE abc-1", events.get(2).toString());
+        assertNull(events.get(2).getAfter());
+        assertEquals(4, subscription.getNextSequence());
+        assertEquals(0, subscription.lag());
+    }
+
+    public void testSubscribersHaveIndependentCursorsAndCanResume() {
+        repository.saveAll(Arrays.asList(new Product("abc-1", "Teclado", 25.0, 3),
+                new Product("abc-2", "Ratón", 10.0, 4)));
+        ChangeSubscription fast = ring.subscribe(1);
+        assertEquals(2, drain(fast).size());
+
+        ChangeSubscription slow = ring.subscribe(1);
+        assertEquals(1, slow.poll(event -> { }, 1));
+        // Un suscriptor reiniciado retoma desde la secuencia siguiente a la última que procesó.
+        ChangeSubscription resumed = ring.subscribe(slow.getNextSequence());
+        assertEquals(2, drain(resumed).get(0).getSequence());
+
+        ChangeSubscription onlyNew = ring.subscribeToNew();
+        assertEquals(0, onlyNew.poll(event -> { }, 10));
+        repository.delete("abc-2");
+        assertEquals("#3 DELETE abc-2", drain(onlyNew).get(0).toString());
+    }
+
+    public void testConsumerFailureRedeliversTheEvent() {
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        ChangeSubscription subscription = ring.subscribe(1);
+        try {
+            subscription.poll(event -> {
+                throw new IllegalStateException("falla del consumidor");
+            }, 10);
+            fail("La excepción del consumidor debe propagarse");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(1, drain(subscription).get(0).getSequence());
+    }
+
+    public void testSlowSubscriberDetectsOverrunWithoutBlockingWriters() {
+        ChangeSubscription slow = ring.subscribe(1);
+        for (int i = 0; i < 20; i++) {
+            repository.save(new Product("abc-1", "Teclado", 25.0, i));
+        }
+        try {
+            slow.poll(event -> { }, 10);
+            fail("El suscriptor se atrasó más que la capacidad del anillo");
+        } catch (ChangeStreamOverrunException e) {
+            assertEquals(1, e.getRequestedSequence());
+            assertEquals(13, e.getOldestAvailableSequence());
+        }
+        assertEquals(8, drain(ring.subscribe(ring.oldestAvailableSequence())).size());
+    }
+
+    public void testConcurrentProducersKeepPerProductOrderAndNoGaps() throws InterruptedException {
+        ChangeEventRing big = new ChangeEventRing(1 << 16);
+        final ProductRepository captured = new ObservableProductRepository(new ProductRepositoryImpl(), big::publish);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final String id = "sku-" + t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                captured.save(new Product(id, "Producto", 1.0, 0));
+                for (int i = 0; i < 2_000; i++) {
+                    captured.adjustStock(id, 1);
+                }
+            });
+            threads[t].start();
+        }
+        ChangeSubscription subscription = big.subscribe(1);
+        Map<String, Long> lastVersion = new HashMap<>();
+        long[] expected = {1};
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        subscription.poll(event -> {
+            assertEquals(expected[0]++, event.getSequence());
+            Long previous = lastVersion.put(event.getProductId(), event.getAfter().getVersion());
+            assertEquals(previous == null ? 1L : previous + 1, event.getAfter().getVersion());
+        }, Integer.MAX_VALUE);
+        assertEquals(4 * 2_001 + 1, expected[0]);
+    }
+
+    public void testCapacityIsRoundedToAPowerOfTwo() {
+        assertEquals(8, new ChangeEventRing(5).capacity());
+        assertEquals(1, new ChangeEventRing(1).capacity());
+    }
+
+    private static List<ProductChangeEvent> drain(ChangeSubscription subscription) {
+        List<ProductChangeEvent> events = new ArrayList<>();
+        subscription.poll(events::add, Integer.MAX_VALUE);
+        return events;
+    }
+}
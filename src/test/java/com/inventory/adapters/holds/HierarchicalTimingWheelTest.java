@@ -0,0 +1,100 @@
+package com.inventory.adapters.holds;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Comprueba que la rueda dispara cada elemento exactamente en su tick (o en el siguiente al agendado,
+ * si ya había pasado), incluidos los que bajan en cascada desde varias ruedas y los que están más allá
+ * del alcance completo.
+ */
+public class HierarchicalTimingWheelTest extends TestCase {
+    private static final class Timer extends HierarchicalTimingWheel.Entry {
+        final long due;
+        long firedAt = -1;
+
+        Timer(long due) {
+            this.due = due;
+        }
+    }
+
+    public void testEntriesFireExactlyAtTheirTick() {
+        long start = 1_000_003; // No alineado con ningún bloque.
+        HierarchicalTimingWheel<Timer> wheel = new HierarchicalTimingWheel<>(start);
+        Random random = new Random(42);
+        List<Timer> timers = new ArrayList<>();
+        long[] ranges = {64, 4_096, 262_144, 1L << 24, 1L << 26};
+        for (int i = 0; i < 20_000; i++) {
+            Timer timer = new Timer(start + 1 + (long) (random.nextDouble() * ranges[i % ranges.length]));
+            timers.add(timer);
+            wheel.schedule(timer, timer.due);
+        }
+        Timer overdue = new Timer(start - 10);
+        wheel.schedule(overdue, overdue.due);
+        assertEquals(timers.size() + 1, wheel.size());
+
+        long end = start + (1L << 26) + 1;
+        // Se avanza a saltos irregulares, como lo haría un reloj real.
+        for (long now = start; now < end; ) {
+            now = Math.min(end, now + 1 + random.nextInt(50_000));
+            wheel.advanceTo(now, timer -> timer.firedAt = wheel.currentTick());
+        }
+        for (Timer timer : timers) {
+            assertEquals(timer.due, timer.firedAt);
+        }
+        assertEquals(start + 1, overdue.firedAt);
+        assertEquals(0, wheel.size());
+    }
+
+    public void testEntriesScheduledWhileAdvancingKeepTheirTick() {
+        HierarchicalTimingWheel<Timer> wheel = new HierarchicalTimingWheel<>(0);
+        List<Timer> fired = new ArrayList<>();
+        Consumer<Timer> record = timer -> {
+            timer.firedAt = wheel.currentTick();
+            fired.add(timer);
+        };
+        for (long tick = 1; tick <= 10_000; tick++) {
+            Timer timer = new Timer(tick + tick % 5_000);
+            wheel.schedule(timer, timer.due);
+            wheel.advanceTo(tick, record);
+        }
+        wheel.advanceTo(20_000, record);
+        assertEquals(10_000, fired.size());
+        for (Timer timer : fired) {
+            assertEquals(timer.due, timer.firedAt);
+        }
+    }
+
+    public void testEntriesAfterAThrowingCallbackFireOnTheNextTick() {
+        HierarchicalTimingWheel<Timer> wheel = new HierarchicalTimingWheel<>(0);
+        Timer failing = new Timer(5);
+        List<Timer> others = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Timer timer = new Timer(5);
+            others.add(timer);
+            wheel.schedule(timer, 5);
+        }
+        wheel.schedule(failing, 5); // Queda primero en la lista del casillero.
+        try {
+            wheel.advanceTo(5, timer -> {
+                if (timer == failing) {
+                    throw new IllegalStateException("falla");
+                }
+                timer.firedAt = wheel.currentTick();
+            });
+            fail("Se esperaba la excepción del callback");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(3, wheel.size());
+
+        wheel.advanceTo(6, timer -> timer.firedAt = wheel.currentTick());
+        for (Timer timer : others) {
+            assertEquals(6, timer.firedAt);
+        }
+        assertEquals(0, wheel.size());
+    }
+}
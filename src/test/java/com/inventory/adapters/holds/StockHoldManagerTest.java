@@ -0,0 +1,263 @@
+package com.inventory.adapters.holds;
+
+import com.inventory.adapters.persistance.DataAccessException;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import com.inventory.domain.StockHold;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pruebas de las retenciones de stock con un reloj simulado: el stock disponible excluye las
+ * retenciones activas, cada retención termina una sola vez y los vencimientos devuelven las unidades
+ * a tiempo, también con millones de retenciones y con hilos que compiten con el que vence.
+ */
+public class StockHoldManagerTest extends TestCase {
+    private static final long TICK = 10;
+
+    private ProductRepository repository;
+    private AtomicLong clock;
+    private StockHoldManager holds;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+        repository.save(new Product("abc-1", "Teclado", 25.0, 10));
+        clock = new AtomicLong(1_000_000);
+        holds = new StockHoldManager(repository, clock::get, TICK);
+    }
+
+    public void testPlaceConfirmAndRelease() {
+        StockHold first = holds.place("abc-1", 4, 60_000).get();
+        StockHold second = holds.place("abc-1", 5, 60_000).get();
+        assertEquals(1, stock());
+        assertFalse(holds.place("abc-1", 2, 60_000).isPresent()); // Solo queda 1 disponible.
+        assertEquals(9, holds.heldUnits());
+
+        assertTrue(holds.confirm(first.getId()));
+        assertFalse(holds.confirm(first.getId()));
+        assertFalse(holds.release(first.getId()));
+        assertTrue(holds.release(second.getId()));
+        assertFalse(holds.release(second.getId()));
+        assertEquals(6, stock()); // Las 4 confirmadas se vendieron; las 5 liberadas volvieron.
+        assertEquals(0, holds.activeHolds());
+        assertEquals(0, holds.heldUnits());
+
+        try {
+            holds.place("zzz-9", 1, 60_000);
+            fail("No se puede retener stock de un producto inexistente");
+        } catch (NoSuchElementException expected) {
+        }
+        try {
+            holds.place("abc-1", 0, 60_000);
+            fail("La cantidad debe ser positiva");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testHoldsExpireNoEarlierThanTheirDeadline() {
+        StockHold hold = holds.place("abc-1", 3, 1_005).get();
+        holds.place("abc-1", 2, 90_000);
+        clock.addAndGet(1_004);
+        assertEquals(0, holds.expireDue());
+        assertTrue(holds.find(hold.getId()).isPresent());
+        clock.addAndGet(TICK); // Vence a lo sumo un tick tarde.
+        assertEquals(1, holds.expireDue());
+        assertFalse(holds.find(hold.getId()).isPresent());
+        assertFalse(holds.confirm(hold.getId()));
+        assertEquals(8, stock());
+
+        // Si el reloj ya pasó el plazo, confirmar la vence aunque expireDue no haya corrido.
+        StockHold late = holds.place("abc-1", 1, 500).get();
+        clock.addAndGet(600);
+        assertFalse(holds.confirm(late.getId()));
+        assertEquals(8, stock());
+        assertEquals(0, holds.expireDue());
+    }
+
+    public void testMillionsOfHoldsExpireInOrder() {
+        int count = 2_000_000;
+        repository.save(new Product("abc-1", "Teclado", 25.0, count));
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            holds.place("abc-1", 1, 1 + random.nextInt(3_600_000));
+        }
+        assertEquals(count, holds.activeHolds());
+        assertEquals(0, stock());
+        long expired = 0;
+        for (int minute = 1; minute <= 60; minute++) {
+            clock.addAndGet(60_000);
+            expired += holds.expireDue();
+            assertEquals(expired, stock());
+            assertEquals(count - expired, holds.activeHolds());
+        }
+        assertEquals(count, expired);
+    }
+
+    /**
+     * Soak: varios hilos retienen, confirman y liberan al azar mientras otro avanza el reloj simulado y
+     * vence retenciones. Al terminar, cada unidad está o vendida (confirmada) o de vuelta en el stock:
+     * una unidad perdida o devuelta dos veces rompería la cuenta de su producto.
+     */
+    public void testSoakKeepsEveryUnitAccountedFor() throws InterruptedException {
+        final int products = 20;
+        final int initialStock = 1_000;
+        for (int i = 0; i < products; i++) {
+            repository.save(new Product("sku-" + i, "Producto", 1.0, initialStock));
+        }
+        final AtomicIntegerArray sold = new AtomicIntegerArray(products);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> clients = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            final long seed = c;
+            clients.add(new Thread(() -> {
+                Random random = new Random(seed);
+                List<StockHold> mine = new ArrayList<>();
+                for (int i = 0; i < 200_000; i++) {
+                    int product = random.nextInt(products);
+                    int action = random.nextInt(10);
+                    if (action < 5 || mine.isEmpty()) {
+                        Optional<StockHold> hold = holds.place("sku-" + product, 1 + random.nextInt(5), 1 + random.nextInt(5_000));
+                        hold.ifPresent(mine::add);
+                    } else {
+                        StockHold hold = mine.remove(random.nextInt(mine.size()));
+                        if (action < 8) {
+                            if (holds.confirm(hold.getId())) {
+                                int index = Integer.parseInt(hold.getProductId().substring(4));
+                                sold.addAndGet(index, hold.getQuantity());
+                            }
+                        } else {
+                            holds.release(hold.getId());
+                        }
+                    }
+                }
+            }));
+        }
+        Thread expirer = new Thread(() -> {
+            Random random = new Random(99);
+            while (running.get()) {
+                clock.addAndGet(random.nextInt(3 * (int) TICK));
+                holds.expireDue();
+                Thread.yield();
+            }
+        });
+        expirer.start();
+        for (Thread client : clients) {
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        running.set(false);
+        expirer.join();
+
+        clock.addAndGet(5_000 + TICK);
+        holds.expireDue();
+        assertEquals(0, holds.activeHolds());
+        assertEquals(0, holds.heldUnits());
+        long totalSold = 0;
+        for (int i = 0; i < products; i++) {
+            assertEquals("sku-" + i, initialStock - sold.get(i), repository.findById("sku-" + i).get().getStock());
+            totalSold += sold.get(i);
+        }
+        assertTrue(totalSold > 0);
+    }
+
+    public void testFailedReturnsAreRetriedUntilTheUnitsAreBack() {
+        AtomicBoolean failing = new AtomicBoolean();
+        repository = new ProductRepositoryImpl() {
+            @Override
+            public OptionalInt adjustStock(String id, int delta) {
+                if (failing.get()) {
+                    throw new DataAccessException("Almacenamiento no disponible", null);
+                }
+                return super.adjustStock(id, delta);
+            }
+        };
+        repository.save(new Product("abc-1", "Teclado", 25.0, 10));
+        holds = new StockHoldManager(repository, clock::get, TICK);
+        StockHold released = holds.place("abc-1", 1, 60_000).get();
+        for (int quantity = 1; quantity <= 3; quantity++) {
+            holds.place("abc-1", quantity, 100); // Las tres vencen en el mismo casillero de la rueda.
+        }
+        assertEquals(3, stock());
+
+        failing.set(true);
+        clock.addAndGet(200);
+        assertEquals(3, holds.expireDue()); // Ninguna queda fuera de la rueda aunque falle la primera.
+        assertTrue(holds.release(released.getId()));
+        assertEquals(4, holds.pendingReturns());
+        assertEquals(7, holds.heldUnits());
+        assertEquals(3, stock());
+        holds.expireDue(); // Sigue fallando: nada se pierde.
+        assertEquals(4, holds.pendingReturns());
+
+        failing.set(false);
+        holds.expireDue();
+        assertEquals(0, holds.pendingReturns());
+        assertEquals(0, holds.heldUnits());
+        assertEquals(10, stock());
+    }
+
+    public void testPermanentReturnFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        repository = new ProductRepositoryImpl() {
+            @Override
+            public OptionalInt adjustStock(String id, int delta) {
+                if (delta > 0) {
+                    attempts.incrementAndGet();
+                    throw new IllegalArgumentException("El stock desbordaría.");
+                }
+                return super.adjustStock(id, delta);
+            }
+        };
+        repository.save(new Product("abc-1", "Teclado", 25.0, 10));
+        holds = new StockHoldManager(repository, clock::get, TICK);
+        StockHold hold = holds.place("abc-1", 4, 60_000).get();
+
+        assertTrue(holds.release(hold.getId()));
+        for (int tick = 0; tick < 5; tick++) {
+            clock.addAndGet(TICK);
+            holds.expireDue();
+        }
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, holds.pendingReturns());
+        assertEquals(0, holds.heldUnits());
+        assertEquals(4, holds.lostUnits());
+        assertEquals(6, stock());
+    }
+
+    public void testStartExpiresHoldsInTheBackground() throws InterruptedException {
+        try (StockHoldManager scheduled = new StockHoldManager(repository)) {
+            scheduled.start();
+            scheduled.place("abc-1", 4, 20);
+            assertEquals(6, stock());
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (stock() != 10 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(10, stock());
+            assertEquals(0, scheduled.activeHolds());
+            try {
+                scheduled.start();
+                fail("No se puede iniciar dos veces");
+            } catch (IllegalStateException expected) {
+            }
+        }
+    }
+
+    private int stock() {
+        return repository.findById("abc-1").get().getStock();
+    }
+}
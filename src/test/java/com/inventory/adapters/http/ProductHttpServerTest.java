@@ -0,0 +1,167 @@
+package com.inventory.adapters.http;
+
+import com.inventory.adapters.controller.ProductController;
+import com.inventory.adapters.controller.StockHoldController;
+import com.inventory.adapters.events.ChangeEventRing;
+import com.inventory.adapters.holds.StockHoldManager;
+import com.inventory.adapters.persistance.ObservableProductRepository;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.ProductRepository;
+import com.inventory.usecases.*;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Pruebas de la API HTTP de punta a punta sobre un puerto local libre.
+ */
+public class ProductHttpServerTest extends TestCase {
+    private ProductHttpServer server;
+    private HttpClient client;
+    private String root;
+    private String base;
+
+    protected void setUp() {
+        ChangeEventRing changes = new ChangeEventRing(8);
+        ProductRepository repository = new ObservableProductRepository(new ProductRepositoryImpl(), changes::publish);
+        ProductController controller = new ProductController(
+                new AddProductUseCase(repository),
+                new UpdateProductUseCase(repository),
+                new DeleteProductUseCase(repository),
+                new GetProductUseCase(repository),
+                new ListAllProductsUseCase(repository),
+                new AdjustStockUseCase(repository));
+        StockHoldManager holds = new StockHoldManager(repository);
+        StockHoldController holdController = new StockHoldController(
+                new PlaceStockHoldUseCase(holds),
+                new ConfirmStockHoldUseCase(holds),
+                new ReleaseStockHoldUseCase(holds));
+        server = new ProductHttpServer(controller, changes, holdController, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        client = HttpClient.newHttpClient();
+        root = "http://127.0.0.1:" + server.getPort();
+        base = root + "/products";
+    }
+
+    protected void tearDown() {
+        server.close();
+    }
+
+    public void testProductLifecycle() throws Exception {
+        HttpResponse<String> created = send("POST", "", "{\"id\":\"abc-1\",\"name\":\"Caf\\u00e9 d'Olla, 1kg\",\"price\":12.5,\"stock\":3}");
+        assertEquals(201, created.statusCode());
+        assertEquals("{\"id\":\"abc-1\",\"name\":\"Café d'Olla, 1kg\",\"price\":12.5,\"stock\":3,\"version\":1}", created.body());
+
+        assertEquals(409, send("POST", "", "{\"id\":\"abc-1\",\"name\":\"Otro\",\"price\":1,\"stock\":1}").statusCode());
+
+        HttpResponse<String> updated = send("PUT", "/abc-1", "{\"stock\":10}");
+        assertEquals(200, updated.statusCode());
+        assertTrue(updated.body(), updated.body().contains("\"stock\":10,\"version\":2"));
+
+        HttpResponse<String> fetched = send("GET", "/abc-1", null);
+        assertEquals(200, fetched.statusCode());
+        assertEquals(updated.body(), fetched.body());
+
+        assertEquals(204, send("DELETE", "/abc-1", null).statusCode());
+        assertEquals(404, send("GET", "/abc-1", null).statusCode());
+        assertEquals(404, send("DELETE", "/abc-1", null).statusCode());
+    }
+
+    public void testListingPagesWithCursor() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            send("POST", "", "{\"id\":\"sku-" + i + "\",\"name\":\"Producto " + i + "\",\"price\":1,\"stock\":" + i + "}");
+        }
+        HttpResponse<String> first = send("GET", "?limit=2", null);
+        assertEquals(200, first.statusCode());
+        assertTrue(first.body(), first.body().endsWith("],\"next\":\"sku-1\"}"));
+
+        HttpResponse<String> last = send("GET", "?after=sku-3&limit=2", null);
+        assertTrue(last.body(), last.body().startsWith("{\"items\":[{\"id\":\"sku-4\""));
+        assertTrue(last.body(), last.body().endsWith("],\"next\":null}"));
+    }
+
+    public void testChangeFeedResumesFromASequence() throws Exception {
+        send("POST", "", "{\"id\":\"abc-1\",\"name\":\"Taza\",\"price\":2,\"stock\":3}");
+        send("PUT", "/abc-1", "{\"stock\":4}");
+        send("DELETE", "/abc-1", null);
+
+        HttpResponse<String> first = changes("GET", "?from=1&limit=2", null);
+        assertEquals(200, first.statusCode());
+        assertEquals("{\"events\":[{\"sequence\":1,\"type\":\"INSERT\",\"before\":null,"
+                + "\"after\":{\"id\":\"abc-1\",\"name\":\"Taza\",\"price\":2.0,\"stock\":3,\"version\":1}},"
+                + "{\"sequence\":2,\"type\":\"UPDATE\","
+                + "\"before\":{\"id\":\"abc-1\",\"name\":\"Taza\",\"price\":2.0,\"stock\":3,\"version\":1},"
+                + "\"after\":{\"id\":\"abc-1\",\"name\":\"Taza\",\"price\":2.0,\"stock\":4,\"version\":2}}],"
+                + "\"next\":3}", first.body());
+
+        HttpResponse<String> rest = changes("GET", "?from=3", null);
+        assertTrue(rest.body(), rest.body().startsWith("{\"events\":[{\"sequence\":3,\"type\":\"DELETE\""));
+        assertTrue(rest.body(), rest.body().endsWith("\"after\":null}],\"next\":4}"));
+        assertEquals("{\"events\":[],\"next\":4}", changes("GET", "?from=4", null).body());
+
+        // Con un anillo de 8 eventos, los primeros ya no están tras otras 10 escrituras.
+        for (int i = 0; i < 10; i++) {
+            send("PUT", "/abc-1", "{\"stock\":1}");
+            send("POST", "", "{\"id\":\"abc-" + (i + 2) + "\",\"name\":\"Taza\",\"price\":2,\"stock\":3}");
+        }
+        assertEquals(410, changes("GET", "?from=1", null).statusCode());
+        assertEquals(405, changes("POST", "", "{}").statusCode());
+    }
+
+    public void testHoldLifecycle() throws Exception {
+        send("POST", "", "{\"id\":\"abc-1\",\"name\":\"Taza\",\"price\":2,\"stock\":5}");
+
+        HttpResponse<String> placed = holds("POST", "", "{\"productId\":\"abc-1\",\"quantity\":3,\"ttlMillis\":60000}");
+        assertEquals(201, placed.statusCode());
+        assertTrue(placed.body(), placed.body().startsWith("{\"id\":1,\"productId\":\"abc-1\",\"quantity\":3,\"expiresAtMillis\":"));
+        assertTrue(send("GET", "/abc-1", null).body().contains("\"stock\":2"));
+        assertEquals(409, holds("POST", "", "{\"productId\":\"abc-1\",\"quantity\":3}").statusCode());
+
+        assertEquals(200, holds("POST", "/1/confirm", null).statusCode());
+        assertEquals(404, holds("DELETE", "/1", null).statusCode());
+
+        assertEquals(201, holds("POST", "", "{\"productId\":\"abc-1\",\"quantity\":2}").statusCode());
+        assertEquals(204, holds("DELETE", "/2", null).statusCode());
+        assertTrue(send("GET", "/abc-1", null).body().contains("\"stock\":2"));
+
+        assertEquals(404, holds("POST", "", "{\"productId\":\"nada-1\",\"quantity\":1}").statusCode());
+        assertEquals(400, holds("POST", "", "{\"productId\":\"abc-1\",\"quantity\":0}").statusCode());
+        assertEquals(400, holds("POST", "/abc/confirm", null).statusCode());
+        assertEquals(405, holds("GET", "", null).statusCode());
+    }
+
+    public void testRejectsInvalidRequests() throws Exception {
+        assertEquals(400, send("POST", "", "{\"id\":\"abc-1\"").statusCode());
+        assertEquals(400, send("POST", "", "{\"id\":\"abc-1\",\"name\":\"Taza\",\"price\":1,\"stock\":1.5}").statusCode());
+        HttpResponse<String> invalid = send("POST", "", "{\"id\":\"x\",\"name\":\"Taza\",\"price\":1,\"stock\":1}");
+        assertEquals(400, invalid.statusCode());
+        assertTrue(invalid.body(), invalid.body().startsWith("{\"error\":\"Error al agregar producto"));
+        assertEquals(400, send("GET", "?limit=abc", null).statusCode());
+        assertEquals(404, send("PUT", "/nada-1", "{\"stock\":1}").statusCode());
+        assertEquals(405, send("DELETE", "", null).statusCode());
+        assertEquals(404, send("GET", "/a/b", null).statusCode());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        return request(method, base + path, body);
+    }
+
+    private HttpResponse<String> changes(String method, String query, String body) throws IOException, InterruptedException {
+        return request(method, root + "/changes" + query, body);
+    }
+
+    private HttpResponse<String> holds(String method, String path, String body) throws IOException, InterruptedException {
+        return request(method, root + "/holds" + path, body);
+    }
+
+    private HttpResponse<String> request(String method, String uri, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri));
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
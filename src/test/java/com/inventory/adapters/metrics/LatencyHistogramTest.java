@@ -0,0 +1,90 @@
+package com.inventory.adapters.metrics;
+
+import junit.framework.TestCase;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Pruebas de precisión del histograma y de la publicación de métricas por JMX.
+ */
+public class LatencyHistogramTest extends TestCase {
+
+    public void testBucketsCoverEveryValueContiguously() {
+        long previousHighest = -1;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKETS; bucket++) {
+            long highest = LatencyHistogram.highestValueIn(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(previousHighest + 1));
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest));
+            previousHighest = highest;
+        }
+    }
+
+    public void testPercentilesStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1_000_000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertWithin(500_000, snapshot.getP50());
+        assertWithin(990_000, snapshot.getP99());
+        assertWithin(999_000, snapshot.getP999());
+    }
+
+    public void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getP99());
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.snapshot().getCount());
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMax());
+    }
+
+    public void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(1_000 + i % 7);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400_000, histogram.snapshot().getCount());
+    }
+
+    public void testMetricsAreReadableThroughJmx() throws Exception {
+        InventoryMetrics metrics = new InventoryMetrics();
+        OperationMetrics add = metrics.operation(InventoryMetrics.ADD_PRODUCT);
+        add.recordSuccess(add.start());
+        add.recordError(add.start());
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        metrics.registerMBean(server);
+
+        CompositeData[] operations = (CompositeData[]) server.getAttribute(
+                new ObjectName(InventoryMetrics.OBJECT_NAME), "Operations");
+        assertEquals(1, operations.length);
+        assertEquals(InventoryMetrics.ADD_PRODUCT, operations[0].get("operation"));
+        assertEquals(2L, operations[0].get("calls"));
+        assertEquals(1L, operations[0].get("errors"));
+
+        server.invoke(new ObjectName(InventoryMetrics.OBJECT_NAME), "reset", null, null);
+        assertEquals(0, metrics.getOperations().get(0).getCalls());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        double error = Math.abs(actual - expected) / (double) expected;
+        assertTrue("Esperado ~" + expected + " y se obtuvo " + actual, error < 0.032);
+    }
+}
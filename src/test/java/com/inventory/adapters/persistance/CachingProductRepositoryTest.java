@@ -0,0 +1,121 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas de la caché de lectura: aciertos, caché negativa, invalidación en cada escritura y desalojo.
+ */
+public class CachingProductRepositoryTest extends TestCase {
+    private final AtomicInteger lookups = new AtomicInteger();
+    private ProductRepositoryImpl storage;
+    private CachingProductRepository cache;
+
+    protected void setUp() {
+        storage = new ProductRepositoryImpl() {
+            @Override
+            public Optional<Product> findById(String id) {
+                lookups.incrementAndGet();
+                return super.findById(id);
+            }
+        };
+        storage.save(new Product("abc-1", "Teclado", 25.0, 3));
+        cache = new CachingProductRepository(storage, 1_000);
+    }
+
+    public void testRepeatedReadsHitTheCache() {
+        assertEquals("Teclado", cache.findById("abc-1").get().getName());
+        assertEquals("Teclado", cache.findById("abc-1").get().getName());
+        assertEquals("Teclado", cache.findById("abc-1").get().getName());
+
+        assertEquals(1, lookups.get());
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    public void testMissingIdsAreCachedUntilWritten() {
+        assertFalse(cache.findById("zzz-9").isPresent());
+        assertFalse(cache.findById("zzz-9").isPresent());
+        assertEquals(1, lookups.get());
+
+        assertTrue(cache.compareAndSave(0, new Product("zzz-9", "Ratón", 10.0, 1)));
+        assertEquals("Ratón", cache.findById("zzz-9").get().getName());
+    }
+
+    public void testWritesInvalidateTheCachedProduct() {
+        cache.findById("abc-1");
+        cache.save(new Product("abc-1", "Teclado nuevo", 30.0, 3));
+        assertEquals("Teclado nuevo", cache.findById("abc-1").get().getName());
+
+        cache.adjustStock("abc-1", 5);
+        assertEquals(8, cache.findById("abc-1").get().getStock());
+
+        assertTrue(cache.tryReserve("abc-1", 2));
+        assertEquals(6, cache.findById("abc-1").get().getStock());
+
+        cache.delete("abc-1");
+        assertFalse(cache.findById("abc-1").isPresent());
+    }
+
+    public void testBatchWritesInvalidateEveryId() {
+        cache.findById("abc-1");
+        cache.findById("abc-2");
+        cache.saveAll(Arrays.asList(new Product("abc-1", "Teclado nuevo", 30.0, 3),
+                new Product("abc-2", "Ratón", 10.0, 4)));
+        assertEquals("Teclado nuevo", cache.findById("abc-1").get().getName());
+        assertTrue(cache.findById("abc-2").isPresent());
+
+        cache.deleteAll(Arrays.asList("abc-1", "abc-2"));
+        assertFalse(cache.findById("abc-1").isPresent());
+        assertFalse(cache.findById("abc-2").isPresent());
+    }
+
+    public void testSizeIsBoundedAndEvictionsAreCounted() {
+        CachingProductRepository small = new CachingProductRepository(storage, 64);
+        for (int i = 0; i < 1_000; i++) {
+            small.findById("sku-" + i);
+        }
+        CacheStats stats = small.stats();
+        assertTrue("tamaño " + stats.getSize(), stats.getSize() <= 64);
+        assertEquals(1_000 - stats.getSize(), stats.getEvictions());
+    }
+
+    public void testSlowLoadDoesNotCacheAValueOlderThanACompletedWrite() throws InterruptedException {
+        final CountDownLatch loaded = new CountDownLatch(1);
+        final CountDownLatch written = new CountDownLatch(1);
+        ProductRepositoryImpl slow = new ProductRepositoryImpl() {
+            @Override
+            public Optional<Product> findById(String id) {
+                Optional<Product> result = super.findById(id);
+                if (Thread.currentThread().getName().equals("lector-lento")) {
+                    loaded.countDown();
+                    try {
+                        written.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return result;
+            }
+        };
+        slow.save(new Product("abc-1", "Teclado", 25.0, 3));
+        final CachingProductRepository slowCache = new CachingProductRepository(slow, 1_000);
+
+        Thread reader = new Thread(() -> slowCache.findById("abc-1"), "lector-lento");
+        reader.start();
+        loaded.await();
+        // El lector ya leyó el valor anterior y todavía no lo guardó en la caché.
+        slowCache.save(new Product("abc-1", "Teclado nuevo", 30.0, 3));
+        written.countDown();
+        reader.join();
+
+        assertEquals("Teclado nuevo", slowCache.findById("abc-1").get().getName());
+    }
+}
@@ -0,0 +1,209 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductId;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pruebas del repositorio por columnas: mismo contrato que ProductRepositoryImpl, reutilización de
+ * posiciones y compactación del arena, y lecturas optimistas coherentes con escritores concurrentes.
+ */
+public class ColumnarProductRepositoryTest extends TestCase {
+    private ColumnarProductRepository repository;
+
+    protected void setUp() {
+        repository = new ColumnarProductRepository();
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+    }
+
+    public void testSaveInsertsAndThenUpdatesWithNextVersion() {
+        Product stored = repository.findById("abc-1").get();
+        assertEquals("Teclado", stored.getName());
+        assertEquals(25.0, stored.getPrice());
+        assertEquals(3, stored.getStock());
+        assertEquals(1, stored.getVersion());
+
+        repository.save(new Product("abc-1", "Teclado mecánico ñandú", 30.0, 5));
+        stored = repository.findById("abc-1").get();
+        assertEquals("Teclado mecánico ñandú", stored.getName());
+        assertEquals(2, stored.getVersion());
+        assertFalse(repository.findById("abc-2").isPresent());
+        assertFalse(repository.findById("x").isPresent());
+        assertEquals(stored, repository.findById(ProductId.of("abc-1")).get());
+        assertFalse(repository.findById(ProductId.of("abc-2")).isPresent());
+        assertEquals(5, repository.findStock(ProductId.of("abc-1")).getAsInt());
+        assertFalse(repository.findStock(ProductId.of("abc-2")).isPresent());
+    }
+
+    public void testCompareAndSaveAndStockOperations() {
+        assertFalse(repository.compareAndSave(0, new Product("abc-1", "Duplicado", 1.0, 1)));
+        assertTrue(repository.compareAndSave(0, new Product("abc-2", "Ratón", 10.0, 4)));
+        assertFalse(repository.compareAndSave(7, new Product("abc-1", "Otro", 1.0, 1)));
+        assertTrue(repository.compareAndSave(1, new Product("abc-1", "Teclado USB", 26.0, 3)));
+
+        assertEquals(8, repository.adjustStock("abc-1", 5).getAsInt());
+        assertFalse(repository.adjustStock("zzz-9", 1).isPresent());
+        try {
+            repository.adjustStock("abc-1", -100);
+            fail("El stock no puede quedar negativo");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertTrue(repository.tryReserve("abc-1", 8));
+        assertFalse(repository.tryReserve("abc-1", 1));
+        Product stored = repository.findById("abc-1").get();
+        assertEquals(0, stored.getStock());
+        assertEquals(4, stored.getVersion());
+    }
+
+    public void testPagesAndStreamAreOrderedById() {
+        repository.saveAll(Arrays.asList(
+                new Product("abc-3", "Monitor", 300.0, 2),
+                new Product("ABC-0", "Cable", 1.0, 1),
+                new Product("abc-2", "Ratón", 10.0, 4)));
+
+        assertEquals("ABC-0,abc-1", ids(repository.findPage(null, 2)));
+        assertEquals("abc-2,abc-3", ids(repository.findPage("abc-10", 5)));
+        assertTrue(repository.findPage("abc-3", 2).isEmpty());
+        try (Stream<Product> products = repository.stream()) {
+            assertEquals("ABC-0,abc-1,abc-2,abc-3", ids(products.collect(Collectors.toList())));
+        }
+
+        // Una baja invalida el orden calculado para las páginas anteriores.
+        repository.delete("abc-2");
+        assertEquals("abc-3", ids(repository.findPage("abc-1", 5)));
+    }
+
+    public void testBatchOperationsReportEachPosition() {
+        boolean[] inserted = repository.insertAllIfAbsent(Arrays.asList(
+                new Product("abc-1", "Duplicado", 1.0, 1),
+                new Product("abc-2", "Ratón", 10.0, 4),
+                new Product("abc-2", "Ratón repetido", 10.0, 4)));
+        assertEquals("[false, true, false]", Arrays.toString(inserted));
+
+        boolean[] deleted = repository.deleteAll(Arrays.asList("abc-1", "zzz-9", "abc-2"));
+        assertEquals("[true, false, true]", Arrays.toString(deleted));
+        assertEquals(0, repository.size());
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    public void testPrimitiveScanVisitsEveryProduct() {
+        repository.save(new Product("abc-2", "Ratón", 10.5, 4));
+        repository.save(new Product("abc-3", "Monitor", 300.0, 0));
+        repository.delete("abc-3");
+        final double[] value = new double[1];
+        final int[] units = new int[1];
+        repository.forEachPriceAndStock((price, stock) -> {
+            value[0] += price * stock;
+            units[0] += stock;
+        });
+        assertEquals(25.0 * 3 + 10.5 * 4, value[0]);
+        assertEquals(7, units[0]);
+    }
+
+    /**
+     * Altas, cambios de nombre y bajas al azar, comparando siempre contra ProductRepositoryImpl. Los
+     * nombres crecen y se acortan para forzar reubicaciones en el arena, reutilización de posiciones,
+     * compactaciones y redimensionamientos del índice.
+     */
+    public void testRandomOperationsMatchTheMapBasedRepository() {
+        ColumnarProductRepository columnar = new ColumnarProductRepository(4);
+        ProductRepositoryImpl reference = new ProductRepositoryImpl();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String id = "sku-" + random.nextInt(2_000);
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                StringBuilder name = new StringBuilder("Producto ñ");
+                for (int extra = random.nextInt(40); extra > 0; extra--) {
+                    name.append('á');
+                }
+                Product product = new Product(id, name.toString(), 1 + random.nextInt(9_000), random.nextInt(100));
+                columnar.save(product);
+                reference.save(product);
+            } else if (operation < 7) {
+                columnar.delete(id);
+                reference.delete(id);
+            } else if (operation < 9) {
+                int delta = random.nextInt(10);
+                assertEquals(reference.adjustStock(id, delta), columnar.adjustStock(id, delta));
+            } else {
+                assertEquals(reference.findById(id), columnar.findById(id));
+            }
+        }
+        List<Product> expected = reference.stream().collect(Collectors.toList());
+        try (Stream<Product> actual = columnar.stream()) {
+            assertEquals(expected, actual.collect(Collectors.toList()));
+        }
+        for (Product product : expected) {
+            Product stored = columnar.findById(product.getId()).get();
+            assertEquals(product.getName(), stored.getName());
+            assertEquals(product.getVersion(), stored.getVersion());
+        }
+        assertEquals(expected.size(), columnar.findAll().size());
+    }
+
+    public void testOptimisticReadsNeverSeeTornProducts() throws InterruptedException {
+        // El nombre y el stock se escriben siempre juntos: una lectura mezclada los haría diferir.
+        for (int i = 0; i < 100; i++) {
+            repository.save(new Product("sku-" + i, "Producto 0", 1.0, 0));
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger torn = new AtomicInteger();
+        Thread writer = new Thread(() -> {
+            Random random = new Random();
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (int i = 1; i <= 100_000; i++) {
+                String id = "sku-" + random.nextInt(100);
+                if (i % 10 == 0) {
+                    repository.delete(id);
+                }
+                // Nombres de largo variable: provocan reubicaciones y compactaciones del arena.
+                String suffix = i % 3 == 0 ? " con un nombre bastante más largo" : "";
+                repository.save(new Product(id, "Producto " + i % 1_000 + suffix, 1.0, i % 1_000));
+            }
+        });
+        Thread[] readers = new Thread[2];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                Random random = new Random();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (writer.isAlive()) {
+                    Optional<Product> product = repository.findById("sku-" + random.nextInt(100));
+                    if (product.isPresent()
+                            && !product.get().getName().startsWith("Producto " + product.get().getStock())) {
+                        torn.incrementAndGet();
+                    }
+                }
+            });
+            readers[r].start();
+        }
+        writer.start();
+        start.countDown();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(0, torn.get());
+    }
+
+    private static String ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,129 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.InventoryStats;
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas de los totales incrementales: deben coincidir siempre con recalcularlos desde cero.
+ */
+public class InventoryAggregatorTest extends TestCase {
+    private ProductRepositoryImpl storage;
+    private InventoryAggregator aggregator;
+    private ObservableProductRepository repository;
+
+    protected void setUp() {
+        storage = new ProductRepositoryImpl();
+        storage.save(new Product("kbd-1", "Teclado mecánico", 80.0, 5));
+        aggregator = new InventoryAggregator(storage);
+        repository = new ObservableProductRepository(storage, aggregator);
+    }
+
+    public void testCountsExistingProductsOnConstruction() {
+        InventoryStats stats = aggregator.currentStats();
+        assertEquals(1, stats.getProductCount());
+        assertEquals(5, stats.getUnitsOnHand());
+        assertEquals(400.0, stats.getTotalValue());
+    }
+
+    public void testEveryWriteUpdatesTheTotals() {
+        repository.save(new Product("mou-1", "Ratón óptico", 12.5, 0));
+        repository.save(new Product("mon-1", "Monitor 27", 300.0, 2));
+        repository.adjustStock("kbd-1", 3);
+        repository.save(new Product("mon-1", "Monitor 27", 10.0, 2));
+        repository.delete("kbd-1");
+        repository.delete("zzz-9");
+
+        InventoryStats stats = aggregator.currentStats();
+        assertEquals(2, stats.getProductCount());
+        assertEquals(2, stats.getUnitsOnHand());
+        assertEquals(2_000, stats.getTotalValueCents());
+        assertEquals(1, stats.getOutOfStockCount());
+        // Un precio igual a un límite (10) cuenta en el rango siguiente.
+        assertEquals("[0, 2, 0, 0, 0, 0]", Arrays.toString(stats.getPriceBucketCounts()));
+        assertEquals(recompute(), stats.toString());
+    }
+
+    public void testBatchWritesUpdateTheTotals() {
+        repository.saveAll(Arrays.asList(new Product("mou-1", "Ratón óptico", 12.5, 4),
+                new Product("mon-1", "Monitor 27", 300.0, 2)));
+        repository.insertAllIfAbsent(Arrays.asList(new Product("mou-1", "Duplicado", 1.0, 1),
+                new Product("cab-1", "Cable USB", 5.0, 0)));
+        repository.deleteAll(Arrays.asList("kbd-1", "zzz-9"));
+        assertEquals(recompute(), aggregator.currentStats().toString());
+    }
+
+    public void testTotalsMatchAFullScanAfterConcurrentWrites() throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger impossibleReads = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 5_000; i++) {
+                    String id = "sku-" + random.nextInt(50);
+                    switch (random.nextInt(4)) {
+                        case 0:
+                            repository.save(new Product(id, "Producto", 0.01 + random.nextInt(200_000) / 100.0,
+                                    random.nextInt(3)));
+                            break;
+                        case 1:
+                            repository.adjustStock(id, random.nextInt(5));
+                            break;
+                        case 2:
+                            repository.tryReserve(id, 1 + random.nextInt(2));
+                            break;
+                        default:
+                            repository.delete(id);
+                    }
+                    // Las lecturas concurrentes nunca ven totales imposibles.
+                    InventoryStats stats = aggregator.currentStats();
+                    if (stats.getProductCount() < 0 || stats.getOutOfStockCount() > stats.getProductCount()) {
+                        impossibleReads.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, impossibleReads.get());
+        assertEquals(recompute(), aggregator.currentStats().toString());
+    }
+
+    /**
+     * Los mismos totales calculados recorriendo el repositorio completo.
+     */
+    private String recompute() {
+        long products = 0;
+        long units = 0;
+        long cents = 0;
+        long outOfStock = 0;
+        double[] bounds = aggregator.currentStats().getPriceBucketBounds();
+        long[] buckets = new long[bounds.length + 1];
+        for (Product product : storage.findAll()) {
+            products++;
+            units += product.getStock();
+            cents += Math.round(product.getPrice() * 100) * product.getStock();
+            outOfStock += product.getStock() == 0 ? 1 : 0;
+            int bucket = 0;
+            while (bucket < bounds.length && product.getPrice() >= bounds[bucket]) {
+                bucket++;
+            }
+            buckets[bucket]++;
+        }
+        return new InventoryStats(products, units, cents, outOfStock, bounds, buckets).toString();
+    }
+}
@@ -0,0 +1,268 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Pruebas del repositorio JDBC contra una base H2 en memoria (una distinta por prueba).
+ */
+public class JdbcProductRepositoryTest extends TestCase {
+    private JdbcProductRepository repository;
+
+    protected void setUp() {
+        repository = new JdbcProductRepository("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", null, null, 4);
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+    }
+
+    protected void tearDown() {
+        repository.close();
+    }
+
+    public void testSaveInsertsAndThenUpdatesWithNextVersion() {
+        Product stored = repository.findById("abc-1").get();
+        assertEquals("Teclado", stored.getName());
+        assertEquals(25.0, stored.getPrice());
+        assertEquals(1, stored.getVersion());
+
+        repository.save(new Product("abc-1", "Teclado nuevo", 30.0, 5));
+        stored = repository.findById("abc-1").get();
+        assertEquals("Teclado nuevo", stored.getName());
+        assertEquals(5, stored.getStock());
+        assertEquals(2, stored.getVersion());
+        assertFalse(repository.findById("zzz-9").isPresent());
+    }
+
+    public void testCompareAndSaveChecksTheStoredVersion() {
+        assertFalse(repository.compareAndSave(0, new Product("abc-1", "Duplicado", 1.0, 1)));
+        assertTrue(repository.compareAndSave(0, new Product("abc-2", "Ratón", 10.0, 4)));
+        assertFalse(repository.compareAndSave(7, new Product("abc-1", "Otro", 1.0, 1)));
+        assertTrue(repository.compareAndSave(1, new Product("abc-1", "Teclado USB", 26.0, 3)));
+        assertEquals(2, repository.findById("abc-1").get().getVersion());
+    }
+
+    public void testAdjustStockAndReserve() {
+        assertEquals(8, repository.adjustStock("abc-1", 5).getAsInt());
+        assertFalse(repository.adjustStock("zzz-9", 1).isPresent());
+        try {
+            repository.adjustStock("abc-1", -100);
+            fail("El stock no puede quedar negativo");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertTrue(repository.tryReserve("abc-1", 8));
+        assertFalse(repository.tryReserve("abc-1", 1));
+        assertEquals(0, repository.findById("abc-1").get().getStock());
+    }
+
+    public void testPagesAndStreamAreOrderedById() {
+        repository.saveAll(Arrays.asList(
+                new Product("abc-3", "Monitor", 300.0, 2),
+                new Product("abc-2", "Ratón", 10.0, 4),
+                new Product("abc-1", "Teclado USB", 26.0, 3)));
+
+        assertEquals("abc-1,abc-2", ids(repository.findPage(null, 2)));
+        assertEquals("abc-3", ids(repository.findPage("abc-2", 2)));
+        assertTrue(repository.findPage("abc-3", 2).isEmpty());
+        try (Stream<Product> products = repository.stream()) {
+            assertEquals("abc-1,abc-2,abc-3", ids(products.collect(Collectors.toList())));
+        }
+        assertEquals(3, repository.findAll().size());
+        assertEquals(2, repository.findById("abc-1").get().getVersion());
+    }
+
+    public void testSaveAllWithRepeatedIdsKeepsTheLastOne() {
+        repository.saveAll(Arrays.asList(
+                new Product("abc-2", "Ratón", 10.0, 4),
+                new Product("abc-2", "Ratón óptico", 12.0, 4)));
+        Product stored = repository.findById("abc-2").get();
+        assertEquals("Ratón óptico", stored.getName());
+        assertEquals(2, stored.getVersion());
+    }
+
+    public void testInsertAllIfAbsentReportsEachPosition() {
+        boolean[] inserted = repository.insertAllIfAbsent(Arrays.asList(
+                new Product("abc-1", "Duplicado", 1.0, 1),
+                new Product("abc-2", "Ratón", 10.0, 4),
+                new Product("abc-2", "Ratón repetido", 10.0, 4)));
+        assertFalse(inserted[0]);
+        assertTrue(inserted[1]);
+        assertFalse(inserted[2]);
+        assertEquals("Teclado", repository.findById("abc-1").get().getName());
+        assertEquals("Ratón", repository.findById("abc-2").get().getName());
+    }
+
+    public void testDeleteAllReportsMissingIds() {
+        boolean[] deleted = repository.deleteAll(Arrays.asList("abc-1", "zzz-9"));
+        assertTrue(deleted[0]);
+        assertFalse(deleted[1]);
+        assertTrue(repository.findAll().isEmpty());
+        repository.delete("abc-1"); // Eliminar un ID inexistente no falla.
+    }
+
+    public void testBatchAbandonedBeforeExecutingDoesNotLeakIntoTheNextOne() throws SQLException {
+        NoInfoDriver driver = new NoInfoDriver();
+        DriverManager.registerDriver(driver);
+        // Una sola conexión: todos los lotes usan las mismas sentencias preparadas.
+        JdbcProductRepository single = new JdbcProductRepository(
+                NoInfoDriver.PREFIX + "h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", null, null, 1);
+        try {
+            single.save(new Product("abc-1", "Teclado", 25.0, 3));
+            driver.noInfo = true;
+            // new-1 queda en el lote de INSERT antes de que abc-1 devuelva SUCCESS_NO_INFO y el lote se abandone.
+            single.saveAll(Arrays.asList(new Product("new-1", "Ratón", 10.0, 4), new Product("abc-1", "Teclado", 26.0, 3)));
+            driver.noInfo = false;
+            assertTrue(single.findById("new-1").isPresent());
+            assertEquals(26.0, single.findById("abc-1").get().getPrice());
+
+            single.deleteAll(Arrays.asList("new-1"));
+            single.saveAll(Arrays.asList(new Product("new-2", "Monitor", 150.0, 2)));
+
+            assertFalse(single.findById("new-1").isPresent());
+            assertTrue(single.findById("new-2").isPresent());
+        } finally {
+            single.close();
+            DriverManager.deregisterDriver(driver);
+        }
+    }
+
+    public void testStreamReturnsItsConnectionWhenClosed() {
+        // Con un pool de una sola conexión, un stream sin cerrar bloquearía la operación siguiente.
+        try (JdbcProductRepository single = new JdbcProductRepository(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", null, null, 1)) {
+            single.save(new Product("abc-1", "Teclado", 25.0, 3));
+            for (int i = 0; i < 3; i++) {
+                try (Stream<Product> products = single.stream()) {
+                    assertEquals(1, products.count());
+                }
+            }
+            assertTrue(single.findById("abc-1").isPresent());
+        }
+    }
+
+    public void testConcurrentAdjustmentsAreNotLost() throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        repository.adjustStock("abc-1", 1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Product stored = repository.findById("abc-1").get();
+        assertEquals(3 + 200, stored.getStock());
+        assertEquals(1 + 200, stored.getVersion());
+    }
+
+    private static String ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Driver "jdbc:noinfo:..." que delega en H2 y, mientras noInfo esté activo, informa SUCCESS_NO_INFO
+     * en la última fila de cada lote de UPDATE, como hacen algunos drivers.
+     */
+    private static final class NoInfoDriver implements Driver {
+        static final String PREFIX = "jdbc:noinfo:";
+
+        volatile boolean noInfo;
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            Connection connection = DriverManager.getConnection("jdbc:" + url.substring(PREFIX.length()), info);
+            return proxy(Connection.class, connection, (method, args) -> {
+                Object result = invoke(method, connection, args);
+                if (method.getName().equals("prepareStatement") && ((String) args[0]).startsWith("UPDATE products SET name")) {
+                    PreparedStatement statement = (PreparedStatement) result;
+                    return proxy(PreparedStatement.class, statement, (batchMethod, batchArgs) -> {
+                        Object counts = invoke(batchMethod, statement, batchArgs);
+                        if (noInfo && batchMethod.getName().equals("executeBatch") && ((int[]) counts).length > 0) {
+                            ((int[]) counts)[((int[]) counts).length - 1] = Statement.SUCCESS_NO_INFO;
+                        }
+                        return counts;
+                    });
+                }
+                return result;
+            });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(PREFIX);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                    (self, method, args) -> handler.handle(method, args)));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
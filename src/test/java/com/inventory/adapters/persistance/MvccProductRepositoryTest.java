@@ -0,0 +1,208 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductReadView;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pruebas del repositorio multiversión: atomicidad de las transacciones, reintentos ante conflictos,
+ * vistas en un instante que no ven escrituras posteriores y poda de las versiones que ya nadie ve.
+ */
+public class MvccProductRepositoryTest extends TestCase {
+    private MvccProductRepository repository;
+
+    protected void setUp() {
+        repository = new MvccProductRepository();
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        repository.save(new Product("abc-2", "Ratón", 10.0, 4));
+    }
+
+    public void testSingleOperationsFollowTheRepositoryContract() {
+        assertFalse(repository.compareAndSave(0, new Product("abc-1", "Duplicado", 1.0, 1)));
+        assertTrue(repository.compareAndSave(1, new Product("abc-1", "Teclado USB", 26.0, 3)));
+        assertEquals(2, repository.findById("abc-1").get().getVersion());
+        assertEquals(8, repository.adjustStock("abc-1", 5).getAsInt());
+        assertFalse(repository.adjustStock("zzz-9", 1).isPresent());
+        assertTrue(repository.tryReserve("abc-2", 4));
+        assertFalse(repository.tryReserve("abc-2", 1));
+        assertEquals("[true, false]", Arrays.toString(repository.deleteAll(Arrays.asList("abc-2", "zzz-9"))));
+        assertFalse(repository.findById("abc-2").isPresent());
+
+        repository.saveAll(Arrays.asList(new Product("abc-3", "Monitor", 300.0, 2), new Product("ABC-0", "Cable", 1.0, 1)));
+        assertEquals("ABC-0,abc-1", ids(repository.findPage(null, 2)));
+        assertEquals("abc-3", ids(repository.findPage("abc-1", 5)));
+        try (Stream<Product> products = repository.stream()) {
+            assertEquals("ABC-0,abc-1,abc-3", ids(products.collect(Collectors.toList())));
+        }
+    }
+
+    public void testTransactionCommitsAllWritesOrNone() {
+        int moved = repository.inTransaction(transaction -> {
+            transaction.adjustStock("abc-1", -2);
+            transaction.adjustStock("abc-2", 2);
+            transaction.save(new Product("abc-3", "Monitor", 300.0, 1));
+            transaction.delete("abc-3");
+            transaction.save(new Product("abc-4", "Cable", 1.0, 7));
+            assertEquals(1, transaction.findById("abc-1").get().getStock()); // Ve sus propias escrituras.
+            return 2;
+        });
+        assertEquals(2, moved);
+        assertEquals(1, repository.findById("abc-1").get().getStock());
+        assertEquals(6, repository.findById("abc-2").get().getStock());
+        assertEquals(2, repository.findById("abc-2").get().getVersion());
+        assertFalse(repository.findById("abc-3").isPresent());
+        assertEquals(1, repository.findById("abc-4").get().getVersion());
+
+        try {
+            repository.inTransaction(transaction -> {
+                transaction.adjustStock("abc-2", 10);
+                return transaction.adjustStock("abc-1", -5); // Dejaría stock negativo.
+            });
+            fail("El stock no puede quedar negativo");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(6, repository.findById("abc-2").get().getStock());
+    }
+
+    public void testConflictingCommitRetriesWithAFreshSnapshot() {
+        final AtomicInteger attempts = new AtomicInteger();
+        int stock = repository.inTransaction(transaction -> {
+            int current = transaction.findById("abc-1").get().getStock();
+            if (attempts.incrementAndGet() == 1) {
+                repository.adjustStock("abc-1", 10); // Otra escritura confirma el mismo ID mientras tanto.
+            }
+            transaction.save(transaction.findById("abc-1").get().withStockAdjustedBy(1));
+            return current + 1;
+        });
+        assertEquals(2, attempts.get());
+        assertEquals(14, stock);
+        assertEquals(14, repository.findById("abc-1").get().getStock());
+    }
+
+    public void testReadViewIgnoresLaterCommitsAndOldVersionsAreCollected() {
+        ProductReadView view = repository.openReadView();
+        repository.inTransaction(transaction -> {
+            transaction.delete("abc-1");
+            transaction.adjustStock("abc-2", 6);
+            transaction.save(new Product("abc-3", "Monitor", 300.0, 1));
+            return null;
+        });
+        for (int i = 0; i < 10; i++) {
+            repository.adjustStock("abc-2", 1);
+        }
+        assertEquals(3, view.findById("abc-1").get().getStock());
+        assertEquals(4, view.findById("abc-2").get().getStock());
+        assertFalse(view.findById("abc-3").isPresent());
+        assertEquals("abc-1,abc-2", sortedIds(view.findAll()));
+        assertEquals("abc-2,abc-3", sortedIds(repository.findAll()));
+        assertTrue(repository.versionCount() > 4);
+
+        view.close();
+        repository.collectGarbage();
+        // Queda una versión por producto vigente; la baja de abc-1 ya no hace falta.
+        assertEquals(2, repository.versionCount());
+        try {
+            view.findAll();
+            fail("Una vista cerrada no se puede consultar");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    /**
+     * Transferencias de stock entre productos al azar, cada una en una transacción, mientras otros
+     * hilos leen el catálogo con vistas: el total de unidades se conserva en cada confirmación, así que
+     * toda vista debe sumar siempre lo mismo, y al final deben quedar solo las versiones vigentes.
+     */
+    public void testConcurrentTransfersPreserveTheTotalInEverySnapshot() throws InterruptedException {
+        final int products = 50;
+        final int unitsEach = 100;
+        repository.deleteAll(Arrays.asList("abc-1", "abc-2"));
+        for (int i = 0; i < products; i++) {
+            repository.save(new Product("sku-" + i, "Producto", 1.0, unitsEach));
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger inconsistent = new AtomicInteger();
+        final AtomicInteger snapshots = new AtomicInteger();
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < 3; w++) {
+            final long seed = w;
+            writers.add(new Thread(() -> {
+                Random random = new Random(seed);
+                await(start);
+                for (int i = 0; i < 10_000; i++) {
+                    String from = "sku-" + random.nextInt(products);
+                    String to = "sku-" + random.nextInt(products);
+                    int quantity = 1 + random.nextInt(5);
+                    repository.inTransaction(transaction -> {
+                        if (from.equals(to) || transaction.findById(from).get().getStock() < quantity) {
+                            return false;
+                        }
+                        transaction.adjustStock(from, -quantity);
+                        transaction.adjustStock(to, quantity);
+                        return true;
+                    });
+                }
+            }));
+        }
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(new Thread(() -> {
+                await(start);
+                while (writers.stream().anyMatch(Thread::isAlive)) {
+                    int total;
+                    try (ProductReadView view = repository.openReadView()) {
+                        total = view.findAll().stream().mapToInt(Product::getStock).sum();
+                    }
+                    int listed = repository.findAll().stream().mapToInt(Product::getStock).sum();
+                    if (total != products * unitsEach || listed != products * unitsEach) {
+                        inconsistent.incrementAndGet();
+                    }
+                    snapshots.incrementAndGet();
+                }
+            }));
+        }
+        for (Thread thread : writers) {
+            thread.start();
+        }
+        for (Thread thread : readers) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : writers) {
+            thread.join();
+        }
+        for (Thread thread : readers) {
+            thread.join();
+        }
+        assertEquals(0, inconsistent.get());
+        assertTrue(snapshots.get() > 0);
+        assertEquals(products * unitsEach, repository.findAll().stream().mapToInt(Product::getStock).sum());
+        repository.collectGarbage();
+        assertEquals(products, repository.versionCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.joining(","));
+    }
+
+    private static String sortedIds(List<Product> products) {
+        return products.stream().map(Product::getId).sorted().collect(Collectors.joining(","));
+    }
+}
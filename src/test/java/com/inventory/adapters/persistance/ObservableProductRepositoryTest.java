@@ -0,0 +1,59 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pruebas del reparto de cambios: cada oyente recibe cada cambio una sola vez y solo si hubo cambio.
+ */
+public class ObservableProductRepositoryTest extends TestCase {
+    private List<String> first;
+    private List<String> second;
+    private ObservableProductRepository repository;
+
+    protected void setUp() {
+        first = new ArrayList<>();
+        second = new ArrayList<>();
+        // Como JDBC, la caché o un shard remoto: cada lectura devuelve una instancia nueva.
+        ProductRepositoryImpl storage = new ProductRepositoryImpl() {
+            @Override
+            public Optional<Product> findById(String id) {
+                return super.findById(id).map(p -> p.withVersion(p.getVersion()));
+            }
+        };
+        repository = new ObservableProductRepository(storage,
+                (before, after) -> first.add(describe(before) + "->" + describe(after)),
+                (before, after) -> second.add(describe(before) + "->" + describe(after)));
+    }
+
+    public void testEveryListenerReceivesEachChangeInOrder() {
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        repository.adjustStock("abc-1", 2);
+        repository.delete("abc-1");
+
+        assertEquals("[null->v1, v1->v2, v2->null]", first.toString());
+        assertEquals(first, second);
+    }
+
+    public void testWritesThatChangeNothingAreNotPublished() {
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        first.clear();
+
+        boolean[] inserted = repository.insertAllIfAbsent(Arrays.asList(new Product("abc-1", "Otro", 1.0, 1)));
+        assertFalse(repository.compareAndSave(7, new Product("abc-1", "Otro", 1.0, 1)));
+        assertFalse(repository.tryReserve("abc-1", 10));
+        repository.delete("zzz-9");
+
+        assertFalse(inserted[0]);
+        assertTrue(first.toString(), first.isEmpty());
+    }
+
+    private static String describe(Product product) {
+        return product == null ? "null" : "v" + product.getVersion();
+    }
+}
@@ -0,0 +1,81 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Pruebas de los índices secundarios: deben seguir a cada escritura hecha a través de ObservableProductRepository.
+ */
+public class ProductIndexTest extends TestCase {
+    private ProductRepositoryImpl storage;
+    private ProductIndex index;
+    private ObservableProductRepository repository;
+
+    protected void setUp() {
+        storage = new ProductRepositoryImpl();
+        storage.save(new Product("kbd-1", "Teclado mecánico", 80.0, 5));
+        index = new ProductIndex(storage);
+        repository = new ObservableProductRepository(storage, index);
+        repository.save(new Product("kbd-2", "Teclado inalámbrico", 45.0, 0));
+        repository.save(new Product("mou-1", "Ratón óptico", 12.5, 30));
+        repository.save(new Product("mon-1", "Monitor 27", 300.0, 2));
+    }
+
+    public void testIndexesExistingProductsOnConstruction() {
+        assertEquals("kbd-1", ids(index.findByPriceRange(79.0, 81.0, 10)));
+    }
+
+    public void testNamePrefixIsCaseInsensitive() {
+        assertEquals("kbd-2,kbd-1", ids(index.findByNamePrefix("TECLADO", 10)));
+        assertEquals("kbd-2", ids(index.findByNamePrefix("teclado i", 10)));
+        assertEquals("kbd-2", ids(index.findByNamePrefix("tec", 1)));
+        assertTrue(index.findByNamePrefix("silla", 10).isEmpty());
+    }
+
+    public void testPriceRangeIsInclusiveAndOrdered() {
+        assertEquals("mou-1,kbd-2,kbd-1", ids(index.findByPriceRange(12.5, 80.0, 10)));
+    }
+
+    public void testStockBelowIsExclusiveAndOrdered() {
+        assertEquals("kbd-2,mon-1", ids(index.findByStockBelow(5, 10)));
+    }
+
+    public void testIndexesFollowUpdatesAdjustmentsAndDeletes() {
+        Product keyboard = repository.findById("kbd-1").get();
+        assertTrue(repository.compareAndSave(keyboard.getVersion(), keyboard.withName("Silla gamer").withPrice(150.0)));
+        repository.adjustStock("mou-1", -29);
+        repository.delete("mon-1");
+
+        assertEquals("kbd-2", ids(index.findByNamePrefix("teclado", 10)));
+        assertEquals("kbd-1", ids(index.findByNamePrefix("silla", 10)));
+        assertEquals("kbd-1", ids(index.findByPriceRange(100.0, 400.0, 10)));
+        assertEquals("kbd-2,mou-1", ids(index.findByStockBelow(5, 10)));
+    }
+
+    public void testIndexesFollowBatchWrites() {
+        repository.saveAll(Arrays.asList(
+                new Product("lamp-1", "Lámpara de escritorio", 20.0, 1),
+                new Product("kbd-1", "Teclado mecánico", 95.0, 5),
+                new Product("lamp-1", "Lámpara LED", 22.0, 1)));
+        boolean[] inserted = repository.insertAllIfAbsent(Arrays.asList(
+                new Product("mou-1", "Silla", 1.0, 1), new Product("desk-1", "Escritorio", 250.0, 3)));
+        boolean[] deleted = repository.deleteAll(Arrays.asList("kbd-2", "nada-1"));
+
+        assertTrue(Arrays.equals(new boolean[]{false, true}, inserted));
+        assertTrue(Arrays.equals(new boolean[]{true, false}, deleted));
+        assertEquals("lamp-1", ids(index.findByNamePrefix("lámpara", 10)));
+        assertEquals("lamp-1", ids(index.findByPriceRange(21.0, 23.0, 10)));
+        assertEquals("kbd-1", ids(index.findByNamePrefix("teclado", 10)));
+        assertEquals("kbd-1", ids(index.findByPriceRange(90.0, 100.0, 10)));
+        assertEquals("lamp-1,mon-1,desk-1", ids(index.findByStockBelow(5, 10)));
+        assertTrue(index.findByNamePrefix("silla", 10).isEmpty());
+    }
+
+    private static String ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,137 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+/**
+ * Pruebas del control optimista de concurrencia del repositorio en memoria.
+ */
+public class ProductRepositoryImplTest extends TestCase {
+    private ProductRepositoryImpl repository;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+    }
+
+    public void testSaveAssignsIncreasingVersions() {
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        assertEquals(1, repository.findById("abc-1").get().getVersion());
+        repository.save(new Product("abc-1", "Teclado", 30.0, 3));
+        Product stored = repository.findById("abc-1").get();
+        assertEquals(2, stored.getVersion());
+        assertEquals(30.0, stored.getPrice(), 0.0);
+    }
+
+    public void testCompareAndSaveRejectsStaleVersion() {
+        assertTrue(repository.compareAndSave(0, new Product("abc-1", "Teclado", 25.0, 3)));
+        assertFalse(repository.compareAndSave(0, new Product("abc-1", "Otro", 25.0, 3)));
+
+        Product v1 = repository.findById("abc-1").get();
+        assertTrue(repository.compareAndSave(1, v1.withStock(10)));
+        assertFalse(repository.compareAndSave(1, v1.withStock(20)));
+
+        Product stored = repository.findById("abc-1").get();
+        assertEquals(2, stored.getVersion());
+        assertEquals(10, stored.getStock());
+        // La instantánea leída antes no cambia.
+        assertEquals(3, v1.getStock());
+    }
+
+    public void testCompareAndSaveAfterDelete() {
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        repository.delete("abc-1");
+        assertFalse(repository.findById("abc-1").isPresent());
+        assertFalse(repository.compareAndSave(1, new Product("abc-1", "Teclado", 25.0, 3)));
+        assertTrue(repository.compareAndSave(0, new Product("abc-1", "Teclado", 25.0, 3)));
+        assertEquals(1, repository.findAll().size());
+    }
+
+    public void testFindPageWalksIdsInOrderWithCursor() {
+        for (int i = 9; i >= 0; i--) {
+            repository.save(new Product("sku-" + i, "Producto " + i, 1.0, i));
+        }
+        repository.delete("sku-4");
+
+        List<Product> first = repository.findPage(null, 4);
+        assertEquals("sku-0,sku-1,sku-2,sku-3", ids(first));
+        List<Product> second = repository.findPage("sku-3", 4);
+        assertEquals("sku-5,sku-6,sku-7,sku-8", ids(second));
+        List<Product> last = repository.findPage("sku-8", 4);
+        assertEquals("sku-9", ids(last));
+        assertTrue(repository.findPage("sku-9", 4).isEmpty());
+    }
+
+    public void testStreamIsOrderedAndSkipsDeletedProducts() {
+        repository.save(new Product("ccc", "Producto c", 1.0, 1));
+        repository.save(new Product("aaa", "Producto a", 1.0, 1));
+        repository.save(new Product("bbb", "Producto b", 1.0, 1));
+        repository.delete("bbb");
+        repository.save(new Product("bbb", "Producto b", 2.0, 1));
+        repository.delete("aaa");
+
+        assertEquals("bbb,ccc", ids(repository.stream().collect(Collectors.toList())));
+    }
+
+    public void testConcurrentOptimisticIncrementsAreNotLost() throws InterruptedException {
+        repository.save(new Product("hot-1", "Producto popular", 10.0, 0));
+        final int threads = 8;
+        final int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    Product current;
+                    do {
+                        current = repository.findById("hot-1").get();
+                    } while (!repository.compareAndSave(current.getVersion(), current.withStock(current.getStock() + 1)));
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Product stored = repository.findById("hot-1").get();
+        assertEquals(threads * perThread, stored.getStock());
+        assertEquals(1 + threads * perThread, stored.getVersion());
+    }
+
+    public void testInsertAllIfAbsentReportsEachItem() {
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        boolean[] inserted = repository.insertAllIfAbsent(Arrays.asList(
+                new Product("abc-1", "Otro teclado", 99.0, 1),
+                new Product("abc-2", "Ratón", 10.0, 4),
+                new Product("abc-2", "Ratón repetido", 11.0, 5)));
+
+        assertTrue(Arrays.equals(new boolean[]{false, true, false}, inserted));
+        assertEquals("Teclado", repository.findById("abc-1").get().getName());
+        assertEquals("Ratón", repository.findById("abc-2").get().getName());
+        assertEquals(1, repository.findById("abc-2").get().getVersion());
+    }
+
+    public void testDeleteAllReportsWhichIdsExisted() {
+        repository.saveAll(Arrays.asList(new Product("abc-1", "Teclado", 25.0, 3), new Product("abc-2", "Ratón", 10.0, 4)));
+        boolean[] deleted = repository.deleteAll(Arrays.asList("abc-1", "zzz-9", "abc-1"));
+
+        assertTrue(Arrays.equals(new boolean[]{true, false, false}, deleted));
+        assertEquals("abc-2", ids(repository.findPage(null, 10)));
+        assertTrue(repository.insertAllIfAbsent(Arrays.asList(new Product("abc-1", "Teclado", 25.0, 3)))[0]);
+    }
+
+    private static String ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,112 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pruebas de ida y vuelta del formato binario de instantáneas.
+ */
+public class ProductSnapshotTest extends TestCase {
+    private Path dir;
+    private Path file;
+
+    protected void setUp() throws IOException {
+        dir = Files.createTempDirectory("snapshot-test");
+        file = dir.resolve("catalog.snap");
+    }
+
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    public void testRoundTripAcrossSeveralBlocks() {
+        ProductRepositoryImpl source = new ProductRepositoryImpl();
+        int count = ProductSnapshot.RECORDS_PER_BLOCK * 2 + 17;
+        for (int i = 0; i < count; i++) {
+            source.save(new Product("sku-" + i, "Café número " + i, 0.01 + i % 10_000, i));
+        }
+
+        assertEquals(count, ProductSnapshot.write(source, file));
+
+        ProductRepositoryImpl target = new ProductRepositoryImpl(count);
+        assertEquals(count, ProductSnapshot.load(file, target));
+        assertEquals(count, target.findAll().size());
+        Product product = target.findById("sku-12345").get();
+        assertEquals("Café número 12345", product.getName());
+        assertEquals(0.01 + 2345, product.getPrice(), 0.0);
+        assertEquals(12345, product.getStock());
+    }
+
+    public void testEmptyCatalog() {
+        List<Product> none = new ArrayList<>();
+        assertEquals(0, ProductSnapshot.write(none, file));
+        assertEquals(0, ProductSnapshot.load(file, new ProductRepositoryImpl()));
+    }
+
+    public void testRejectsCorruptHeader() throws IOException {
+        writeCatalog(10);
+        byte[] valid = Files.readAllBytes(file);
+        // Encabezado: magia (4), versión (2), productos (8), bloques (4, en 14) y posición de la tabla (8, en 18).
+        assertRejected(withInt(valid, 14, -1));
+        assertRejected(withInt(valid, 14, Integer.MAX_VALUE));
+        assertRejected(withLong(valid, 18, Long.MAX_VALUE - 4));
+        assertRejected(withLong(valid, 18, 0));
+    }
+
+    public void testRejectsTruncatedBlockTable() throws IOException {
+        writeCatalog(10);
+        byte[] valid = Files.readAllBytes(file);
+        byte[] truncated = new byte[valid.length - 4];
+        System.arraycopy(valid, 0, truncated, 0, truncated.length);
+        assertRejected(truncated);
+    }
+
+    public void testRejectsFileThatIsNotASnapshot() throws IOException {
+        Files.write(file, new byte[64]);
+        try {
+            ProductSnapshot.load(file, new ProductRepositoryImpl());
+            fail("Se esperaba un error al cargar un archivo inválido");
+        } catch (UncheckedIOException expected) {
+            // Esperado.
+        }
+    }
+
+    private void writeCatalog(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(new Product("sku-" + i, "Producto " + i, 1.0, i));
+        }
+        ProductSnapshot.write(products, file);
+    }
+
+    private void assertRejected(byte[] contents) throws IOException {
+        Files.write(file, contents);
+        try {
+            ProductSnapshot.load(file, new ProductRepositoryImpl());
+            fail("Se esperaba un error al cargar una instantánea dañada");
+        } catch (UncheckedIOException expected) {
+            // Esperado.
+        }
+    }
+
+    private static byte[] withInt(byte[] contents, int position, int value) {
+        byte[] copy = contents.clone();
+        ByteBuffer.wrap(copy).putInt(position, value);
+        return copy;
+    }
+
+    private static byte[] withLong(byte[] contents, int position, long value) {
+        byte[] copy = contents.clone();
+        ByteBuffer.wrap(copy).putLong(position, value);
+        return copy;
+    }
+}
@@ -0,0 +1,195 @@
+package com.inventory.adapters.persistance;
+
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Pruebas de durabilidad y reproducción del registro de escritura anticipada.
+ * Para simular una caída, el repositorio original nunca se cierra antes de reabrir el archivo.
+ */
+public class WalProductRepositoryTest extends TestCase {
+    private Path dir;
+    private Path logFile;
+
+    protected void setUp() throws IOException {
+        dir = Files.createTempDirectory("wal-test");
+        logFile = dir.resolve("products.wal");
+    }
+
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(dir);
+    }
+
+    public void testAcknowledgedWritesSurviveCrash() {
+        WalProductRepository crashed = new WalProductRepository(logFile);
+        crashed.save(new Product("abc-1", "Teclado", 25.5, 10));
+        crashed.save(new Product("abc-2", "Ratón óptico", 12.0, 3));
+        crashed.save(new Product("abc-1", "Teclado mecánico", 80.0, 7));
+        crashed.delete("abc-2");
+
+        WalProductRepository recovered = new WalProductRepository(logFile);
+        assertEquals(1, recovered.findAll().size());
+        Product product = recovered.findById("abc-1").get();
+        assertEquals("Teclado mecánico", product.getName());
+        assertEquals(80.0, product.getPrice(), 0.0);
+        assertEquals(7, product.getStock());
+        assertEquals(2, product.getVersion());
+        assertFalse(recovered.compareAndSave(1, product.withStock(1)));
+        assertTrue(recovered.compareAndSave(2, product.withStock(1)));
+        assertFalse(recovered.findById("abc-2").isPresent());
+        recovered.close();
+        crashed.close();
+    }
+
+    public void testTornTailIsDiscardedOnReplay() throws IOException {
+        WalProductRepository crashed = new WalProductRepository(logFile);
+        crashed.save(new Product("abc-1", "Teclado", 25.5, 10));
+        long validSize = Files.size(logFile);
+
+        // Simula un registro cortado a mitad de escritura.
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        WalProductRepository recovered = new WalProductRepository(logFile);
+        assertEquals(validSize, Files.size(logFile));
+        assertTrue(recovered.findById("abc-1").isPresent());
+        recovered.save(new Product("abc-3", "Monitor", 150.0, 2));
+        recovered.close();
+        crashed.close();
+
+        WalProductRepository reopened = new WalProductRepository(logFile);
+        assertEquals(2, reopened.findAll().size());
+        reopened.close();
+    }
+
+    public void testConcurrentWritersAreAllDurable() throws InterruptedException {
+        final WalProductRepository repository = new WalProductRepository(logFile);
+        final int threads = 8;
+        final int perThread = 250;
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int writer = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    repository.save(new Product("w" + writer + "-" + i, "Producto " + i, 1.0 + i, i));
+                }
+            });
+            writers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : writers) {
+            thread.join();
+        }
+        // Mientras un líder sincroniza, los demás escritores se suman al mismo fsync.
+        assertTrue("fsyncs: " + repository.getSyncCount(), repository.getSyncCount() < threads * perThread);
+
+        WalProductRepository recovered = new WalProductRepository(logFile);
+        assertEquals(threads * perThread, recovered.findAll().size());
+        assertEquals(42, recovered.findById("w3-42").get().getStock());
+        recovered.close();
+        repository.close();
+    }
+
+    public void testBatchesAreDurableWithASingleSync() {
+        WalProductRepository crashed = new WalProductRepository(logFile);
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new Product("b-" + i, "Producto " + i, 1.0 + i, i));
+        }
+        crashed.saveAll(batch);
+        assertEquals(1, crashed.getSyncCount());
+
+        boolean[] inserted = crashed.insertAllIfAbsent(Arrays.asList(
+                new Product("b-1", "Repetido", 9.0, 9), new Product("c-1", "Nuevo", 9.0, 9)));
+        assertTrue(Arrays.equals(new boolean[]{false, true}, inserted));
+        boolean[] deleted = crashed.deleteAll(Arrays.asList("b-2", "b-3", "zzz-1"));
+        assertTrue(Arrays.equals(new boolean[]{true, true, false}, deleted));
+        assertEquals(3, crashed.getSyncCount());
+
+        WalProductRepository recovered = new WalProductRepository(logFile);
+        assertEquals(99, recovered.findAll().size());
+        assertEquals("Producto 1", recovered.findById("b-1").get().getName());
+        assertFalse(recovered.findById("b-2").isPresent());
+        assertEquals(9, recovered.findById("c-1").get().getStock());
+        recovered.close();
+        crashed.close();
+    }
+
+    public void testValidRecordThatFailsValidationAbortsReplayWithoutTruncating() throws IOException {
+        WalProductRepository crashed = new WalProductRepository(logFile);
+        crashed.save(new Product("abc-1", "Teclado", 25.5, 10));
+        crashed.close();
+        // Un registro con CRC correcto que el dominio ya no acepta (precio fuera de rango), seguido
+        // de una escritura confirmada que no debe perderse.
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(saveRecord("abc-1", "Teclado", 20_000.0, 10, 2)));
+            channel.write(ByteBuffer.wrap(saveRecord("def-1", "Monitor", 150.0, 2, 1)));
+        }
+        long size = Files.size(logFile);
+
+        try {
+            new WalProductRepository(logFile);
+            fail("Se esperaba un error al reproducir un registro válido que no se puede aplicar");
+        } catch (java.io.UncheckedIOException expected) {
+            assertTrue(expected.getCause() instanceof IOException);
+        }
+        assertEquals(size, Files.size(logFile));
+    }
+
+    public void testRejectsOtherFormatVersions() throws IOException {
+        byte[] record = saveRecord("abc-1", "Teclado", 25.5, 10, 1);
+        ByteBuffer contents = ByteBuffer.allocate(6 + record.length);
+        contents.putInt(0x5057414C).putShort((short) 1).put(record);
+        Files.write(logFile, contents.array());
+        try {
+            new WalProductRepository(logFile);
+            fail("Se esperaba un error al abrir un registro de otra versión");
+        } catch (java.io.UncheckedIOException expected) {
+            assertTrue(expected.getCause().getMessage(), expected.getCause().getMessage().contains("Versión de registro no soportada"));
+        }
+        assertEquals(contents.capacity(), Files.size(logFile));
+    }
+
+    public void testRejectsFileThatIsNotALog() throws IOException {
+        Files.write(logFile, "no es un registro".getBytes("UTF-8"));
+        try {
+            new WalProductRepository(logFile);
+            fail("Se esperaba un error al abrir un archivo inválido");
+        } catch (java.io.UncheckedIOException expected) {
+            // Esperado.
+        }
+    }
+
+    /**
+     * Arma un registro de guardado con el mismo formato que escribe el repositorio.
+     */
+    private static byte[] saveRecord(String id, String name, double price, int stock, long version) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeByte(1);
+        out.writeUTF(id);
+        out.writeUTF(name);
+        out.writeDouble(price);
+        out.writeInt(stock);
+        out.writeLong(version);
+        byte[] bytes = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return ByteBuffer.allocate(8 + bytes.length).putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).array();
+    }
+}
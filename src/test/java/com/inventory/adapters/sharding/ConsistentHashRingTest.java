@@ -0,0 +1,75 @@
+package com.inventory.adapters.sharding;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+/**
+ * Pruebas del anillo de hashing consistente: reparto parejo entre nodos y, al agregar o quitar uno,
+ * movimiento de solo las claves que cambian de dueño (alrededor de 1/N).
+ */
+public class ConsistentHashRingTest extends TestCase {
+    private static final int KEYS = 100_000;
+
+    public void testKeysSpreadEvenlyAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList("a", "b", "c", "d"));
+        int[] counts = new int[4];
+        for (int i = 0; i < KEYS; i++) {
+            counts[ring.indexFor("sku-" + i)]++;
+        }
+        for (int count : counts) {
+            assertTrue(Arrays.toString(counts), Math.abs(count - KEYS / 4) < KEYS / 4 * 0.2);
+        }
+        // El dueño depende solo de los nombres, no del orden en que se indican los nodos.
+        ConsistentHashRing reordered = new ConsistentHashRing(Arrays.asList("d", "c", "b", "a"));
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(ring.nodeFor("sku-" + i), reordered.nodeFor("sku-" + i));
+        }
+    }
+
+    public void testAddingANodeMovesAboutOneNthOfTheKeysAndOnlyToIt() {
+        ConsistentHashRing before = new ConsistentHashRing(Arrays.asList("a", "b", "c", "d"));
+        ConsistentHashRing after = before.withNode("e");
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String id = "sku-" + i;
+            String owner = after.nodeFor(id);
+            if (!owner.equals(before.nodeFor(id))) {
+                assertEquals("Una clave solo puede moverse al nodo nuevo", "e", owner);
+                moved++;
+            }
+        }
+        assertMovedAbout(KEYS / 5, moved);
+    }
+
+    public void testRemovingANodeMovesOnlyItsKeys() {
+        ConsistentHashRing before = new ConsistentHashRing(Arrays.asList("a", "b", "c", "d", "e"));
+        ConsistentHashRing after = before.withoutNode("c");
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String id = "sku-" + i;
+            String owner = before.nodeFor(id);
+            if (!owner.equals(after.nodeFor(id))) {
+                assertEquals("Solo se mueven las claves del nodo quitado", "c", owner);
+                moved++;
+            }
+        }
+        assertMovedAbout(KEYS / 5, moved);
+
+        try {
+            new ConsistentHashRing(Arrays.asList("a")).withoutNode("a");
+            fail("El anillo no puede quedar sin nodos");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            before.withNode("a");
+            fail("Los nombres de los nodos no pueden repetirse");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static void assertMovedAbout(int expected, int moved) {
+        assertTrue("Se movieron " + moved + " claves, se esperaban cerca de " + expected,
+                Math.abs(moved - expected) < expected * 0.2);
+    }
+}
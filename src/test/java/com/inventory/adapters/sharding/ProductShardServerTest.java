@@ -0,0 +1,213 @@
+package com.inventory.adapters.sharding;
+
+import com.inventory.adapters.persistance.DataAccessException;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import junit.framework.TestCase;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas de los shards remotos por loopback: el cliente respeta el contrato de ProductRepository
+ * a través del protocolo binario (errores incluidos) y el repositorio particionado funciona igual
+ * sobre shards remotos, también con varios hilos compartiendo las conexiones.
+ */
+public class ProductShardServerTest extends TestCase {
+    private final List<ProductShardServer> servers = new ArrayList<>();
+    private final List<ProductRepositoryImpl> stores = new ArrayList<>();
+
+    protected void tearDown() {
+        for (ProductShardServer server : servers) {
+            server.close();
+        }
+    }
+
+    public void testRemoteRepositoryRoundTripsEveryOperation() {
+        try (RemoteProductRepository remote = startShard()) {
+            remote.save(new Product("abc-1", "Teclado ñandú", 25.5, 3));
+            Product stored = remote.findById("abc-1").get();
+            assertEquals("Teclado ñandú", stored.getName());
+            assertEquals(25.5, stored.getPrice());
+            assertEquals(1, stored.getVersion());
+            assertFalse(remote.findById("zzz-9").isPresent());
+
+            assertFalse(remote.compareAndSave(0, new Product("abc-1", "Duplicado", 1.0, 1)));
+            assertTrue(remote.compareAndSave(1, new Product("abc-1", "Teclado", 26.0, 3)));
+            assertEquals(8, remote.adjustStock("abc-1", 5).getAsInt());
+            assertFalse(remote.adjustStock("zzz-9", 1).isPresent());
+            assertTrue(remote.tryReserve("abc-1", 8));
+            assertFalse(remote.tryReserve("abc-1", 1));
+
+            remote.saveAll(Arrays.asList(new Product("abc-2", "Ratón", 10.0, 4), new Product("abc-3", "Monitor", 300.0, 2)));
+            assertEquals("[false, true]", Arrays.toString(remote.insertAllIfAbsent(Arrays.asList(
+                    new Product("abc-2", "Duplicado", 1.0, 1), new Product("abc-4", "Cable", 1.0, 1)))));
+            assertEquals(4, remote.findAll().size());
+            assertEquals(2, remote.findPage("abc-2", 10).size());
+            assertEquals("abc-1", remote.findPage(null, 1).get(0).getId());
+            assertEquals("[true, false]", Arrays.toString(remote.deleteAll(Arrays.asList("abc-4", "zzz-9"))));
+            remote.delete("abc-3");
+            assertEquals(2, stores.get(0).findAll().size());
+
+            // Los errores del shard llegan con el mismo tipo y la conexión sigue utilizable.
+            try {
+                remote.adjustStock("abc-1", -1);
+                fail("El stock no puede quedar negativo");
+            } catch (IllegalArgumentException expected) {
+            }
+            try {
+                remote.findPage(null, 0);
+                fail("El tamaño de página debe ser positivo");
+            } catch (IllegalArgumentException expected) {
+            }
+            assertEquals(0, remote.findById("abc-1").get().getStock());
+        }
+    }
+
+    public void testUnreachableShardFailsWithDataAccessException() {
+        ProductShardServer server = new ProductShardServer(new ProductRepositoryImpl(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        int port = server.getPort();
+        server.close(); // Nadie escucha ya en ese puerto.
+        try (RemoteProductRepository remote = new RemoteProductRepository(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port))) {
+            remote.findById("abc-1");
+            fail("Sin servidor no hay respuesta");
+        } catch (DataAccessException expected) {
+        }
+    }
+
+    public void testHungShardTimesOutInsteadOfBlockingForever() throws IOException {
+        try (ServerSocket silent = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             RemoteProductRepository remote = new RemoteProductRepository(
+                     new InetSocketAddress(InetAddress.getLoopbackAddress(), silent.getLocalPort()), 200)) {
+            // Acepta la conexión (queda en la cola del socket) pero nunca responde.
+            try {
+                remote.findById("abc-1");
+                fail("Un shard que no responde debe agotar el tiempo de lectura");
+            } catch (DataAccessException expected) {
+                assertTrue(expected.getCause() instanceof SocketTimeoutException);
+            }
+        }
+    }
+
+    public void testUndecodableResponseClosesTheConnection() throws Exception {
+        final AtomicInteger afterResponse = new AtomicInteger(0);
+        try (ServerSocket fake = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             RemoteProductRepository remote = new RemoteProductRepository(
+                     new InetSocketAddress(InetAddress.getLoopbackAddress(), fake.getLocalPort()))) {
+            Thread responder = new Thread(() -> {
+                try (Socket socket = fake.accept();
+                     DataInputStream in = new DataInputStream(socket.getInputStream());
+                     DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+                    in.readByte();
+                    in.readUTF();
+                    // Un producto con precio negativo: Product lo rechaza al decodificarlo.
+                    out.writeByte(ShardProtocol.OK);
+                    out.writeBoolean(true);
+                    out.writeUTF("abc-1");
+                    out.writeUTF("Teclado");
+                    out.writeDouble(-1.0);
+                    out.writeInt(3);
+                    out.writeLong(1);
+                    out.flush();
+                    afterResponse.set(in.read());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            responder.start();
+            try {
+                remote.findById("abc-1");
+                fail("Una respuesta que no se puede decodificar debe fallar");
+            } catch (DataAccessException expected) {
+            }
+            responder.join(5_000);
+            assertFalse(responder.isAlive());
+            assertEquals(-1, afterResponse.get()); // El cliente cerró la conexión en lugar de reutilizarla.
+        }
+    }
+
+    public void testMalformedRequestClosesTheServerConnection() throws IOException {
+        try (RemoteProductRepository remote = startShard();
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), servers.get(0).getPort())) {
+            socket.setSoTimeout(5_000);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeByte(ShardProtocol.DELETE_ALL);
+            out.writeInt(-1);
+            out.flush();
+            assertEquals(-1, socket.getInputStream().read());
+
+            // El servidor sigue atendiendo otras conexiones.
+            remote.save(new Product("abc-1", "Teclado", 25.0, 3));
+            assertTrue(remote.findById("abc-1").isPresent());
+        }
+    }
+
+    public void testShardedRepositoryOverRemoteShards() throws Exception {
+        Map<String, ProductRepository> remotes = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            remotes.put("shard-" + i, startShard());
+        }
+        final int perThread = 2_000;
+        final AtomicInteger failures = new AtomicInteger();
+        try (ShardedProductRepository repository = new ShardedProductRepository(remotes)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                writers.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perThread; i++) {
+                            String id = "sku-" + thread + "-" + i;
+                            repository.save(new Product(id, "Producto", 1.0, 10));
+                            repository.adjustStock(id, -1);
+                        }
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }));
+            }
+            for (Thread writer : writers) {
+                writer.start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            assertEquals(0, failures.get());
+            assertEquals(4 * perThread, repository.findAll().size());
+            for (ProductRepositoryImpl store : stores) {
+                assertTrue(store.findAll().size() > perThread); // Cada proceso guarda su parte.
+            }
+            assertEquals(9, repository.findById("sku-3-1999").get().getStock());
+            assertEquals(4 * perThread, repository.stream().count());
+
+            long moved = repository.addShard("shard-3", startShard());
+            assertTrue(moved > perThread && moved < 3 * perThread);
+            assertEquals(4 * perThread, repository.findAll().size());
+            assertEquals(moved, stores.get(3).findAll().size());
+        }
+    }
+
+    private RemoteProductRepository startShard() {
+        ProductRepositoryImpl store = new ProductRepositoryImpl();
+        ProductShardServer server = new ProductShardServer(store, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        servers.add(server);
+        stores.add(store);
+        return new RemoteProductRepository(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.inventory.adapters.sharding;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pruebas del repositorio particionado con shards en memoria: cada ID vive en un único shard, las
+ * consultas que recorren todo el catálogo combinan los shards en orden y los cambios de topología
+ * mueven solo las claves que cambian de dueño sin perder ninguna.
+ */
+public class ShardedProductRepositoryTest extends TestCase {
+    private Map<String, ProductRepository> shards;
+    private ShardedProductRepository repository;
+
+    protected void setUp() {
+        shards = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            shards.put("shard-" + i, new ProductRepositoryImpl());
+        }
+        repository = new ShardedProductRepository(shards);
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        repository.save(new Product("abc-2", "Ratón", 10.0, 4));
+    }
+
+    protected void tearDown() throws Exception {
+        repository.close();
+    }
+
+    public void testSingleOperationsGoToTheOwningShard() {
+        assertFalse(repository.compareAndSave(0, new Product("abc-1", "Duplicado", 1.0, 1)));
+        assertTrue(repository.compareAndSave(1, new Product("abc-1", "Teclado USB", 26.0, 3)));
+        assertEquals(2, repository.findById("abc-1").get().getVersion());
+        assertEquals(8, repository.adjustStock("abc-1", 5).getAsInt());
+        assertFalse(repository.adjustStock("zzz-9", 1).isPresent());
+        assertTrue(repository.tryReserve("abc-2", 4));
+        assertFalse(repository.tryReserve("abc-2", 1));
+
+        for (String id : Arrays.asList("abc-1", "abc-2")) {
+            for (Map.Entry<String, ProductRepository> shard : shards.entrySet()) {
+                boolean owner = shard.getKey().equals(repository.shardNameFor(id));
+                assertEquals(id + " en " + shard.getKey(), owner, shard.getValue().findById(id).isPresent());
+            }
+        }
+        repository.delete("abc-2");
+        assertFalse(repository.findById("abc-2").isPresent());
+    }
+
+    public void testWholeCatalogQueriesMergeEveryShard() {
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(new Product(String.format("sku-%04d", i), "Producto " + i, 1.0, i));
+        }
+        repository.saveAll(batch);
+        for (ProductRepository shard : shards.values()) {
+            assertTrue(shard.findAll().size() > 100); // Todos los shards reciben parte del lote.
+        }
+        assertEquals(502, repository.findAll().size());
+
+        List<Product> page = repository.findPage("abc-2", 3);
+        assertEquals("sku-0000,sku-0001,sku-0002", ids(page));
+        assertEquals("sku-0498,sku-0499", ids(repository.findPage("sku-0497", 10)));
+        try (Stream<Product> products = repository.stream()) {
+            List<String> all = products.map(Product::getId).collect(Collectors.toList());
+            assertEquals(502, all.size());
+            List<String> sorted = new ArrayList<>(all);
+            sorted.sort(null);
+            assertEquals(sorted, all);
+        }
+
+        List<Product> inserts = Arrays.asList(new Product("abc-1", "Duplicado", 1.0, 1),
+                new Product("abc-3", "Monitor", 300.0, 2), new Product("sku-0007", "Duplicado", 1.0, 1));
+        assertEquals("[false, true, false]", Arrays.toString(repository.insertAllIfAbsent(inserts)));
+        assertEquals("[true, false, true]",
+                Arrays.toString(repository.deleteAll(Arrays.asList("abc-3", "zzz-9", "sku-0007"))));
+        assertEquals(501, repository.findAll().size());
+        try {
+            repository.findPage(null, 0);
+            fail("El tamaño de página debe ser positivo");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testAddingAndRemovingShardsMovesAboutOneNthOfTheProducts() {
+        int count = 30_000;
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new Product("sku-" + i, "Producto " + i, 1.0, 1));
+        }
+        repository.saveAll(batch);
+        int total = count + 2;
+
+        ProductRepository added = new ProductRepositoryImpl();
+        long moved = repository.addShard("shard-3", added);
+        assertAbout(total / 4, moved);
+        assertEquals(moved, added.findAll().size());
+        assertCatalogIntact(total);
+
+        long redistributed = repository.removeShard("shard-0");
+        assertEquals(shards.get("shard-0").findAll().size(), redistributed); // Solo se mueven las suyas.
+        assertAbout(total / 4, redistributed);
+        assertEquals(Arrays.asList("shard-1", "shard-2", "shard-3"), new ArrayList<>(repository.shards().keySet()));
+        assertCatalogIntact(total);
+
+        try {
+            repository.addShard("shard-1", new ProductRepositoryImpl());
+            fail("Los nombres de los shards no pueden repetirse");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * Cada producto está exactamente en el shard que le asigna el anillo actual.
+     */
+    private void assertCatalogIntact(int total) {
+        int stored = 0;
+        for (Map.Entry<String, ProductRepository> shard : repository.shards().entrySet()) {
+            for (Product product : shard.getValue().findAll()) {
+                assertEquals(product.getId(), shard.getKey(), repository.shardNameFor(product.getId()));
+                stored++;
+            }
+        }
+        assertEquals(total, stored);
+        assertEquals(total, repository.findAll().size());
+        assertTrue(repository.findById("sku-12345").isPresent());
+    }
+
+    private static void assertAbout(long expected, long actual) {
+        assertTrue("Se movieron " + actual + ", se esperaban cerca de " + expected,
+                Math.abs(actual - expected) < expected * 0.2);
+    }
+
+    private static String ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.joining(","));
+    }
+}
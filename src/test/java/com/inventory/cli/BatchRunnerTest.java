@@ -0,0 +1,161 @@
+package com.inventory.cli;
+
+import com.inventory.adapters.controller.ProductController;
+import com.inventory.adapters.persistance.DataAccessException;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import com.inventory.usecases.*;
+import junit.framework.TestCase;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Pruebas del modo por lotes: formato de salida, errores por línea y campos opcionales de update.
+ */
+public class BatchRunnerTest extends TestCase {
+    private ProductRepository repository;
+    private BatchRunner runner;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+        runner = new BatchRunner(new ProductController(
+                new AddProductUseCase(repository),
+                new UpdateProductUseCase(repository),
+                new DeleteProductUseCase(repository),
+                new GetProductUseCase(repository),
+                new ListAllProductsUseCase(repository),
+                new AdjustStockUseCase(repository)));
+    }
+
+    public void testCommandsProduceOneLinePerResult() throws IOException {
+        String output = run(
+                "# alta y consulta\n"
+                + "add\tabc-1\tTeclado, USB\t25.5\t3\n"
+                + "add\tabc-2\tRatón\t10\t4\n"
+                + "\n"
+                + "get\tabc-1\n"
+                + "update\tabc-1\t\t\t7\n"
+                + "delete\tabc-2\n"
+                + "list\n");
+
+        assertEquals(
+                "OK\tadd\tabc-1\tTeclado, USB\t25.5\t3\t1\n"
+                + "OK\tadd\tabc-2\tRatón\t10.0\t4\t1\n"
+                + "OK\tget\tabc-1\tTeclado, USB\t25.5\t3\t1\n"
+                + "OK\tupdate\tabc-1\tTeclado, USB\t25.5\t7\t2\n"
+                + "OK\tdelete\tabc-2\n"
+                + "ITEM\tabc-1\tTeclado, USB\t25.5\t7\t2\n"
+                + "OK\tlist\t1\n",
+                output);
+    }
+
+    public void testErrorsReportLineAndStatusWithoutStoppingTheBatch() throws IOException {
+        StringWriter out = new StringWriter();
+        BatchRunner.Summary summary = runner.run(new BufferedReader(new StringReader(
+                "add\tabc-1\tTeclado\t25\t3\n"
+                + "add\tabc-1\tOtro\t1\t1\n"
+                + "get\tzzz-9\n"
+                + "add\tx\tCorto\t1\t1\n"
+                + "add\tabc-3\tSin precio\tdiez\t1\n"
+                + "delete\n"
+                + "vender\tabc-1\n"
+                + "get\tabc-1\n")), out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(8, lines.length);
+        assertTrue(lines[1].startsWith("ERR\t2\tCONFLICT\t"));
+        assertTrue(lines[2].startsWith("ERR\t3\tNOT_FOUND\t"));
+        assertTrue(lines[3].startsWith("ERR\t4\tINVALID\t"));
+        assertTrue(lines[4].startsWith("ERR\t5\tSYNTAX\t"));
+        assertTrue(lines[5].startsWith("ERR\t6\tSYNTAX\t"));
+        assertEquals("ERR\t7\tSYNTAX\tComando desconocido: vender", lines[6]);
+        assertEquals("OK\tget\tabc-1\tTeclado\t25.0\t3\t1", lines[7]);
+        assertEquals(8, summary.getCommands());
+        assertEquals(6, summary.getErrors());
+    }
+
+    public void testListOnEmptyRepository() throws IOException {
+        assertEquals("OK\tlist\t0\n", run("list\n"));
+    }
+
+    public void testDeniedCommandsReportForbidden() throws IOException {
+        Authorizer authorizer = new Authorizer(AuthorizationPolicy.defaults(), Role.CONSULTA);
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        runner = new BatchRunner(new ProductController(
+                new AddProductUseCase(repository, authorizer),
+                new UpdateProductUseCase(repository, authorizer),
+                new DeleteProductUseCase(repository, authorizer),
+                new GetProductUseCase(repository),
+                new ListAllProductsUseCase(repository, authorizer),
+                new AdjustStockUseCase(repository)));
+        String[] lines = run("add\tabc-2\tRatón\t10\t4\ndelete\tabc-1\nlist\n").split("\n");
+        assertTrue(lines[0].startsWith("ERR\t1\tFORBIDDEN\t"));
+        assertTrue(lines[1].startsWith("ERR\t2\tFORBIDDEN\t"));
+        assertEquals("OK\tlist\t1", lines[3]);
+
+        authorizer.reload(AuthorizationPolicy.compile(new Properties()));
+        assertTrue(run("list\n").startsWith("ERR\t1\tFORBIDDEN\t"));
+    }
+
+    public void testUnexpectedFailuresReportFailureAndTheBatchGoesOn() throws IOException {
+        ProductRepository failing = new ProductRepositoryImpl() {
+            @Override
+            public Optional<Product> findById(String id) {
+                if (id.equals("roto-1")) {
+                    throw new DataAccessException("Base de datos caída", new SQLException("conexión perdida"));
+                }
+                return super.findById(id);
+            }
+        };
+        runner = new BatchRunner(new ProductController(
+                new AddProductUseCase(failing),
+                new UpdateProductUseCase(failing),
+                new DeleteProductUseCase(failing),
+                new GetProductUseCase(failing),
+                new ListAllProductsUseCase(failing),
+                new AdjustStockUseCase(failing)));
+
+        String[] lines = run("add\tabc-1\tTeclado\t25\t3\nget\troto-1\nget\tabc-1\n").split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("ERR\t2\tFAILURE\tBase de datos caída", lines[1]);
+        assertTrue(lines[2].startsWith("OK\tget\tabc-1\t"));
+    }
+
+    public void testResultsAreFlushedWhenReadingFails() {
+        StringWriter written = new StringWriter();
+        BufferedWriter out = new BufferedWriter(written, 64 * 1024);
+        BufferedReader in = new BufferedReader(new StringReader("add\tabc-1\tTeclado\t25\t3\n")) {
+            private boolean first = true;
+
+            @Override
+            public String readLine() throws IOException {
+                if (first) {
+                    first = false;
+                    return super.readLine();
+                }
+                throw new IOException("entrada cortada");
+            }
+        };
+        try {
+            runner.run(in, out);
+            fail("Se esperaba IOException");
+        } catch (IOException expected) {
+        }
+        assertEquals("OK\tadd\tabc-1\tTeclado\t25.0\t3\t1\n", written.toString());
+    }
+
+    private String run(String script) throws IOException {
+        StringWriter out = new StringWriter();
+        runner.run(new BufferedReader(new StringReader(script)), out);
+        return out.toString();
+    }
+}
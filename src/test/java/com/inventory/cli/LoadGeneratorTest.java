@@ -0,0 +1,84 @@
+package com.inventory.cli;
+
+import com.inventory.adapters.controller.ControllerResult;
+import com.inventory.adapters.controller.ProductController;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.ProductRepository;
+import com.inventory.usecases.*;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pruebas del generador de carga: mezcla de operaciones, informes por segundo y conteo de errores.
+ */
+public class LoadGeneratorTest extends TestCase {
+    private ProductRepository repository;
+    private ProductController controller;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+        controller = new ProductController(
+                new AddProductUseCase(repository),
+                new UpdateProductUseCase(repository),
+                new DeleteProductUseCase(repository),
+                new GetProductUseCase(repository),
+                new ListAllProductsUseCase(repository),
+                new AdjustStockUseCase(repository));
+    }
+
+    public void testParseMixKeepsOnlyNamedOperations() {
+        Map<LoadGenerator.Operation, Integer> mix = LoadGenerator.Settings.parseMix("get=70, Update=30");
+
+        assertEquals(2, mix.size());
+        assertEquals(Integer.valueOf(70), mix.get(LoadGenerator.Operation.GET));
+        assertEquals(Integer.valueOf(30), mix.get(LoadGenerator.Operation.UPDATE));
+        try {
+            LoadGenerator.Settings.parseMix("get=70,sell=30");
+            fail("Se esperaba IllegalArgumentException por una operación desconocida");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new LoadGenerator.Settings(1, false, 10, 1, 0, LoadGenerator.Settings.parseMix("get=0"));
+            fail("Se esperaba IllegalArgumentException por una mezcla sin pesos");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testRunReportsEverySecondAndCountsCallsByOperation() throws InterruptedException {
+        LoadGenerator.seed(repository, 500);
+        assertEquals(500, repository.findAll().size());
+        LoadGenerator.Settings settings = new LoadGenerator.Settings(4, true, 500, 2, 0.99,
+                LoadGenerator.Settings.parseMix(LoadGenerator.Settings.DEFAULT_MIX));
+        List<LoadGenerator.Interval> intervals = new ArrayList<>();
+
+        LoadGenerator generator = new LoadGenerator(controller, settings);
+        LoadGenerator.Summary summary = generator.run(intervals::add);
+
+        assertEquals(2, intervals.size());
+        long intervalCalls = 0;
+        for (LoadGenerator.Interval interval : intervals) {
+            assertTrue(interval.getCalls() > 0);
+            intervalCalls += interval.getCalls();
+        }
+        assertTrue(summary.getCalls() >= intervalCalls);
+        long byOperation = 0;
+        for (LoadGenerator.Operation operation : LoadGenerator.Operation.values()) {
+            assertTrue(operation + " no se ejecutó", summary.getCalls(operation) > 0);
+            byOperation += summary.getCalls(operation);
+        }
+        assertEquals(summary.getCalls(), byOperation);
+        // Con altas y bajas sobre las mismas claves solo se esperan conflictos y productos inexistentes.
+        assertEquals(0, summary.getExceptions());
+        assertEquals(summary.getErrors(), summary.getFailures(ControllerResult.Status.CONFLICT)
+                + summary.getFailures(ControllerResult.Status.NOT_FOUND));
+        assertTrue(summary.report().contains("Errores:"));
+        try {
+            generator.run(interval -> { });
+            fail("Se esperaba IllegalStateException al ejecutar dos veces");
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory.domain;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Comprueba que ProductId acepta los mismos IDs que ProductValidator, los recupera intactos y los
+ * ordena igual que String.compareTo.
+ */
+public class ProductIdTest extends TestCase {
+    private static final String ALPHABET = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz";
+
+    public void testKnownCases() {
+        String[] samples = {"abc", "ABC_123-x", "12345678901234567890", "---", "zzzzzzzzzzzzzzzzzzzz", "sku-1"};
+        for (String sample : samples) {
+            ProductId id = ProductId.of(sample);
+            assertEquals(sample, id.toString());
+            assertEquals(sample.length(), id.length());
+            assertEquals(id, ProductId.fromBits(id.getHigh(), id.getLow()));
+        }
+        String[] invalid = {null, "", "ab", "123456789012345678901", "abc def", "Ñandú", "über", "abc\n", "😀😀😀"};
+        for (String sample : invalid) {
+            assertNull(sample, ProductId.tryOf(sample));
+        }
+        try {
+            ProductId.of("ab");
+            fail("Un ID inválido no se puede empaquetar");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testPaddingDoesNotCollideWithDashes() {
+        // El relleno vale lo mismo que '-': solo el largo distingue estos IDs.
+        ProductId shorter = ProductId.of("abc");
+        ProductId longer = ProductId.of("abc-");
+        assertFalse(shorter.equals(longer));
+        assertTrue(shorter.compareTo(longer) < 0);
+        assertTrue(ProductId.of("abc--------").compareTo(ProductId.of("abc---------")) < 0);
+    }
+
+    public void testRandomIdsRoundTripAndSortLikeStrings() {
+        Random random = new Random(42);
+        String[] ids = new String[5_000];
+        ProductId[] packed = new ProductId[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            // Pocos símbolos distintos para que abunden los prefijos comunes.
+            String symbols = i % 2 == 0 ? ALPHABET : "-0_a";
+            StringBuilder id = new StringBuilder();
+            for (int length = 3 + random.nextInt(18); length > 0; length--) {
+                id.append(symbols.charAt(random.nextInt(symbols.length())));
+            }
+            ids[i] = id.toString();
+            packed[i] = ProductId.of(ids[i]);
+            assertTrue(ProductValidator.isValidId(ids[i]));
+            assertEquals(ids[i], packed[i].toString());
+        }
+        for (int i = 1; i < ids.length; i++) {
+            assertEquals(ids[i - 1] + " / " + ids[i],
+                    Integer.signum(ids[i - 1].compareTo(ids[i])), Integer.signum(packed[i - 1].compareTo(packed[i])));
+            assertEquals(ids[i - 1].equals(ids[i]), packed[i - 1].equals(packed[i]));
+        }
+        Arrays.sort(ids);
+        Arrays.sort(packed);
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], packed[i].toString());
+        }
+    }
+}
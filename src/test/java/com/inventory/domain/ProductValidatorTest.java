@@ -0,0 +1,70 @@
+package com.inventory.domain;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Comprueba que ProductValidator acepta y rechaza exactamente lo mismo que las expresiones regulares originales.
+ */
+public class ProductValidatorTest extends TestCase {
+    private static final Pattern ID = Pattern.compile("^[a-zA-Z0-9_-]{3,20}$");
+    private static final Pattern NAME = Pattern.compile("^[a-zA-Z0-9 áéíóúÁÉÍÓÚñÑ.,'-]{3,50}$");
+
+    // Mezcla de caracteres válidos, inválidos cercanos (acentos no permitidos, ü, tabs, saltos de línea)
+    // y caracteres fuera del rango de las tablas, incluidos emojis (pares sustitutos).
+    private static final String ALPHABET = "aZz09_- .,'-áéíóúÁÉÍÓÚñÑàèüÜçÇ¿?!@#$%\t\n\r\0/\\\"<>漢€ÿ￿😀";
+
+    public void testKnownCases() {
+        String[] samples = {
+                null, "", "ab", "abc", "ABC_123-x", "abc def", "abc\n", "12345678901234567890", "123456789012345678901",
+                "Café", "Niño pequeño", "Teclado, 'pro'.", "Señal-5", "ü-dos", "<script>", "a  ", "über", "Ñandú"
+        };
+        for (String sample : samples) {
+            assertEquivalent(sample);
+        }
+    }
+
+    public void testRandomStringsMatchTheOriginalRegexes() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int length = random.nextInt(56);
+            StringBuilder value = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            assertEquivalent(value.toString());
+        }
+    }
+
+    public void testErrorMessagesAreUnchanged() {
+        assertMessage("El ID debe ser alfanumérico (3-20 caracteres).", () -> ProductValidator.validateId("a"));
+        assertMessage("El nombre contiene caracteres inválidos o es demasiado corto.", () -> ProductValidator.validateName("x"));
+        assertMessage("El precio debe estar entre $0.01 y $10,000.", () -> ProductValidator.validatePrice(0));
+        assertMessage("El stock no puede ser negativo.", () -> ProductValidator.validateStock(-1));
+    }
+
+    public void testWithMethodsUseConstructorRules() {
+        Product product = new Product("abc-1", "Teclado", 25.0, 3);
+        assertMessage("El nombre contiene caracteres inválidos o es demasiado corto.", () -> product.withName("<b>Teclado</b>"));
+        assertMessage("El precio debe estar entre $0.01 y $10,000.", () -> product.withPrice(20_000));
+        assertMessage("El stock no puede ser negativo.", () -> product.withStock(-1));
+    }
+
+    private static void assertEquivalent(String value) {
+        boolean idExpected = value != null && ID.matcher(value).matches();
+        boolean nameExpected = value != null && NAME.matcher(value).matches();
+        assertEquals("ID: " + value, idExpected, ProductValidator.isValidId(value));
+        assertEquals("Nombre: " + value, nameExpected, ProductValidator.isValidName(value));
+    }
+
+    private static void assertMessage(String expected, Runnable action) {
+        try {
+            action.run();
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(expected, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.inventory.usecases;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import junit.framework.TestCase;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas de estrés del ajuste atómico de stock: muchos hilos sobre un mismo producto.
+ */
+public class AdjustStockUseCaseTest extends TestCase {
+    private static final int THREADS = 8;
+
+    private ProductRepository repository;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+    }
+
+    public void testConcurrentDecrementsAreNeverLost() throws InterruptedException {
+        final int perThread = 20_000;
+        repository.save(new Product("hot-1", "Producto popular", 10.0, THREADS * perThread));
+        final AdjustStockUseCase useCase = new AdjustStockUseCase(repository);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < perThread; i++) {
+                useCase.execute("hot-1", -1);
+            }
+        });
+
+        assertEquals(0, repository.findById("hot-1").get().getStock());
+    }
+
+    public void testConcurrentReservationsNeverOversell() throws InterruptedException {
+        final int stock = 50_000;
+        repository.save(new Product("hot-1", "Producto popular", 10.0, stock));
+        final ReserveStockUseCase useCase = new ReserveStockUseCase(repository);
+        final AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(() -> {
+            // Cada hilo intenta reservar más de lo que le corresponde; el total nunca debe pasar del stock.
+            while (useCase.execute("hot-1", 1)) {
+                reserved.incrementAndGet();
+            }
+        });
+
+        assertEquals(stock, reserved.get());
+        assertEquals(0, repository.findById("hot-1").get().getStock());
+    }
+
+    public void testRejectsAdjustmentBelowZero() {
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        AdjustStockUseCase useCase = new AdjustStockUseCase(repository);
+        try {
+            useCase.execute("abc-1", -4);
+            fail("Se esperaba un error por stock negativo");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(3, repository.findById("abc-1").get().getStock());
+        }
+        assertEquals(8, useCase.execute("abc-1", 5));
+    }
+
+    public void testUnknownProduct() {
+        try {
+            new AdjustStockUseCase(repository).execute("no-existe", 1);
+            fail("Se esperaba NoSuchElementException");
+        } catch (NoSuchElementException expected) {
+            // Esperado.
+        }
+        try {
+            new ReserveStockUseCase(repository).execute("no-existe", 1);
+            fail("Se esperaba NoSuchElementException");
+        } catch (NoSuchElementException expected) {
+            // Esperado.
+        }
+    }
+
+    private static void runConcurrently(Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
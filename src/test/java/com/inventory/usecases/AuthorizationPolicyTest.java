@@ -0,0 +1,70 @@
+package com.inventory.usecases;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Properties;
+
+/**
+ * Pruebas de la compilación de políticas de autorización a máscaras de bits por rol.
+ */
+public class AuthorizationPolicyTest extends TestCase {
+
+    public void testDefaultsReserveAddingProductsToAdministrators() {
+        AuthorizationPolicy policy = AuthorizationPolicy.defaults();
+        assertEquals(EnumSet.allOf(Permission.class), policy.permissionsOf(Role.ADMINISTRADOR));
+        assertEquals(EnumSet.of(Permission.UPDATE_PRODUCT, Permission.LIST_PRODUCTS, Permission.ADJUST_STOCK),
+                policy.permissionsOf(Role.OPERADOR));
+        assertEquals(EnumSet.of(Permission.LIST_PRODUCTS), policy.permissionsOf(Role.CONSULTA));
+        for (Role role : Role.values()) {
+            assertEquals(role == Role.ADMINISTRADOR, policy.allows(role, Permission.ADD_PRODUCT));
+            assertEquals(role == Role.ADMINISTRADOR, policy.allows(role, Permission.IMPORT_PRODUCTS));
+            assertTrue(AuthorizationPolicy.permitAll().allows(role, Permission.DELETE_PRODUCT));
+        }
+    }
+
+    public void testLoadsPolicyFile() throws IOException {
+        Path file = Files.createTempFile("politica", ".properties");
+        try {
+            Files.write(file, ("# Comentario\n"
+                    + "administrador = *\n"
+                    + "OPERADOR = update_product, DELETE_PRODUCT,\n"
+                    + "CONSULTA =\n").getBytes(StandardCharsets.UTF_8));
+            AuthorizationPolicy policy = AuthorizationPolicy.load(file);
+            assertEquals(EnumSet.allOf(Permission.class), policy.permissionsOf(Role.ADMINISTRADOR));
+            assertEquals(EnumSet.of(Permission.UPDATE_PRODUCT, Permission.DELETE_PRODUCT), policy.permissionsOf(Role.OPERADOR));
+            assertTrue(policy.permissionsOf(Role.CONSULTA).isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+        try {
+            AuthorizationPolicy.load(file);
+            fail("El archivo ya no existe");
+        } catch (UncheckedIOException expected) {
+        }
+    }
+
+    public void testRejectsUnknownRolesAndPermissions() {
+        Properties unknownRole = new Properties();
+        unknownRole.setProperty("SUPERVISOR", "LIST_PRODUCTS");
+        try {
+            AuthorizationPolicy.compile(unknownRole);
+            fail("El rol no existe");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains("SUPERVISOR"));
+        }
+        Properties unknownPermission = new Properties();
+        unknownPermission.setProperty("OPERADOR", "LIST_PRODUCTS,EXPORT");
+        try {
+            AuthorizationPolicy.compile(unknownPermission);
+            fail("El permiso no existe");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains("EXPORT"));
+        }
+    }
+}
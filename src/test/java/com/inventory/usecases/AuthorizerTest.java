@@ -0,0 +1,150 @@
+package com.inventory.usecases;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pruebas de la autorización en los casos de uso: el rol del llamador decide qué puede ejecutar y
+ * una política recargada rige para las llamadas siguientes sin detener a las que están en curso.
+ */
+public class AuthorizerTest extends TestCase {
+    private ProductRepository repository;
+    private Authorizer authorizer;
+    private AddProductUseCase add;
+    private UpdateProductUseCase update;
+    private DeleteProductUseCase delete;
+    private ListAllProductsUseCase list;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+        authorizer = new Authorizer(AuthorizationPolicy.defaults(), Role.CONSULTA);
+        add = new AddProductUseCase(repository, authorizer);
+        update = new UpdateProductUseCase(repository, authorizer);
+        delete = new DeleteProductUseCase(repository, authorizer);
+        list = new ListAllProductsUseCase(repository, authorizer);
+    }
+
+    public void testCallerRoleDecidesWhatEachUseCaseAllows() {
+        // Sin un llamador establecido rige el rol por defecto (CONSULTA): solo puede listar.
+        assertEquals(1, list.execute().size());
+        assertEquals(1, list.execute(null, 10).size());
+        assertEquals(1, list.stream().count());
+        assertDenied(() -> add.execute("abc-2", "Ratón", 10.0, 4), Role.CONSULTA, Permission.ADD_PRODUCT);
+        assertDenied(() -> update.execute("abc-1", null, null, 9), Role.CONSULTA, Permission.UPDATE_PRODUCT);
+        assertDenied(() -> delete.execute("abc-1"), Role.CONSULTA, Permission.DELETE_PRODUCT);
+        assertEquals(3, repository.findById("abc-1").get().getStock()); // Nada se modificó.
+
+        // El operador actualiza pero no da de alta; el administrador puede todo.
+        CallerContext.callAs(Role.OPERADOR, () -> update.execute("abc-1", null, null, 9));
+        assertDenied(() -> CallerContext.callAs(Role.OPERADOR, () -> add.execute("abc-2", "Ratón", 10.0, 4)),
+                Role.OPERADOR, Permission.ADD_PRODUCT);
+        CallerContext.callAs(Role.ADMINISTRADOR, () -> {
+            add.execute("abc-2", "Ratón", 10.0, 4);
+            delete.execute("abc-1");
+            return null;
+        });
+        assertNull(CallerContext.current()); // callAs restaura el estado anterior del hilo.
+        assertEquals(1, list.execute().size());
+
+        // Sin rol por defecto, las llamadas sin llamador se deniegan.
+        Authorizer strict = new Authorizer(AuthorizationPolicy.defaults(), null);
+        assertDenied(() -> new ListAllProductsUseCase(repository, strict).execute(), null, Permission.LIST_PRODUCTS);
+        // Los casos de uso creados sin autorizador no verifican nada.
+        new AddProductUseCase(repository).execute("abc-3", "Monitor", 300.0, 1);
+        assertTrue(repository.findById("abc-3").isPresent());
+    }
+
+    public void testStockAdjustmentsAndImportsNeedTheirOwnPermissions() {
+        AdjustStockUseCase adjust = new AdjustStockUseCase(repository, authorizer);
+        ImportProductsUseCase importProducts = new ImportProductsUseCase(repository, authorizer);
+        List<Product> batch = List.of(new Product("abc-2", "Ratón", 10.0, 4));
+
+        assertDenied(() -> adjust.execute("abc-1", -1), Role.CONSULTA, Permission.ADJUST_STOCK);
+        assertDenied(importProducts::checkAllowed, Role.CONSULTA, Permission.IMPORT_PRODUCTS);
+        assertDenied(() -> importProducts.execute(batch), Role.CONSULTA, Permission.IMPORT_PRODUCTS);
+        assertEquals(3, repository.findById("abc-1").get().getStock());
+        assertFalse(repository.findById("abc-2").isPresent());
+
+        // El operador ajusta el stock pero no importa; el administrador importa.
+        assertEquals(Integer.valueOf(2), CallerContext.callAs(Role.OPERADOR, () -> adjust.execute("abc-1", -1)));
+        assertDenied(() -> CallerContext.callAs(Role.OPERADOR, () -> {
+            importProducts.execute(batch);
+            return null;
+        }), Role.OPERADOR, Permission.IMPORT_PRODUCTS);
+        CallerContext.callAs(Role.ADMINISTRADOR, () -> {
+            importProducts.execute(batch);
+            return null;
+        });
+        assertTrue(repository.findById("abc-2").isPresent());
+    }
+
+    public void testReloadedPolicyAppliesToLaterCallsWithoutStoppingInFlightOnes() throws InterruptedException {
+        Properties revoked = new Properties();
+        revoked.setProperty(Role.ADMINISTRADOR.name(), "*");
+        AuthorizationPolicy withoutConsulta = AuthorizationPolicy.compile(revoked);
+        AuthorizationPolicy original = authorizer.getPolicy();
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong allowed = new AtomicLong();
+        final AtomicLong denied = new AtomicLong();
+        final AtomicLong unexpected = new AtomicLong();
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            callers.add(new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        list.execute(null, 1);
+                        allowed.incrementAndGet();
+                    } catch (AccessDeniedException e) {
+                        denied.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        unexpected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread caller : callers) {
+            caller.start();
+        }
+        for (int i = 0; i < 200; i++) {
+            authorizer.reload(i % 2 == 0 ? withoutConsulta : original);
+            Thread.sleep(1);
+        }
+        running.set(false);
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        assertEquals(0, unexpected.get());
+        assertTrue(allowed.get() > 0);
+        assertTrue(denied.get() > 0);
+
+        authorizer.reload(withoutConsulta);
+        assertDenied(() -> list.execute(), Role.CONSULTA, Permission.LIST_PRODUCTS);
+        authorizer.reload(original);
+        assertEquals(1, list.execute().size());
+        try {
+            Authorizer.permitAll().reload(original);
+            fail("El autorizador que permite todo no admite políticas");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private static void assertDenied(Runnable call, Role role, Permission permission) {
+        try {
+            call.run();
+            fail("Se esperaba que se denegara " + permission);
+        } catch (AccessDeniedException e) {
+            assertEquals(role, e.getRole());
+            assertEquals(permission, e.getPermission());
+        }
+    }
+}
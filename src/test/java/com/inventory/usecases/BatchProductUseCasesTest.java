@@ -0,0 +1,126 @@
+package com.inventory.usecases;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas de los casos de uso por lotes (incluida su autorización) y del alta y la baja sin carrera entre comprobar y escribir.
+ */
+public class BatchProductUseCasesTest extends TestCase {
+    private ProductRepository repository;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+    }
+
+    public void testAddProductsReportsExistingIds() {
+        List<BatchItemResult> results = new AddProductsUseCase(repository).execute(Arrays.asList(
+                new Product("abc-1", "Teclado nuevo", 30.0, 1),
+                new Product("abc-2", "Ratón", 10.0, 4)));
+
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("abc-1", results.get(0).getId());
+        assertEquals("Ya existe un producto con ese ID.", results.get(0).getMessage());
+        assertTrue(results.get(1).isSuccess());
+        assertNull(results.get(1).getMessage());
+        assertEquals("Teclado", repository.findById("abc-1").get().getName());
+    }
+
+    public void testDeleteProductsReportsMissingIds() {
+        List<BatchItemResult> results = new DeleteProductsUseCase(repository).execute(Arrays.asList("abc-1", "zzz-9"));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    public void testAddProductsDeniedWithoutAddPermission() {
+        AddProductsUseCase useCase = new AddProductsUseCase(repository,
+                new Authorizer(AuthorizationPolicy.defaults(), Role.OPERADOR));
+        try {
+            useCase.execute(Arrays.asList(new Product("abc-2", "Ratón", 10.0, 4)));
+            fail("Se esperaba AccessDeniedException");
+        } catch (AccessDeniedException expected) {
+        }
+        assertFalse(repository.findById("abc-2").isPresent());
+    }
+
+    public void testDeleteProductsDeniedWithoutDeletePermission() {
+        DeleteProductsUseCase useCase = new DeleteProductsUseCase(repository,
+                new Authorizer(AuthorizationPolicy.defaults(), Role.OPERADOR));
+        try {
+            useCase.execute(Arrays.asList("abc-1"));
+            fail("Se esperaba AccessDeniedException");
+        } catch (AccessDeniedException expected) {
+        }
+        assertTrue(repository.findById("abc-1").isPresent());
+    }
+
+    public void testConcurrentAddsOfTheSameIdHaveASingleWinner() throws InterruptedException {
+        final AddProductUseCase useCase = new AddProductUseCase(repository);
+        final AtomicInteger winners = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int writer = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    useCase.execute("new-1", "Escritor " + writer, 1.0, writer);
+                    winners.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // El ID ya fue tomado por otro hilo.
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, winners.get());
+        assertEquals(1, repository.findById("new-1").get().getVersion());
+    }
+
+    public void testConcurrentDeletesOfTheSameIdHaveASingleWinner() throws InterruptedException {
+        final DeleteProductUseCase useCase = new DeleteProductUseCase(repository);
+        for (int round = 0; round < 200; round++) {
+            repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+            final AtomicInteger winners = new AtomicInteger();
+            final CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                        useCase.execute("abc-1");
+                        winners.incrementAndGet();
+                    } catch (NoSuchElementException e) {
+                        // Otro hilo ya lo eliminó.
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                threads[t].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(1, winners.get());
+        }
+    }
+}
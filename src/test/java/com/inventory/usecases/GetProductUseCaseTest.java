@@ -0,0 +1,45 @@
+package com.inventory.usecases;
+
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import junit.framework.TestCase;
+
+import java.util.NoSuchElementException;
+import java.util.Properties;
+
+/**
+ * Pruebas de la consulta por ID: exige el mismo permiso que los listados.
+ */
+public class GetProductUseCaseTest extends TestCase {
+    private ProductRepository repository;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+        repository.save(new Product("abc-1", "Teclado", 25.0, 3));
+    }
+
+    public void testReturnsTheProductWhenListingIsAllowed() {
+        GetProductUseCase useCase = new GetProductUseCase(repository,
+                new Authorizer(AuthorizationPolicy.defaults(), Role.CONSULTA));
+
+        assertEquals("Teclado", useCase.execute("abc-1").getName());
+        try {
+            useCase.execute("zzz-9");
+            fail("Se esperaba NoSuchElementException");
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    public void testDeniedWithoutListPermission() {
+        Properties policy = new Properties();
+        policy.setProperty(Role.OPERADOR.name(), "ADJUST_STOCK");
+        GetProductUseCase useCase = new GetProductUseCase(repository,
+                new Authorizer(AuthorizationPolicy.compile(policy), Role.OPERADOR));
+        try {
+            useCase.execute("abc-1");
+            fail("Se esperaba AccessDeniedException");
+        } catch (AccessDeniedException expected) {
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.inventory.usecases;
+
+import com.inventory.adapters.events.ChangeEventRing;
+import com.inventory.adapters.persistance.InventoryAggregator;
+import com.inventory.adapters.persistance.MvccProductRepository;
+import com.inventory.adapters.persistance.TransactionalObservableProductRepository;
+import com.inventory.domain.InventoryStats;
+import com.inventory.domain.Product;
+import junit.framework.TestCase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pruebas de la venta de pedidos: todas las líneas o ninguna, y los oyentes del decorador (totales,
+ * eventos de cambio) se enteran de lo que confirma cada transacción.
+ */
+public class SellProductsUseCaseTest extends TestCase {
+    private MvccProductRepository storage;
+    private InventoryAggregator aggregator;
+    private ChangeEventRing changes;
+    private TransactionalObservableProductRepository repository;
+    private SellProductsUseCase useCase;
+
+    protected void setUp() {
+        storage = new MvccProductRepository();
+        storage.save(new Product("kbd-1", "Teclado", 80.0, 5));
+        storage.save(new Product("mou-1", "Ratón", 12.5, 1));
+        aggregator = new InventoryAggregator(storage);
+        changes = new ChangeEventRing(1 << 16);
+        repository = new TransactionalObservableProductRepository(storage, aggregator, changes::publish);
+        useCase = new SellProductsUseCase(repository);
+    }
+
+    public void testSellsEveryLineAndNotifiesTheListeners() {
+        Map<String, Integer> remaining = useCase.execute(order("kbd-1", 2, "mou-1", 1));
+
+        assertEquals("{kbd-1=3, mou-1=0}", remaining.toString());
+        assertEquals(2, changes.lastSequence());
+        InventoryStats stats = aggregator.currentStats();
+        assertEquals(3, stats.getUnitsOnHand());
+        assertEquals(1, stats.getOutOfStockCount());
+    }
+
+    public void testAFailingLineSellsNothing() {
+        try {
+            useCase.execute(order("kbd-1", 2, "mou-1", 2));
+            fail("Se esperaba IllegalArgumentException por stock insuficiente");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            useCase.execute(order("kbd-1", 2, "zzz-9", 1));
+            fail("Se esperaba NoSuchElementException por un producto inexistente");
+        } catch (NoSuchElementException expected) {
+        }
+
+        assertEquals(5, storage.findById("kbd-1").get().getStock());
+        assertEquals(0, changes.lastSequence());
+        assertEquals(6, aggregator.currentStats().getUnitsOnHand());
+    }
+
+    public void testDeniedWithoutStockAdjustmentPermission() {
+        SellProductsUseCase denied = new SellProductsUseCase(repository,
+                new Authorizer(AuthorizationPolicy.defaults(), Role.CONSULTA));
+        try {
+            denied.execute(order("kbd-1", 1, "mou-1", 1));
+            fail("Se esperaba AccessDeniedException");
+        } catch (AccessDeniedException expected) {
+        }
+        assertEquals(5, storage.findById("kbd-1").get().getStock());
+    }
+
+    public void testTotalsMatchTheCatalogAfterConcurrentSalesAndAdjustments() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            storage.save(new Product("sku-" + i, "Producto " + i, 1.0 + i, 1_000));
+        }
+        aggregator = new InventoryAggregator(storage);
+        repository = new TransactionalObservableProductRepository(storage, aggregator);
+        useCase = new SellProductsUseCase(repository);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean seller = t % 2 == 0;
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 2_000; i++) {
+                    String first = "sku-" + random.nextInt(20);
+                    String second = "sku-" + random.nextInt(20);
+                    try {
+                        if (seller) {
+                            useCase.execute(order(first, 1, second, 1));
+                        } else {
+                            repository.adjustStock(first, 1);
+                        }
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        // Stock agotado o conflicto persistente: la venta no se aplicó.
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long units = 0;
+        for (Product product : storage.findAll()) {
+            units += product.getStock();
+        }
+        assertEquals(units, aggregator.currentStats().getUnitsOnHand());
+        assertEquals(storage.findAll().size(), aggregator.currentStats().getProductCount());
+    }
+
+    private static Map<String, Integer> order(String first, int firstQuantity, String second, int secondQuantity) {
+        Map<String, Integer> order = new LinkedHashMap<>();
+        order.merge(first, firstQuantity, Integer::sum);
+        order.merge(second, secondQuantity, Integer::sum);
+        return order;
+    }
+}
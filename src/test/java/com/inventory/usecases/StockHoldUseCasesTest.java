@@ -0,0 +1,67 @@
+package com.inventory.usecases;
+
+import com.inventory.adapters.holds.StockHoldManager;
+import com.inventory.adapters.persistance.ProductRepositoryImpl;
+import com.inventory.domain.Product;
+import com.inventory.domain.ProductRepository;
+import com.inventory.domain.StockHold;
+import junit.framework.TestCase;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Pruebas de los casos de uso de retenciones de stock: exigen el permiso ADJUST_STOCK y reportan como
+ * inexistentes las retenciones que ya terminaron.
+ */
+public class StockHoldUseCasesTest extends TestCase {
+    private ProductRepository repository;
+    private StockHoldManager holds;
+
+    protected void setUp() {
+        repository = new ProductRepositoryImpl();
+        repository.save(new Product("abc-1", "Teclado", 25.0, 5));
+        holds = new StockHoldManager(repository);
+    }
+
+    public void testOperatorPlacesConfirmsAndReleasesHolds() {
+        Authorizer operator = new Authorizer(AuthorizationPolicy.defaults(), Role.OPERADOR);
+        PlaceStockHoldUseCase place = new PlaceStockHoldUseCase(holds, operator);
+        ConfirmStockHoldUseCase confirm = new ConfirmStockHoldUseCase(holds, operator);
+        ReleaseStockHoldUseCase release = new ReleaseStockHoldUseCase(holds, operator);
+
+        StockHold sold = place.execute("abc-1", 2, 60_000).get();
+        StockHold returned = place.execute("abc-1", 3, 60_000).get();
+        assertFalse(place.execute("abc-1", 1, 60_000).isPresent());
+
+        confirm.execute(sold.getId());
+        release.execute(returned.getId());
+        assertEquals(3, repository.findById("abc-1").get().getStock());
+        try {
+            release.execute(sold.getId());
+            fail("Se esperaba NoSuchElementException");
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    public void testDeniedWithoutAdjustStockPermission() {
+        Authorizer readOnly = new Authorizer(AuthorizationPolicy.defaults(), Role.CONSULTA);
+        long holdId = new PlaceStockHoldUseCase(holds).execute("abc-1", 1, 60_000).get().getId();
+        try {
+            new PlaceStockHoldUseCase(holds, readOnly).execute("abc-1", 1, 60_000);
+            fail("Se esperaba AccessDeniedException");
+        } catch (AccessDeniedException expected) {
+        }
+        try {
+            new ConfirmStockHoldUseCase(holds, readOnly).execute(holdId);
+            fail("Se esperaba AccessDeniedException");
+        } catch (AccessDeniedException expected) {
+        }
+        try {
+            new ReleaseStockHoldUseCase(holds, readOnly).execute(holdId);
+            fail("Se esperaba AccessDeniedException");
+        } catch (AccessDeniedException expected) {
+        }
+        assertEquals(4, repository.findById("abc-1").get().getStock());
+        assertTrue(holds.find(holdId).isPresent());
+    }
+}